@@ -1,27 +1,29 @@
 package plasmapi.project.plasma.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
-
-import java.util.concurrent.Semaphore;
+import plasmapi.project.plasma.service.math.parallel.SimulationAdmissionController;
 
 @Configuration
 @EnableConfigurationProperties(MathParallelProperties.class)
 public class MathParallelConfig {
 
     @Bean
-    public Semaphore simulationSemaphore(MathParallelProperties properties) {
-        int permits = Math.max(1, properties.getSimulationMaxConcurrent());
-        return new Semaphore(permits, true);
+    public SimulationAdmissionController simulationAdmissionController(
+            MathParallelProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new SimulationAdmissionController(properties, meterRegistry);
     }
 
     @Bean
     public MathParallelSupport mathParallelSupport(
             MathParallelProperties properties,
-            Semaphore simulationSemaphore
+            SimulationAdmissionController simulationAdmissionController
     ) {
-        return new MathParallelSupport(properties, simulationSemaphore);
+        return new MathParallelSupport(properties, simulationAdmissionController);
     }
 }
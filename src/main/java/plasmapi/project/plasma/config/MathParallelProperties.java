@@ -16,9 +16,20 @@ public class MathParallelProperties {
     private boolean enabled = true;
 
     /**
-     * Максимум одновременных полных симуляций (семафор).
+     * Бюджет суммарной оценочной стоимости одновременно выполняемых симуляций
+     * (единица ≈ шаг явной схемы в одном узле; полный тепловой расчёт — до 10⁹).
      */
-    private int simulationMaxConcurrent = 4;
+    private double simulationCostBudget = 4.0e9;
+
+    /**
+     * Сколько симуляций может ждать допуска; сверх этого — 429 с Retry-After.
+     */
+    private int simulationMaxQueued = 16;
+
+    /**
+     * Калибровка оценки: наносекунд CPU на единицу стоимости (сверяется с логом допуска).
+     */
+    private double nanosPerCostUnit = 1.0;
 
     /**
      * Минимальное число итераций, при котором имеет смысл ForkJoin-parallel.
@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Кэш результатов симуляции по отпечатку запроса.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "plasma.simulation.cache")
+public class SimulationCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Верхняя граница суммарного оценочного объёма результатов в кэше. */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /** Время жизни записи с момента расчёта. */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /** Относительная точность, до которой округляются числовые параметры запроса в отпечатке. */
+    private double relativeTolerance = 1e-9;
+}
@@ -0,0 +1,58 @@
+package plasmapi.project.plasma.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SimulationJobProperties.class)
+public class SimulationJobConfig {
+
+    /**
+     * Выделенный пул симуляций с ограниченной очередью: запросы Tomcat не ждут семафор,
+     * а переполнение очереди сразу даёт {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor simulationJobExecutor(SimulationJobProperties properties) {
+        int threads = Math.max(1, properties.getWorkerThreads());
+        int capacity = Math.max(1, properties.getQueueCapacity());
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                namedThreadFactory("simulation-job-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Потоки общих (объединённых) расчётов: расчёт не привязан к потоку первого вызывающего,
+     * поэтому отмена одного из ожидающих его не прерывает. Число одновременных расчётов
+     * ограничивает допуск по стоимости.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService simulationFlightExecutor() {
+        return Executors.newCachedThreadPool(namedThreadFactory("simulation-flight-"));
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Асинхронные задачи симуляции: очередь, выделенный пул и хранение результатов.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "plasma.simulation.jobs")
+public class SimulationJobProperties {
+
+    /** Число потоков пула симуляций (не больше, чем имеет смысл при семафоре). */
+    private int workerThreads = 4;
+
+    /** Ёмкость очереди ожидающих задач; при переполнении — HTTP 429. */
+    private int queueCapacity = 64;
+
+    /** Сколько хранить завершённую задачу (результат/ошибку) для опроса. */
+    private Duration resultTtl = Duration.ofMinutes(30);
+
+    /** Период очистки просроченных задач. */
+    private Duration cleanupInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,9 @@
+package plasmapi.project.plasma.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SimulationPersistenceProperties.class)
+public class SimulationPersistenceConfig {
+}
@@ -0,0 +1,41 @@
+package plasmapi.project.plasma.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Сохранение результатов симуляций: синхронно в запросе или отложенно (write-behind)
+ * через ограниченную очередь и фоновую пакетную запись.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "plasma.simulation.persistence")
+public class SimulationPersistenceProperties {
+
+    /** Отложенная запись: ответ сразу, с id ожидающего результата. */
+    private boolean writeBehind = false;
+
+    /** Ёмкость очереди; при переполнении результат сохраняется синхронно в запросе. */
+    private int outboxCapacity = 1024;
+
+    /** Сколько результатов пишется одной транзакцией. */
+    private int batchSize = 32;
+
+    /** Пауза опроса пустой очереди фоновым писателем. */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** Попыток записи пакета до пошаговой записи по одному результату. */
+    private int maxAttempts = 3;
+
+    /** Пауза между попытками (растёт линейно). */
+    private Duration retryBackoff = Duration.ofMillis(500);
+
+    /** Сколько при остановке приложения дописывать оставшееся в очереди. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /** Сколько статусов записанных результатов хранить для опроса по id. */
+    private int retainedStatuses = 4096;
+}
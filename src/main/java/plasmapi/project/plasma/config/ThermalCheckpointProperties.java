@@ -0,0 +1,26 @@
+package plasmapi.project.plasma.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Контрольные точки долгих тепловых расчётов: локальный каталог и период сохранения.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "plasma.simulation.checkpoint")
+public class ThermalCheckpointProperties {
+
+    /** Выключено — {@code thermalCheckpointId} в запросе игнорируется. */
+    private boolean enabled = true;
+
+    /** Каталог файлов контрольных точек (по файлу на id). */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "plasma-thermal-checkpoints");
+
+    /** Как часто (по времени работы) сохранять точку во время расчёта; в конце — всегда. */
+    private Duration interval = Duration.ofSeconds(30);
+}
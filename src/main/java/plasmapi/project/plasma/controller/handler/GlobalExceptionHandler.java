@@ -1,10 +1,12 @@
 package plasmapi.project.plasma.controller.handler;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import plasmapi.project.plasma.controller.handler.exception.NotFoundException;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
 import plasmapi.project.plasma.dto.ApiResponse;
 
 
@@ -17,6 +19,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(SimulationQueueFullException.class)
+    public ResponseEntity<ApiResponse<Object>> handleSimulationQueueFull(SimulationQueueFullException ex) {
+        ApiResponse<Object> response = new ApiResponse<>(null, ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return builder.body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse<Object>> handleRuntimeException(RuntimeException ex) {
         ApiResponse<Object> response = new ApiResponse<>(null, ex.getMessage(), HttpStatus.BAD_REQUEST.value());
@@ -0,0 +1,25 @@
+package plasmapi.project.plasma.controller.handler.exception;
+
+import java.io.Serial;
+
+public class SimulationQueueFullException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Через сколько секунд имеет смысл повторить запрос; {@code null} — неизвестно. */
+    private final Long retryAfterSeconds;
+
+    public SimulationQueueFullException(String message) {
+        this(message, null);
+    }
+
+    public SimulationQueueFullException(String message, Long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public Long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
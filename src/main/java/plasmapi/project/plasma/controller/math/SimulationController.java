@@ -3,18 +3,27 @@ package plasmapi.project.plasma.controller.math;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import plasmapi.project.plasma.controller.handler.exception.NotFoundException;
 import plasmapi.project.plasma.dto.ApiResponse;
 import plasmapi.project.plasma.dto.logikDTO.result.ResultDTO;
 import plasmapi.project.plasma.dto.mathDto.simulation.SimulationResultDto;
 import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
-import plasmapi.project.plasma.mapper.simulation.SimulationResultMapper;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepResponse;
 import plasmapi.project.plasma.service.logik.ResultService;
-import plasmapi.project.plasma.service.math.energy.IntermediateResultEnrichmentService;
-import plasmapi.project.plasma.service.math.simulation.SimulationOrchestratorService;
 import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
-import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.SimulationRunService;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationCacheStats;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationResultCache;
+import plasmapi.project.plasma.service.math.simulation.outbox.PendingResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.SimulationOutboxStats;
+import plasmapi.project.plasma.service.math.simulation.outbox.SimulationResultOutbox;
+import plasmapi.project.plasma.service.math.simulation.stream.SimulationStreamService;
+import plasmapi.project.plasma.service.math.simulation.sweep.SimulationSweepService;
 
 import java.util.Map;
 import java.util.Optional;
@@ -25,10 +34,12 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SimulationController {
 
-    private final SimulationOrchestratorService simulationService;
+    private final SimulationRunService simulationRunService;
     private final ResultService resultService;
-    private final SimulationResultMapper simulationResultMapper;
-    private final IntermediateResultEnrichmentService intermediateEnrichment;
+    private final SimulationSweepService simulationSweepService;
+    private final SimulationResultCache simulationResultCache;
+    private final SimulationStreamService simulationStreamService;
+    private final SimulationResultOutbox simulationResultOutbox;
 
     /**
      * Запустить полную симуляцию (оркестратор).
@@ -37,23 +48,87 @@ public class SimulationController {
     public ResponseEntity<ApiResponse<SimulationRunResponse>> runSimulation(
             @Valid @RequestBody SimulationRequest request) {
 
-        SimulationResult result = simulationService.runSimulation(request);
-        int configId = request.getConfigId() != null ? request.getConfigId() : 1;
-        ResultDTO savedResult = resultService.saveFromSimulation(result, configId).orElseThrow();
-        SimulationRunResponse response = SimulationRunResponse.from(
-                result,
-                simulationResultMapper.toIntermediateDto(result.getIntermediate()),
-                intermediateEnrichment,
-                savedResult
-        );
+        SimulationRunResponse response = simulationRunService.runAndSave(request, null);
         ApiResponse<SimulationRunResponse> resp = new ApiResponse<>(
                 response,
-                "Симуляция выполнена и сохранена",
+                response.savedResult() != null
+                        ? "Симуляция выполнена и сохранена"
+                        : "Симуляция выполнена, результат поставлен в очередь на сохранение",
                 HttpStatus.OK.value()
         );
         return ResponseEntity.ok(resp);
     }
 
+    /**
+     * То же, что {@code /run}, но потоком SSE: события {@code stage} (готовый этап),
+     * {@code progress} (тепловой цикл, MC-частицы), затем {@code result} или {@code error}.
+     */
+    @PostMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter runStream(
+            @Valid @RequestBody SimulationRequest request,
+            @RequestParam(required = false) Integer configId
+    ) {
+        return simulationStreamService.stream(request, configId);
+    }
+
+    /**
+     * Sweep по сетке параметров (например, напряжение × давление × время) для одной пары атом/ион.
+     * Этапы с совпадающими входами считаются один раз; результаты не сохраняются.
+     */
+    @PostMapping("/sweep")
+    public ResponseEntity<ApiResponse<SimulationSweepResponse>> sweep(
+            @Valid @RequestBody SimulationSweepRequest request) {
+
+        SimulationSweepResponse response = simulationSweepService.sweep(request);
+        return ResponseEntity.ok(new ApiResponse<>(
+                response,
+                "Sweep выполнен: " + response.points().size() + " точек",
+                HttpStatus.OK.value()
+        ));
+    }
+
+    /**
+     * Статус результата, поставленного в очередь отложенной записи.
+     */
+    @GetMapping("/results/pending/{id}")
+    public ResponseEntity<ApiResponse<PendingResult>> pendingResult(@PathVariable String id) {
+        PendingResult pending = simulationResultOutbox.find(id)
+                .orElseThrow(() -> new NotFoundException("Ожидающий результат " + id + " не найден"));
+        return ResponseEntity.ok(new ApiResponse<>(
+                pending,
+                "Статус сохранения: " + pending.status(),
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<ApiResponse<SimulationOutboxStats>> outboxStats() {
+        return ResponseEntity.ok(new ApiResponse<>(
+                simulationResultOutbox.stats(),
+                "Состояние очереди сохранения результатов",
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<SimulationCacheStats>> cacheStats() {
+        return ResponseEntity.ok(new ApiResponse<>(
+                simulationResultCache.stats(),
+                "Состояние кэша результатов",
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<ApiResponse<SimulationCacheStats>> clearCache() {
+        simulationResultCache.invalidateAll();
+        return ResponseEntity.ok(new ApiResponse<>(
+                simulationResultCache.stats(),
+                "Кэш результатов очищен",
+                HttpStatus.OK.value()
+        ));
+    }
+
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<Optional<ResultDTO>>> createSimulation(@Valid @RequestBody SimulationResultDto request) {
         Optional<ResultDTO> result = resultService.create(request);
@@ -73,19 +148,12 @@ public class SimulationController {
             @Valid @RequestBody SimulationRequest request,
             @RequestParam Integer configId
     ) {
-        SimulationResult simulation = simulationService.runSimulation(request);
-        ResultDTO saved = resultService.saveFromSimulation(simulation, configId).orElseThrow();
-        SimulationRunResponse response = SimulationRunResponse.from(
-                simulation,
-                simulationResultMapper.toIntermediateDto(simulation.getIntermediate()),
-                intermediateEnrichment,
-                saved
-        );
+        SimulationRunResponse response = simulationRunService.runAndSave(request, configId);
 
         ApiResponse<Map<String, Object>> resp = new ApiResponse<>(
                 Map.of(
                         "simulation", response,
-                        "saved", saved
+                        "saved", response.savedResult() != null ? response.savedResult() : response.pendingResult()
                 ),
                 "Симуляция выполнена и сохранена",
                 HttpStatus.OK.value()
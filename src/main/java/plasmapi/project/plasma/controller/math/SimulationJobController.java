@@ -0,0 +1,70 @@
+package plasmapi.project.plasma.controller.math;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import plasmapi.project.plasma.controller.handler.exception.NotFoundException;
+import plasmapi.project.plasma.dto.ApiResponse;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationJobDto;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJob;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobService;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobStats;
+
+import java.net.URI;
+
+/**
+ * Асинхронные симуляции: запрос сразу возвращает id задачи, результат забирается опросом.
+ */
+@RestController
+@RequestMapping("/api/simulation/jobs")
+@RequiredArgsConstructor
+public class SimulationJobController {
+
+    private final SimulationJobService simulationJobService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<SimulationJobDto>> submit(@Valid @RequestBody SimulationRequest request) {
+        SimulationJob job = simulationJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/simulation/jobs/" + job.getId()))
+                .body(new ApiResponse<>(
+                        SimulationJobDto.from(job),
+                        "Симуляция поставлена в очередь",
+                        HttpStatus.ACCEPTED.value()
+                ));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<SimulationJobDto>> status(@PathVariable String id) {
+        SimulationJob job = simulationJobService.find(id)
+                .orElseThrow(() -> new NotFoundException("Задача симуляции " + id + " не найдена"));
+        return ResponseEntity.ok(new ApiResponse<>(
+                SimulationJobDto.from(job),
+                "Статус задачи: " + job.getStatus(),
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<SimulationJobDto>> cancel(@PathVariable String id) {
+        SimulationJob job = simulationJobService.cancel(id)
+                .orElseThrow(() -> new NotFoundException("Задача симуляции " + id + " не найдена"));
+        return ResponseEntity.ok(new ApiResponse<>(
+                SimulationJobDto.from(job),
+                "Статус задачи: " + job.getStatus(),
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<SimulationJobStats>> stats() {
+        return ResponseEntity.ok(new ApiResponse<>(
+                simulationJobService.stats(),
+                "Состояние очереди симуляций",
+                HttpStatus.OK.value()
+        ));
+    }
+}
@@ -0,0 +1,64 @@
+package plasmapi.project.plasma.controller.math;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import plasmapi.project.plasma.controller.handler.exception.NotFoundException;
+import plasmapi.project.plasma.dto.ApiResponse;
+import plasmapi.project.plasma.dto.mathDto.simulation.ThermalCheckpointDto;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointService;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+
+/**
+ * Контрольные точки теплового расчёта (id задаётся в запросе симуляции как {@code thermalCheckpointId}).
+ */
+@RestController
+@RequestMapping("/api/simulation/thermal/checkpoints")
+@RequiredArgsConstructor
+public class ThermalCheckpointController {
+
+    private final ThermalCheckpointService thermalCheckpointService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ThermalCheckpointDto>> find(@PathVariable String id) {
+        ThermalCheckpoint checkpoint = thermalCheckpointService.find(id)
+                .orElseThrow(() -> notFound(id));
+        return ResponseEntity.ok(new ApiResponse<>(
+                ThermalCheckpointDto.from(id, checkpoint),
+                "Контрольная точка на t = " + checkpoint.time() + " с",
+                HttpStatus.OK.value()
+        ));
+    }
+
+    /**
+     * Продлить расчёт на {@code extraTime} секунд: считаются только новые шаги,
+     * профили в ответе — с момента точки.
+     */
+    @PostMapping("/{id}/continue")
+    public ResponseEntity<ApiResponse<ThermalResult>> extend(
+            @PathVariable String id,
+            @RequestParam double extraTime
+    ) {
+        ThermalResult result = thermalCheckpointService.extend(id, extraTime)
+                .orElseThrow(() -> notFound(id));
+        return ResponseEntity.ok(new ApiResponse<>(
+                result,
+                "Тепловой расчёт продлён на " + extraTime + " с",
+                HttpStatus.OK.value()
+        ));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Boolean>> delete(@PathVariable String id) {
+        if (!thermalCheckpointService.delete(id)) {
+            throw notFound(id);
+        }
+        return ResponseEntity.ok(new ApiResponse<>(true, "Контрольная точка удалена", HttpStatus.OK.value()));
+    }
+
+    private static NotFoundException notFound(String id) {
+        return new NotFoundException("Контрольная точка " + id + " не найдена");
+    }
+}
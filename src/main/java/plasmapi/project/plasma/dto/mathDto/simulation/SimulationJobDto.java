@@ -0,0 +1,40 @@
+package plasmapi.project.plasma.dto.mathDto.simulation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJob;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Статус асинхронной задачи {@code /api/simulation/jobs}; {@code result} заполнен только для COMPLETED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SimulationJobDto(
+        String id,
+        SimulationJobStatus status,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Long queueWaitMs,
+        Long runMs,
+        String error,
+        SimulationRunResponse result
+) {
+    public static SimulationJobDto from(SimulationJob job) {
+        Instant started = job.getStartedAt();
+        Instant finished = job.getFinishedAt();
+        return new SimulationJobDto(
+                job.getId(),
+                job.getStatus(),
+                job.getSubmittedAt(),
+                started,
+                finished,
+                started != null ? Duration.between(job.getSubmittedAt(), started).toMillis() : null,
+                started != null && finished != null ? Duration.between(started, finished).toMillis() : null,
+                job.getError(),
+                job.getResult()
+        );
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import plasmapi.project.plasma.dto.mathDto.diffusion.AlloyComponentDto;
 import plasmapi.project.plasma.dto.mathDto.ion.IonComponentDto;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
 
 import java.util.List;
 
@@ -31,4 +32,49 @@ public class SimulationRequest {
     private Double ambientTemp;         // К, температура окружающей среды (опционально, по умолчанию 300)
     private List<AlloyComponentDto> composition;
     private List<IonComponentDto> ionComposition;
+    /** Пресет точности (preview / standard / high / legacy); по умолчанию standard */
+    private SimulationFidelity fidelity;
+    /**
+     * Желаемое время расчёта, мс: точность снижается от выбранного пресета, пока оценка
+     * не уложится в бюджет (фактически использованная точность — в ответе)
+     */
+    private Long maxWallTimeMs;
+    /**
+     * Узлов по радиусу осесимметричного (r, z) теплового расчёта — поле T(r, z) в ответе
+     * ({@code thermalField}); не задано — только 1D расчёт по глубине
+     */
+    private Integer radialNodes;
+    /**
+     * Id контрольных точек теплового расчёта ({@code [A-Za-z0-9_-]{1,64}}): состояние сохраняется
+     * по ходу расчёта, повтор запроса продолжает прерванный расчёт, а завершённый продлевается через
+     * {@code POST /api/simulation/thermal/checkpoints/{id}/continue}
+     */
+    private String thermalCheckpointId;
+
+    /**
+     * Поверхностная копия (списки состава общие — они не изменяются при расчёте).
+     */
+    public SimulationRequest copy() {
+        SimulationRequest copy = new SimulationRequest();
+        copy.setConfigId(configId);
+        copy.setAtomId(atomId);
+        copy.setIonId(ionId);
+        copy.setVoltage(voltage);
+        copy.setPressure(pressure);
+        copy.setCurrent(current);
+        copy.setElectronTemp(electronTemp);
+        copy.setChamberWidth(chamberWidth);
+        copy.setChamberDepth(chamberDepth);
+        copy.setExposureTime(exposureTime);
+        copy.setAngle(angle);
+        copy.setElectrodeDistance(electrodeDistance);
+        copy.setAmbientTemp(ambientTemp);
+        copy.setComposition(composition);
+        copy.setIonComposition(ionComposition);
+        copy.setFidelity(fidelity);
+        copy.setMaxWallTimeMs(maxWallTimeMs);
+        copy.setRadialNodes(radialNodes);
+        copy.setThermalCheckpointId(thermalCheckpointId);
+        return copy;
+    }
 }
@@ -9,11 +9,22 @@ import plasmapi.project.plasma.service.math.diffusion.DiffusionProfile;
 import plasmapi.project.plasma.service.math.plazma.PlasmaResult;
 import plasmapi.project.plasma.dto.logikDTO.result.ResultDTO;
 import plasmapi.project.plasma.service.math.energy.IntermediateResultEnrichmentService;
+import plasmapi.project.plasma.service.math.parallel.StageGraph;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
 import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.PendingResult;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
 
 /**
  * Ответ {@code POST /api/simulation/run} для фронтенда:
- * плоский {@link SimulationIntermediateResultDto} и обогащённый {@link PhysicsStats} в {@code stats}.
+ * плоский {@link SimulationIntermediateResultDto} и обогащённый {@link PhysicsStats} в {@code stats};
+ * в {@code stageGraph} — времена этапов и критический путь (для результата из кэша — исходного расчёта),
+ * в {@code fidelity} — фактически использованная точность, в {@code thermalSteps} — статистика шагов
+ * теплового расчёта, в {@code thermalField} — поле T(r, z), если в запросе задан {@code radialNodes}.
+ * При отложенной записи вместо
+ * {@code savedResult} возвращается {@code pendingResult} (статус — {@code GET /api/simulation/results/pending/{id}}).
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record SimulationRunResponse(
@@ -24,30 +35,22 @@ public record SimulationRunResponse(
         PhysicsStats stats,
         PlasmaResult plasmaResult,
         SimulationIntermediateResultDto intermediate,
-        ResultDTO savedResult
+        ResultDTO savedResult,
+        PendingResult pendingResult,
+        StageGraph.Report stageGraph,
+        SimulationFidelity fidelity,
+        ThermalStepStats thermalSteps,
+        AxisymmetricThermalResult thermalField
 ) {
     public static SimulationRunResponse from(
             SimulationResult result,
             SimulationIntermediateResultDto intermediate,
             IntermediateResultEnrichmentService enrichment,
-            ResultDTO savedResult
+            ResultDTO savedResult,
+            PendingResult pendingResult
     ) {
-        double exposureTime = result.getPlasmaConfig().getExposureTime() != null
-                ? result.getPlasmaConfig().getExposureTime()
-                : 60.0;
-        double ambient = result.getPlasmaConfig().getTargetTemperature() != null
-                ? result.getPlasmaConfig().getTargetTemperature()
-                : 300.0;
-
-        SimulationIntermediateResultDto enriched = enrichment.enrich(
-                intermediate,
-                result.getStats(),
-                result.getAtom(),
-                result.getIon(),
-                result.getPlasmaConfig(),
-                exposureTime,
-                ambient
-        );
+        // при сохранении то же обогащение уже выполнено — берётся из контекста расчёта
+        SimulationIntermediateResultDto enriched = enrichment.enrich(intermediate, result);
         PhysicsStats enrichedStats = enrichment.mergeStats(result.getStats(), enriched);
 
         return new SimulationRunResponse(
@@ -58,7 +61,20 @@ public record SimulationRunResponse(
                 enrichedStats,
                 result.getPlasmaResult(),
                 enriched,
-                savedResult
+                savedResult,
+                pendingResult,
+                result.getContext() != null ? result.getContext().stageGraph() : null,
+                result.getContext() != null ? result.getContext().fidelity() : null,
+                thermalSteps(result),
+                result.getContext() != null ? result.getContext().thermalField() : null
         );
     }
+
+    private static ThermalStepStats thermalSteps(SimulationResult result) {
+        if (result.getContext() == null) {
+            return null;
+        }
+        ThermalResult thermal = result.getContext().thermal();
+        return thermal != null ? thermal.stepStats() : null;
+    }
 }
@@ -0,0 +1,34 @@
+package plasmapi.project.plasma.dto.mathDto.simulation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Событие потока {@code POST /api/simulation/run/stream}.
+ * {@code stage} — готовый этап с результатом, {@code progress} — пройденная доля цикла этапа,
+ * {@code result} — итоговый ответ как у {@code /run}, {@code error} — сообщение об ошибке.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SimulationStreamEventDto(
+        String stage,
+        long elapsedMs,
+        Long done,
+        Long total,
+        Object result,
+        String error
+) {
+    public static SimulationStreamEventDto stage(String stage, long elapsedMs, Object result) {
+        return new SimulationStreamEventDto(stage, elapsedMs, null, null, result, null);
+    }
+
+    public static SimulationStreamEventDto progress(String stage, long elapsedMs, long done, long total) {
+        return new SimulationStreamEventDto(stage, elapsedMs, done, total, null, null);
+    }
+
+    public static SimulationStreamEventDto result(long elapsedMs, SimulationRunResponse response) {
+        return new SimulationStreamEventDto(null, elapsedMs, null, null, response, null);
+    }
+
+    public static SimulationStreamEventDto error(long elapsedMs, String message) {
+        return new SimulationStreamEventDto(null, elapsedMs, null, null, null, message);
+    }
+}
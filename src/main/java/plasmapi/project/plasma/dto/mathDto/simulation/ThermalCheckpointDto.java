@@ -0,0 +1,37 @@
+package plasmapi.project.plasma.dto.mathDto.simulation;
+
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+/**
+ * Контрольная точка теплового расчёта {@code /api/simulation/thermal/checkpoints/{id}} без самого поля.
+ */
+public record ThermalCheckpointDto(
+        String id,
+        double time,
+        double dt,
+        int stepsDone,
+        double cyclePhase,
+        int nodes,
+        ThermalScheme scheme,
+        double surfaceTemperature,
+        double maxTemperature
+) {
+    public static ThermalCheckpointDto from(String id, ThermalCheckpoint checkpoint) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double t : checkpoint.field()) {
+            max = Math.max(max, t);
+        }
+        return new ThermalCheckpointDto(
+                id,
+                checkpoint.time(),
+                checkpoint.dt(),
+                checkpoint.stepsDone(),
+                checkpoint.cyclePhase(),
+                checkpoint.nodes(),
+                checkpoint.inputs().resolution().scheme(),
+                checkpoint.field()[0],
+                max
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package plasmapi.project.plasma.dto.mathDto.sweep;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+
+import java.util.List;
+
+/**
+ * Sweep по сетке параметров: {@code base} задаёт пару атом/ион и неварьируемые параметры,
+ * {@code axes} — декартово произведение значений.
+ */
+public record SimulationSweepRequest(
+        @NotNull SimulationRequest base,
+        @NotEmpty List<@Valid SweepAxisDto> axes
+) {}
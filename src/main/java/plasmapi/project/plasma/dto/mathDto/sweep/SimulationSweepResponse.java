@@ -0,0 +1,16 @@
+package plasmapi.project.plasma.dto.mathDto.sweep;
+
+import plasmapi.project.plasma.service.math.simulation.SimulationStageMemo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Результат sweep: компактная таблица точек и статистика переиспользования этапов.
+ */
+public record SimulationSweepResponse(
+        List<SweepParameter> axes,
+        List<SweepPointDto> points,
+        long elapsedMs,
+        Map<String, SimulationStageMemo.StageReuse> stageReuse
+) {}
@@ -0,0 +1,46 @@
+package plasmapi.project.plasma.dto.mathDto.sweep;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ось sweep: либо явный список {@code values}, либо равномерная сетка {@code from..to} из {@code steps} точек.
+ */
+public record SweepAxisDto(
+        @NotNull SweepParameter parameter,
+        List<Double> values,
+        Double from,
+        Double to,
+        Integer steps
+) {
+    /** Число точек оси; сетка {@code from..to} при этом не строится. */
+    public int size() {
+        if (values != null && !values.isEmpty()) {
+            return values.size();
+        }
+        if (from == null || to == null || steps == null || steps < 1) {
+            throw new IllegalArgumentException(
+                    "Axis " + parameter + ": either values or from/to/steps must be set"
+            );
+        }
+        return steps;
+    }
+
+    public List<Double> resolveValues() {
+        int points = size();
+        if (values != null && !values.isEmpty()) {
+            return values;
+        }
+        if (points == 1) {
+            return List.of(from);
+        }
+        List<Double> grid = new ArrayList<>(points);
+        double step = (to - from) / (points - 1);
+        for (int i = 0; i < points; i++) {
+            grid.add(from + i * step);
+        }
+        return grid;
+    }
+}
@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.dto.mathDto.sweep;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Параметр {@link SimulationRequest}, по которому строится ось sweep.
+ */
+public enum SweepParameter {
+    VOLTAGE(SimulationRequest::setVoltage),
+    CURRENT(SimulationRequest::setCurrent),
+    PRESSURE(SimulationRequest::setPressure),
+    EXPOSURE_TIME(SimulationRequest::setExposureTime),
+    ANGLE(SimulationRequest::setAngle),
+    ELECTRON_TEMP(SimulationRequest::setElectronTemp),
+    AMBIENT_TEMP(SimulationRequest::setAmbientTemp);
+
+    private final BiConsumer<SimulationRequest, Double> setter;
+
+    SweepParameter(BiConsumer<SimulationRequest, Double> setter) {
+        this.setter = setter;
+    }
+
+    public void apply(SimulationRequest request, double value) {
+        setter.accept(request, value);
+    }
+}
@@ -0,0 +1,19 @@
+package plasmapi.project.plasma.dto.mathDto.sweep;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Строка таблицы sweep: значения осей в порядке {@code axes} и ключевые результаты.
+ * При ошибке точки заполнено только {@code error}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SweepPointDto(
+        List<Double> parameters,
+        Double projectedRange,     // Rp, м
+        Double dEffective,         // D_effective, м²/с
+        Double layerThickness,     // h, м
+        Double maxTemperature,     // max T, К
+        String error
+) {}
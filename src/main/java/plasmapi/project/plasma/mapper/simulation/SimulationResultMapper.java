@@ -18,6 +18,7 @@ import plasmapi.project.plasma.service.math.energy.IntermediateResultEnrichmentS
 import plasmapi.project.plasma.service.math.simulation.SimulationIntermediateResult;
 import plasmapi.project.plasma.service.math.simulation.SimulationResult;
 import plasmapi.project.plasma.service.math.simulation.ThermalIntermediate;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -101,22 +102,7 @@ public class SimulationResultMapper {
             SimulationResult result,
             SimulationIntermediateResult intermediate
     ) {
-        SimulationIntermediateResultDto dto = toIntermediateDto(intermediate);
-        double exposureTime = result.getPlasmaConfig().getExposureTime() != null
-                ? result.getPlasmaConfig().getExposureTime()
-                : 60.0;
-        double ambient = result.getPlasmaConfig().getTargetTemperature() != null
-                ? result.getPlasmaConfig().getTargetTemperature()
-                : 300.0;
-        return intermediateEnrichment.enrich(
-                dto,
-                result.getStats(),
-                result.getAtom(),
-                result.getIon(),
-                result.getPlasmaConfig(),
-                exposureTime,
-                ambient
-        );
+        return intermediateEnrichment.enrich(toIntermediateDto(intermediate), result);
     }
 
     public SimulationIntermediateResultDto toIntermediateDto(SimulationIntermediateResult intermediate) {
@@ -203,11 +189,15 @@ public class SimulationResultMapper {
     }
 
     private List<Double> extractCoolingProfile(PhysicsStats stats) {
-        List<List<Double>> map = stats.thermalTemperatureMap();
-        if (map == null || map.isEmpty()) {
+        TemperatureMap map = stats.thermalTemperatureMap();
+        if (map == null || map.rows() == 0) {
             return List.of(stats.finalProbeTemperature());
         }
-        int last = map.size() - 1;
-        return new ArrayList<>(map.get(last));
+        double[] last = map.row(map.rows() - 1);
+        List<Double> profile = new ArrayList<>(last.length);
+        for (double t : last) {
+            profile.add(t);
+        }
+        return profile;
     }
 }
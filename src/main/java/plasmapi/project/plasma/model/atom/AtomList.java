@@ -6,8 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.BatchSize;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationCacheInvalidationListener;
 
 @Entity
+@EntityListeners(SimulationCacheInvalidationListener.class)
 @BatchSize(size = 50)
 @Data
 @AllArgsConstructor
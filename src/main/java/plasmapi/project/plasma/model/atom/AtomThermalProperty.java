@@ -0,0 +1,37 @@
+package plasmapi.project.plasma.model.atom;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationCacheInvalidationListener;
+
+/**
+ * Точка таблицы k(T), c(T) материала; без строк у атома — постоянные
+ * {@link AtomList#getThermalConductivity()} и {@link AtomList#getHeatCapacity()}.
+ */
+@Entity
+@EntityListeners(SimulationCacheInvalidationListener.class)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "atom_thermal_properties")
+public class AtomThermalProperty {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "atom_list_id", nullable = false)
+    private AtomList atom;
+
+    @Column(nullable = false)
+    private Double temperature; // К
+
+    @Column(name = "thermal_conductivity", nullable = false)
+    private Double thermalConductivity; // Вт/(м·К)
+
+    @Column(name = "heat_capacity", nullable = false)
+    private Double heatCapacity; // Дж/(кг·К)
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
 
 @Entity
 @Data
@@ -51,6 +52,11 @@ public class PlasmaConfiguration {
     private Double meltingPoint;
     private Double latticeParameterOverride;
 
+    /** k(T), c(T) материала из {@code atom_thermal_properties}; {@code null} — постоянные свойства. */
+    @Transient
+    @JsonIgnore
+    private ThermalPropertyTable thermalProperties;
+
     @JsonIgnore
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "config_id")
@@ -0,0 +1,19 @@
+package plasmapi.project.plasma.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import plasmapi.project.plasma.model.atom.AtomThermalProperty;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
+
+import java.util.List;
+
+public interface AtomThermalPropertyRepository extends JpaRepository<AtomThermalProperty, Integer> {
+    List<AtomThermalProperty> findByAtomIdOrderByTemperatureAsc(Integer atomId);
+
+    /** Таблица k(T), c(T) атома; {@code null}, если строк нет. */
+    default ThermalPropertyTable findTable(Integer atomId) {
+        return ThermalPropertyTable.of(findByAtomIdOrderByTemperatureAsc(atomId).stream()
+                .map(p -> new ThermalPropertyTable.Point(p.getTemperature(), p.getThermalConductivity(),
+                        p.getHeatCapacity()))
+                .toList());
+    }
+}
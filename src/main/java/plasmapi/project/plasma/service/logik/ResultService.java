@@ -10,6 +10,11 @@ import java.util.Optional;
 public interface ResultService {
     Optional<ResultDTO> create(SimulationResultDto dto);
 
+    /**
+     * Сохраняет несколько результатов одной транзакцией (пакетная отложенная запись).
+     */
+    List<ResultDTO> createAll(List<SimulationResultDto> dtos);
+
     Optional<ResultDTO> saveFromSimulation(
             SimulationResult simulationResult,
             Integer configId
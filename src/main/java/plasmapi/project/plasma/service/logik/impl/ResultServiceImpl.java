@@ -35,6 +35,18 @@ public class ResultServiceImpl implements ResultService  {
         return Optional.of(resultMapper.toDTO(saved));
     }
 
+    @Override
+    @Transactional
+    public List<ResultDTO> createAll(List<SimulationResultDto> dtos) {
+        List<Result> entities = dtos.stream()
+                .map(dto -> Objects.requireNonNull(resultMapper.toEntity(dto)))
+                .toList();
+        List<Result> saved = resultRepository.saveAllAndFlush(entities);
+        return saved.stream()
+                .map(resultMapper::toDTO)
+                .toList();
+    }
+
     @Override
     @Transactional
     public Optional<ResultDTO> saveFromSimulation(
@@ -112,16 +112,22 @@ public final class PhysicsMath {
     }
 
     public static double safeIonMassKg(Double massKg) {
-        if (massKg == null || !Double.isFinite(massKg) || massKg <= 0) {
+        return massKg != null ? safeIonMassKg(massKg.doubleValue()) : MIN_ION_MASS_KG;
+    }
+
+    /** Без упаковки — для горячих циклов. */
+    public static double safeIonMassKg(double massKg) {
+        if (!Double.isFinite(massKg) || massKg <= 0) {
             return MIN_ION_MASS_KG;
         }
         return Math.max(massKg, MIN_ION_MASS_KG);
     }
 
     public static int safeIonCharge(Integer charge) {
-        if (charge == null || charge < MIN_ION_CHARGE) {
-            return MIN_ION_CHARGE;
-        }
-        return charge;
+        return charge != null ? safeIonCharge(charge.intValue()) : MIN_ION_CHARGE;
+    }
+
+    public static int safeIonCharge(int charge) {
+        return Math.max(charge, MIN_ION_CHARGE);
     }
 }
@@ -1,6 +1,7 @@
 package plasmapi.project.plasma.service.math;
 
 import plasmapi.project.plasma.service.math.diffusion.DiffusionIntermediate;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
 
 import java.util.List;
 
@@ -38,5 +39,5 @@ public record PhysicsStats(
     DiffusionIntermediate diffusionTransport, // снимок диффузии/транспорта (не нулевой при полном расчёте)
     List<Double> thermalTimes,     // Шкала времени для температурного поля (с)
     List<Double> thermalDepths,    // Шкала глубины для температурного поля (м)
-    List<List<Double>> thermalTemperatureMap // T(depth, time) для 3D-графика
+    TemperatureMap thermalTemperatureMap // T(depth, time) для 3D-графика (min/max/среднее — без пересчёта)
 ) {}
\ No newline at end of file
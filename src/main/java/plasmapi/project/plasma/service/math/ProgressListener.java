@@ -0,0 +1,14 @@
+package plasmapi.project.plasma.service.math;
+
+/**
+ * Прогресс длительного цикла расчёта (шаги по времени, частицы MC).
+ * Может вызываться из нескольких потоков.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (done, total) -> {
+    };
+
+    void progress(long done, long total);
+}
@@ -0,0 +1,31 @@
+package plasmapi.project.plasma.service.math.collision;
+
+import plasmapi.project.plasma.dto.mathDto.collision.CollisionResult;
+
+/**
+ * Изменяемый результат столкновения для горячего цикла переноса: один на поток, перезаписывается
+ * каждым {@link CollisionService#simulate(StoppingTable, double, double, double, CollisionScratch)}.
+ * Поля — как у {@link CollisionResult}.
+ */
+public final class CollisionScratch {
+
+    /** Переданная атому энергия, эВ. */
+    public double transferredEnergy;
+    public double nuclearStopping;
+    public double electronicStopping;
+    /** Угол рассеяния в системе центра масс, рад. */
+    public double thetaCM;
+    public double defectCount;
+    public double impactParameter;
+
+    public CollisionResult toResult() {
+        return CollisionResult.builder()
+                .transferredEnergy(transferredEnergy)
+                .nuclearStopping(nuclearStopping)
+                .electronicStopping(electronicStopping)
+                .thetaCM(thetaCM)
+                .defectCount(defectCount)
+                .impactParameter(impactParameter)
+                .build();
+    }
+}
@@ -7,4 +7,14 @@ import plasmapi.project.plasma.model.res.Ion;
 public interface CollisionService {
     CollisionResult simulate(Ion ion, AtomList atom, double ionEnergyEv,
                              double impactParameter, double surfaceBindingEnergy);
+
+    /** Постоянные торможения пары ион/атом мишени (массы в кг) — из ограниченного кэша. */
+    StoppingTable table(int z1, double m1, int z2, double m2);
+
+    /**
+     * То же без объектов: ион и атом мишени — пара {@code pair} из {@link #table}, результат
+     * записывается в {@code out}.
+     */
+    void simulate(StoppingTable pair, double ionEnergyEv, double impactParameter,
+                  double surfaceBindingEnergy, CollisionScratch out);
 }
@@ -0,0 +1,131 @@
+package plasmapi.project.plasma.service.math.collision;
+
+import plasmapi.project.plasma.service.math.PhysicalConstants;
+
+/**
+ * Торможение и сечение для пары ион/атом мишени ({@code Z1, M1, Z2, M2}). Всё, что зависит
+ * только от пары, — длина экранирования ZBL, масштаб приведённой энергии, множители ядерного
+ * и электронного торможения — считается один раз. Универсальная функция ядерного торможения
+ * {@code g(ε)} одна для всех пар: она табулирована по {@code ln ε} с шагом
+ * {@code ln 10 / }{@link #POINTS_PER_DECADE} и интерполируется линейно — на шаге один
+ * {@code Math.log} вместо {@code log} и {@code pow}. Вне таблицы — по формуле.
+ */
+public final class StoppingTable {
+
+    /** Узлов таблицы на декаду ε: относительная погрешность интерполяции ~1e-4. */
+    static final int POINTS_PER_DECADE = 64;
+    static final double MIN_TABLE_EPS = 1e-6;
+    static final double MAX_TABLE_EPS = 1e9;
+
+    private static final double A0 = 0.529e-10;
+    private static final double E2 = PhysicalConstants.E_CHARGE_SQ / (4.0 * Math.PI * PhysicalConstants.EPS0);
+    /** Lindhard–Scharff, м²·эВ^½ на атом. */
+    private static final double LINDHARD_SCHARFF = 0.0793e-20;
+
+    private static final double LOG_MIN = Math.log(MIN_TABLE_EPS);
+    private static final double STEPS_PER_LOG = POINTS_PER_DECADE / Math.log(10.0);
+    private static final double[] UNIVERSAL = universalTable();
+
+    private final int z1;
+    private final int z2;
+    private final double m1;
+    private final double m2;
+    private final double screeningLength;
+    /** {@code ε = E·reducedScale}, {@code E} — в Дж. */
+    private final double reducedScale;
+    private final double sigma0;
+    private final double nuclearScale;
+    private final double electronicScale;
+
+    private StoppingTable(int z1, double m1, int z2, double m2) {
+        this.z1 = z1;
+        this.z2 = z2;
+        this.m1 = m1;
+        this.m2 = m2;
+        double a = 0.8853 * A0 / (Math.pow(z1, 0.23) + Math.pow(z2, 0.23));
+        this.screeningLength = a;
+        double e0 = (z1 * z2 * E2) / a;
+        this.reducedScale = (m2 / (m1 + m2)) / Math.max(e0, 1e-30);
+        this.sigma0 = Math.PI * a * a;
+        this.nuclearScale = (4 * Math.PI * a * a)
+                * Math.pow(z1 * z2 * E2, 2)
+                * (m1 * m2 / Math.pow(m1 + m2, 2));
+        this.electronicScale = LINDHARD_SCHARFF * Math.pow(z1, 2.0 / 3.0) * Math.sqrt(z2);
+    }
+
+    /** Заряды не меньше {@code 1}, массы (кг) не меньше {@code 1e-30} — как в расчёте столкновения. */
+    public static StoppingTable of(int z1, double m1, int z2, double m2) {
+        return new StoppingTable(Math.max(1, z1), Math.max(1e-30, m1), Math.max(1, z2), Math.max(1e-30, m2));
+    }
+
+    public int z1() {
+        return z1;
+    }
+
+    public int z2() {
+        return z2;
+    }
+
+    public double m1() {
+        return m1;
+    }
+
+    public double m2() {
+        return m2;
+    }
+
+    /** Длина экранирования ZBL, м. */
+    public double screeningLength() {
+        return screeningLength;
+    }
+
+    /** Приведённая энергия ε при энергии иона {@code energy}, Дж. */
+    public double reducedEnergy(double energy) {
+        return Math.max(energy * reducedScale, 1e-12);
+    }
+
+    /** Сечение, согласованное с ядерным торможением ZBL, м²; энергия — в Дж. */
+    public double crossSection(double energy) {
+        return Math.max(sigma0 * nuclearFunction(reducedEnergy(energy)), 1e-22);
+    }
+
+    /** Ядерное торможение на атом; энергия — в Дж. */
+    public double nuclearStopping(double energy) {
+        return nuclearScale * nuclearFunction(reducedEnergy(energy));
+    }
+
+    /** Электронное торможение Линдхарда–Шарфа на атом; энергия — в эВ. */
+    public double electronicStopping(double energyEv) {
+        return electronicScale * Math.sqrt(Math.max(energyEv, 1e-6));
+    }
+
+    /** {@code g(ε)} по таблице; ниже {@link #MIN_TABLE_EPS} — {@code √ε}, выше таблицы — по формуле. */
+    public static double nuclearFunction(double eps) {
+        if (eps < MIN_TABLE_EPS || eps >= MAX_TABLE_EPS) {
+            return universal(eps);
+        }
+        double position = (Math.log(eps) - LOG_MIN) * STEPS_PER_LOG;
+        int i = Math.min((int) position, UNIVERSAL.length - 2);
+        double w = position - i;
+        return UNIVERSAL[i] + w * (UNIVERSAL[i + 1] - UNIVERSAL[i]);
+    }
+
+    /** Универсальная функция ядерного торможения ZBL по формуле. */
+    public static double universal(double eps) {
+        if (eps < 1e-6) {
+            return Math.sqrt(eps);
+        }
+        return Math.log(1 + 1.138 * eps) /
+                (eps + 0.01321 * Math.pow(eps, 0.21226)
+                        + 0.19593 * Math.sqrt(eps));
+    }
+
+    private static double[] universalTable() {
+        int points = (int) Math.ceil((Math.log(MAX_TABLE_EPS) - LOG_MIN) * STEPS_PER_LOG) + 1;
+        double[] table = new double[points];
+        for (int i = 0; i < points; i++) {
+            table[i] = universal(Math.exp(LOG_MIN + i / STEPS_PER_LOG));
+        }
+        return table;
+    }
+}
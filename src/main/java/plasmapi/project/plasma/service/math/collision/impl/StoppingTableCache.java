@@ -0,0 +1,44 @@
+package plasmapi.project.plasma.service.math.collision.impl;
+
+import plasmapi.project.plasma.service.math.collision.StoppingTable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Таблицы торможения по парам ион/атом мишени: строятся при первом обращении, в LRU
+ * не больше {@link #MAX_ENTRIES} пар.
+ */
+final class StoppingTableCache {
+
+    static final int MAX_ENTRIES = 256;
+
+    private final LinkedHashMap<Key, StoppingTable> tables = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, StoppingTable> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private record Key(int z1, double m1, int z2, double m2) {
+    }
+
+    StoppingTable get(int z1, double m1, int z2, double m2) {
+        Key key = new Key(Math.max(1, z1), Math.max(1e-30, m1), Math.max(1, z2), Math.max(1e-30, m2));
+        synchronized (this) {
+            StoppingTable table = tables.get(key);
+            if (table != null) {
+                return table;
+            }
+        }
+        StoppingTable table = StoppingTable.of(key.z1(), key.m1(), key.z2(), key.m2());
+        synchronized (this) {
+            StoppingTable raced = tables.putIfAbsent(key, table);
+            return raced != null ? raced : table;
+        }
+    }
+
+    synchronized int size() {
+        return tables.size();
+    }
+}
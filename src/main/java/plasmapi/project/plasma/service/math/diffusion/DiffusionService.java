@@ -4,9 +4,14 @@ import plasmapi.project.plasma.model.atom.AtomList;
 import plasmapi.project.plasma.model.res.Ion;
 import plasmapi.project.plasma.model.res.PlasmaConfiguration;
 import plasmapi.project.plasma.service.math.ion.IonComposition;
+import plasmapi.project.plasma.service.math.simulation.SimulationContext;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+import plasmapi.project.plasma.service.math.simulation.SimulationStageMemo;
+
+import java.util.List;
 
 public interface DiffusionService {
-    DiffusionProfile calculateProfile(
+    default DiffusionProfile calculateProfile(
             AtomList atom,
             AlloyComposition alloy,
             Ion ion,
@@ -14,5 +19,68 @@ public interface DiffusionService {
             PlasmaConfiguration plasmaConfig,
             double exposureTime,
             double ambientTemp
+    ) {
+        return calculateProfile(
+                atom, alloy, ion, ionComp, plasmaConfig, exposureTime, ambientTemp,
+                SimulationContext.create()
+        );
+    }
+
+    /**
+     * То же, но уже посчитанные этапы (например, плазма в оркестраторе) берутся из контекста,
+     * а новые сохраняются в него. Тяжёлые этапы, не зависящие от варьируемых параметров
+     * (тепло, потенциал, столкновения, MC-транспорт), дополнительно берутся из мемо контекста.
+     */
+    DiffusionProfile calculateProfile(
+            AtomList atom,
+            AlloyComposition alloy,
+            Ion ion,
+            IonComposition ionComp,
+            PlasmaConfiguration plasmaConfig,
+            double exposureTime,
+            double ambientTemp,
+            SimulationContext context
+    );
+
+    /**
+     * Оценка объёма расчёта профиля без его выполнения (тепловая сетка, число MC-ионов).
+     * В конфигурации нужны теплофизика материала, напряжение и ток.
+     */
+    default DiffusionWorkEstimate estimateWork(
+            PlasmaConfiguration plasmaConfig,
+            double exposureTime,
+            SimulationFidelity fidelity
+    ) {
+        return estimateWork(plasmaConfig, exposureTime, fidelity, 0);
+    }
+
+    /**
+     * То же вместе с полем T(r, z) на {@code radialNodes} узлах по радиусу ({@code 0} — без него);
+     * для него нужны и размеры камеры.
+     */
+    DiffusionWorkEstimate estimateWork(
+            PlasmaConfiguration plasmaConfig,
+            double exposureTime,
+            SimulationFidelity fidelity,
+            int radialNodes
     );
+
+    /**
+     * Тепловой этап группы расчётов заранее: конфигурации, у которых отличается только мощность
+     * (напряжение, ток), считаются одним пакетом и кладутся в мемо, откуда их возьмёт
+     * {@link #calculateProfile}. Ошибка пакета не пробрасывается — такие расчёты посчитают тепло сами.
+     */
+    void prepareThermal(List<ThermalInput> inputs, SimulationStageMemo memo);
+
+    /**
+     * Входные данные теплового этапа одного расчёта.
+     */
+    record ThermalInput(
+            AtomList atom,
+            PlasmaConfiguration plasmaConfig,
+            double exposureTime,
+            double ambientTemp,
+            SimulationFidelity fidelity
+    ) {
+    }
 }
@@ -0,0 +1,21 @@
+package plasmapi.project.plasma.service.math.diffusion;
+
+/**
+ * Объём вычислений {@link DiffusionService#calculateProfile} до запуска расчёта.
+ *
+ * @param thermalNodes       узлы тепловой сетки
+ * @param thermalSteps       шаги по времени явной схемы
+ * @param transportParticles MC-ионы транспорта
+ * @param axisymmetricWork   узлы × шаги поля T(r, z) с радиальными подшагами; {@code 0} — не считается
+ */
+public record DiffusionWorkEstimate(int thermalNodes, int thermalSteps, int transportParticles,
+                                    long axisymmetricWork) {
+
+    public DiffusionWorkEstimate(int thermalNodes, int thermalSteps, int transportParticles) {
+        this(thermalNodes, thermalSteps, transportParticles, 0L);
+    }
+
+    public long thermalWork() {
+        return (long) thermalNodes * thermalSteps;
+    }
+}
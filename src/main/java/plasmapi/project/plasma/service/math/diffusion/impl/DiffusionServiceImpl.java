@@ -18,18 +18,32 @@ import plasmapi.project.plasma.service.math.plazma.PlasmaService;
 import plasmapi.project.plasma.service.math.potential.PotentialService;
 import plasmapi.project.plasma.service.math.resonanse.ResonanceService;
 import plasmapi.project.plasma.service.math.slr.SLRService;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalResult;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalService;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
 import plasmapi.project.plasma.service.math.thermal.ThermalResult;
 import plasmapi.project.plasma.service.math.thermal.ThermalService;
+import plasmapi.project.plasma.service.math.thermal.impl.AxisymmetricThermalServiceImpl;
 import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
 import plasmapi.project.plasma.service.math.energy.EnergyDepositionResult;
 import plasmapi.project.plasma.service.math.energy.EnergyDepositionService;
 import plasmapi.project.plasma.service.math.transport.IonTransportService;
 import plasmapi.project.plasma.service.math.transport.LorentzContext;
 import plasmapi.project.plasma.service.math.transport.MagneticFieldEstimationService;
+import plasmapi.project.plasma.service.math.transport.TransportResult;
 import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.parallel.StageGraph;
+import plasmapi.project.plasma.service.math.simulation.SimulationContext;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+import plasmapi.project.plasma.service.math.simulation.SimulationStageMemo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.DoubleUnaryOperator;
 
@@ -40,6 +54,7 @@ public class DiffusionServiceImpl implements DiffusionService {
     private final PotentialService potentialService;
     private final PlasmaService plasmaService;
     private final ThermalService thermalService;
+    private final AxisymmetricThermalService axisymmetricThermalService;
     private final MathParallelSupport mathParallelSupport;
     private final SLRService slrService;
     private final ResonanceService resonanceService;
@@ -64,63 +79,200 @@ public class DiffusionServiceImpl implements DiffusionService {
             IonComposition ionComp,
             PlasmaConfiguration plasmaConfig,
             double exposureTime,
-            double ambientTemp
+            double ambientTemp,
+            SimulationContext context
     ) {
 
+        SimulationStageMemo memo = context.memo();
+        SimulationFidelity fidelity = context.fidelity();
+        int particles = fidelity.transportParticles();
+
         boolean isAlloy = alloy != null && !alloy.getComponents().isEmpty();
         AlloyComposition alloyForCalc = isAlloy ? Objects.requireNonNull(alloy) : null;
 
         ThermalDtoAdapter adapter = new ThermalDtoAdapter(plasmaConfig, ambientTemp, exposureTime);
 
-        // =========================
-        // 1. THERMAL || 2. PLASMA (независимые этапы)
-        // =========================
-        MathParallelSupport.StagePair<ThermalResult, PlasmaResult> earlyStages = mathParallelSupport.runStages(
-                () -> thermalService.simulate(
-                        plasmaConfig,
-                        adapter.getT0(),
-                        adapter.getTMax(),
-                        adapter.getDt(),
-                        adapter.getThickness(),
-                        adapter.getPowerInput(),
-                        adapter.getProjectedRange(),
-                        adapter.getBoundaryCondition(),
-                        ambientTemp,
-                        adapter.getH(),
-                        adapter.getN(),
-                        adapter.getDebyeTemperature(atom),
-                        adapter.getProbeDepth(),
-                        adapter.isThermalCyclingEnabled(),
-                        adapter.getCyclePeriod(),
-                        adapter.getDutyCycle()
-                ),
-                () -> plasmaService.calculate(plasmaConfig, ion, ionComp, null)
-        );
-        ThermalResult thermal = earlyStages.first();
-        PlasmaResult plasma = earlyStages.second();
-
-        double ionEnergyEv = plasma.ionEnergyEv();
-        double ionFlux = plasma.ionFlux();
-
-        // =========================
-        // 2b. ЭНЕРГОВКЛАД (1)–(5), SKIN (6)–(12)
-        // =========================
         DoubleUnaryOperator timeModulation = buildThermalCyclingModulation(
                 adapter.isThermalCyclingEnabled(),
                 adapter.getCyclePeriod(),
                 adapter.getDutyCycle()
         );
+        double Esurf = plasmaConfig.getSurfaceBindingEnergy() != null
+                ? plasmaConfig.getSurfaceBindingEnergy()
+                : 3.0;
+        double chamberArea = (plasmaConfig.getChamberWidth() != null && plasmaConfig.getChamberDepth() != null)
+                ? plasmaConfig.getChamberWidth() * plasmaConfig.getChamberDepth()
+                : 1.0;
+        double currentDensityForLorentz = (plasmaConfig.getCurrent() != null)
+                ? plasmaConfig.getCurrent() / chamberArea
+                : 0.0;
 
-        EnergyDepositionResult energyDeposition = energyDepositionService.compute(
-                plasmaConfig,
-                atom,
-                ion,
-                ionFlux,
-                ionEnergyEv,
-                exposureTime,
-                ambientTemp,
-                timeModulation
-        );
+        // =========================
+        // 1–2. ГРАФ ЭТАПОВ: этап стартует, как только готовы его входы
+        //   thermal, plasma, potential, magneticField — без входов
+        //   energyDeposition ← plasma;  resonance ← plasma;  collision ← plasma, potential
+        //   lorentz ← energyDeposition, magneticField;  transport ← plasma, lorentz
+        // =========================
+        StageGraph graph = mathParallelSupport.newStageGraph();
+
+        StageGraph.Stage<ThermalResult> thermalStage = graph.stage(SimulationContext.THERMAL,
+                () -> context.stage(SimulationContext.THERMAL, () -> memo.compute(
+                        "thermal",
+                        thermalKey(plasmaConfig, adapter, atom, ambientTemp, fidelity.thermalResolution()),
+                        () -> thermalService.simulate(
+                                plasmaConfig,
+                                adapter.getT0(),
+                                adapter.getTMax(),
+                                adapter.getDt(),
+                                adapter.getThickness(),
+                                adapter.getPowerInput(),
+                                adapter.getProjectedRange(),
+                                adapter.getBoundaryCondition(),
+                                ambientTemp,
+                                adapter.getH(),
+                                adapter.getN(),
+                                adapter.getDebyeTemperature(atom),
+                                adapter.getProbeDepth(),
+                                adapter.isThermalCyclingEnabled(),
+                                adapter.getCyclePeriod(),
+                                adapter.getDutyCycle(),
+                                context.progress(SimulationContext.THERMAL),
+                                fidelity.thermalResolution(),
+                                context.thermalCheckpointing()
+                        )
+                )));
+
+        // поле T(r, z) по запросу: ни один этап от него не зависит, в ответ идёт из контекста
+        int radialNodes = context.radialNodes();
+        StageGraph.Stage<AxisymmetricThermalResult> thermalFieldStage = null;
+        if (radialNodes > 0) {
+            List<Object> fieldKey = Arrays.asList(
+                    thermalKey(plasmaConfig, adapter, atom, ambientTemp, fidelity.thermalResolution()),
+                    plasmaConfig.getChamberWidth(), plasmaConfig.getChamberDepth(), radialNodes
+            );
+            thermalFieldStage = graph.stage(SimulationContext.THERMAL_FIELD,
+                    () -> context.stage(SimulationContext.THERMAL_FIELD, () -> memo.compute(
+                            "thermalField",
+                            fieldKey,
+                            () -> axisymmetricThermalService.simulate(
+                                    plasmaConfig,
+                                    adapter.getT0(),
+                                    adapter.getTMax(),
+                                    adapter.getDt(),
+                                    adapter.getThickness(),
+                                    adapter.getPowerInput(),
+                                    adapter.getProjectedRange(),
+                                    adapter.getBoundaryCondition(),
+                                    ambientTemp,
+                                    adapter.getH(),
+                                    adapter.getDebyeTemperature(atom),
+                                    adapter.isThermalCyclingEnabled(),
+                                    adapter.getCyclePeriod(),
+                                    adapter.getDutyCycle(),
+                                    radialNodes,
+                                    context.progress(SimulationContext.THERMAL_FIELD),
+                                    fidelity.thermalResolution()
+                            )
+                    )));
+        }
+
+        // плазма обычно уже посчитана оркестратором и берётся из контекста
+        StageGraph.Stage<PlasmaResult> plasmaStage = graph.stage(SimulationContext.PLASMA,
+                () -> context.stage(
+                        SimulationContext.PLASMA,
+                        () -> plasmaService.calculate(plasmaConfig, ion, ionComp, null)
+                ));
+
+        StageGraph.Stage<double[]> potentialStage = graph.stage("potential",
+                () -> potential(atom, alloyForCalc, memo));
+
+        StageGraph.Stage<MagneticFieldEstimationService.MagneticFieldEstimate> magneticStage = graph.stage(
+                "magneticField",
+                () -> magneticFieldEstimationService.estimate(plasmaConfig, currentDensityForLorentz));
+
+        // ЭНЕРГОВКЛАД (1)–(5), SKIN (6)–(12)
+        StageGraph.Stage<EnergyDepositionResult> energyStage = graph.stage(SimulationContext.ENERGY_DEPOSITION,
+                () -> context.stage(
+                        SimulationContext.ENERGY_DEPOSITION,
+                        () -> energyDepositionService.compute(
+                                plasmaConfig,
+                                atom,
+                                ion,
+                                plasmaStage.join().ionFlux(),
+                                plasmaStage.join().ionEnergyEv(),
+                                exposureTime,
+                                ambientTemp,
+                                timeModulation
+                        )
+                ),
+                plasmaStage);
+
+        StageGraph.Stage<Double> resonanceStage = graph.stage("resonance",
+                () -> resonanceService.computeXi(atom, plasmaStage.join().ionEnergyEv()),
+                plasmaStage);
+
+        StageGraph.Stage<CollisionResult> collisionStage = graph.stage(SimulationContext.COLLISION, () -> {
+            double energyEv = plasmaStage.join().ionEnergyEv();
+            double impactParam = potentialStage.join()[1] * DEFAULT_IMPACT_PARAMETER_FACTOR;
+            return context.stage(SimulationContext.COLLISION, () -> memo.compute(
+                    "collision",
+                    Arrays.asList(ionCompositionKey(ionComp), alloyKey(alloy), atom.getId(), ion.getId(),
+                            energyEv, impactParam, Esurf),
+                    () -> ionCollisionAveragingService.compute(
+                            ionComp,
+                            alloy,
+                            atom,
+                            ion,
+                            energyEv,
+                            impactParam,
+                            Esurf
+                    )
+            ));
+        }, plasmaStage, potentialStage);
+
+        StageGraph.Stage<LorentzContext> lorentzStage = graph.stage("lorentz",
+                () -> LorentzContext.from(
+                        energyStage.join().acceleratingField(),
+                        magneticStage.join().field()
+                ),
+                energyStage, magneticStage);
+
+        StageGraph.Stage<TransportResult> transportStage = graph.stage(SimulationContext.TRANSPORT, () -> {
+            double energyEv = plasmaStage.join().ionEnergyEv();
+            LorentzContext field = lorentzStage.join();
+            return context.stage(SimulationContext.TRANSPORT, () -> memo.compute(
+                    "transport",
+                    Arrays.asList(ion.getId(), atom.getId(), energyEv, particles,
+                            field.electricField().getZ(),
+                            field.magneticField().getX(),
+                            field.magneticField().getY(),
+                            field.magneticField().getZ()),
+                    () -> ionTransportService.simulate(
+                            ion,
+                            atom,
+                            energyEv,
+                            particles,
+                            field,
+                            context.progress(SimulationContext.TRANSPORT)
+                    )
+            ));
+        }, plasmaStage, lorentzStage);
+
+        PlasmaResult plasma = plasmaStage.join();
+        EnergyDepositionResult energyDeposition = energyStage.join();
+        double[] potential = potentialStage.join();
+        CollisionResult collision = collisionStage.join();
+        double xi = resonanceStage.join();
+        LorentzContext lorentz = lorentzStage.join();
+        TransportResult transport = transportStage.join();
+        ThermalResult thermal = thermalStage.join();
+        if (thermalFieldStage != null) {
+            thermalFieldStage.join();
+        }
+        context.recordStageGraph(graph.report());
+
+        double ionEnergyEv = plasma.ionEnergyEv();
+        double ionFlux = plasma.ionFlux();
 
         double fluenceDocument = energyDeposition.fluence();
         double effectiveSurfaceTemp = energyDeposition.effectiveSurfaceTemperature();
@@ -171,20 +323,10 @@ public class DiffusionServiceImpl implements DiffusionService {
         }
 
         // =========================
-        // 5. POTENTIAL (alloy-aware)
+        // 5. POTENTIAL (alloy-aware, посчитан в графе)
         // =========================
-        double stiffness;
-        double re;
-
-        if (!isAlloy) {
-            PotentialParameters p = potentialService.computePotential(atom.getA() * 1e-10, atom);
-            stiffness = p.stiffness();
-            re = p.re();
-        } else {
-            AlloyComposition composition = Objects.requireNonNull(alloyForCalc);
-            stiffness = computeEffectiveStiffness(composition);
-            re = computeEffectiveRe(composition);
-        }
+        double stiffness = potential[0];
+        double re = potential[1];
 
         // =========================
         // 6. THERMAL DIFFUSION
@@ -198,22 +340,6 @@ public class DiffusionServiceImpl implements DiffusionService {
 // 7. COLLISION → DPA
 // =========================
 
-        double Esurf = plasmaConfig.getSurfaceBindingEnergy() != null
-                ? plasmaConfig.getSurfaceBindingEnergy()
-                : 3.0;
-
-        double impactParam = re * DEFAULT_IMPACT_PARAMETER_FACTOR;
-
-        CollisionResult collision = ionCollisionAveragingService.compute(
-                ionComp,
-                alloy,
-                atom,
-                ion,
-                ionEnergyEv,
-                impactParam,
-                Esurf
-        );
-
         double transferredJ = collision.transferredEnergy() * EV;
 
         double Ed = 25.0 * EV;
@@ -250,8 +376,6 @@ public class DiffusionServiceImpl implements DiffusionService {
 // 9. RESONANCE
 // =========================
 
-        double xi = resonanceService.computeXi(atom, ionEnergyEv);
-
 // ✔ физически корректнее
         double D_res = D_collision * (xi - 1.0);
 
@@ -270,27 +394,6 @@ public class DiffusionServiceImpl implements DiffusionService {
 // 11. RANGE (🔥 главное исправление)
 // =========================
 
-        double chamberArea = (plasmaConfig.getChamberWidth() != null && plasmaConfig.getChamberDepth() != null)
-                ? plasmaConfig.getChamberWidth() * plasmaConfig.getChamberDepth()
-                : 1.0;
-        double currentDensityForLorentz = (plasmaConfig.getCurrent() != null)
-                ? plasmaConfig.getCurrent() / chamberArea
-                : 0.0;
-
-        var magneticField = magneticFieldEstimationService.estimate(plasmaConfig, currentDensityForLorentz);
-        LorentzContext lorentz = LorentzContext.from(
-                energyDeposition.acceleratingField(),
-                magneticField.field()
-        );
-
-        var transport = ionTransportService.simulate(
-                ion,
-                atom,
-                ionEnergyEv,
-                200,
-                lorentz
-        );
-
         double Rp_mc = transport.meanRange();
         double Rp_model = estimateProjectedRange(ion, atom, ionEnergyEv);
 
@@ -311,7 +414,7 @@ public class DiffusionServiceImpl implements DiffusionService {
 // 12. PROFILE (normalized)
 // =========================
 
-        final int profilePoints = 200;
+        final int profilePoints = fidelity.profilePoints();
         double maxDepth = 5 * (Rp + sigma);
         double dx = maxDepth / (profilePoints - 1);
         double norm = fluence / (Math.sqrt(2 * Math.PI) * sigma);
@@ -376,21 +479,7 @@ public class DiffusionServiceImpl implements DiffusionService {
         double momentumPerIon = Math.sqrt(2.0 * ionMassKg * transferredJPerIon);
         double totalMomentum = PhysicsMath.sanitizeMomentum(momentumPerIon * fluence);
 
-        List<Double> thermalTimes = thermal.times();
-        List<Double> thermalDepths = new ArrayList<>();
-        List<List<Double>> thermalTemperatureMap = new ArrayList<>();
-        if (thermal.temperatureProfiles() != null && !thermal.temperatureProfiles().isEmpty()) {
-            int depthNodes = thermal.temperatureProfiles().get(0).length;
-            double dxThermal = depthNodes > 1 ? thermal.thickness() / (depthNodes - 1) : 0.0;
-            for (int i = 0; i < depthNodes; i++) {
-                thermalDepths.add(i * dxThermal);
-            }
-            for (double[] row : thermal.temperatureProfiles()) {
-                List<Double> rowList = new ArrayList<>(row.length);
-                for (double tVal : row) rowList.add(tVal);
-                thermalTemperatureMap.add(rowList);
-            }
-        }
+        TemperatureMap thermalTemperatureMap = thermal.temperatureMap();
 
         DiffusionIntermediate diffusionIntermediate = new DiffusionIntermediate(
                 PhysicsMath.finiteOrZero(D_rad),
@@ -435,8 +524,8 @@ public class DiffusionServiceImpl implements DiffusionService {
                 transport.lorentzGyroradius(),
                 transport.lorentzMeanDeflectionDeg(),
                 diffusionIntermediate,
-                thermalTimes,
-                thermalDepths,
+                thermalTemperatureMap.times(),
+                thermalTemperatureMap.depths(),
                 thermalTemperatureMap
         );
 
@@ -455,6 +544,42 @@ public class DiffusionServiceImpl implements DiffusionService {
         );
     }
 
+    @Override
+    public DiffusionWorkEstimate estimateWork(
+            PlasmaConfiguration plasmaConfig,
+            double exposureTime,
+            SimulationFidelity fidelity,
+            int radialNodes
+    ) {
+        ThermalDtoAdapter adapter = new ThermalDtoAdapter(plasmaConfig, 0.0, exposureTime);
+        ThermalServiceImpl.Grid grid = ThermalServiceImpl.grid(
+                ThermalServiceImpl.maxDiffusivity(plasmaConfig),
+                adapter.getTMax(),
+                adapter.getDt(),
+                adapter.getThickness(),
+                adapter.getProjectedRange(),
+                adapter.getN(),
+                adapter.isThermalCyclingEnabled(),
+                adapter.getCyclePeriod(),
+                fidelity.thermalResolution()
+        );
+        long axisymmetricWork = 0L;
+        if (radialNodes > 0) {
+            axisymmetricWork = AxisymmetricThermalServiceImpl.work(
+                    plasmaConfig,
+                    adapter.getTMax(),
+                    adapter.getDt(),
+                    adapter.getThickness(),
+                    adapter.getProjectedRange(),
+                    adapter.isThermalCyclingEnabled(),
+                    adapter.getCyclePeriod(),
+                    radialNodes,
+                    fidelity.thermalResolution()
+            );
+        }
+        return new DiffusionWorkEstimate(grid.nodes(), grid.steps(), fidelity.transportParticles(), axisymmetricWork);
+    }
+
     // =========================
     // UTILS
     // =========================
@@ -464,6 +589,112 @@ public class DiffusionServiceImpl implements DiffusionService {
         return Math.min(D, MAX_D);
     }
 
+    @Override
+    public void prepareThermal(List<ThermalInput> inputs, SimulationStageMemo memo) {
+        // ключ без мощности → (полный ключ → мощность); одинаковые точки считаются один раз
+        Map<List<Object>, Map<List<Object>, Double>> groups = new LinkedHashMap<>();
+        Map<List<Object>, ThermalInput> representatives = new HashMap<>();
+        for (ThermalInput input : inputs) {
+            ThermalDtoAdapter adapter = new ThermalDtoAdapter(
+                    input.plasmaConfig(), input.ambientTemp(), input.exposureTime());
+            ThermalResolution resolution = input.fidelity().thermalResolution();
+            List<Object> key = thermalKey(input.plasmaConfig(), adapter, input.atom(), input.ambientTemp(), resolution);
+            if (memo.peek("thermal", key) != null) {
+                continue;
+            }
+            List<Object> groupKey = thermalKey(
+                    input.plasmaConfig(), adapter, input.atom(), input.ambientTemp(), resolution, null);
+            groups.computeIfAbsent(groupKey, k -> new LinkedHashMap<>()).put(key, adapter.getPowerInput());
+            representatives.putIfAbsent(groupKey, input);
+        }
+
+        groups.forEach((groupKey, points) -> {
+            if (points.size() < 2) {
+                return;
+            }
+            ThermalInput input = representatives.get(groupKey);
+            PlasmaConfiguration cfg = input.plasmaConfig();
+            ThermalDtoAdapter adapter = new ThermalDtoAdapter(cfg, input.ambientTemp(), input.exposureTime());
+            List<ThermalResult> results;
+            try {
+                results = thermalService.simulateBatch(
+                        cfg,
+                        adapter.getT0(),
+                        adapter.getTMax(),
+                        adapter.getDt(),
+                        adapter.getThickness(),
+                        new ArrayList<>(points.values()),
+                        adapter.getProjectedRange(),
+                        adapter.getBoundaryCondition(),
+                        input.ambientTemp(),
+                        adapter.getH(),
+                        adapter.getN(),
+                        adapter.getDebyeTemperature(input.atom()),
+                        adapter.getProbeDepth(),
+                        adapter.isThermalCyclingEnabled(),
+                        adapter.getCyclePeriod(),
+                        adapter.getDutyCycle(),
+                        input.fidelity().thermalResolution()
+                );
+            } catch (RuntimeException e) {
+                return;
+            }
+            int k = 0;
+            for (List<Object> key : points.keySet()) {
+                memo.prime("thermal", key, results.get(k++));
+            }
+        });
+    }
+
+    /**
+     * Входные данные теплового этапа: не зависят от давления, угла и состава ионов.
+     */
+    private static List<Object> thermalKey(
+            PlasmaConfiguration cfg,
+            ThermalDtoAdapter adapter,
+            AtomList atom,
+            double ambientTemp,
+            ThermalResolution resolution
+    ) {
+        return thermalKey(cfg, adapter, atom, ambientTemp, resolution, adapter.getPowerInput());
+    }
+
+    private static List<Object> thermalKey(
+            PlasmaConfiguration cfg,
+            ThermalDtoAdapter adapter,
+            AtomList atom,
+            double ambientTemp,
+            ThermalResolution resolution,
+            Double powerInput
+    ) {
+        return Arrays.asList(resolution,
+                cfg.getDensity(), cfg.getHeatCapacity(), cfg.getThermalConductivity(), cfg.getThermalProperties(),
+                adapter.getT0(), adapter.getTMax(), adapter.getDt(), adapter.getThickness(),
+                powerInput, adapter.getProjectedRange(), adapter.getBoundaryCondition(),
+                ambientTemp, adapter.getH(), adapter.getN(), adapter.getDebyeTemperature(atom),
+                adapter.getProbeDepth(), adapter.isThermalCyclingEnabled(),
+                adapter.getCyclePeriod(), adapter.getDutyCycle()
+        );
+    }
+
+    private static List<Object> alloyKey(AlloyComposition alloy) {
+        if (alloy == null || alloy.getComponents() == null) {
+            return null;
+        }
+        return alloy.getComponents().stream()
+                .map(c -> (Object) Arrays.asList(c.getAtom().getId(), c.getFraction()))
+                .toList();
+    }
+
+    private static List<Object> ionCompositionKey(IonComposition ionComp) {
+        if (ionComp == null || ionComp.getComponents() == null) {
+            return null;
+        }
+        return ionComp.getComponents().stream()
+                .map(c -> (Object) Arrays.asList(c.getIon().getId(), c.getFraction()))
+                .toList();
+    }
+
     private DoubleUnaryOperator buildThermalCyclingModulation(
             boolean enabled,
             Double cyclePeriod,
@@ -494,6 +725,25 @@ public class DiffusionServiceImpl implements DiffusionService {
         return cohEv * EV * NA * fraction;
     }
 
+    /**
+     * {stiffness, re} для чистого металла или сплава
+     */
+    private double[] potential(AtomList atom, AlloyComposition alloy, SimulationStageMemo memo) {
+        if (alloy == null) {
+            PotentialParameters p = memo.compute(
+                    "potential",
+                    atom.getId(),
+                    () -> potentialService.computePotential(atom.getA() * 1e-10, atom)
+            );
+            return new double[]{p.stiffness(), p.re()};
+        }
+        return memo.compute(
+                "potential",
+                alloyKey(alloy),
+                () -> new double[]{computeEffectiveStiffness(alloy), computeEffectiveRe(alloy)}
+        );
+    }
+
     /**
      * Эффективная жёсткость сплава
      */
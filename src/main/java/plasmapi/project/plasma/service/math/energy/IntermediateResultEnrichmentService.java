@@ -10,8 +10,12 @@ import plasmapi.project.plasma.model.res.Result;
 import plasmapi.project.plasma.service.math.PhysicsMath;
 import plasmapi.project.plasma.service.math.PhysicsStats;
 import plasmapi.project.plasma.service.math.diffusion.DiffusionIntermediate;
+import plasmapi.project.plasma.service.math.simulation.SimulationContext;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
 
 import java.util.List;
+
 /**
  * Дополняет промежуточные параметры расчётом или оценкой из данных БД (атом, конфиг, результат).
  */
@@ -43,13 +47,43 @@ public class IntermediateResultEnrichmentService {
             PlasmaConfiguration cfg,
             double exposureTime,
             double ambientTemp
+    ) {
+        return enrich(base, stats, atom, ion, cfg, exposureTime, ambientTemp, SimulationContext.create());
+    }
+
+    /**
+     * Обогащение результата свежего расчёта: энерговклад берётся из контекста расчёта,
+     * а итог считается один раз на запрос и {@code base} — сохранение и ответ с равными
+     * {@code base} получают один и тот же объект.
+     */
+    public SimulationIntermediateResultDto enrich(SimulationIntermediateResultDto base, SimulationResult result) {
+        SimulationContext context = result.getContext() != null ? result.getContext() : SimulationContext.create();
+        PlasmaConfiguration cfg = result.getPlasmaConfig();
+        double exposureTime = cfg.getExposureTime() != null ? cfg.getExposureTime() : 60.0;
+        double ambient = cfg.getTargetTemperature() != null ? cfg.getTargetTemperature() : 300.0;
+        return context.stage(
+                SimulationContext.INTERMEDIATE,
+                base,
+                () -> enrich(base, result.getStats(), result.getAtom(), result.getIon(), cfg, exposureTime, ambient, context)
+        );
+    }
+
+    private SimulationIntermediateResultDto enrich(
+            SimulationIntermediateResultDto base,
+            PhysicsStats stats,
+            AtomList atom,
+            Ion ion,
+            PlasmaConfiguration cfg,
+            double exposureTime,
+            double ambientTemp,
+            SimulationContext context
     ) {
         if (base == null) {
             if (cfg != null && atom != null && exposureTime > 0) {
                 double ionFlux = pickPositive(0, stats != null ? stats.ionFlux() : 0);
                 if (ionFlux > 0) {
                     return applyThermalAndMaterialFallbacks(
-                            computeEnergyIntermediate(cfg, atom, ion, ionFlux, 0.0, exposureTime, ambientTemp, null, stats),
+                            computeEnergyIntermediate(cfg, atom, ion, ionFlux, 0.0, exposureTime, ambientTemp, null, stats, context),
                             stats, atom, cfg, exposureTime, ambientTemp
                     );
                 }
@@ -65,7 +99,7 @@ public class IntermediateResultEnrichmentService {
             );
             if (ionFlux > 0) {
                 computed = computeEnergyIntermediate(
-                        cfg, atom, ion, ionFlux, base.ionEnergyEv(), exposureTime, ambientTemp, base, stats
+                        cfg, atom, ion, ionFlux, base.ionEnergyEv(), exposureTime, ambientTemp, base, stats, context
                 );
             }
         }
@@ -190,7 +224,8 @@ public class IntermediateResultEnrichmentService {
             double exposureTime,
             double ambientTemp,
             SimulationIntermediateResultDto base,
-            PhysicsStats stats
+            PhysicsStats stats,
+            SimulationContext context
     ) {
         PlasmaConfiguration cfgForSkin = copyWithMinimumObliquity(cfg);
 
@@ -203,15 +238,22 @@ public class IntermediateResultEnrichmentService {
                         Math.max(nz(cfg.getVoltage(), 0.0), 1.0)
                 );
 
-        EnergyDepositionResult e = energyDepositionService.compute(
-                cfgForSkin,
-                atom,
-                resolveIon(ion),
-                ionFlux,
-                ionEnergyResolved,
-                exposureTime,
-                ambientTemp,
-                t -> 1.0
+        // не ENERGY_DEPOSITION: этап конвейера посчитан с исходным наклоном и модуляцией и дал
+        // как раз те нулевые значения, которые здесь заменяются; свой ключ — один пересчёт на запрос
+        // и поток/энергию ионов (они берутся из base)
+        EnergyDepositionResult e = context.stage(
+                SimulationContext.ENERGY_DEPOSITION_FALLBACK,
+                List.of(ionFlux, ionEnergyResolved),
+                () -> energyDepositionService.compute(
+                        cfgForSkin,
+                        atom,
+                        resolveIon(ion),
+                        ionFlux,
+                        ionEnergyResolved,
+                        exposureTime,
+                        ambientTemp,
+                        t -> 1.0
+                )
         );
 
         return new SimulationIntermediateResultDto(
@@ -394,6 +436,7 @@ public class IntermediateResultEnrichmentService {
         copy.setDensity(cfg.getDensity());
         copy.setHeatCapacity(cfg.getHeatCapacity());
         copy.setThermalConductivity(cfg.getThermalConductivity());
+        copy.setThermalProperties(cfg.getThermalProperties());
         copy.setIonEnergyOverride(cfg.getIonEnergyOverride());
         copy.setSurfaceBindingEnergy(cfg.getSurfaceBindingEnergy());
 
@@ -695,34 +738,14 @@ public class IntermediateResultEnrichmentService {
         return 0.0;
     }
 
-    private record ThermalRange(double min, double max, double avg, int count) {}
+    private record ThermalRange(double min, double max, double avg, long count) {}
 
     private static ThermalRange thermalRangeFromMap(PhysicsStats stats, double fallback) {
-        if (stats == null || stats.thermalTemperatureMap() == null) {
-            return new ThermalRange(fallback, fallback, fallback, 0);
-        }
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        double sum = 0.0;
-        int count = 0;
-        for (List<Double> row : stats.thermalTemperatureMap()) {
-            if (row == null) {
-                continue;
-            }
-            for (Double t : row) {
-                if (t == null || !Double.isFinite(t)) {
-                    continue;
-                }
-                min = Math.min(min, t);
-                max = Math.max(max, t);
-                sum += t;
-                count++;
-            }
-        }
-        if (count == 0) {
+        TemperatureMap map = stats != null ? stats.thermalTemperatureMap() : null;
+        if (map == null || map.count() == 0) {
             return new ThermalRange(fallback, fallback, fallback, 0);
         }
-        return new ThermalRange(min, max, sum / count, count);
+        return new ThermalRange(map.min(), map.max(), map.average(), map.count());
     }
 
     private static boolean thermalRangeIsDegenerate(double min, double max, double avg) {
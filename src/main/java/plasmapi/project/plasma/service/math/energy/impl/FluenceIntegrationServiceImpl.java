@@ -3,6 +3,7 @@ package plasmapi.project.plasma.service.math.energy.impl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
 import plasmapi.project.plasma.service.math.energy.FluenceFormulaInput;
 import plasmapi.project.plasma.service.math.energy.FluenceIntegrationService;
 import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
@@ -113,8 +114,15 @@ public class FluenceIntegrationServiceImpl implements FluenceIntegrationService
     }
 
     private double geometricFactor(double r, double R) {
+        return geometricFactor(r, R, geometryExponent);
+    }
+
+    /**
+     * Спад потока к краю катода {@code 1/(1 + (r/R)²)^δ}; общий с осесимметричным тепловым расчётом.
+     */
+    public static double geometricFactor(double r, double R, double exponent) {
         double ratio = r / Math.max(R, 1e-9);
-        return 1.0 / Math.pow(1.0 + ratio * ratio, geometryExponent);
+        return 1.0 / Math.pow(1.0 + ratio * ratio, exponent);
     }
 
     private double pressureFunction(double pressurePa) {
@@ -127,7 +135,13 @@ public class FluenceIntegrationServiceImpl implements FluenceIntegrationService
     }
 
     private double effectiveRadius(FluenceFormulaInput input) {
-        var cfg = input.plasmaConfig();
+        return effectiveRadius(input.plasmaConfig());
+    }
+
+    /**
+     * Эффективный радиус камеры, м: половина меньшего из её размеров в плане (0.1 м, если конфигурации нет).
+     */
+    public static double effectiveRadius(PlasmaConfiguration cfg) {
         if (cfg == null) {
             return 0.1;
         }
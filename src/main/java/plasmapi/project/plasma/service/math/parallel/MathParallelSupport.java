@@ -2,16 +2,14 @@ package plasmapi.project.plasma.service.math.parallel;
 
 import plasmapi.project.plasma.config.MathParallelProperties;
 
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.Semaphore;
 import java.util.function.IntConsumer;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
- * Семафор для ограничения одновременных симуляций и выборочная параллелизация
+ * Допуск симуляций по оценке стоимости и выборочная параллелизация
  * тяжёлых пакетных циклов (ForkJoinPool, без вложенных задач в фиксированном пуле).
  */
 public class MathParallelSupport {
@@ -19,14 +17,14 @@ public class MathParallelSupport {
     private static final ForkJoinPool CPU_POOL = ForkJoinPool.commonPool();
 
     private final MathParallelProperties properties;
-    private final Semaphore simulationSemaphore;
+    private final SimulationAdmissionController admissionController;
 
     public MathParallelSupport(
             MathParallelProperties properties,
-            Semaphore simulationSemaphore
+            SimulationAdmissionController admissionController
     ) {
         this.properties = properties;
-        this.simulationSemaphore = simulationSemaphore;
+        this.admissionController = admissionController;
     }
 
     public boolean isEnabled() {
@@ -34,18 +32,24 @@ public class MathParallelSupport {
     }
 
     /**
-     * Выполняет полную симуляцию с захватом семафора (если параллельность включена).
+     * Сколько итераций {@link #parallelForCoarse} выполняется одновременно (с вызывающим потоком);
+     * {@code 1}, если параллельность выключена.
      */
-    public <T> T runWithSimulationPermit(Supplier<T> task) {
+    public int parallelism() {
         if (!properties.isEnabled()) {
-            return task.get();
+            return 1;
         }
-        acquireSimulationPermit();
-        try {
+        return Math.min(CPU_POOL.getParallelism() + 1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Выполняет полную симуляцию после допуска по стоимости (если параллельность включена).
+     */
+    public <T> T runAdmitted(SimulationCost cost, Supplier<T> task) {
+        if (!properties.isEnabled()) {
             return task.get();
-        } finally {
-            simulationSemaphore.release();
         }
+        return admissionController.run(cost, task);
     }
 
     /**
@@ -64,6 +68,23 @@ public class MathParallelSupport {
         IntStream.range(0, count).parallel().forEach(action);
     }
 
+    /**
+     * Параллельный цикл по крупным независимым задачам (точки sweep): порог
+     * {@code min-parallel-items} не применяется — каждая итерация сама по себе тяжёлая.
+     */
+    public void parallelForCoarse(int count, IntConsumer action) {
+        if (count <= 0) {
+            return;
+        }
+        if (!properties.isEnabled() || count == 1) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        IntStream.range(0, count).parallel().forEach(action);
+    }
+
     /**
      * Параллельная сумма — только при большом числе шагов интегрирования.
      */
@@ -82,30 +103,14 @@ public class MathParallelSupport {
     }
 
     /**
-     * Два независимых этапа (thermal и plasma) — отдельные потоки common pool,
-     * без блокировки фиксированного executor внутри расчётов.
+     * Граф этапов на общем CPU-пуле; при выключенной параллельности этапы выполняются
+     * сразу при объявлении в вызывающем потоке.
      */
-    public <A, B> StagePair<A, B> runStages(Supplier<A> first, Supplier<B> second) {
-        if (!properties.isEnabled()) {
-            return new StagePair<>(first.get(), second.get());
-        }
-        CompletableFuture<A> f1 = CompletableFuture.supplyAsync(first::get, CPU_POOL);
-        CompletableFuture<B> f2 = CompletableFuture.supplyAsync(second::get, CPU_POOL);
-        return new StagePair<>(f1.join(), f2.join());
+    public StageGraph newStageGraph() {
+        return new StageGraph(properties.isEnabled() ? CPU_POOL : Runnable::run);
     }
 
-    public record StagePair<A, B>(A first, B second) {}
-
     private boolean shouldParallelize(int count) {
         return properties.isEnabled() && count >= properties.getMinParallelItems();
     }
-
-    private void acquireSimulationPermit() {
-        try {
-            simulationSemaphore.acquire();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Simulation permit acquire interrupted", e);
-        }
-    }
 }
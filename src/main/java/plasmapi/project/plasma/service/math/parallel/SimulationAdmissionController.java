@@ -0,0 +1,167 @@
+package plasmapi.project.plasma.service.math.parallel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import plasmapi.project.plasma.config.MathParallelProperties;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Допуск расчётов по оценке стоимости вместо фиксированного числа разрешений: одновременно
+ * выполняются расчёты, суммарная стоимость которых укладывается в бюджет
+ * {@code simulation-cost-budget}. Ожидающие допускаются строго по очереди (крупный расчёт
+ * не голодает за мелкими); расчёт дороже всего бюджета выполняется один. Если в очереди уже
+ * {@code simulation-max-queued} расчётов — отказ с оценкой, через сколько секунд повторить.
+ * <p>
+ * После каждого расчёта в лог пишется оценка и фактическое время — для калибровки
+ * {@code nanos-per-cost-unit}.
+ */
+@Slf4j
+public class SimulationAdmissionController {
+
+    private final MathParallelProperties properties;
+
+    // очередь, бюджет и счётчики — под монитором this
+    private final Deque<Ticket> queue = new ArrayDeque<>();
+    private double admittedUnits;
+    private int running;
+
+    private final Counter rejectedCounter;
+    private final DistributionSummary costErrorSummary;
+
+    public SimulationAdmissionController(MathParallelProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rejectedCounter = Counter.builder("plasma.simulation.admission.rejected")
+                .description("Расчёты, отклонённые из-за переполнения очереди допуска")
+                .register(meterRegistry);
+        this.costErrorSummary = DistributionSummary.builder("plasma.simulation.admission.cost.ratio")
+                .description("Фактическое время расчёта / оценка по стоимости")
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.admission.running", this, SimulationAdmissionController::running)
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.admission.queued", this, SimulationAdmissionController::queued)
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.admission.units", this, SimulationAdmissionController::admittedUnits)
+                .description("Суммарная стоимость выполняющихся расчётов")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполняет задачу, когда её стоимость укладывается в бюджет.
+     *
+     * @throws SimulationQueueFullException очередь ожидающих заполнена
+     */
+    public <T> T run(SimulationCost cost, Supplier<T> task) {
+        Ticket ticket = admit(cost);
+        long started = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            release(ticket);
+            recordRuntime(cost, System.nanoTime() - started);
+        }
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    public synchronized double admittedUnits() {
+        return admittedUnits;
+    }
+
+    private synchronized Ticket admit(SimulationCost cost) {
+        Ticket ticket = new Ticket(Math.min(cost.units(), budget()));
+        if (queue.isEmpty() && fits(ticket)) {
+            start(ticket);
+            return ticket;
+        }
+        if (queue.size() >= properties.getSimulationMaxQueued()) {
+            rejectedCounter.increment();
+            throw new SimulationQueueFullException(
+                    "Simulation admission queue is full, retry later",
+                    retryAfterSeconds()
+            );
+        }
+        queue.addLast(ticket);
+        try {
+            while (queue.peekFirst() != ticket || !fits(ticket)) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            queue.remove(ticket);
+            notifyAll();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation admission interrupted", e);
+        }
+        queue.removeFirst();
+        start(ticket);
+        // следующий в очереди может поместиться в оставшийся бюджет
+        notifyAll();
+        return ticket;
+    }
+
+    private void start(Ticket ticket) {
+        admittedUnits += ticket.units;
+        running++;
+    }
+
+    private synchronized void release(Ticket ticket) {
+        admittedUnits -= ticket.units;
+        running--;
+        if (running == 0) {
+            admittedUnits = 0.0;
+        }
+        notifyAll();
+    }
+
+    private boolean fits(Ticket ticket) {
+        return running == 0 || admittedUnits + ticket.units <= budget();
+    }
+
+    private double budget() {
+        return Math.max(1.0, properties.getSimulationCostBudget());
+    }
+
+    /**
+     * Грубая оценка: время на выполнение всего допущенного и ожидающего при загрузке всех ядер.
+     */
+    private long retryAfterSeconds() {
+        double pendingUnits = admittedUnits;
+        for (Ticket waiting : queue) {
+            pendingUnits += waiting.units;
+        }
+        double seconds = pendingUnits * properties.getNanosPerCostUnit() / 1e9
+                / Runtime.getRuntime().availableProcessors();
+        return Math.max(1L, (long) Math.ceil(seconds));
+    }
+
+    private void recordRuntime(SimulationCost cost, long elapsedNanos) {
+        double estimatedMs = cost.units() * properties.getNanosPerCostUnit() / 1e6;
+        double actualMs = elapsedNanos / 1e6;
+        if (estimatedMs > 0) {
+            costErrorSummary.record(actualMs / estimatedMs);
+        }
+        log.info("Simulation cost {} units ({}): estimated {} ms, actual {} ms",
+                String.format("%.3g", cost.units()), cost,
+                String.format("%.1f", estimatedMs), String.format("%.1f", actualMs));
+    }
+
+    private static final class Ticket {
+        private final double units;
+
+        private Ticket(double units) {
+            this.units = units;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package plasmapi.project.plasma.service.math.parallel;
+
+/**
+ * Оценка CPU-стоимости расчёта до запуска, в условных единицах (≈ один шаг явной схемы в одном узле).
+ *
+ * @param thermalWork     узлы × шаги теплового расчёта
+ * @param particles       MC-ионы транспорта
+ * @param alloyComponents компоненты сплава (потенциал считается по парам)
+ * @param ionComponents   компоненты ионного состава
+ * @param runs            число расчётов с такой стоимостью (точки sweep)
+ */
+public record SimulationCost(long thermalWork, int particles, int alloyComponents, int ionComponents, int runs) {
+
+    /** Траектория MC-иона — порядка тысяч шагов с несколькими десятками операций. */
+    static final double PARTICLE_UNITS = 2.0e4;
+    /** Потенциал одной пары компонентов сплава. */
+    static final double POTENTIAL_PAIR_UNITS = 5.0e4;
+    /** Усреднение столкновений по паре «ион × компонент сплава». */
+    static final double COLLISION_PAIR_UNITS = 1.0e5;
+    /** Плазма, энерговклад, профиль и обращения к БД. */
+    static final double BASE_UNITS = 1.0e6;
+
+    public static SimulationCost of(long thermalWork, int particles, int alloyComponents, int ionComponents) {
+        return new SimulationCost(thermalWork, particles, alloyComponents, ionComponents, 1);
+    }
+
+    public SimulationCost forRuns(int runs) {
+        return new SimulationCost(thermalWork, particles, alloyComponents, ionComponents, runs);
+    }
+
+    public double units() {
+        int alloy = Math.max(1, alloyComponents);
+        int ions = Math.max(1, ionComponents);
+        double single = thermalWork
+                + particles * PARTICLE_UNITS
+                + (double) alloy * alloy * POTENTIAL_PAIR_UNITS
+                + (double) alloy * ions * COLLISION_PAIR_UNITS
+                + BASE_UNITS;
+        return single * Math.max(1, runs);
+    }
+}
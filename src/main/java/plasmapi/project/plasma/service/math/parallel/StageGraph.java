@@ -0,0 +1,131 @@
+package plasmapi.project.plasma.service.math.parallel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Небольшой граф этапов расчёта с объявленными входами: этап стартует, как только готовы
+ * все его входы. Для каждого этапа фиксируется время, а после завершения — критический путь
+ * (цепочка этапов, которая ограничила общую длительность).
+ * <p>
+ * Этапы объявляются из одного потока в порядке зависимостей (входы — раньше этапа).
+ */
+public final class StageGraph {
+
+    private final Executor executor;
+    private final long createdNanos = System.nanoTime();
+    private final List<Stage<?>> stages = new ArrayList<>();
+
+    StageGraph(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> Stage<T> stage(String name, Supplier<T> work, Stage<?>... inputs) {
+        Stage<T> stage = new Stage<>(name, List.of(inputs));
+        CompletableFuture<Void> ready = inputs.length == 0
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(stage.inputs.stream().map(s -> s.future).toArray(CompletableFuture[]::new));
+        stage.future = ready.thenApplyAsync(ignored -> {
+            stage.startNanos = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                stage.endNanos = System.nanoTime();
+            }
+        }, executor);
+        stages.add(stage);
+        return stage;
+    }
+
+    /**
+     * Времена этапов и критический путь; этапы, которые не выполнялись (ошибка входа), пропускаются.
+     */
+    public Report report() {
+        List<StageTiming> timings = new ArrayList<>();
+        Stage<?> last = null;
+        for (Stage<?> stage : stages) {
+            if (!stage.isFinished()) {
+                continue;
+            }
+            timings.add(new StageTiming(stage.name, toMs(stage.startNanos - createdNanos), toMs(stage.endNanos - stage.startNanos)));
+            if (last == null || stage.endNanos > last.endNanos) {
+                last = stage;
+            }
+        }
+
+        List<String> criticalPath = new ArrayList<>();
+        double criticalMs = 0.0;
+        if (last != null) {
+            criticalMs = toMs(last.endNanos - createdNanos);
+            // назад от последнего завершённого этапа через вход, который освободился позже всех
+            for (Stage<?> current = last; current != null; current = current.latestInput()) {
+                criticalPath.add(current.name);
+            }
+            Collections.reverse(criticalPath);
+        }
+        return new Report(timings, criticalPath, criticalMs);
+    }
+
+    private static double toMs(long nanos) {
+        return nanos / 1e6;
+    }
+
+    public static final class Stage<T> {
+        private final String name;
+        private final List<Stage<?>> inputs;
+        private CompletableFuture<T> future;
+        private volatile long startNanos;
+        private volatile long endNanos;
+
+        private Stage(String name, List<Stage<?>> inputs) {
+            this.name = name;
+            this.inputs = inputs;
+        }
+
+        /** Результат этапа (ждёт завершения); исключение этапа пробрасывается как есть. */
+        public T join() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+
+        private boolean isFinished() {
+            return future.isDone() && endNanos != 0;
+        }
+
+        private Stage<?> latestInput() {
+            Stage<?> latest = null;
+            for (Stage<?> input : inputs) {
+                if (input.isFinished() && (latest == null || input.endNanos > latest.endNanos)) {
+                    latest = input;
+                }
+            }
+            return latest;
+        }
+    }
+
+    /**
+     * @param startMs    старт этапа от создания графа
+     * @param durationMs собственное время этапа
+     */
+    public record StageTiming(String stage, double startMs, double durationMs) {}
+
+    /**
+     * @param criticalPath этапы от первого к последнему, определившие длительность
+     * @param wallMs       от создания графа до завершения последнего этапа
+     */
+    public record Report(List<StageTiming> stages, List<String> criticalPath, double wallMs) {}
+}
@@ -0,0 +1,172 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import plasmapi.project.plasma.dto.mathDto.collision.CollisionResult;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.energy.EnergyDepositionResult;
+import plasmapi.project.plasma.service.math.parallel.StageGraph;
+import plasmapi.project.plasma.service.math.plazma.PlasmaResult;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointing;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.transport.TransportResult;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Контекст одного расчёта: каждый этап (плазма, энерговклад, тепло, столкновения, транспорт,
+ * обогащённые промежуточные параметры) выполняется не более одного раза, дальше результат
+ * берётся из контекста — в диффузии, мапперах и сервисе обогащения.
+ */
+public final class SimulationContext {
+
+    public static final String PLASMA = "plasma";
+    public static final String ENERGY_DEPOSITION = "energyDeposition";
+    /** Пересчёт энерговклада при обогащении: другие входы (наклон не меньше минимального, без модуляции). */
+    public static final String ENERGY_DEPOSITION_FALLBACK = "energyDepositionFallback";
+    public static final String THERMAL = "thermal";
+    public static final String THERMAL_FIELD = "thermalField";
+    public static final String COLLISION = "collision";
+    public static final String TRANSPORT = "transport";
+    public static final String INTERMEDIATE = "intermediate";
+    public static final String PROFILE = "profile";
+
+    private final SimulationStageMemo memo;
+    private final SimulationProgressListener listener;
+    private final SimulationFidelity fidelity;
+    private final SimulationStageMemo stages = SimulationStageMemo.shared();
+    private volatile StageGraph.Report stageGraph;
+    private volatile int radialNodes;
+    private volatile ThermalCheckpointing thermalCheckpointing = ThermalCheckpointing.NONE;
+
+    private SimulationContext(
+            SimulationStageMemo memo,
+            SimulationProgressListener listener,
+            SimulationFidelity fidelity
+    ) {
+        this.memo = memo;
+        this.listener = listener;
+        this.fidelity = fidelity;
+    }
+
+    /** Отдельный расчёт без общего мемо. */
+    public static SimulationContext create() {
+        return create(SimulationProgressListener.NONE);
+    }
+
+    /** Отдельный расчёт, о ходе которого сообщается наблюдателю. */
+    public static SimulationContext create(SimulationProgressListener listener) {
+        return create(listener, SimulationFidelity.STANDARD);
+    }
+
+    public static SimulationContext create(SimulationProgressListener listener, SimulationFidelity fidelity) {
+        return new SimulationContext(SimulationStageMemo.disabled(), listener, fidelity);
+    }
+
+    /** Расчёт в группе (sweep): тяжёлые этапы дополнительно делятся между расчётами через мемо. */
+    public static SimulationContext withMemo(SimulationStageMemo memo) {
+        return withMemo(memo, SimulationFidelity.STANDARD);
+    }
+
+    public static SimulationContext withMemo(SimulationStageMemo memo, SimulationFidelity fidelity) {
+        return new SimulationContext(memo, SimulationProgressListener.NONE, fidelity);
+    }
+
+    public SimulationStageMemo memo() {
+        return memo;
+    }
+
+    /** Точность, с которой выполняется расчёт (после учёта бюджета времени). */
+    public SimulationFidelity fidelity() {
+        return fidelity;
+    }
+
+    /**
+     * Дополнительно посчитать осесимметричное поле T(r, z) с {@code radialNodes} узлами по радиусу
+     * (задаётся до расчёта диффузии).
+     */
+    public void requestThermalField(int radialNodes) {
+        if (radialNodes <= 0) {
+            throw new IllegalArgumentException("Radial nodes must be > 0");
+        }
+        this.radialNodes = radialNodes;
+    }
+
+    /** Узлов по радиусу поля T(r, z); {@code 0} — поле не считается. */
+    public int radialNodes() {
+        return radialNodes;
+    }
+
+    /** Сохранять контрольные точки теплового расчёта (задаётся до расчёта диффузии). */
+    public void requestThermalCheckpoints(ThermalCheckpointing checkpointing) {
+        this.thermalCheckpointing = checkpointing != null ? checkpointing : ThermalCheckpointing.NONE;
+    }
+
+    public ThermalCheckpointing thermalCheckpointing() {
+        return thermalCheckpointing;
+    }
+
+    /** Прогресс долгого цикла этапа для наблюдателя расчёта. */
+    public ProgressListener progress(String stage) {
+        return listener.forStage(stage);
+    }
+
+    /**
+     * Результат этапа в рамках расчёта: первый вызов считает, последующие возвращают готовое значение.
+     */
+    public <T> T stage(String stage, Supplier<T> supplier) {
+        return stage(stage, stage, supplier);
+    }
+
+    /**
+     * Результат этапа, зависящего от входа {@code key} (сравнивается по {@code equals}): один расчёт
+     * на каждый различный вход. {@link #plasma()} и подобные читают только этапы без ключа.
+     */
+    public <T> T stage(String stage, Object key, Supplier<T> supplier) {
+        return stages.compute(stage, key, () -> {
+            T value = supplier.get();
+            listener.stageCompleted(stage, value);
+            return value;
+        });
+    }
+
+    public PlasmaResult plasma() {
+        return stages.peek(PLASMA, PLASMA);
+    }
+
+    public EnergyDepositionResult energyDeposition() {
+        return stages.peek(ENERGY_DEPOSITION, ENERGY_DEPOSITION);
+    }
+
+    public ThermalResult thermal() {
+        return stages.peek(THERMAL, THERMAL);
+    }
+
+    public AxisymmetricThermalResult thermalField() {
+        return stages.peek(THERMAL_FIELD, THERMAL_FIELD);
+    }
+
+    public CollisionResult collision() {
+        return stages.peek(COLLISION, COLLISION);
+    }
+
+    public TransportResult transport() {
+        return stages.peek(TRANSPORT, TRANSPORT);
+    }
+
+    /** Времена этапов графа диффузии и критический путь расчёта. */
+    public void recordStageGraph(StageGraph.Report report) {
+        this.stageGraph = report;
+    }
+
+    public StageGraph.Report stageGraph() {
+        return stageGraph;
+    }
+
+    /**
+     * Сколько раз каждый этап был посчитан и сколько раз взят из контекста.
+     */
+    public Map<String, SimulationStageMemo.StageReuse> evaluations() {
+        return stages.reuse();
+    }
+}
@@ -0,0 +1,84 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+import java.util.Locale;
+
+/**
+ * Пресет точности расчёта: разрешение тепловой сетки, число MC-ионов и точек профиля.
+ * Тепловой этап во всех пресетах считается по Кранку–Николсон на сетке, сгущённой к поверхности:
+ * явная схема при типичных экспозициях упирается в предел шагов и теряет устойчивость.
+ * Однородная пластина с адиабатической или фиксированной поверхностью считается рядом по собственным
+ * функциям с допуском усечения пресета, без шагов.
+ * <p>
+ * {@link #STANDARD} (по умолчанию) с прежними фиксированными значениями не совпадает: кроме схемы и
+ * сетки, шаг по времени подбирается по допуску 0.1 К, после выхода циклирования на периодический
+ * режим оставшиеся циклы не считаются, а поле для графиков хранится в {@code float}. {@link #HIGH}
+ * эти упрощения выключает: постоянный шаг, все циклы, поле в {@code double}. {@link #LEGACY} —
+ * прежние фиксированные значения (явная схема, равномерная сетка) для сверки со старыми результатами.
+ */
+public enum SimulationFidelity {
+
+    /** Интерактивный предпросмотр (десятки миллисекунд). */
+    PREVIEW(new ThermalResolution(40, 20_000, ThermalScheme.CRANK_NICOLSON, 1.2, 0.5, 0.5, true, 0.5), 40, 100),
+    STANDARD(new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON, 1.05, 0.1, 0.1, true, 0.1), 200, 200),
+    /** Отчёты: более частая сетка, в 5 раз больше MC-ионов, без адаптивного шага и пропуска циклов. */
+    HIGH(new ThermalResolution(2000, 4_000_000, ThermalScheme.CRANK_NICOLSON, 1.03, 0.0, 0.0, false, 0.02), 1000, 400),
+    /** Значения до появления пресетов; при длинных экспозициях явная схема упирается в предел шагов. */
+    LEGACY(ThermalResolution.DEFAULT, 200, 200);
+
+    private final ThermalResolution thermalResolution;
+    private final int transportParticles;
+    private final int profilePoints;
+
+    SimulationFidelity(ThermalResolution thermalResolution, int transportParticles, int profilePoints) {
+        this.thermalResolution = thermalResolution;
+        this.transportParticles = transportParticles;
+        this.profilePoints = profilePoints;
+    }
+
+    public ThermalResolution thermalResolution() {
+        return thermalResolution;
+    }
+
+    public int transportParticles() {
+        return transportParticles;
+    }
+
+    public int profilePoints() {
+        return profilePoints;
+    }
+
+    /** Пресет запроса или {@link #STANDARD}, если не задан. */
+    public static SimulationFidelity orDefault(SimulationFidelity fidelity) {
+        return fidelity != null ? fidelity : STANDARD;
+    }
+
+    /** Следующий пресет ниже по стоимости; у {@link #PREVIEW} — он сам, у {@link #LEGACY} — {@link #STANDARD}. */
+    public SimulationFidelity lower() {
+        return switch (this) {
+            case PREVIEW, STANDARD -> PREVIEW;
+            case HIGH, LEGACY -> STANDARD;
+        };
+    }
+
+    @JsonValue
+    public String jsonValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    @JsonCreator
+    public static SimulationFidelity from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fidelity: " + value + " (preview, standard, high, legacy)");
+        }
+    }
+}
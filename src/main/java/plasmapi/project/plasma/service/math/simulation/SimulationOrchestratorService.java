@@ -3,7 +3,33 @@ package plasmapi.project.plasma.service.math.simulation;
 import org.springframework.transaction.annotation.Transactional;
 import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
 
+import java.util.List;
+
 public interface SimulationOrchestratorService {
     @Transactional
-    SimulationResult runSimulation(SimulationRequest request);
+    default SimulationResult runSimulation(SimulationRequest request) {
+        return runSimulation(request, SimulationProgressListener.NONE);
+    }
+
+    /**
+     * Расчёт с уведомлением наблюдателя о готовых этапах и прогрессе долгих циклов.
+     * При попадании в кэш или присоединении к идущему расчёту события этапов не приходят.
+     */
+    @Transactional
+    SimulationResult runSimulation(SimulationRequest request, SimulationProgressListener listener);
+
+    /**
+     * Расчёт с общим мемо этапов (например, точка sweep). Семафор симуляций не захватывается:
+     * вызывающий код уже держит разрешение на всю группу расчётов.
+     */
+    @Transactional
+    SimulationResult runWithinPermit(SimulationRequest request, SimulationStageMemo memo);
+
+    /**
+     * Тепловой этап группы расчётов одним пакетом в общее мемо (точки sweep, различающиеся
+     * напряжением или током). Последующие {@link #runWithinPermit} берут тепло из мемо;
+     * ошибочные запросы пропускаются — о них сообщит сам расчёт.
+     */
+    @Transactional
+    void prepareThermal(List<SimulationRequest> requests, SimulationStageMemo memo);
 }
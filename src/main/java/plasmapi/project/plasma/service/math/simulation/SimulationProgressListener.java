@@ -0,0 +1,29 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import plasmapi.project.plasma.service.math.ProgressListener;
+
+/**
+ * Наблюдатель за ходом одного расчёта: готовые этапы и прогресс долгих циклов.
+ * Вызывается из рабочих потоков расчёта; реализация не должна бросать исключения.
+ */
+public interface SimulationProgressListener {
+
+    SimulationProgressListener NONE = new SimulationProgressListener() {
+    };
+
+    /** Этап посчитан (не вызывается для значения, взятого из контекста повторно). */
+    default void stageCompleted(String stage, Object result) {
+    }
+
+    default void progress(String stage, long done, long total) {
+    }
+
+    /** Запуск отменён: посчитанный результат не сохраняется. */
+    default boolean cancelled() {
+        return false;
+    }
+
+    default ProgressListener forStage(String stage) {
+        return this == NONE ? ProgressListener.NONE : (done, total) -> progress(stage, done, total);
+    }
+}
@@ -29,4 +29,6 @@ public class SimulationResult {
     private final SimulationIntermediateResult intermediate;
     private final AlloyComposition alloy;
     private final IonComposition ionComposition;
+    /** Результаты этапов этого расчёта — для мапперов и обогащения без повторных вычислений. */
+    private final SimulationContext context;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+
+/**
+ * Полный цикл запуска: расчёт → сохранение результата → ответ для фронтенда.
+ * Общий для синхронных эндпоинтов и фоновых задач.
+ */
+public interface SimulationRunService {
+
+    /**
+     * @param configId ID конфигурации для сохранения; если {@code null} — из запроса, иначе 1
+     */
+    default SimulationRunResponse runAndSave(SimulationRequest request, Integer configId) {
+        return runAndSave(request, configId, SimulationProgressListener.NONE);
+    }
+
+    /**
+     * То же с уведомлением наблюдателя о ходе расчёта (потоковый эндпоинт).
+     *
+     * @throws java.util.concurrent.CancellationException если {@link SimulationProgressListener#cancelled()}
+     *                                                   к концу расчёта — результат не сохраняется
+     */
+    SimulationRunResponse runAndSave(SimulationRequest request, Integer configId, SimulationProgressListener listener);
+}
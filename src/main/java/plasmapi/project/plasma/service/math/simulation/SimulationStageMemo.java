@@ -0,0 +1,120 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Мемоизация этапов конвейера между несколькими расчётами (например, точками sweep).
+ * Ключ — этап + его фактические входные данные; одинаковый этап считается один раз,
+ * параллельные запросы того же ключа ждут первый расчёт.
+ */
+public final class SimulationStageMemo {
+
+    private static final SimulationStageMemo DISABLED = new SimulationStageMemo(false);
+
+    private final boolean enabled;
+    private final Map<StageKey, CompletableFuture<Object>> values = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> computed = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> reused = new ConcurrentHashMap<>();
+
+    private SimulationStageMemo(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Мемо без хранения — каждый вызов считает этап заново. */
+    public static SimulationStageMemo disabled() {
+        return DISABLED;
+    }
+
+    /** Общее мемо для группы связанных расчётов. */
+    public static SimulationStageMemo shared() {
+        return new SimulationStageMemo(true);
+    }
+
+    /**
+     * @param stage имя этапа (для статистики)
+     * @param key   входные данные этапа; должны корректно реализовывать equals/hashCode
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T compute(String stage, Object key, Supplier<T> supplier) {
+        if (!enabled) {
+            return supplier.get();
+        }
+        StageKey stageKey = new StageKey(stage, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = values.putIfAbsent(stageKey, mine);
+        if (existing != null) {
+            counter(reused, stage).increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        counter(computed, stage).increment();
+        try {
+            T value = supplier.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            values.remove(stageKey, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Положить значение этапа, посчитанное снаружи (например, пакетом для нескольких расчётов);
+     * учитывается как посчитанное. Уже имеющееся значение не заменяется.
+     */
+    public void prime(String stage, Object key, Object value) {
+        if (!enabled) {
+            return;
+        }
+        if (values.putIfAbsent(new StageKey(stage, key), CompletableFuture.completedFuture(value)) == null) {
+            counter(computed, stage).increment();
+        }
+    }
+
+    /**
+     * Уже посчитанное значение этапа без запуска расчёта; {@code null}, если его ещё нет.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T peek(String stage, Object key) {
+        CompletableFuture<Object> value = values.get(new StageKey(stage, key));
+        if (value == null || !value.isDone() || value.isCompletedExceptionally()) {
+            return null;
+        }
+        return (T) value.join();
+    }
+
+    /**
+     * Сколько раз каждый этап был посчитан и сколько раз взят из мемо.
+     */
+    public Map<String, StageReuse> reuse() {
+        Map<String, StageReuse> result = new TreeMap<>();
+        computed.forEach((stage, count) -> result.put(stage, new StageReuse(count.sum(), 0)));
+        reused.forEach((stage, count) -> result.merge(
+                stage,
+                new StageReuse(0, count.sum()),
+                (a, b) -> new StageReuse(a.computed() + b.computed(), a.reused() + b.reused())
+        ));
+        return result;
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String stage) {
+        return counters.computeIfAbsent(stage, s -> new LongAdder());
+    }
+
+    public record StageReuse(long computed, long reused) {}
+
+    private record StageKey(String stage, Object key) {}
+}
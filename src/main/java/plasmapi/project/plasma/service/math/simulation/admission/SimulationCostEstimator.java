@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.service.math.simulation.admission;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.parallel.SimulationCost;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+
+/**
+ * Оценка стоимости расчёта до его запуска — для допуска по CPU-бюджету и выбора точности.
+ */
+public interface SimulationCostEstimator {
+
+    default SimulationCost estimate(SimulationRequest request) {
+        return estimate(request, resolveFidelity(request));
+    }
+
+    /**
+     * Тепловая сетка (узлы × шаги), MC-ионы и размеры составов при заданной точности.
+     * Для некорректного запроса (нет атома или его теплофизики) — минимальная стоимость:
+     * расчёт всё равно быстро завершится ошибкой.
+     */
+    SimulationCost estimate(SimulationRequest request, SimulationFidelity fidelity);
+
+    /**
+     * Пресет запроса (по умолчанию standard), понижаемый, пока оценка времени не уложится
+     * в {@code maxWallTimeMs}; ниже preview не опускается.
+     */
+    SimulationFidelity resolveFidelity(SimulationRequest request);
+}
@@ -0,0 +1,86 @@
+package plasmapi.project.plasma.service.math.simulation.admission.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.MathParallelProperties;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.repository.AtomListRepository;
+import plasmapi.project.plasma.repository.AtomThermalPropertyRepository;
+import plasmapi.project.plasma.service.math.diffusion.DiffusionService;
+import plasmapi.project.plasma.service.math.diffusion.DiffusionWorkEstimate;
+import plasmapi.project.plasma.service.math.parallel.SimulationCost;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+import plasmapi.project.plasma.service.math.simulation.admission.SimulationCostEstimator;
+
+@Service
+@RequiredArgsConstructor
+public class SimulationCostEstimatorImpl implements SimulationCostEstimator {
+
+    private final AtomListRepository atomRepository;
+    private final AtomThermalPropertyRepository thermalPropertyRepository;
+    private final DiffusionService diffusionService;
+    private final MathParallelProperties parallelProperties;
+
+    @Override
+    public SimulationCost estimate(SimulationRequest request, SimulationFidelity fidelity) {
+        return estimate(request, thermalConfig(request), fidelity);
+    }
+
+    @Override
+    public SimulationFidelity resolveFidelity(SimulationRequest request) {
+        SimulationFidelity fidelity = SimulationFidelity.orDefault(request.getFidelity());
+        Long maxWallTimeMs = request.getMaxWallTimeMs();
+        if (maxWallTimeMs == null) {
+            return fidelity;
+        }
+        if (maxWallTimeMs <= 0) {
+            throw new IllegalArgumentException("maxWallTimeMs must be > 0");
+        }
+        PlasmaConfiguration cfg = thermalConfig(request);
+        while (fidelity != SimulationFidelity.PREVIEW
+                && estimatedMs(estimate(request, cfg, fidelity)) > maxWallTimeMs) {
+            fidelity = fidelity.lower();
+        }
+        return fidelity;
+    }
+
+    private SimulationCost estimate(SimulationRequest request, PlasmaConfiguration cfg, SimulationFidelity fidelity) {
+        int alloyComponents = request.getComposition() != null ? request.getComposition().size() : 0;
+        int ionComponents = request.getIonComposition() != null ? request.getIonComposition().size() : 0;
+        if (cfg == null) {
+            return SimulationCost.of(0L, 0, alloyComponents, ionComponents);
+        }
+        int radialNodes = request.getRadialNodes() != null ? request.getRadialNodes() : 0;
+        DiffusionWorkEstimate work = diffusionService.estimateWork(cfg, request.getExposureTime(), fidelity, radialNodes);
+        return SimulationCost.of(work.thermalWork() + work.axisymmetricWork(), work.transportParticles(),
+                alloyComponents, ionComponents);
+    }
+
+    private double estimatedMs(SimulationCost cost) {
+        return cost.units() * parallelProperties.getNanosPerCostUnit() / 1e6;
+    }
+
+    /** Минимальная конфигурация для оценки тепловой сетки; {@code null}, если данных нет. */
+    private PlasmaConfiguration thermalConfig(SimulationRequest request) {
+        AtomList atom = request.getAtomId() != null
+                ? atomRepository.findById(request.getAtomId()).orElse(null)
+                : null;
+        if (atom == null || atom.getDsteny() == null || atom.getHeatCapacity() == null
+                || atom.getThermalConductivity() == null || request.getExposureTime() <= 0) {
+            return null;
+        }
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setVoltage(request.getVoltage());
+        cfg.setCurrent(request.getCurrent());
+        cfg.setExposureTime(request.getExposureTime());
+        cfg.setChamberWidth(request.getChamberWidth());
+        cfg.setChamberDepth(request.getChamberDepth());
+        cfg.setDensity(atom.getDsteny());
+        cfg.setHeatCapacity(atom.getHeatCapacity());
+        cfg.setThermalConductivity(atom.getThermalConductivity());
+        cfg.setThermalProperties(thermalPropertyRepository.findTable(atom.getId()));
+        return cfg;
+    }
+}
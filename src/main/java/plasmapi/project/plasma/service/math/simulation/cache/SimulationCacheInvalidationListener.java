@@ -0,0 +1,40 @@
+package plasmapi.project.plasma.service.math.simulation.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.model.atom.AtomThermalProperty;
+import plasmapi.project.plasma.model.res.Ion;
+
+/**
+ * JPA-слушатель {@link AtomList}, {@link AtomThermalProperty} и {@link Ion}: изменение или удаление
+ * строки (у таблиц свойств — и добавление) сбрасывает закэшированные результаты, которые от неё зависят.
+ */
+@Component
+@RequiredArgsConstructor
+public class SimulationCacheInvalidationListener {
+
+    // ленивое получение: слушатель создаётся вместе с EntityManagerFactory
+    private final ObjectProvider<SimulationResultCache> cache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        SimulationResultCache resultCache = cache.getIfAvailable();
+        if (resultCache == null) {
+            return;
+        }
+        if (entity instanceof AtomList atom) {
+            resultCache.invalidateAtom(atom.getId());
+        } else if (entity instanceof AtomThermalProperty property && property.getAtom() != null) {
+            resultCache.invalidateAtom(property.getAtom().getId());
+        } else if (entity instanceof Ion ion) {
+            resultCache.invalidateIon(ion.getId());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package plasmapi.project.plasma.service.math.simulation.cache;
+
+/**
+ * Снимок состояния кэша результатов.
+ *
+ * @param weightBytes    оценочный объём хранимых результатов
+ * @param evictions      вытеснения по объёму и TTL
+ * @param invalidations  записи, удалённые из-за изменения атома или иона
+ */
+public record SimulationCacheStats(
+        boolean enabled,
+        int entries,
+        long weightBytes,
+        long maxWeightBytes,
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations
+) {}
@@ -0,0 +1,134 @@
+package plasmapi.project.plasma.service.math.simulation.cache;
+
+import plasmapi.project.plasma.dto.mathDto.diffusion.AlloyComponentDto;
+import plasmapi.project.plasma.dto.mathDto.ion.IonComponentDto;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Канонический отпечаток запроса: составы отсортированы по id, числа округлены до заданной
+ * относительной точности, configId не учитывается (влияет только на сохранение).
+ *
+ * @param hash    SHA-256 канонической строки
+ * @param atomIds все атомы, от которых зависит результат (для инвалидации)
+ * @param ionIds  все ионы, от которых зависит результат
+ */
+public record SimulationRequestFingerprint(String hash, Set<Integer> atomIds, Set<Integer> ionIds) {
+
+    /**
+     * Можно ли отдать запросу результат другого расчёта (из кэша или идущего). Расчёт
+     * с контрольной точкой записывает её, поэтому повторный запрос считается заново.
+     */
+    public static boolean shareable(SimulationRequest request) {
+        return request.getThermalCheckpointId() == null;
+    }
+
+    public static SimulationRequestFingerprint of(SimulationRequest request, double relativeTolerance) {
+        MathContext precision = precision(relativeTolerance);
+        Set<Integer> atomIds = new TreeSet<>();
+        Set<Integer> ionIds = new TreeSet<>();
+        addId(atomIds, request.getAtomId());
+        addId(ionIds, request.getIonId());
+
+        StringBuilder canonical = new StringBuilder(256)
+                .append("atom=").append(request.getAtomId())
+                .append(";ion=").append(request.getIonId())
+                .append(";voltage=").append(round(request.getVoltage(), precision))
+                .append(";pressure=").append(round(request.getPressure(), precision))
+                .append(";current=").append(round(request.getCurrent(), precision))
+                .append(";electronTemp=").append(round(request.getElectronTemp(), precision))
+                .append(";chamberWidth=").append(round(request.getChamberWidth(), precision))
+                .append(";chamberDepth=").append(round(request.getChamberDepth(), precision))
+                .append(";exposureTime=").append(round(request.getExposureTime(), precision))
+                .append(";angle=").append(round(request.getAngle(), precision))
+                .append(";electrodeDistance=").append(round(request.getElectrodeDistance(), precision))
+                .append(";ambientTemp=").append(round(request.getAmbientTemp(), precision))
+                .append(";fidelity=").append(SimulationFidelity.orDefault(request.getFidelity()))
+                .append(";maxWallTimeMs=").append(request.getMaxWallTimeMs())
+                .append(";radialNodes=").append(request.getRadialNodes());
+
+        canonical.append(";composition=");
+        List<AlloyComponentDto> composition = request.getComposition() != null ? request.getComposition() : List.of();
+        composition.stream()
+                .sorted(Comparator.comparing(AlloyComponentDto::getAtomId, Comparator.nullsFirst(Integer::compare))
+                        .thenComparingDouble(AlloyComponentDto::getFraction))
+                .forEach(c -> {
+                    addId(atomIds, c.getAtomId());
+                    canonical.append(c.getAtomId()).append(':').append(round(c.getFraction(), precision)).append(',');
+                });
+
+        canonical.append(";ionComposition=");
+        List<IonComponentDto> ionComposition = request.getIonComposition() != null ? request.getIonComposition() : List.of();
+        ionComposition.stream()
+                .sorted(Comparator.comparing(IonComponentDto::getIonId, Comparator.nullsFirst(Integer::compare))
+                        .thenComparingDouble(IonComponentDto::getFraction))
+                .forEach(c -> {
+                    addId(ionIds, c.getIonId());
+                    canonical.append(c.getIonId()).append(':').append(round(c.getFraction(), precision)).append(',');
+                });
+
+        return new SimulationRequestFingerprint(sha256(canonical.toString()), Set.copyOf(atomIds), Set.copyOf(ionIds));
+    }
+
+    public boolean dependsOnAtom(Integer atomId) {
+        return atomIds.contains(atomId);
+    }
+
+    public boolean dependsOnIon(Integer ionId) {
+        return ionIds.contains(ionId);
+    }
+
+    private static MathContext precision(double relativeTolerance) {
+        double tolerance = relativeTolerance > 0 && Double.isFinite(relativeTolerance) ? relativeTolerance : 1e-9;
+        int digits = (int) Math.ceil(-Math.log10(tolerance));
+        return new MathContext(Math.max(1, Math.min(17, digits)), RoundingMode.HALF_EVEN);
+    }
+
+    private static String round(Double value, MathContext precision) {
+        if (value == null) {
+            return "-";
+        }
+        if (!Double.isFinite(value)) {
+            return value.toString();
+        }
+        return BigDecimal.valueOf(value).round(precision).stripTrailingZeros().toString();
+    }
+
+    private static void addId(Set<Integer> ids, Integer id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SimulationRequestFingerprint other && hash.equals(other.hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hash);
+    }
+}
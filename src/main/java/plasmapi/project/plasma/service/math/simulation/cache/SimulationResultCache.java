@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.service.math.simulation.cache;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный по объёму LRU-кэш результатов симуляции по каноническому отпечатку запроса.
+ */
+public interface SimulationResultCache {
+
+    /**
+     * Результат из кэша или, при промахе, расчёт через {@code compute} с сохранением.
+     * Запрос с контрольной точкой всегда считается и не сохраняется.
+     */
+    SimulationResult getOrCompute(SimulationRequest request, Supplier<SimulationResult> compute);
+
+    /** Удаляет записи, зависящие от атома (основной материал или компонент сплава). */
+    void invalidateAtom(Integer atomId);
+
+    /** Удаляет записи, зависящие от иона (основной или компонент ионного состава). */
+    void invalidateIon(Integer ionId);
+
+    void invalidateAll();
+
+    SimulationCacheStats stats();
+}
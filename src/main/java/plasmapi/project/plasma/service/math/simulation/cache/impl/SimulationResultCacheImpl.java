@@ -0,0 +1,217 @@
+package plasmapi.project.plasma.service.math.simulation.cache.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.SimulationCacheProperties;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.PhysicsStats;
+import plasmapi.project.plasma.service.math.diffusion.DiffusionProfile;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationCacheStats;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationRequestFingerprint;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationResultCache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Service
+public class SimulationResultCacheImpl implements SimulationResultCache {
+
+    /** Оценка «накладных» байт результата без массивов: сущности, DTO промежуточных этапов. */
+    private static final long BASE_WEIGHT_BYTES = 4_096;
+    /** Boxed Double в списке: объект 16 байт + ссылка. */
+    private static final long BOXED_DOUBLE_BYTES = 24;
+
+    private final SimulationCacheProperties properties;
+
+    // порядок доступа — LRU; все операции под монитором this
+    private final LinkedHashMap<SimulationRequestFingerprint, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weightBytes;
+    // растёт при каждой инвалидации: результат, начатый до неё, не кладётся в кэш
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+
+    public SimulationResultCacheImpl(SimulationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder("plasma.simulation.cache.hits")
+                .description("Результаты, отданные из кэша")
+                .register(meterRegistry);
+        this.misses = Counter.builder("plasma.simulation.cache.misses")
+                .description("Запросы, для которых выполнен полный расчёт")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("plasma.simulation.cache.evictions")
+                .tag("cause", "size")
+                .description("Записи, вытесненные из кэша")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("plasma.simulation.cache.evictions")
+                .tag("cause", "expired")
+                .description("Записи, вытесненные из кэша")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("plasma.simulation.cache.invalidations")
+                .description("Записи, удалённые из-за изменения атома или иона")
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.cache.entries", this, c -> c.stats().entries())
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.cache.weight", this, c -> c.stats().weightBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SimulationResult getOrCompute(SimulationRequest request, Supplier<SimulationResult> compute) {
+        if (!properties.isEnabled() || !SimulationRequestFingerprint.shareable(request)) {
+            return compute.get();
+        }
+        SimulationRequestFingerprint key = SimulationRequestFingerprint.of(request, properties.getRelativeTolerance());
+        long startedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(System.nanoTime())) {
+                hits.increment();
+                return entry.result();
+            }
+            if (entry != null) {
+                remove(key, entry);
+                expiredEvictions.increment();
+            }
+            startedGeneration = generation;
+        }
+
+        misses.increment();
+        SimulationResult result = compute.get();
+        put(key, result, startedGeneration);
+        return result;
+    }
+
+    @Override
+    public void invalidateAtom(Integer atomId) {
+        invalidate(key -> key.dependsOnAtom(atomId));
+    }
+
+    @Override
+    public void invalidateIon(Integer ionId) {
+        invalidate(key -> key.dependsOnIon(ionId));
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidate(key -> true);
+    }
+
+    @Override
+    public synchronized SimulationCacheStats stats() {
+        return new SimulationCacheStats(
+                properties.isEnabled(),
+                entries.size(),
+                weightBytes,
+                maxWeightBytes(),
+                (long) hits.count(),
+                (long) misses.count(),
+                (long) (sizeEvictions.count() + expiredEvictions.count()),
+                (long) invalidations.count()
+        );
+    }
+
+    private synchronized void put(SimulationRequestFingerprint key, SimulationResult result, long startedGeneration) {
+        if (startedGeneration != generation) {
+            return;
+        }
+        long weight = estimateWeight(result);
+        long maxWeight = maxWeightBytes();
+        if (weight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            remove(key, previous);
+        }
+
+        long now = System.nanoTime();
+        evictExpired(now);
+        entries.put(key, new Entry(result, weight, now + properties.getTtl().toNanos()));
+        weightBytes += weight;
+
+        Iterator<Map.Entry<SimulationRequestFingerprint, Entry>> lru = entries.entrySet().iterator();
+        while (weightBytes > maxWeight && lru.hasNext()) {
+            Map.Entry<SimulationRequestFingerprint, Entry> eldest = lru.next();
+            weightBytes -= eldest.getValue().weight();
+            lru.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private synchronized void invalidate(Predicate<SimulationRequestFingerprint> affected) {
+        generation++;
+        Iterator<Map.Entry<SimulationRequestFingerprint, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<SimulationRequestFingerprint, Entry> e = it.next();
+            if (affected.test(e.getKey())) {
+                weightBytes -= e.getValue().weight();
+                it.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<SimulationRequestFingerprint, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next().getValue();
+            if (e.isExpired(now)) {
+                weightBytes -= e.weight();
+                it.remove();
+                expiredEvictions.increment();
+            }
+        }
+    }
+
+    private void remove(SimulationRequestFingerprint key, Entry entry) {
+        entries.remove(key);
+        weightBytes -= entry.weight();
+    }
+
+    private long maxWeightBytes() {
+        return properties.getMaxSize().toBytes();
+    }
+
+    /**
+     * Оценка занимаемой памяти: основной объём — температурное поле и профиль концентрации.
+     */
+    static long estimateWeight(SimulationResult result) {
+        long doubles = 0;
+        long primitiveBytes = 0;
+        DiffusionProfile profile = result.getProfile();
+        if (profile != null) {
+            doubles += size(profile.getDepths()) + size(profile.getConcentration());
+        }
+        PhysicsStats stats = result.getStats();
+        if (stats != null) {
+            // шкалы времени и глубины — представления над полем, своего хранилища у них нет
+            if (stats.thermalTemperatureMap() != null) {
+                primitiveBytes += stats.thermalTemperatureMap().storageBytes();
+            }
+        }
+        return BASE_WEIGHT_BYTES + doubles * BOXED_DOUBLE_BYTES + primitiveBytes;
+    }
+
+    private static int size(List<?> list) {
+        return list != null ? list.size() : 0;
+    }
+
+    private record Entry(SimulationResult result, long weight, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package plasmapi.project.plasma.service.math.simulation.flight;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных одинаковых запросов: пока расчёт с тем же отпечатком выполняется,
+ * новые вызовы ждут его результат, а не запускают свой.
+ */
+public interface SimulationSingleFlight {
+
+    /**
+     * Результат общего расчёта для отпечатка запроса. Прерывание ожидающего потока снимает
+     * только его ссылку; сам расчёт отменяется, когда ушли все ожидающие. Запрос с контрольной
+     * точкой считается отдельно, в вызывающем потоке.
+     */
+    SimulationResult execute(SimulationRequest request, Supplier<SimulationResult> compute);
+
+    /** Число расчётов, выполняющихся сейчас. */
+    int inFlight();
+}
@@ -0,0 +1,134 @@
+package plasmapi.project.plasma.service.math.simulation.flight.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.SimulationCacheProperties;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationRequestFingerprint;
+import plasmapi.project.plasma.service.math.simulation.flight.SimulationSingleFlight;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+@Service
+public class SimulationSingleFlightImpl implements SimulationSingleFlight {
+
+    private final ExecutorService executor;
+    private final SimulationCacheProperties cacheProperties;
+
+    // все изменения карты и счётчиков ожидающих — под монитором this
+    private final Map<SimulationRequestFingerprint, Flight> flights = new HashMap<>();
+
+    private final Counter startedCounter;
+    private final Counter coalescedCounter;
+    private final Counter cancelledCounter;
+
+    public SimulationSingleFlightImpl(
+            @Qualifier("simulationFlightExecutor") ExecutorService executor,
+            SimulationCacheProperties cacheProperties,
+            MeterRegistry meterRegistry
+    ) {
+        this.executor = executor;
+        this.cacheProperties = cacheProperties;
+        this.startedCounter = Counter.builder("plasma.simulation.flights.started")
+                .description("Запущенные общие расчёты")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("plasma.simulation.flights.coalesced")
+                .description("Запросы, присоединившиеся к уже идущему расчёту")
+                .register(meterRegistry);
+        this.cancelledCounter = Counter.builder("plasma.simulation.flights.cancelled")
+                .description("Расчёты, отменённые после ухода всех ожидающих")
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.flights.active", this, SimulationSingleFlight::inFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SimulationResult execute(SimulationRequest request, Supplier<SimulationResult> compute) {
+        if (!SimulationRequestFingerprint.shareable(request)) {
+            return compute.get();
+        }
+        SimulationRequestFingerprint key = SimulationRequestFingerprint.of(
+                request, cacheProperties.getRelativeTolerance()
+        );
+        Flight flight = join(key, compute);
+        try {
+            return flight.result.get();
+        } catch (InterruptedException e) {
+            leave(key, flight);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation wait interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Simulation failed", cause);
+        }
+    }
+
+    @Override
+    public synchronized int inFlight() {
+        return flights.size();
+    }
+
+    private synchronized Flight join(SimulationRequestFingerprint key, Supplier<SimulationResult> compute) {
+        Flight existing = flights.get(key);
+        if (existing != null) {
+            existing.waiters++;
+            coalescedCounter.increment();
+            return existing;
+        }
+        Flight flight = new Flight();
+        flights.put(key, flight);
+        startedCounter.increment();
+        flight.task = executor.submit(() -> {
+            SimulationResult result;
+            try {
+                result = compute.get();
+            } catch (Throwable t) {
+                finish(key, flight);
+                flight.result.completeExceptionally(t);
+                return;
+            }
+            // снять полёт до ответа: дождавшийся результата уже не видит его в inFlight()
+            finish(key, flight);
+            flight.result.complete(result);
+        });
+        return flight;
+    }
+
+    private synchronized void leave(SimulationRequestFingerprint key, Flight flight) {
+        flight.waiters--;
+        if (flight.waiters > 0 || flight.result.isDone()) {
+            return;
+        }
+        // последний ожидающий ушёл — расчёт больше никому не нужен
+        flights.remove(key, flight);
+        cancelledCounter.increment();
+        flight.task.cancel(true);
+        flight.result.cancel(false);
+    }
+
+    private synchronized void finish(SimulationRequestFingerprint key, Flight flight) {
+        flights.remove(key, flight);
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<SimulationResult> result = new CompletableFuture<>();
+        private int waiters = 1;
+        private Future<?> task;
+    }
+}
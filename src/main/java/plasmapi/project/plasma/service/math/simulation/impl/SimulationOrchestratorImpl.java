@@ -7,6 +7,8 @@ import plasmapi.project.plasma.model.atom.AtomList;
 import plasmapi.project.plasma.model.res.Ion;
 import plasmapi.project.plasma.model.res.PlasmaConfiguration;
 import plasmapi.project.plasma.repository.AtomListRepository;
+import plasmapi.project.plasma.repository.AtomThermalPropertyRepository;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointService;
 import plasmapi.project.plasma.repository.IonRepository;
 import plasmapi.project.plasma.dto.mathDto.diffusion.AlloyComponentDto;
 import plasmapi.project.plasma.dto.mathDto.ion.IonComponentDto;
@@ -17,11 +19,19 @@ import plasmapi.project.plasma.service.math.ion.IonComposition;
 import plasmapi.project.plasma.service.math.PhysicsStats;
 import plasmapi.project.plasma.service.math.plazma.PlasmaResult;
 import plasmapi.project.plasma.service.math.plazma.PlasmaService;
+import plasmapi.project.plasma.service.math.simulation.SimulationContext;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
 import plasmapi.project.plasma.service.math.simulation.SimulationIntermediateResult;
 import plasmapi.project.plasma.service.math.simulation.SimulationOrchestratorService;
+import plasmapi.project.plasma.service.math.simulation.SimulationProgressListener;
 import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.SimulationStageMemo;
 import plasmapi.project.plasma.service.math.simulation.ThermalIntermediate;
+import plasmapi.project.plasma.service.math.simulation.admission.SimulationCostEstimator;
+import plasmapi.project.plasma.service.math.simulation.cache.SimulationResultCache;
+import plasmapi.project.plasma.service.math.simulation.flight.SimulationSingleFlight;
 import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,49 +44,95 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
     private double defaultElectrodeDistanceM;
 
     private final AtomListRepository atomRepository;
+    private final AtomThermalPropertyRepository thermalPropertyRepository;
     private final IonRepository ionRepository;
 
     private final PlasmaService plasmaService;
     private final DiffusionService diffusionService;
     private final MathParallelSupport mathParallelSupport;
+    private final SimulationResultCache resultCache;
+    private final SimulationSingleFlight singleFlight;
+    private final SimulationCostEstimator costEstimator;
+    private final ThermalCheckpointService thermalCheckpointService;
 
     @Override
-    public SimulationResult runSimulation(SimulationRequest request) {
-        return mathParallelSupport.runWithSimulationPermit(() -> executeSimulation(request));
+    public SimulationResult runSimulation(SimulationRequest request, SimulationProgressListener listener) {
+        // повторный запрос с тем же отпечатком не занимает CPU-бюджет:
+        // готовый результат берётся из кэша, идущий расчёт — ожидается
+        return resultCache.getOrCompute(request, () -> singleFlight.execute(
+                request,
+                () -> {
+                    SimulationFidelity fidelity = costEstimator.resolveFidelity(request);
+                    return mathParallelSupport.runAdmitted(
+                            costEstimator.estimate(request, fidelity),
+                            () -> executeSimulation(request, SimulationContext.create(listener, fidelity))
+                    );
+                }
+        ));
     }
 
-    private SimulationResult executeSimulation(SimulationRequest request) {
+    @Override
+    public SimulationResult runWithinPermit(SimulationRequest request, SimulationStageMemo memo) {
+        // точки sweep идут с пресетом запроса, без понижения по maxWallTimeMs
+        SimulationFidelity fidelity = SimulationFidelity.orDefault(request.getFidelity());
+        return executeSimulation(request, SimulationContext.withMemo(memo, fidelity));
+    }
+
+    @Override
+    public void prepareThermal(List<SimulationRequest> requests, SimulationStageMemo memo) {
+        List<DiffusionService.ThermalInput> inputs = new ArrayList<>(requests.size());
+        for (SimulationRequest request : requests) {
+            try {
+                AtomList atom = getAtomOrThrow(request.getAtomId(), memo);
+                PlasmaConfiguration cfg = buildConfig(request, atom, memo);
+                double ambientTemp = request.getAmbientTemp() != null
+                        ? request.getAmbientTemp()
+                        : cfg.getTargetTemperature();
+                if (cfg.getExposureTime() > 0) {
+                    inputs.add(new DiffusionService.ThermalInput(
+                            atom, cfg, cfg.getExposureTime(), ambientTemp,
+                            SimulationFidelity.orDefault(request.getFidelity())
+                    ));
+                }
+            } catch (RuntimeException e) {
+                // некорректная точка: ошибку вернёт её собственный расчёт
+            }
+        }
+        diffusionService.prepareThermal(inputs, memo);
+    }
+
+    private SimulationResult executeSimulation(SimulationRequest request, SimulationContext context) {
+
+        SimulationStageMemo memo = context.memo();
 
         // =========================
         // 1. ATOM
         // =========================
-        AtomList atom = getAtomOrThrow(request.getAtomId());
+        AtomList atom = getAtomOrThrow(request.getAtomId(), memo);
 
         // =========================
         // 2. ION
         // =========================
-        Ion ion = getIonOrThrow(request.getIonId());
+        Ion ion = getIonOrThrow(request.getIonId(), memo);
 
         // =========================
         // 3. ALLOY
         // =========================
-        AlloyComposition alloy = null;
-        if (request.getComposition() != null && !request.getComposition().isEmpty()) {
-            alloy = buildAlloy(request.getComposition());
-        }
+        AlloyComposition alloy = request.getComposition() != null && !request.getComposition().isEmpty()
+                ? buildAlloy(request.getComposition(), memo)
+                : null;
 
         // =========================
         // 4. ION COMPOSITION
         // =========================
-        IonComposition ionComp = null;
-        if (request.getIonComposition() != null && !request.getIonComposition().isEmpty()) {
-            ionComp = buildIonComposition(request.getIonComposition());
-        }
+        IonComposition ionComp = request.getIonComposition() != null && !request.getIonComposition().isEmpty()
+                ? buildIonComposition(request.getIonComposition(), memo)
+                : null;
 
         // =========================
         // 5. CONFIG
         // =========================
-        PlasmaConfiguration cfg = buildConfig(request, atom);
+        PlasmaConfiguration cfg = buildConfig(request, atom, memo);
 
         double ambientTemp = request.getAmbientTemp() != null
                 ? request.getAmbientTemp()
@@ -88,29 +144,38 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
         }
 
         // =========================
-        // 6. PLASMA (ОДИН РАЗ)
+        // 6. PLASMA (ОДИН РАЗ — диффузия берёт его из контекста)
         // =========================
-        PlasmaResult plasma = plasmaService.calculate(
-                cfg,
-                ion,
-                ionComp,
-                null
+        PlasmaResult plasma = context.stage(
+                SimulationContext.PLASMA,
+                () -> plasmaService.calculate(cfg, ion, ionComp, null)
         );
 
         // фиксируем энергию в конфиге
         cfg.setIonEnergyOverride(plasma.ionEnergyEv());
 
+        if (request.getRadialNodes() != null) {
+            context.requestThermalField(request.getRadialNodes());
+        }
+        if (request.getThermalCheckpointId() != null) {
+            context.requestThermalCheckpoints(thermalCheckpointService.checkpointing(request.getThermalCheckpointId()));
+        }
+
         // =========================
         // 7. DIFFUSION
         // =========================
-        DiffusionProfile profile = diffusionService.calculateProfile(
-                atom,
-                alloy,
-                ion,
-                ionComp,
-                cfg,
-                exposureTime,
-                ambientTemp
+        DiffusionProfile profile = context.stage(
+                SimulationContext.PROFILE,
+                () -> diffusionService.calculateProfile(
+                        atom,
+                        alloy,
+                        ion,
+                        ionComp,
+                        cfg,
+                        exposureTime,
+                        ambientTemp,
+                        context
+                )
         );
 
         // =========================
@@ -133,30 +198,14 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
                 plasma,
                 intermediate,
                 alloy,
-                ionComp
+                ionComp,
+                context
         );
     }
 
     private ThermalIntermediate buildThermalIntermediate(PhysicsStats stats) {
-        double min = Double.POSITIVE_INFINITY;
-        double max = Double.NEGATIVE_INFINITY;
-        double sum = 0.0;
-        int count = 0;
-
-        List<List<Double>> map = stats.thermalTemperatureMap();
-        if (map != null) {
-            for (List<Double> row : map) {
-                for (Double t : row) {
-                    if (t == null) continue;
-                    min = Math.min(min, t);
-                    max = Math.max(max, t);
-                    sum += t;
-                    count++;
-                }
-            }
-        }
-
-        if (count == 0) {
+        TemperatureMap map = stats.thermalTemperatureMap();
+        if (map == null || map.count() == 0) {
             double probe = stats.finalProbeTemperature();
             return new ThermalIntermediate(
                     probe,
@@ -172,16 +221,16 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
                 stats.finalProbeTemperature(),
                 stats.debyeFrontSpeed(),
                 stats.debyeFrontDepth(),
-                min,
-                max,
-                sum / count
+                map.min(),
+                map.max(),
+                map.average()
         );
     }
 
     // =========================================================
     // CONFIG
     // =========================================================
-    private PlasmaConfiguration buildConfig(SimulationRequest r, AtomList atom) {
+    private PlasmaConfiguration buildConfig(SimulationRequest r, AtomList atom, SimulationStageMemo memo) {
 
         PlasmaConfiguration cfg = new PlasmaConfiguration();
 
@@ -213,6 +262,8 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
         cfg.setDensity(atom.getDsteny());
         cfg.setHeatCapacity(atom.getHeatCapacity());
         cfg.setThermalConductivity(atom.getThermalConductivity());
+        cfg.setThermalProperties(memo.compute("thermalProperties", atom.getId(),
+                () -> thermalPropertyRepository.findTable(atom.getId())));
 
         return cfg;
     }
@@ -227,14 +278,14 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
     // =========================================================
     // ALLOY
     // =========================================================
-    private AlloyComposition buildAlloy(List<AlloyComponentDto> dtoList) {
+    private AlloyComposition buildAlloy(List<AlloyComponentDto> dtoList, SimulationStageMemo memo) {
 
         List<AlloyComponent> list = new ArrayList<>();
         double sum = 0.0;
 
         for (AlloyComponentDto dto : dtoList) {
 
-            AtomList atom = getAtomOrThrow(dto.getAtomId());
+            AtomList atom = getAtomOrThrow(dto.getAtomId(), memo);
 
             double x = dto.getFraction();
             if (x <= 0) {
@@ -255,14 +306,14 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
     // =========================================================
     // ION COMPOSITION
     // =========================================================
-    private IonComposition buildIonComposition(List<IonComponentDto> dtoList) {
+    private IonComposition buildIonComposition(List<IonComponentDto> dtoList, SimulationStageMemo memo) {
 
         List<IonComponent> list = new ArrayList<>();
         double sum = 0.0;
 
         for (IonComponentDto dto : dtoList) {
 
-            Ion ion = getIonOrThrow(dto.getIonId());
+            Ion ion = getIonOrThrow(dto.getIonId(), memo);
 
             double x = dto.getFraction();
             if (x <= 0) {
@@ -283,25 +334,25 @@ public class SimulationOrchestratorImpl implements SimulationOrchestratorService
     // =========================================================
     // DB ACCESS
     // =========================================================
-    private AtomList getAtomOrThrow(Integer id) {
+    private AtomList getAtomOrThrow(Integer id, SimulationStageMemo memo) {
         if (id == null) {
             throw new IllegalArgumentException("atomId is null");
         }
 
-        return atomRepository.findById(id)
+        return memo.compute("atom", id, () -> atomRepository.findById(id)
                 .orElseThrow(() ->
                         new IllegalArgumentException("Atom not found: " + id)
-                );
+                ));
     }
 
-    private Ion getIonOrThrow(Integer id) {
+    private Ion getIonOrThrow(Integer id, SimulationStageMemo memo) {
         if (id == null) {
             throw new IllegalArgumentException("ionId is null");
         }
 
-        return ionRepository.findById(id)
+        return memo.compute("ion", id, () -> ionRepository.findById(id)
                 .orElseThrow(() ->
                         new IllegalArgumentException("Ion not found: " + id)
-                );
+                ));
     }
 }
\ No newline at end of file
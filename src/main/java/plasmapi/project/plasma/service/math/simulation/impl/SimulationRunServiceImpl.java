@@ -0,0 +1,70 @@
+package plasmapi.project.plasma.service.math.simulation.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.SimulationPersistenceProperties;
+import plasmapi.project.plasma.dto.logikDTO.result.ResultDTO;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+import plasmapi.project.plasma.mapper.simulation.SimulationResultMapper;
+import plasmapi.project.plasma.service.logik.ResultService;
+import plasmapi.project.plasma.service.math.energy.IntermediateResultEnrichmentService;
+import plasmapi.project.plasma.service.math.simulation.SimulationOrchestratorService;
+import plasmapi.project.plasma.service.math.simulation.SimulationProgressListener;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.SimulationRunService;
+import plasmapi.project.plasma.service.math.simulation.outbox.PendingResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.SimulationResultOutbox;
+
+import java.util.concurrent.CancellationException;
+
+@Service
+@RequiredArgsConstructor
+public class SimulationRunServiceImpl implements SimulationRunService {
+
+    private static final int DEFAULT_CONFIG_ID = 1;
+
+    private final SimulationOrchestratorService simulationService;
+    private final ResultService resultService;
+    private final SimulationResultMapper simulationResultMapper;
+    private final IntermediateResultEnrichmentService intermediateEnrichment;
+    private final SimulationResultOutbox resultOutbox;
+    private final SimulationPersistenceProperties persistenceProperties;
+
+    @Override
+    public SimulationRunResponse runAndSave(
+            SimulationRequest request,
+            Integer configId,
+            SimulationProgressListener listener
+    ) {
+        SimulationResult result = simulationService.runSimulation(request, listener);
+        if (listener.cancelled()) {
+            // расчёт не прерывается на ходу: отмену проверяем до записи в БД
+            throw new CancellationException("Запуск отменён до сохранения результата");
+        }
+        int resolvedConfigId = resolveConfigId(request, configId);
+
+        ResultDTO savedResult = null;
+        PendingResult pendingResult = null;
+        if (persistenceProperties.isWriteBehind()) {
+            // ответ не ждёт БД: результат пишется фоновым писателем, статус — по id
+            pendingResult = resultOutbox.enqueue(result, resolvedConfigId);
+        } else {
+            savedResult = resultService.saveFromSimulation(result, resolvedConfigId).orElseThrow();
+        }
+        return SimulationRunResponse.from(
+                result,
+                simulationResultMapper.toIntermediateDto(result.getIntermediate()),
+                intermediateEnrichment,
+                savedResult,
+                pendingResult
+        );
+    }
+
+    private static int resolveConfigId(SimulationRequest request, Integer configId) {
+        if (configId != null) {
+            return configId;
+        }
+        return request.getConfigId() != null ? request.getConfigId() : DEFAULT_CONFIG_ID;
+    }
+}
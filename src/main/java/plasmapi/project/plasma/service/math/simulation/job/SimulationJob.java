@@ -0,0 +1,92 @@
+package plasmapi.project.plasma.service.math.simulation.job;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Асинхронная задача симуляции. Переходы статуса атомарны:
+ * QUEUED → RUNNING → COMPLETED/FAILED, отмена возможна из QUEUED и RUNNING.
+ */
+@Getter
+public class SimulationJob {
+
+    private final String id;
+    private final SimulationRequest request;
+    private final Instant submittedAt;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<SimulationJobStatus> statusRef =
+            new AtomicReference<>(SimulationJobStatus.QUEUED);
+
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile SimulationRunResponse result;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public SimulationJob(String id, SimulationRequest request, Instant submittedAt) {
+        this.id = id;
+        this.request = request;
+        this.submittedAt = submittedAt;
+    }
+
+    public SimulationJobStatus getStatus() {
+        return statusRef.get();
+    }
+
+    public void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    public boolean markRunning(Instant now) {
+        if (!statusRef.compareAndSet(SimulationJobStatus.QUEUED, SimulationJobStatus.RUNNING)) {
+            return false;
+        }
+        startedAt = now;
+        return true;
+    }
+
+    public boolean complete(SimulationRunResponse response, Instant now) {
+        if (!statusRef.compareAndSet(SimulationJobStatus.RUNNING, SimulationJobStatus.COMPLETED)) {
+            return false;
+        }
+        result = response;
+        finishedAt = now;
+        return true;
+    }
+
+    public boolean fail(String message, Instant now) {
+        if (!statusRef.compareAndSet(SimulationJobStatus.RUNNING, SimulationJobStatus.FAILED)) {
+            return false;
+        }
+        error = message;
+        finishedAt = now;
+        return true;
+    }
+
+    /**
+     * @return {@code true}, если задача была в очереди или выполнялась и теперь отменена
+     */
+    public boolean cancel(Instant now) {
+        SimulationJobStatus current = statusRef.get();
+        while (!current.isFinished()) {
+            if (statusRef.compareAndSet(current, SimulationJobStatus.CANCELLED)) {
+                finishedAt = now;
+                return true;
+            }
+            current = statusRef.get();
+        }
+        return false;
+    }
+
+    public boolean isExpired(Instant threshold) {
+        Instant finished = finishedAt;
+        return getStatus().isFinished() && finished != null && finished.isBefore(threshold);
+    }
+}
@@ -0,0 +1,28 @@
+package plasmapi.project.plasma.service.math.simulation.job;
+
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+
+import java.util.Optional;
+
+/**
+ * Асинхронные симуляции: постановка в очередь, опрос статуса, отмена.
+ */
+public interface SimulationJobService {
+
+    /**
+     * Ставит задачу в очередь выделенного пула.
+     *
+     * @throws plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException
+     *         если очередь заполнена
+     */
+    SimulationJob submit(SimulationRequest request);
+
+    Optional<SimulationJob> find(String id);
+
+    /**
+     * Отменяет задачу в очереди или прерывает выполняющуюся.
+     */
+    Optional<SimulationJob> cancel(String id);
+
+    SimulationJobStats stats();
+}
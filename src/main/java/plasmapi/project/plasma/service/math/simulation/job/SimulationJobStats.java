@@ -0,0 +1,16 @@
+package plasmapi.project.plasma.service.math.simulation.job;
+
+/**
+ * Снимок состояния очереди симуляций.
+ */
+public record SimulationJobStats(
+        int queueDepth,          // задачи, ожидающие потока
+        int queueCapacity,       // ёмкость очереди
+        int running,             // выполняются сейчас
+        int workerThreads,       // размер пула
+        int retainedJobs,        // задачи в памяти (включая завершённые до истечения TTL)
+        long rejected,           // отклонено из-за переполнения очереди
+        double avgQueueWaitMs,   // среднее ожидание в очереди
+        double maxQueueWaitMs,   // максимальное ожидание в очереди
+        double avgRunMs          // среднее время выполнения
+) {}
@@ -0,0 +1,13 @@
+package plasmapi.project.plasma.service.math.simulation.job;
+
+public enum SimulationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,167 @@
+package plasmapi.project.plasma.service.math.simulation.job.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.SimulationJobProperties;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+import plasmapi.project.plasma.service.math.simulation.SimulationProgressListener;
+import plasmapi.project.plasma.service.math.simulation.SimulationRunService;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJob;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobService;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobStats;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class SimulationJobServiceImpl implements SimulationJobService {
+
+    private final SimulationRunService simulationRunService;
+    private final ThreadPoolExecutor executor;
+    private final SimulationJobProperties properties;
+
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final Timer queueWaitTimer;
+    private final Timer runTimer;
+    private final Counter rejectedCounter;
+
+    public SimulationJobServiceImpl(
+            SimulationRunService simulationRunService,
+            @Qualifier("simulationJobExecutor") ThreadPoolExecutor executor,
+            SimulationJobProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.simulationRunService = simulationRunService;
+        this.executor = executor;
+        this.properties = properties;
+
+        this.queueWaitTimer = Timer.builder("plasma.simulation.jobs.queue.wait")
+                .description("Время ожидания задачи в очереди")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("plasma.simulation.jobs.run")
+                .description("Время выполнения задачи симуляции")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("plasma.simulation.jobs.rejected")
+                .description("Задачи, отклонённые из-за переполнения очереди")
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.jobs.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.jobs.running", running, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.jobs.retained", jobs, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SimulationJob submit(SimulationRequest request) {
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), request, Instant.now());
+        jobs.put(job.getId(), job);
+        try {
+            job.attach(executor.submit(() -> execute(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            rejectedCounter.increment();
+            throw new SimulationQueueFullException(
+                    "Очередь симуляций заполнена (" + executor.getQueue().size() + "), повторите позже"
+            );
+        }
+        return job;
+    }
+
+    @Override
+    public Optional<SimulationJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @Override
+    public Optional<SimulationJob> cancel(String id) {
+        SimulationJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.cancel(Instant.now())) {
+            Future<?> future = job.getFuture();
+            if (future != null) {
+                future.cancel(true);
+                if (future instanceof Runnable queued) {
+                    executor.remove(queued);
+                }
+            }
+        }
+        return Optional.of(job);
+    }
+
+    @Override
+    public SimulationJobStats stats() {
+        return new SimulationJobStats(
+                executor.getQueue().size(),
+                Math.max(1, properties.getQueueCapacity()),
+                running.get(),
+                executor.getMaximumPoolSize(),
+                jobs.size(),
+                (long) rejectedCounter.count(),
+                queueWaitTimer.mean(TimeUnit.MILLISECONDS),
+                queueWaitTimer.max(TimeUnit.MILLISECONDS),
+                runTimer.mean(TimeUnit.MILLISECONDS)
+        );
+    }
+
+    /**
+     * Удаляет завершённые задачи старше {@code result-ttl}.
+     */
+    @Scheduled(fixedDelayString = "${plasma.simulation.jobs.cleanup-interval:PT1M}")
+    public void evictExpired() {
+        Instant threshold = Instant.now().minus(properties.getResultTtl());
+        jobs.values().removeIf(job -> job.isExpired(threshold));
+    }
+
+    private void execute(SimulationJob job) {
+        Instant started = Instant.now();
+        if (!job.markRunning(started)) {
+            return;
+        }
+        queueWaitTimer.record(Duration.between(job.getSubmittedAt(), started));
+        running.incrementAndGet();
+        try {
+            SimulationRunResponse response = simulationRunService.runAndSave(job.getRequest(), null, cancellation(job));
+            job.complete(response, Instant.now());
+        } catch (CancellationException e) {
+            // задача уже CANCELLED: результат не сохранён
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), Instant.now());
+        } finally {
+            running.decrementAndGet();
+            runTimer.record(Duration.between(started, Instant.now()));
+        }
+    }
+
+    /** {@code future.cancel(true)} расчёт не останавливает — статус задачи проверяется перед сохранением. */
+    private static SimulationProgressListener cancellation(SimulationJob job) {
+        return new SimulationProgressListener() {
+            @Override
+            public boolean cancelled() {
+                return job.getStatus() == SimulationJobStatus.CANCELLED;
+            }
+        };
+    }
+}
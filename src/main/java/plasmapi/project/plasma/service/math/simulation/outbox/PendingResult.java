@@ -0,0 +1,32 @@
+package plasmapi.project.plasma.service.math.simulation.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Результат, поставленный в очередь отложенной записи.
+ *
+ * @param id       id ожидающего результата (не id строки в БД)
+ * @param resultId id сохранённого результата после записи
+ * @param error    причина, если запись не удалась
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PendingResult(String id, Status status, Integer resultId, String error) {
+
+    public enum Status {
+        PENDING,
+        SAVED,
+        FAILED
+    }
+
+    public static PendingResult pending(String id) {
+        return new PendingResult(id, Status.PENDING, null, null);
+    }
+
+    public PendingResult saved(Integer resultId) {
+        return new PendingResult(id, Status.SAVED, resultId, null);
+    }
+
+    public PendingResult failed(String error) {
+        return new PendingResult(id, Status.FAILED, null, error);
+    }
+}
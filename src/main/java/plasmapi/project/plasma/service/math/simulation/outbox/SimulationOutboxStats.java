@@ -0,0 +1,16 @@
+package plasmapi.project.plasma.service.math.simulation.outbox;
+
+/**
+ * @param depth    результатов в очереди
+ * @param written  записано с запуска
+ * @param failed   не удалось записать после всех попыток
+ * @param overflow сохранено синхронно из-за переполнения очереди
+ */
+public record SimulationOutboxStats(
+        boolean writeBehind,
+        int depth,
+        int capacity,
+        long written,
+        long failed,
+        long overflow
+) {}
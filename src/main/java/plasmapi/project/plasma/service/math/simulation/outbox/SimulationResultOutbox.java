@@ -0,0 +1,22 @@
+package plasmapi.project.plasma.service.math.simulation.outbox;
+
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+
+import java.util.Optional;
+
+/**
+ * Отложенная (write-behind) запись результатов симуляций: расчёт ставится в ограниченную
+ * очередь, фоновый писатель сохраняет его пакетами с повторами; при остановке очередь дописывается.
+ */
+public interface SimulationResultOutbox {
+
+    /**
+     * Ставит результат в очередь. Если очередь заполнена — сохраняет синхронно и возвращает
+     * уже записанный статус.
+     */
+    PendingResult enqueue(SimulationResult result, int configId);
+
+    Optional<PendingResult> find(String id);
+
+    SimulationOutboxStats stats();
+}
@@ -0,0 +1,260 @@
+package plasmapi.project.plasma.service.math.simulation.outbox.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.SimulationPersistenceProperties;
+import plasmapi.project.plasma.dto.logikDTO.result.ResultDTO;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationResultDto;
+import plasmapi.project.plasma.mapper.simulation.SimulationResultMapper;
+import plasmapi.project.plasma.service.logik.ResultService;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.PendingResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.SimulationOutboxStats;
+import plasmapi.project.plasma.service.math.simulation.outbox.SimulationResultOutbox;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class SimulationResultOutboxImpl implements SimulationResultOutbox {
+
+    private final ResultService resultService;
+    private final SimulationResultMapper simulationResultMapper;
+    private final SimulationPersistenceProperties properties;
+
+    private final BlockingQueue<Entry> queue;
+    // статусы под монитором самой карты; самые старые вытесняются
+    private final Map<String, PendingResult> statuses;
+
+    private final Timer writeTimer;
+    private final Timer delayTimer;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final Counter overflowCounter;
+
+    // приём в очередь и остановка — под одним монитором: после stop() в очередь ничего не попадёт
+    private final Object lifecycle = new Object();
+    private volatile boolean accepting;
+    private Thread writer;
+
+    public SimulationResultOutboxImpl(
+            ResultService resultService,
+            SimulationResultMapper simulationResultMapper,
+            SimulationPersistenceProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.resultService = resultService;
+        this.simulationResultMapper = simulationResultMapper;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getOutboxCapacity()));
+        int retained = Math.max(1, properties.getRetainedStatuses());
+        this.statuses = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingResult> eldest) {
+                return size() > retained;
+            }
+        };
+
+        this.writeTimer = Timer.builder("plasma.simulation.outbox.write")
+                .description("Запись пакета результатов в БД")
+                .register(meterRegistry);
+        this.delayTimer = Timer.builder("plasma.simulation.outbox.delay")
+                .description("От постановки в очередь до сохранения")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("plasma.simulation.outbox.written")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("plasma.simulation.outbox.failed")
+                .description("Результаты, не записанные после всех попыток")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("plasma.simulation.outbox.retries")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("plasma.simulation.outbox.overflow")
+                .description("Результаты, сохранённые синхронно из-за переполнения очереди")
+                .register(meterRegistry);
+        Gauge.builder("plasma.simulation.outbox.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isWriteBehind()) {
+            return;
+        }
+        accepting = true;
+        writer = new Thread(this::writeLoop, "simulation-outbox-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Перестаёт принимать новые результаты и даёт писателю дописать очередь;
+     * что осталось после выхода писателя, дописывается в вызывающем потоке.
+     */
+    @PreDestroy
+    void stop() {
+        synchronized (lifecycle) {
+            accepting = false;
+        }
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Simulation outbox shutdown timed out, {} results not written", queue.size());
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public PendingResult enqueue(SimulationResult result, int configId) {
+        SimulationResultDto dto = simulationResultMapper.toDto(
+                result,
+                result.getAtom().getId(),
+                configId,
+                result.getIon().getId()
+        );
+        PendingResult pending = PendingResult.pending(UUID.randomUUID().toString());
+        remember(pending);
+        boolean queued;
+        synchronized (lifecycle) {
+            queued = accepting && queue.offer(new Entry(pending, dto, System.nanoTime()));
+        }
+        if (queued) {
+            return pending;
+        }
+        // очередь заполнена (или писатель остановлен) — запись в потоке запроса
+        overflowCounter.increment();
+        ResultDTO saved = resultService.create(dto).orElseThrow();
+        writtenCounter.increment();
+        PendingResult done = pending.saved(saved.id());
+        remember(done);
+        return done;
+    }
+
+    @Override
+    public Optional<PendingResult> find(String id) {
+        synchronized (statuses) {
+            return Optional.ofNullable(statuses.get(id));
+        }
+    }
+
+    @Override
+    public SimulationOutboxStats stats() {
+        return new SimulationOutboxStats(
+                properties.isWriteBehind(),
+                queue.size(),
+                Math.max(1, properties.getOutboxCapacity()),
+                (long) writtenCounter.count(),
+                (long) failedCounter.count(),
+                (long) overflowCounter.count()
+        );
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long pollMs = Math.max(1L, properties.getPollInterval().toMillis());
+        while (accepting || !queue.isEmpty()) {
+            Entry first;
+            try {
+                first = queue.poll(pollMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<Entry> batch = new ArrayList<>(batchSize);
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+        }
+    }
+
+    private void drain() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        List<SimulationResultDto> dtos = batch.stream().map(Entry::dto).toList();
+        int attempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                List<ResultDTO> saved = writeTimer.record(() -> resultService.createAll(dtos));
+                for (int i = 0; i < batch.size(); i++) {
+                    markSaved(batch.get(i), saved.get(i));
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Simulation outbox batch of {} failed (attempt {}/{}): {}",
+                        batch.size(), attempt, attempts, e.getMessage());
+                if (attempt < attempts) {
+                    retryCounter.increment();
+                    if (!backoff(attempt)) {
+                        break;
+                    }
+                }
+            }
+        }
+        // пакет не записывается целиком — по одному, чтобы не терять остальные из-за одного
+        for (Entry entry : batch) {
+            try {
+                markSaved(entry, writeTimer.record(() -> resultService.create(entry.dto()).orElseThrow()));
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                remember(entry.pending().failed(e.getMessage()));
+                log.error("Simulation result {} could not be saved", entry.pending().id(), e);
+            }
+        }
+    }
+
+    private void markSaved(Entry entry, ResultDTO saved) {
+        writtenCounter.increment();
+        delayTimer.record(System.nanoTime() - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        remember(entry.pending().saved(saved.id()));
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(properties.getRetryBackoff().toMillis() * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void remember(PendingResult status) {
+        synchronized (statuses) {
+            statuses.put(status.id(), status);
+        }
+    }
+
+    private record Entry(PendingResult pending, SimulationResultDto dto, long enqueuedNanos) {}
+}
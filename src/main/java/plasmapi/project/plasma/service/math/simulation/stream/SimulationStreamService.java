@@ -0,0 +1,16 @@
+package plasmapi.project.plasma.service.math.simulation.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+
+/**
+ * Запуск с сохранением, как {@code /run}, но с потоком событий: готовые этапы,
+ * прогресс теплового цикла и MC-транспорта, итоговый ответ.
+ */
+public interface SimulationStreamService {
+
+    /**
+     * @param configId ID конфигурации для сохранения; если {@code null} — из запроса, иначе 1
+     */
+    SseEmitter stream(SimulationRequest request, Integer configId);
+}
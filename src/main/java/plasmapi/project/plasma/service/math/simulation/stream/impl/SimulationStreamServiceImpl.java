@@ -0,0 +1,125 @@
+package plasmapi.project.plasma.service.math.simulation.stream.impl;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationStreamEventDto;
+import plasmapi.project.plasma.service.math.simulation.SimulationProgressListener;
+import plasmapi.project.plasma.service.math.simulation.SimulationRunService;
+import plasmapi.project.plasma.service.math.simulation.stream.SimulationStreamService;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class SimulationStreamServiceImpl implements SimulationStreamService {
+
+    private final SimulationRunService simulationRunService;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${plasma.simulation.stream.timeout-ms:600000}")
+    private long timeoutMs;
+
+    public SimulationStreamServiceImpl(
+            SimulationRunService simulationRunService,
+            @Qualifier("simulationJobExecutor") ThreadPoolExecutor executor
+    ) {
+        this.simulationRunService = simulationRunService;
+        this.executor = executor;
+    }
+
+    @Override
+    public SseEmitter stream(SimulationRequest request, Integer configId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SseListener listener = new SseListener(emitter);
+
+        Future<?> task;
+        try {
+            task = executor.submit(() -> run(request, configId, listener));
+        } catch (RejectedExecutionException e) {
+            throw new SimulationQueueFullException(
+                    "Очередь симуляций заполнена (" + executor.getQueue().size() + "), повторите позже"
+            );
+        }
+
+        // клиент отключился — расчёт ему больше не нужен (общий расчёт живёт, пока есть другие ожидающие)
+        Runnable cancel = () -> {
+            listener.close();
+            task.cancel(true);
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        return emitter;
+    }
+
+    private void run(SimulationRequest request, Integer configId, SseListener listener) {
+        try {
+            SimulationRunResponse response = simulationRunService.runAndSave(request, configId, listener);
+            listener.send("result", SimulationStreamEventDto.result(listener.elapsedMs(), response));
+        } catch (RuntimeException e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            listener.send("error", SimulationStreamEventDto.error(listener.elapsedMs(), message));
+        } finally {
+            listener.complete();
+        }
+    }
+
+    /**
+     * Пересылает события расчёта в SSE. Ошибка отправки (клиент ушёл) лишь закрывает поток —
+     * исключение в рабочие потоки расчёта не пробрасывается.
+     */
+    static final class SseListener implements SimulationProgressListener {
+
+        private final SseEmitter emitter;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        SseListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void stageCompleted(String stage, Object result) {
+            send("stage", SimulationStreamEventDto.stage(stage, elapsedMs(), result));
+        }
+
+        @Override
+        public void progress(String stage, long done, long total) {
+            send("progress", SimulationStreamEventDto.progress(stage, elapsedMs(), done, total));
+        }
+
+        long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        }
+
+        void send(String name, SimulationStreamEventDto event) {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(event));
+            } catch (IOException | IllegalStateException e) {
+                closed.set(true);
+            }
+        }
+
+        void complete() {
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        void close() {
+            closed.set(true);
+        }
+    }
+}
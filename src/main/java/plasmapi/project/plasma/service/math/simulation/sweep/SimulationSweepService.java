@@ -0,0 +1,13 @@
+package plasmapi.project.plasma.service.math.simulation.sweep;
+
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepResponse;
+
+/**
+ * Расчёт сетки параметров для одной пары атом/ион с общими этапами конвейера.
+ * Результаты точек в БД не сохраняются.
+ */
+public interface SimulationSweepService {
+
+    SimulationSweepResponse sweep(SimulationSweepRequest request);
+}
@@ -0,0 +1,118 @@
+package plasmapi.project.plasma.service.math.simulation.sweep.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepResponse;
+import plasmapi.project.plasma.dto.mathDto.sweep.SweepAxisDto;
+import plasmapi.project.plasma.dto.mathDto.sweep.SweepParameter;
+import plasmapi.project.plasma.dto.mathDto.sweep.SweepPointDto;
+import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.parallel.SimulationCost;
+import plasmapi.project.plasma.service.math.simulation.SimulationFidelity;
+import plasmapi.project.plasma.service.math.simulation.SimulationOrchestratorService;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.SimulationStageMemo;
+import plasmapi.project.plasma.service.math.simulation.admission.SimulationCostEstimator;
+import plasmapi.project.plasma.service.math.simulation.sweep.SimulationSweepService;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SimulationSweepServiceImpl implements SimulationSweepService {
+
+    private final SimulationOrchestratorService simulationService;
+    private final MathParallelSupport mathParallelSupport;
+    private final SimulationCostEstimator costEstimator;
+
+    @Value("${plasma.simulation.sweep.max-points:500}")
+    private int maxPoints = 500;
+
+    @Override
+    public SimulationSweepResponse sweep(SimulationSweepRequest request) {
+        List<SweepParameter> axes = request.axes().stream().map(SweepAxisDto::parameter).toList();
+
+        // размер сетки — до построения значений: steps приходит из запроса
+        long total = 1;
+        for (SweepAxisDto axis : request.axes()) {
+            total *= axis.size();
+            if (total > maxPoints) {
+                throw new IllegalArgumentException("Sweep grid exceeds " + maxPoints + " points");
+            }
+        }
+        int points = (int) total;
+        List<List<Double>> axisValues = request.axes().stream().map(SweepAxisDto::resolveValues).toList();
+
+        long started = System.nanoTime();
+        SimulationStageMemo memo = SimulationStageMemo.shared();
+        SweepPointDto[] rows = new SweepPointDto[points];
+
+        // Один допуск на весь sweep: точки делят CPU-пул, а не очередь симуляций.
+        // Стоимость — по базовой точке × число точек (общие этапы из мемо завышают оценку сверху);
+        // точки считаются с пресетом базового запроса, maxWallTimeMs к sweep не применяется
+        SimulationCost cost = costEstimator
+                .estimate(request.base(), SimulationFidelity.orDefault(request.base().getFidelity()))
+                .forRuns(points);
+        SimulationRequest[] requests = new SimulationRequest[points];
+        double[][] coordinates = new double[points][];
+        for (int i = 0; i < points; i++) {
+            coordinates[i] = coordinates(i, axisValues);
+            requests[i] = request.base().copy();
+            // точки sweep не пишут в одну контрольную точку
+            requests[i].setThermalCheckpointId(null);
+            for (int a = 0; a < axes.size(); a++) {
+                axes.get(a).apply(requests[i], coordinates[i][a]);
+            }
+        }
+        mathParallelSupport.runAdmitted(cost, () -> {
+            // точки, отличающиеся только напряжением/током, греются одним пакетным расчётом
+            simulationService.prepareThermal(Arrays.asList(requests), memo);
+            mathParallelSupport.parallelForCoarse(points, i -> rows[i] = runPoint(requests[i], coordinates[i], memo));
+            return null;
+        });
+
+        return new SimulationSweepResponse(
+                axes,
+                Arrays.asList(rows),
+                (System.nanoTime() - started) / 1_000_000,
+                memo.reuse()
+        );
+    }
+
+    private SweepPointDto runPoint(SimulationRequest point, double[] coordinates, SimulationStageMemo memo) {
+        List<Double> parameters = Arrays.stream(coordinates).boxed().toList();
+        try {
+            SimulationResult result = simulationService.runWithinPermit(point, memo);
+            var intermediate = result.getIntermediate();
+            return new SweepPointDto(
+                    parameters,
+                    intermediate.diffusion().projectedRange(),
+                    result.getProfile().getD_effective(),
+                    intermediate.energyDeposition().modifiedLayerThickness(),
+                    intermediate.thermal().maxTemperature(),
+                    null
+            );
+        } catch (RuntimeException e) {
+            return new SweepPointDto(parameters, null, null, null, null,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Индекс точки → значения осей (последняя ось меняется быстрее всего).
+     */
+    private static double[] coordinates(int index, List<List<Double>> axisValues) {
+        double[] result = new double[axisValues.size()];
+        int rest = index;
+        for (int a = axisValues.size() - 1; a >= 0; a--) {
+            List<Double> values = axisValues.get(a);
+            result[a] = values.get(rest % values.size());
+            rest /= values.size();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+/**
+ * Осесимметричное температурное поле T(r, z) на конец экспозиции.
+ *
+ * @param chamberRadius   радиус расчётной области (катода), м
+ * @param radii           радиус узлов, м: от оси ({@code 0}) до края
+ * @param depths          глубина узлов, м (та же сетка, что у 1D расчёта)
+ * @param temperature     {@code [радиус][глубина]} — поле в конце расчёта, К
+ * @param peakTemperature {@code [радиус][глубина]} — наибольшая температура узла за расчёт, К
+ * @param axisSurfaceTemperature поверхность на оси в конце расчёта, К
+ * @param edgeSurfaceTemperature поверхность у края катода в конце расчёта, К
+ * @param maxTemperature  наибольшая температура поля за расчёт, К
+ * @param steps           шагов по времени
+ * @param radialStages    стадий явной схемы по радиусу на шаг (устойчивость по {@code dr})
+ * @param tiles           радиальных плиток, считавшихся параллельно
+ */
+public record AxisymmetricThermalResult(
+        double chamberRadius,
+        double[] radii,
+        double[] depths,
+        double[][] temperature,
+        double[][] peakTemperature,
+        double axisSurfaceTemperature,
+        double edgeSurfaceTemperature,
+        double maxTemperature,
+        int steps,
+        int radialStages,
+        int tiles
+) {
+}
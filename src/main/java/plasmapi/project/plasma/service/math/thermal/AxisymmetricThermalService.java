@@ -0,0 +1,37 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
+
+/**
+ * Осесимметричный (r, z) тепловой расчёт: источник по глубине — как в {@link ThermalService},
+ * по радиусу спадает к краю катода так же, как поток ионов в расчёте флюенса.
+ */
+public interface AxisymmetricThermalService {
+
+    /**
+     * @param powerInput  средний по катоду поток мощности, Вт/м²
+     * @param radialNodes узлов по радиусу (от оси до края камеры), не меньше 3
+     * @param resolution  предел сетки по глубине и числа шагов; по глубине схема всегда неявная
+     */
+    AxisymmetricThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Double debyeTemperature,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            int radialNodes,
+            ProgressListener progress,
+            ThermalResolution resolution
+    );
+}
@@ -0,0 +1,317 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Температурное поле T(время, глубина): плоская построчная матрица примитивов
+ * ({@code double} или {@code float}), строка — профиль по глубине в момент времени.
+ * Минимум, максимум и среднее копятся при добавлении строк в тепловом цикле и
+ * относятся ко всему полю, в том числе у прореженного представления ({@link #lod}).
+ * В JSON пишется вложенными массивами, как прежний {@code List<List<Double>>}.
+ */
+@JsonSerialize(using = TemperatureMap.Writer.class)
+public final class TemperatureMap {
+
+    private final double[] doubles;
+    private final float[] floats;
+    private final int stride;
+    private final double[] times;
+    private final double[] depths;
+    /** Индексы строк/столбцов хранилища; {@code null} — все подряд. */
+    private final int[] rowIndex;
+    private final int[] columnIndex;
+    private final double min;
+    private final double max;
+    private final double sum;
+    private final long count;
+
+    private TemperatureMap(double[] doubles, float[] floats, int stride, double[] times, double[] depths,
+                           int[] rowIndex, int[] columnIndex, double min, double max, double sum, long count) {
+        this.doubles = doubles;
+        this.floats = floats;
+        this.stride = stride;
+        this.times = times;
+        this.depths = depths;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+        this.count = count;
+    }
+
+    /**
+     * @param depths      глубина столбцов (м), общая для всех строк
+     * @param singlePrecision хранить значения как {@code float}
+     * @param expectedRows ожидаемое число строк (начальная ёмкость)
+     */
+    public static Builder builder(double[] depths, boolean singlePrecision, int expectedRows) {
+        return new Builder(depths, singlePrecision, expectedRows);
+    }
+
+    public int rows() {
+        return rowIndex != null ? rowIndex.length : times.length;
+    }
+
+    public int columns() {
+        return columnIndex != null ? columnIndex.length : stride;
+    }
+
+    public boolean singlePrecision() {
+        return floats != null;
+    }
+
+    public double get(int row, int column) {
+        int r = rowIndex != null ? rowIndex[row] : row;
+        int c = columnIndex != null ? columnIndex[column] : column;
+        int at = r * stride + c;
+        return floats != null ? floats[at] : doubles[at];
+    }
+
+    public double time(int row) {
+        return times[rowIndex != null ? rowIndex[row] : row];
+    }
+
+    public double depth(int column) {
+        return depths[columnIndex != null ? columnIndex[column] : column];
+    }
+
+    /** Строка {@code row} — профиль по глубине (копия). */
+    public double[] row(int row) {
+        double[] out = new double[columns()];
+        for (int c = 0; c < out.length; c++) {
+            out[c] = get(row, c);
+        }
+        return out;
+    }
+
+    /** Шкала времени (с) без упаковки в хранилище. */
+    public List<Double> times() {
+        return new DoubleView(rows()) {
+            @Override
+            public Double get(int index) {
+                return time(index);
+            }
+        };
+    }
+
+    /** Шкала глубины (м) без упаковки в хранилище. */
+    public List<Double> depths() {
+        return new DoubleView(columns()) {
+            @Override
+            public Double get(int index) {
+                return depth(index);
+            }
+        };
+    }
+
+    /** Наименьшая конечная температура поля, К; {@code NaN}, если значений нет. */
+    public double min() {
+        return count > 0 ? min : Double.NaN;
+    }
+
+    public double max() {
+        return count > 0 ? max : Double.NaN;
+    }
+
+    public double average() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /** Число конечных значений, вошедших в статистику. */
+    public long count() {
+        return count;
+    }
+
+    /** Объём хранилища, байт (общий у поля и его прореженных представлений). */
+    public long storageBytes() {
+        long values = floats != null ? (long) floats.length * Float.BYTES : (long) doubles.length * Double.BYTES;
+        return values + (long) (times.length + depths.length) * Double.BYTES;
+    }
+
+    /**
+     * Прореженное представление не более {@code maxRows × maxColumns}: равномерно по индексам
+     * строк и столбцов, первые и последние сохраняются. Данные не копируются; на неравномерной
+     * сетке столбцы остаются сгущёнными к поверхности, как и узлы.
+     */
+    public TemperatureMap lod(int maxRows, int maxColumns) {
+        if (maxRows < 2 || maxColumns < 2) {
+            throw new IllegalArgumentException("Level of detail must keep >= 2 rows and columns");
+        }
+        if (rows() <= maxRows && columns() <= maxColumns) {
+            return this;
+        }
+        return new TemperatureMap(doubles, floats, stride, times, depths,
+                sample(rowIndex, rows(), maxRows), sample(columnIndex, columns(), maxColumns),
+                min, max, sum, count);
+    }
+
+    private static int[] sample(int[] index, int size, int limit) {
+        int target = Math.min(size, limit);
+        int[] out = new int[target];
+        for (int i = 0; i < target; i++) {
+            int at = target > 1 ? (int) Math.round((double) i * (size - 1) / (target - 1)) : 0;
+            out[i] = index != null ? index[at] : at;
+        }
+        return out;
+    }
+
+    /**
+     * Заполнение поля по строкам. Ёмкость растёт удвоением, {@link #build()} обрезает хранилище.
+     */
+    public static final class Builder {
+
+        private final double[] depths;
+        private final int stride;
+        private double[] doubles;
+        private float[] floats;
+        private double[] times;
+        private int rows;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double sum;
+        private long count;
+
+        private Builder(double[] depths, boolean singlePrecision, int expectedRows) {
+            this.depths = depths;
+            this.stride = depths.length;
+            int capacity = Math.max(expectedRows, 1);
+            if (singlePrecision) {
+                floats = new float[capacity * stride];
+            } else {
+                doubles = new double[capacity * stride];
+            }
+            times = new double[capacity];
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /** Добавить профиль {@code field} (длиной в число узлов) в момент {@code time}. */
+        public Builder append(double time, double[] field) {
+            int at = reserve(time);
+            for (int c = 0; c < stride; c++) {
+                double v = field[c];
+                if (floats != null) {
+                    floats[at + c] = (float) v;
+                } else {
+                    doubles[at + c] = v;
+                }
+                accept(v);
+            }
+            return this;
+        }
+
+        /**
+         * Повторить строки {@code [from, to)} со сдвигом по времени {@code timeShift}
+         * (периодический режим).
+         */
+        public Builder repeat(int from, int to, double timeShift) {
+            if (from < 0 || to > rows || from > to) {
+                throw new IllegalArgumentException("Rows to repeat are out of range");
+            }
+            for (int r = from; r < to; r++) {
+                int at = reserve(times[r] + timeShift);
+                int src = r * stride;
+                if (floats != null) {
+                    System.arraycopy(floats, src, floats, at, stride);
+                    for (int c = 0; c < stride; c++) {
+                        accept(floats[at + c]);
+                    }
+                } else {
+                    System.arraycopy(doubles, src, doubles, at, stride);
+                    for (int c = 0; c < stride; c++) {
+                        accept(doubles[at + c]);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public TemperatureMap build() {
+            int size = rows * stride;
+            return new TemperatureMap(
+                    doubles != null && doubles.length != size ? Arrays.copyOf(doubles, size) : doubles,
+                    floats != null && floats.length != size ? Arrays.copyOf(floats, size) : floats,
+                    stride,
+                    times.length != rows ? Arrays.copyOf(times, rows) : times,
+                    depths,
+                    null,
+                    null,
+                    min, max, sum, count
+            );
+        }
+
+        private int reserve(double time) {
+            if (rows == times.length) {
+                int capacity = times.length * 2;
+                times = Arrays.copyOf(times, capacity);
+                if (floats != null) {
+                    floats = Arrays.copyOf(floats, capacity * stride);
+                } else {
+                    doubles = Arrays.copyOf(doubles, capacity * stride);
+                }
+            }
+            times[rows] = time;
+            return rows++ * stride;
+        }
+
+        private void accept(double v) {
+            if (Double.isFinite(v)) {
+                if (v < min) {
+                    min = v;
+                }
+                if (v > max) {
+                    max = v;
+                }
+                sum += v;
+                count++;
+            }
+        }
+    }
+
+    private abstract static class DoubleView extends AbstractList<Double> implements RandomAccess {
+        private final int size;
+
+        DoubleView(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /** Пишет поле массивом строк без промежуточных списков. */
+    public static final class Writer extends JsonSerializer<TemperatureMap> {
+        @Override
+        public void serialize(TemperatureMap map, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            int rows = map.rows();
+            int columns = map.columns();
+            gen.writeStartArray(map, rows);
+            for (int r = 0; r < rows; r++) {
+                gen.writeStartArray(null, columns);
+                for (int c = 0; c < columns; c++) {
+                    if (map.floats != null) {
+                        gen.writeNumber((float) map.get(r, c));
+                    } else {
+                        gen.writeNumber(map.get(r, c));
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
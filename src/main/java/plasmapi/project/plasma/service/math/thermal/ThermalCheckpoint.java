@@ -0,0 +1,70 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
+
+/**
+ * Контрольная точка 1D теплового расчёта: входные данные (кроме {@code tMax}) и состояние цикла
+ * по времени. Расчёт продолжается с неё до любого {@code tMax > time} — повторяются только
+ * оставшиеся шаги.
+ *
+ * @param inputs         всё, от чего зависят сетка и коэффициенты схемы
+ * @param dt             шаг сетки по времени, с (у продолжения тот же)
+ * @param stepsDone      пройдено шагов постоянной длины (у адаптивного шага — принятых)
+ * @param time           время контрольной точки, с
+ * @param cyclePhase     фаза цикла нагрева в {@code [0, 1)}; без циклирования — {@code 0}
+ * @param nextStep       адаптивный шаг: длина следующего шага, с; при постоянном шаге — {@code 0}
+ * @param dampingLeft    оставшиеся шаги неявного Эйлера у Кранка–Николсон
+ * @param field          температура узлов, К
+ * @param debyeReachedAt время достижения температуры Дебая по узлам от пика вглубь, с; {@code NaN} — не достигнута
+ */
+public record ThermalCheckpoint(
+        Inputs inputs,
+        double dt,
+        int stepsDone,
+        double time,
+        double cyclePhase,
+        double nextStep,
+        int dampingLeft,
+        double[] field,
+        double[] debyeReachedAt
+) {
+
+    public ThermalCheckpoint {
+        if (field == null || debyeReachedAt == null || field.length != debyeReachedAt.length || field.length < 3) {
+            throw new IllegalArgumentException("Checkpoint field and Debye times must have the same length >= 3");
+        }
+        if (!(dt > 0) || !(time >= 0) || stepsDone < 0) {
+            throw new IllegalArgumentException("Checkpoint time and step must be non-negative");
+        }
+    }
+
+    public int nodes() {
+        return field.length;
+    }
+
+    /**
+     * Входные данные теплового расчёта без {@code tMax}: контрольная точка годится для продолжения,
+     * только если они совпадают.
+     */
+    public record Inputs(
+            double density,
+            double heatCapacity,
+            double thermalConductivity,
+            ThermalPropertyTable thermalProperties,
+            double t0,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer nodes,
+            Double debyeTemperature,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            Double probeDepth,
+            ThermalResolution resolution
+    ) {
+    }
+}
@@ -0,0 +1,175 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Двоичный формат контрольной точки: заголовок, входные данные, затем поле и времена Дебая
+ * подряд как {@code double} (8 байт на узел, без текстового представления).
+ * Отсутствующие необязательные значения записываются как {@code NaN}.
+ */
+public final class ThermalCheckpointCodec {
+
+    /** {@code "PTCK"}. */
+    static final int MAGIC = 0x5054434B;
+    /** {@code 2} — с {@link ThermalResolution#spectralTolerance()}; точки версии {@code 1} читаются. */
+    static final int VERSION = 2;
+
+    private ThermalCheckpointCodec() {
+    }
+
+    public static void write(ThermalCheckpoint checkpoint, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        ThermalCheckpoint.Inputs in = checkpoint.inputs();
+        out.writeDouble(in.density());
+        out.writeDouble(in.heatCapacity());
+        out.writeDouble(in.thermalConductivity());
+        ThermalPropertyTable table = in.thermalProperties();
+        out.writeBoolean(table != null);
+        if (table != null) {
+            out.writeDouble(table.minTemperature());
+            out.writeDouble(table.step());
+            writeArray(out, table.conductivityTable());
+            writeArray(out, table.heatCapacityTable());
+        }
+        out.writeDouble(in.t0());
+        out.writeDouble(in.thickness());
+        writeNullable(out, in.powerInput());
+        writeNullable(out, in.projectedRange());
+        out.writeByte(in.boundaryCondition().ordinal());
+        out.writeDouble(in.ambientTemp());
+        out.writeDouble(in.h());
+        out.writeInt(in.nodes() != null ? in.nodes() : -1);
+        writeNullable(out, in.debyeTemperature());
+        out.writeBoolean(in.thermalCyclingEnabled());
+        writeNullable(out, in.cyclePeriod());
+        writeNullable(out, in.dutyCycle());
+        writeNullable(out, in.probeDepth());
+
+        ThermalResolution r = in.resolution();
+        out.writeInt(r.maxNodes());
+        out.writeInt(r.maxSteps());
+        out.writeByte(r.scheme().ordinal());
+        out.writeDouble(r.meshGrowth());
+        out.writeDouble(r.stepTolerance());
+        out.writeDouble(r.periodicTolerance());
+        out.writeBoolean(r.singlePrecisionMap());
+        out.writeDouble(r.spectralTolerance());
+
+        out.writeDouble(checkpoint.dt());
+        out.writeInt(checkpoint.stepsDone());
+        out.writeDouble(checkpoint.time());
+        out.writeDouble(checkpoint.cyclePhase());
+        out.writeDouble(checkpoint.nextStep());
+        out.writeInt(checkpoint.dampingLeft());
+        writeArray(out, checkpoint.field());
+        writeArray(out, checkpoint.debyeReachedAt());
+        out.flush();
+    }
+
+    public static ThermalCheckpoint read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a thermal checkpoint");
+        }
+        int version = in.readInt();
+        if (version != VERSION && version != 1) {
+            throw new IOException("Unsupported thermal checkpoint version " + version);
+        }
+
+        double density = in.readDouble();
+        double heatCapacity = in.readDouble();
+        double conductivity = in.readDouble();
+        ThermalPropertyTable table = null;
+        if (in.readBoolean()) {
+            double minTemperature = in.readDouble();
+            double step = in.readDouble();
+            table = new ThermalPropertyTable(minTemperature, step, readArray(in), readArray(in));
+        }
+        double t0 = in.readDouble();
+        double thickness = in.readDouble();
+        Double powerInput = readNullable(in);
+        Double projectedRange = readNullable(in);
+        ThermalServiceImpl.BoundaryCondition boundaryCondition =
+                enumAt(ThermalServiceImpl.BoundaryCondition.values(), in.readByte());
+        double ambientTemp = in.readDouble();
+        double h = in.readDouble();
+        int nodes = in.readInt();
+        Double debyeTemperature = readNullable(in);
+        boolean cycling = in.readBoolean();
+        Double cyclePeriod = readNullable(in);
+        Double dutyCycle = readNullable(in);
+        Double probeDepth = readNullable(in);
+
+        ThermalResolution resolution = new ThermalResolution(
+                in.readInt(),
+                in.readInt(),
+                enumAt(ThermalScheme.values(), in.readByte()),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readBoolean(),
+                version >= 2 ? in.readDouble() : 0.0
+        );
+        ThermalCheckpoint.Inputs inputs = new ThermalCheckpoint.Inputs(
+                density, heatCapacity, conductivity, table, t0, thickness, powerInput, projectedRange,
+                boundaryCondition, ambientTemp, h, nodes >= 0 ? nodes : null, debyeTemperature, cycling,
+                cyclePeriod, dutyCycle, probeDepth, resolution
+        );
+
+        return new ThermalCheckpoint(
+                inputs,
+                in.readDouble(),
+                in.readInt(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readDouble(),
+                in.readInt(),
+                readArray(in),
+                readArray(in)
+        );
+    }
+
+    private static void writeNullable(DataOutputStream out, Double value) throws IOException {
+        out.writeDouble(value != null ? value : Double.NaN);
+    }
+
+    private static Double readNullable(DataInputStream in) throws IOException {
+        double value = in.readDouble();
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static void writeArray(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double v : values) {
+            out.writeDouble(v);
+        }
+    }
+
+    private static double[] readArray(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > (1 << 24)) {
+            throw new IOException("Corrupted thermal checkpoint: array length " + length);
+        }
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Corrupted thermal checkpoint: enum ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,23 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.util.Optional;
+
+/**
+ * Контрольные точки 1D теплового расчёта по id: сохранение по ходу расчёта, продолжение
+ * прерванного расчёта и продление завершённого на дополнительное время.
+ */
+public interface ThermalCheckpointService {
+
+    /** Настройки сохранения для расчёта с этим id; {@link ThermalCheckpointing#NONE}, если id нет или точки выключены. */
+    ThermalCheckpointing checkpointing(String id);
+
+    Optional<ThermalCheckpoint> find(String id);
+
+    /**
+     * Продлевает расчёт на {@code extraTime} секунд после времени точки (точка обновляется);
+     * пусто, если точки с таким id нет.
+     */
+    Optional<ThermalResult> extend(String id, double extraTime);
+
+    boolean delete(String id);
+}
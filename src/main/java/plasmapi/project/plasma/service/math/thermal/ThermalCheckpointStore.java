@@ -0,0 +1,15 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.util.Optional;
+
+/**
+ * Хранилище контрольных точек теплового расчёта по id (одна точка на id, новая заменяет старую).
+ */
+public interface ThermalCheckpointStore {
+
+    void save(String id, ThermalCheckpoint checkpoint);
+
+    Optional<ThermalCheckpoint> load(String id);
+
+    boolean delete(String id);
+}
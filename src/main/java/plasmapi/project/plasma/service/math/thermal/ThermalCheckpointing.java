@@ -0,0 +1,23 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.time.Duration;
+
+/**
+ * Куда и как часто сохранять контрольные точки расчёта: по id в {@code store} не реже раза
+ * в {@code interval} (по времени работы) и в конце расчёта.
+ */
+public record ThermalCheckpointing(String id, ThermalCheckpointStore store, Duration interval) {
+
+    public static final ThermalCheckpointing NONE = new ThermalCheckpointing(null, null, null);
+
+    public boolean enabled() {
+        return id != null && store != null;
+    }
+
+    /** Интервал в наносекундах; не задан — только точка в конце расчёта. */
+    public long intervalNanos() {
+        return interval != null && !interval.isZero() && !interval.isNegative()
+                ? interval.toNanos()
+                : Long.MAX_VALUE;
+    }
+}
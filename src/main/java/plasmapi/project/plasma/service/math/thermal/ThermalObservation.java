@@ -0,0 +1,30 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.util.List;
+
+/**
+ * Что собирать по ходу теплового расчёта: наблюдатели шагов и нужны ли профили поля.
+ * Без профилей в {@link TemperatureMap} результата остаются только начальный и конечный,
+ * память не растёт с числом шагов.
+ *
+ * @param observers наблюдатели в порядке вызова
+ * @param snapshots сохранять профили (до {@code 500} за расчёт)
+ */
+public record ThermalObservation(List<ThermalObserver> observers, boolean snapshots) {
+
+    public static final ThermalObservation FULL = new ThermalObservation(List.of(), true);
+
+    public ThermalObservation {
+        observers = observers != null ? List.copyOf(observers) : List.of();
+    }
+
+    /** Профили и наблюдатели. */
+    public static ThermalObservation of(ThermalObserver... observers) {
+        return new ThermalObservation(List.of(observers), true);
+    }
+
+    /** Только наблюдатели: профили не сохраняются. */
+    public static ThermalObservation scalarsOnly(ThermalObserver... observers) {
+        return new ThermalObservation(List.of(observers), false);
+    }
+}
@@ -0,0 +1,33 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+/**
+ * Наблюдатель 1D теплового расчёта: получает поле после каждого принятого шага и копит нужные
+ * величины сам, без сохранения профилей. Работа на шаге должна быть {@code O(1)} или порядка
+ * ширины фронта — наблюдатель вызывается на каждом из 10⁵–10⁶ шагов.
+ * <p>
+ * Массив {@code field} принадлежит циклу: его нельзя менять и нельзя хранить ссылку на него.
+ * При продолжении с контрольной точки наблюдатель видит только шаги после неё.
+ */
+public interface ThermalObserver {
+
+    /** Начало цикла: глубины узлов (м, по возрастанию), время и поле. */
+    default void start(double[] depths, double time, double[] field) {
+    }
+
+    /** Принятый шаг: поле в момент {@code time}. */
+    void step(double time, double[] field);
+
+    /**
+     * Граница цикла нагрева при включённом пропуске установившихся циклов; после неё может прийти
+     * {@link #cyclesSkipped}.
+     */
+    default void cycleCompleted(double time) {
+    }
+
+    /**
+     * Периодический режим: последний цикл длиной {@code period} (от прошлой {@link #cycleCompleted})
+     * повторён {@code cycles} раз без расчёта, поле на границе то же.
+     */
+    default void cyclesSkipped(int cycles, double period) {
+    }
+}
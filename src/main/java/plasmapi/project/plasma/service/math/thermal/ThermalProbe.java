@@ -0,0 +1,155 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.util.Arrays;
+
+/**
+ * Датчик на глубине {@code depth}: температура (линейно между соседними узлами), её максимум
+ * и минимум, среднее по времени (трапеции) и время выше порога {@code threshold} (пересечение
+ * порога внутри шага — линейно). Узлы и веса ищутся один раз при старте, шаг — {@code O(1)}.
+ */
+public final class ThermalProbe implements ThermalObserver {
+
+    private final double depth;
+    private final double threshold;
+
+    private int lo;
+    private double weight;
+
+    private double startTime;
+    private double lastTime;
+    private double temperature = Double.NaN;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double maxTime = Double.NaN;
+    private double min = Double.POSITIVE_INFINITY;
+    private double integral;
+    private double timeAbove;
+
+    /** Накоплено к прошлой границе цикла и за последний завершённый цикл. */
+    private double markIntegral;
+    private double markTimeAbove;
+    private double cycleIntegral;
+    private double cycleTimeAbove;
+
+    private ThermalProbe(double depth, double threshold) {
+        if (!(depth >= 0)) {
+            throw new IllegalArgumentException("Probe depth must be >= 0");
+        }
+        this.depth = depth;
+        this.threshold = threshold;
+    }
+
+    public static ThermalProbe at(double depth) {
+        return new ThermalProbe(depth, Double.POSITIVE_INFINITY);
+    }
+
+    /** Датчик со счётчиком времени выше {@code threshold}, К. */
+    public static ThermalProbe at(double depth, double threshold) {
+        return new ThermalProbe(depth, threshold);
+    }
+
+    @Override
+    public void start(double[] depths, double time, double[] field) {
+        int n = depths.length;
+        double clamped = Math.max(depths[0], Math.min(depths[n - 1], depth));
+        int hi = Arrays.binarySearch(depths, clamped);
+        if (hi >= 0) {
+            lo = Math.min(hi, n - 2);
+            weight = hi == lo ? 0.0 : 1.0;
+        } else {
+            hi = -hi - 1;
+            lo = hi - 1;
+            weight = (clamped - depths[lo]) / (depths[hi] - depths[lo]);
+        }
+        startTime = time;
+        lastTime = time;
+        temperature = sample(field);
+        record(temperature, time);
+    }
+
+    @Override
+    public void step(double time, double[] field) {
+        double value = sample(field);
+        double dt = time - lastTime;
+        integral += 0.5 * (temperature + value) * dt;
+        timeAbove += dt * fractionAbove(temperature, value);
+        temperature = value;
+        lastTime = time;
+        record(value, time);
+    }
+
+    @Override
+    public void cycleCompleted(double time) {
+        cycleIntegral = integral - markIntegral;
+        cycleTimeAbove = timeAbove - markTimeAbove;
+        markIntegral = integral;
+        markTimeAbove = timeAbove;
+    }
+
+    @Override
+    public void cyclesSkipped(int cycles, double period) {
+        // значения цикла повторяются: экстремумы те же, накопленное растёт на cycles циклов
+        integral += cycles * cycleIntegral;
+        timeAbove += cycles * cycleTimeAbove;
+        lastTime += cycles * period;
+        markIntegral = integral;
+        markTimeAbove = timeAbove;
+    }
+
+    public double depth() {
+        return depth;
+    }
+
+    /** Температура на последнем шаге, К. */
+    public double temperature() {
+        return temperature;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /** Время первого достижения максимума, с. */
+    public double maxTime() {
+        return maxTime;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    /** Среднее по времени с начала наблюдения; до первого шага — текущая температура. */
+    public double mean() {
+        double span = lastTime - startTime;
+        return span > 0 ? integral / span : temperature;
+    }
+
+    /** Время выше порога, с. */
+    public double timeAbove() {
+        return timeAbove;
+    }
+
+    private double sample(double[] field) {
+        double a = field[lo];
+        return weight == 0.0 ? a : a + weight * (field[lo + 1] - a);
+    }
+
+    private void record(double value, double time) {
+        if (value > max) {
+            max = value;
+            maxTime = time;
+        }
+        if (value < min) {
+            min = value;
+        }
+    }
+
+    private double fractionAbove(double from, double to) {
+        boolean aboveFrom = from > threshold;
+        boolean aboveTo = to > threshold;
+        if (aboveFrom == aboveTo) {
+            return aboveFrom ? 1.0 : 0.0;
+        }
+        double crossing = (threshold - from) / (to - from);
+        return aboveTo ? 1.0 - crossing : crossing;
+    }
+}
@@ -0,0 +1,165 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Таблицы k(T) и c(T), пересчитанные на равномерную сетку по температуре: во внутреннем цикле
+ * поиск интервала — одно умножение и приведение к {@code int}, без бинарного поиска.
+ * Вне диапазона таблицы значения берутся с ближайшего края.
+ */
+public final class ThermalPropertyTable {
+
+    /** Наибольшее число интервалов равномерной сетки. */
+    public static final int MAX_INTERVALS = 4096;
+
+    /** Интервалов равномерной сетки на наименьший интервал исходной таблицы. */
+    static final int OVERSAMPLING = 4;
+
+    private final double minTemperature;
+    private final double step;
+    private final double inverseStep;
+    private final int last;
+    private final double[] conductivity;
+    private final double[] heatCapacity;
+    private final double maxConductivity;
+    private final double minHeatCapacity;
+
+    ThermalPropertyTable(double minTemperature, double step, double[] conductivity, double[] heatCapacity) {
+        this.minTemperature = minTemperature;
+        this.step = step;
+        this.inverseStep = 1.0 / step;
+        this.last = conductivity.length - 1;
+        this.conductivity = conductivity;
+        this.heatCapacity = heatCapacity;
+        this.maxConductivity = Arrays.stream(conductivity).max().orElseThrow();
+        this.minHeatCapacity = Arrays.stream(heatCapacity).min().orElseThrow();
+    }
+
+    /**
+     * Строит таблицу по точкам (в любом порядке); кусочно-линейная зависимость между точками
+     * пересчитывается на равномерную сетку с шагом не больше {@code 1/OVERSAMPLING} наименьшего
+     * интервала (и не больше {@link #MAX_INTERVALS} интервалов).
+     *
+     * @return {@code null}, если точек нет — свойства постоянные
+     */
+    public static ThermalPropertyTable of(List<Point> points) {
+        if (points == null || points.isEmpty()) {
+            return null;
+        }
+        Point[] sorted = points.toArray(Point[]::new);
+        Arrays.sort(sorted, (a, b) -> Double.compare(a.temperature(), b.temperature()));
+        double minGap = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < sorted.length; i++) {
+            Point p = sorted[i];
+            if (!(p.temperature() > 0) || !(p.conductivity() > 0) || !(p.heatCapacity() > 0)) {
+                throw new IllegalArgumentException("Thermal property point must be positive: " + p);
+            }
+            if (i > 0) {
+                double gap = p.temperature() - sorted[i - 1].temperature();
+                if (gap <= 0) {
+                    throw new IllegalArgumentException("Duplicate temperature in property table: " + p.temperature());
+                }
+                minGap = Math.min(minGap, gap);
+            }
+        }
+        double from = sorted[0].temperature();
+        if (sorted.length == 1) {
+            return new ThermalPropertyTable(from, 1.0,
+                    new double[]{sorted[0].conductivity()}, new double[]{sorted[0].heatCapacity()});
+        }
+        double range = sorted[sorted.length - 1].temperature() - from;
+        // шаг — доля наименьшего интервала: точки на кратных ему температурах попадают в узлы
+        int intervals = (int) Math.min(MAX_INTERVALS, Math.ceil(range * OVERSAMPLING / minGap - 1e-9));
+        double step = range / intervals;
+        double[] k = new double[intervals + 1];
+        double[] c = new double[intervals + 1];
+        int segment = 0;
+        for (int j = 0; j <= intervals; j++) {
+            double t = j == intervals ? sorted[sorted.length - 1].temperature() : from + j * step;
+            while (segment < sorted.length - 2 && t > sorted[segment + 1].temperature()) {
+                segment++;
+            }
+            Point lo = sorted[segment];
+            Point hi = sorted[segment + 1];
+            double w = (t - lo.temperature()) / (hi.temperature() - lo.temperature());
+            k[j] = lo.conductivity() + w * (hi.conductivity() - lo.conductivity());
+            c[j] = lo.heatCapacity() + w * (hi.heatCapacity() - lo.heatCapacity());
+        }
+        return new ThermalPropertyTable(from, step, k, c);
+    }
+
+    /** Теплопроводность при температуре {@code t}, Вт/(м·К). */
+    public double conductivity(double t) {
+        return lookup(conductivity, t);
+    }
+
+    /** Удельная теплоёмкость при температуре {@code t}, Дж/(кг·К). */
+    public double heatCapacity(double t) {
+        return lookup(heatCapacity, t);
+    }
+
+    /** Наибольшая температуропроводность по таблице — по ней ограничен шаг явной схемы. */
+    public double maxDiffusivity(double density) {
+        return maxConductivity / (density * minHeatCapacity);
+    }
+
+    public int intervals() {
+        return last;
+    }
+
+    public double minTemperature() {
+        return minTemperature;
+    }
+
+    public double maxTemperature() {
+        return minTemperature + last * step;
+    }
+
+    double step() {
+        return step;
+    }
+
+    double[] conductivityTable() {
+        return conductivity;
+    }
+
+    double[] heatCapacityTable() {
+        return heatCapacity;
+    }
+
+    private double lookup(double[] values, double t) {
+        double u = (t - minTemperature) * inverseStep;
+        if (!(u > 0.0)) {
+            return values[0];
+        }
+        if (u >= last) {
+            return values[last];
+        }
+        int j = (int) u;
+        double w = u - j;
+        return values[j] + w * (values[j + 1] - values[j]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ThermalPropertyTable other
+                && minTemperature == other.minTemperature
+                && step == other.step
+                && Arrays.equals(conductivity, other.conductivity)
+                && Arrays.equals(heatCapacity, other.heatCapacity);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(conductivity) + Arrays.hashCode(heatCapacity);
+    }
+
+    /**
+     * @param temperature  К
+     * @param conductivity Вт/(м·К)
+     * @param heatCapacity Дж/(кг·К)
+     */
+    public record Point(double temperature, double conductivity, double heatCapacity) {
+    }
+}
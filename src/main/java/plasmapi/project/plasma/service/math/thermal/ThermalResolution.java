@@ -0,0 +1,94 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+/**
+ * Предельное разрешение тепловой сетки: автоматически выбранное число узлов и число
+ * шагов по времени не превышают этих значений.
+ *
+ * @param maxNodes   узлов по глубине (явно заданное N не ограничивается)
+ * @param maxSteps   шагов по времени; сверх — шаг увеличивается до {@code tMax / maxSteps}
+ * @param scheme     схема по времени; для неявных ограничение устойчивости на шаг не действует
+ * @param meshGrowth отношение соседних шагов сетки вглубь; {@code 1} — равномерная сетка,
+ *                   больше — мелкие ячейки у поверхности и крупные в объёме
+ * @param stepTolerance допустимая локальная погрешность шага, К; {@code 0} — постоянный шаг.
+ *                   Действует только для неявных схем
+ * @param periodicTolerance при циклировании: допустимый дрейф поля за цикл, К, после которого
+ *                   оставшиеся циклы не считаются, а повторяют последний; {@code 0} — считать все
+ * @param singlePrecisionMap хранить температурное поле в {@code float} (вдвое меньше памяти;
+ *                   ~1e-4 К при типичных температурах). Расчёт и статистика поля — в {@code double}
+ * @param spectralTolerance допустимая погрешность усечения ряда точного решения, К: однородная
+ *                   пластина с постоянными k, c считается рядом по собственным функциям вместо
+ *                   шагов по времени, где он применим; {@code 0} — всегда шагами
+ */
+public record ThermalResolution(
+        int maxNodes,
+        int maxSteps,
+        ThermalScheme scheme,
+        double meshGrowth,
+        double stepTolerance,
+        double periodicTolerance,
+        boolean singlePrecisionMap,
+        double spectralTolerance
+) {
+
+    public static final ThermalResolution DEFAULT = new ThermalResolution(1000, 1_000_000);
+
+    public ThermalResolution {
+        if (maxNodes < 3 || maxSteps < 1) {
+            throw new IllegalArgumentException("Thermal resolution must have >= 3 nodes and >= 1 step");
+        }
+        if (scheme == null) {
+            throw new IllegalArgumentException("Thermal scheme must be set");
+        }
+        if (!(meshGrowth >= 1.0 && meshGrowth <= 2.0)) {
+            throw new IllegalArgumentException("Mesh growth must be within [1, 2]");
+        }
+        if (!(stepTolerance >= 0.0) || stepTolerance == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Step tolerance must be finite and >= 0");
+        }
+        if (!(periodicTolerance >= 0.0) || periodicTolerance == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Periodic tolerance must be finite and >= 0");
+        }
+        if (!(spectralTolerance >= 0.0) || spectralTolerance == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("Spectral tolerance must be finite and >= 0");
+        }
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps) {
+        this(maxNodes, maxSteps, ThermalScheme.EXPLICIT);
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps, ThermalScheme scheme) {
+        this(maxNodes, maxSteps, scheme, 1.0);
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps, ThermalScheme scheme, double meshGrowth) {
+        this(maxNodes, maxSteps, scheme, meshGrowth, 0.0);
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps, ThermalScheme scheme, double meshGrowth,
+                             double stepTolerance) {
+        this(maxNodes, maxSteps, scheme, meshGrowth, stepTolerance, 0.0);
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps, ThermalScheme scheme, double meshGrowth,
+                             double stepTolerance, double periodicTolerance) {
+        this(maxNodes, maxSteps, scheme, meshGrowth, stepTolerance, periodicTolerance, false);
+    }
+
+    public ThermalResolution(int maxNodes, int maxSteps, ThermalScheme scheme, double meshGrowth,
+                             double stepTolerance, double periodicTolerance, boolean singlePrecisionMap) {
+        this(maxNodes, maxSteps, scheme, meshGrowth, stepTolerance, periodicTolerance, singlePrecisionMap, 0.0);
+    }
+
+    public boolean graded() {
+        return meshGrowth > 1.0;
+    }
+
+    public boolean adaptive() {
+        return stepTolerance > 0.0 && scheme.implicit();
+    }
+
+    public boolean spectral() {
+        return spectralTolerance > 0.0;
+    }
+}
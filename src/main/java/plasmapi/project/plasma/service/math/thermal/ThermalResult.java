@@ -1,10 +1,12 @@
 package plasmapi.project.plasma.service.math.thermal;
 
-import java.util.List;
-
+/**
+ * @param temperatureMap сохранённые профили T(время, глубина); столбцы — узлы сетки,
+ *                   которая может быть неравномерной
+ * @param stepStats  число и размер шагов по времени
+ */
 public record ThermalResult(
-        List<Double> times,
-        List<double[]> temperatureProfiles,
+        TemperatureMap temperatureMap,
         double T0,
         double thickness,
         double probeDepth,
@@ -12,6 +14,7 @@ public record ThermalResult(
         double debyeTemperature,
         double debyeReachTime,
         double debyeFrontDepth,
-        double debyeFrontSpeed
+        double debyeFrontSpeed,
+        ThermalStepStats stepStats
 ) {
 }
@@ -0,0 +1,23 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+/**
+ * Схема интегрирования по времени в тепловом расчёте.
+ */
+public enum ThermalScheme {
+
+    /** Явная схема: шаг ограничен условием устойчивости {@code dx²/(2α)}. */
+    EXPLICIT,
+
+    /**
+     * Кранк–Николсон (θ = 1/2) с прогонкой; безусловно устойчива. Первые шаги и шаги на
+     * фронтах циклирования делаются неявным Эйлером, чтобы погасить осцилляции.
+     */
+    CRANK_NICOLSON,
+
+    /** Неявный Эйлер (θ = 1) с прогонкой; безусловно устойчива, первый порядок по времени. */
+    BACKWARD_EULER;
+
+    public boolean implicit() {
+        return this != EXPLICIT;
+    }
+}
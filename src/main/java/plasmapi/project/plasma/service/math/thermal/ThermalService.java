@@ -1,11 +1,14 @@
 package plasmapi.project.plasma.service.math.thermal;
 
 import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
 import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
 
+import java.util.List;
+
 
 public interface ThermalService {
-    ThermalResult simulate(
+    default ThermalResult simulate(
             PlasmaConfiguration plasmaConfig,
             double T0,
             double tMax,
@@ -22,5 +25,167 @@ public interface ThermalService {
             boolean thermalCyclingEnabled,
             Double cyclePeriod,
             Double dutyCycle
+    ) {
+        return simulate(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                ProgressListener.NONE
+        );
+    }
+
+    /**
+     * То же с периодическим отчётом о пройденных шагах по времени.
+     */
+    default ThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress
+    ) {
+        return simulate(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, ThermalResolution.DEFAULT
+        );
+    }
+
+    /**
+     * То же с заданным пределом разрешения сетки (пресет точности расчёта).
+     */
+    default ThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution
+    ) {
+        return simulate(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, resolution, ThermalCheckpointing.NONE
+        );
+    }
+
+    /**
+     * То же с контрольными точками: состояние сохраняется по ходу расчёта и в конце, а расчёт
+     * с теми же входными данными продолжается с сохранённой точки.
+     */
+    default ThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution,
+            ThermalCheckpointing checkpointing
+    ) {
+        return simulate(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, resolution, checkpointing, ThermalObservation.FULL
+        );
+    }
+
+    /**
+     * То же с наблюдателями шагов ({@link ThermalObserver}): датчики и накопленные величины
+     * без сохранения профилей, если {@link ThermalObservation#snapshots()} выключены.
+     */
+    ThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution,
+            ThermalCheckpointing checkpointing,
+            ThermalObservation observation
+    );
+
+    /**
+     * Продолжает расчёт с контрольной точки до {@code tMax} (позже времени точки): считаются только
+     * оставшиеся шаги, профили в результате — с момента точки.
+     */
+    ThermalResult resume(
+            ThermalCheckpoint checkpoint,
+            double tMax,
+            ProgressListener progress,
+            ThermalCheckpointing checkpointing
+    );
+
+    /**
+     * Пакетный расчёт конфигураций, отличающихся только мощностью (точки sweep по напряжению
+     * и току): все конфигурации идут одними шагами по общей сетке. Результаты — в порядке
+     * {@code powerInputs}. При постоянном шаге совпадают с {@link #simulate} до бита; адаптивный
+     * шаг выбирается по худшей конфигурации, а циклы пропускаются, когда периодический режим
+     * установился у всех.
+     */
+    List<ThermalResult> simulateBatch(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            List<Double> powerInputs,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ThermalResolution resolution
     );
 }
@@ -0,0 +1,38 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+/**
+ * Статистика шагов по времени теплового расчёта.
+ *
+ * @param acceptedSteps принятых шагов
+ * @param rejectedSteps шагов, отброшенных контролем погрешности (при постоянном шаге — 0)
+ * @param minDt         наименьший принятый шаг, с
+ * @param maxDt         наибольший принятый шаг, с
+ * @param adaptive      шаг выбирался по оценке локальной погрешности
+ * @param simulatedCycles циклов нагрева, рассчитанных шагами (при циклировании)
+ * @param skippedCycles   циклов, повторённых после выхода на периодический режим
+ * @param spectralModes   мод ряда, если поле посчитано точным решением без шагов; иначе {@code 0}
+ */
+public record ThermalStepStats(
+        int acceptedSteps,
+        int rejectedSteps,
+        double minDt,
+        double maxDt,
+        boolean adaptive,
+        int simulatedCycles,
+        int skippedCycles,
+        int spectralModes
+) {
+
+    public ThermalStepStats(int acceptedSteps, int rejectedSteps, double minDt, double maxDt, boolean adaptive,
+                            int simulatedCycles, int skippedCycles) {
+        this(acceptedSteps, rejectedSteps, minDt, maxDt, adaptive, simulatedCycles, skippedCycles, 0);
+    }
+
+    public static ThermalStepStats fixed(int steps, double dt, int simulatedCycles, int skippedCycles) {
+        return new ThermalStepStats(steps, 0, dt, dt, false, simulatedCycles, skippedCycles);
+    }
+
+    public static ThermalStepStats spectral(int modes) {
+        return new ThermalStepStats(0, 0, 0.0, 0.0, false, 0, 0, modes);
+    }
+}
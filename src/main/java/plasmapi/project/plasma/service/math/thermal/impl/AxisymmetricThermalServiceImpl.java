@@ -0,0 +1,206 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.energy.impl.FluenceIntegrationServiceImpl;
+import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalResult;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalService;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+import java.util.Arrays;
+
+/**
+ * Область — диск радиуса камеры ({@link FluenceIntegrationServiceImpl#effectiveRadius}) на глубину
+ * {@code thickness}. Ось симметрична, край катода адиабатический; поверхность и дно — как в 1D.
+ * Источник {@code q(r, z) = q₁D(z)·g(r)/⟨g⟩}: {@code g} — геометрический фактор флюенса,
+ * нормировка сохраняет полную мощность на катоде. Таблицы k(T), c(T) здесь не запаздывают:
+ * прогонка по глубине общая для всех столбцов, поэтому свойства берутся при {@code T0}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AxisymmetricThermalServiceImpl implements AxisymmetricThermalService {
+
+    /** Наибольшее число узлов по радиусу. */
+    public static final int MAX_RADIAL_NODES = 2048;
+
+    /** Запас устойчивости явной схемы по радиусу. */
+    private static final double RADIAL_STABILITY = 0.9;
+
+    /** Узлов в плитке, меньше которых параллель по плиткам не окупает синхронизацию. */
+    static final int MIN_TILE_NODES = 4096;
+
+    private final MathParallelSupport mathParallelSupport;
+
+    @Value("${energy-deposition.fluence.geometry-exponent:2.0}")
+    private double geometryExponent = 2.0;
+
+    @Override
+    public AxisymmetricThermalResult simulate(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Double debyeTemperature,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            int radialNodes,
+            ProgressListener progress,
+            ThermalResolution resolution
+    ) {
+        ThermalTimeLoop.State state = ThermalServiceImpl.prepare(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, null, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, depthResolution(resolution)
+        );
+        Grid grid = grid(plasmaConfig, state.dt, radialNodes);
+        AxisymmetricTileLoop.Geometry geometry = geometry(grid, alpha(plasmaConfig, T0), state.dt, geometryExponent);
+        int tiles = tiles(radialNodes, state.n, mathParallelSupport.parallelism());
+        AxisymmetricTileLoop.Result loop = AxisymmetricTileLoop.run(state, geometry, tiles, mathParallelSupport);
+        return result(state, grid, loop);
+    }
+
+    /**
+     * Объём расчёта (узлы × шаги × стадии по радиусу) без его выполнения — для допуска по стоимости.
+     */
+    public static long work(
+            PlasmaConfiguration plasmaConfig,
+            double tMax,
+            double dt,
+            double thickness,
+            Double projectedRange,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            int radialNodes,
+            ThermalResolution resolution
+    ) {
+        ThermalServiceImpl.Grid depth = ThermalServiceImpl.grid(
+                ThermalServiceImpl.maxDiffusivity(plasmaConfig), tMax, dt, thickness, projectedRange, null,
+                thermalCyclingEnabled, cyclePeriod, depthResolution(resolution)
+        );
+        Grid grid = grid(plasmaConfig, depth.dt(), radialNodes);
+        return depth.work() * radialNodes * (grid.stages() + 1L);
+    }
+
+    /** По глубине — неявный Эйлер: шаг не ограничен самым мелким узлом у поверхности. */
+    private static ThermalResolution depthResolution(ThermalResolution resolution) {
+        return new ThermalResolution(
+                resolution.maxNodes(), resolution.maxSteps(), ThermalScheme.BACKWARD_EULER, resolution.meshGrowth()
+        );
+    }
+
+    private static double alpha(PlasmaConfiguration cfg, double temperature) {
+        ThermalPropertyTable properties = cfg.getThermalProperties();
+        if (properties == null) {
+            return cfg.getThermalConductivity() / (cfg.getDensity() * cfg.getHeatCapacity());
+        }
+        return properties.conductivity(temperature) / (cfg.getDensity() * properties.heatCapacity(temperature));
+    }
+
+    /**
+     * Радиальная сетка: узлы {@code i·dr} от оси до края. Шаг Эйлера устойчив при
+     * {@code τ·4α/dr² ≤ 1} (самая жёсткая ячейка — у оси); {@code s} стадий RKL1 — при
+     * {@code dt ≤ τ·s(s + 1)/2}, поэтому стадий растёт как {@code √dt}, а не как {@code dt}.
+     */
+    static Grid grid(PlasmaConfiguration cfg, double dt, int radialNodes) {
+        if (radialNodes < 3 || radialNodes > MAX_RADIAL_NODES) {
+            throw new IllegalArgumentException("Radial nodes must be within [3, " + MAX_RADIAL_NODES + "]");
+        }
+        double radius = FluenceIntegrationServiceImpl.effectiveRadius(cfg);
+        double dr = radius / (radialNodes - 1);
+        double rate = 4.0 * ThermalServiceImpl.maxDiffusivity(cfg) / (dr * dr);
+        double eulerSteps = dt * rate / RADIAL_STABILITY;
+        int stages = (int) Math.max(1L, (long) Math.ceil((Math.sqrt(1.0 + 8.0 * eulerSteps) - 1.0) / 2.0));
+        return new Grid(radialNodes, radius, dr, stages);
+    }
+
+    /** Конечные объёмы на радиальной сетке и нормированный радиальный профиль источника. */
+    static AxisymmetricTileLoop.Geometry geometry(Grid grid, double alpha, double dt, double exponent) {
+        int nr = grid.nodes();
+        double dr = grid.dr();
+        double[] inward = new double[nr];
+        double[] outward = new double[nr];
+        double[] factor = new double[nr];
+        double area = 0.0;
+        double weighted = 0.0;
+        for (int i = 0; i < nr; i++) {
+            double rIn = i == 0 ? 0.0 : (i - 0.5) * dr;
+            double rOut = i == nr - 1 ? grid.radius() : (i + 0.5) * dr;
+            // объём кольца на радиан: (r₊² − r₋²)/2
+            double volume = 0.5 * (rOut * rOut - rIn * rIn);
+            inward[i] = i == 0 ? 0.0 : dt * alpha * rIn / (volume * dr);
+            outward[i] = i == nr - 1 ? 0.0 : dt * alpha * rOut / (volume * dr);
+            factor[i] = FluenceIntegrationServiceImpl.geometricFactor(i * dr, grid.radius(), exponent);
+            area += volume;
+            weighted += volume * factor[i];
+        }
+        double norm = area / weighted;
+        for (int i = 0; i < nr; i++) {
+            factor[i] *= norm;
+        }
+        return new AxisymmetricTileLoop.Geometry(inward, outward, factor, grid.stages());
+    }
+
+    /** Не больше потоков пула и не меньше {@link #MIN_TILE_NODES} узлов на плитку. */
+    static int tiles(int radialNodes, int depthNodes, int parallelism) {
+        long nodes = (long) radialNodes * depthNodes;
+        long bySize = Math.max(1L, nodes / MIN_TILE_NODES);
+        int byColumns = Math.max(1, radialNodes / (2 * AxisymmetricTileLoop.HALO_DEPTH));
+        return (int) Math.min(Math.min(parallelism, bySize), byColumns);
+    }
+
+    private static AxisymmetricThermalResult result(
+            ThermalTimeLoop.State state,
+            Grid grid,
+            AxisymmetricTileLoop.Result loop
+    ) {
+        int nr = grid.nodes();
+        int n = state.n;
+        double[] radii = new double[nr];
+        double[][] temperature = new double[nr][];
+        double[][] peak = new double[nr][];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < nr; i++) {
+            radii[i] = i == nr - 1 ? grid.radius() : i * grid.dr();
+            temperature[i] = Arrays.copyOfRange(loop.finalField(), i * n, (i + 1) * n);
+            peak[i] = Arrays.copyOfRange(loop.peakField(), i * n, (i + 1) * n);
+            for (double v : peak[i]) {
+                max = Math.max(max, v);
+            }
+        }
+        return new AxisymmetricThermalResult(
+                grid.radius(),
+                radii,
+                state.nodeDepths.clone(),
+                temperature,
+                peak,
+                temperature[0][0],
+                temperature[nr - 1][0],
+                max,
+                state.steps,
+                grid.stages(),
+                loop.tiles()
+        );
+    }
+
+    /**
+     * @param nodes    узлов по радиусу
+     * @param radius   радиус области, м
+     * @param dr       шаг по радиусу, м
+     * @param stages   стадий RKL1 по радиусу на шаг по времени
+     */
+    record Grid(int nodes, double radius, double dr, int stages) {
+    }
+}
@@ -0,0 +1,357 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+
+import java.util.Arrays;
+
+/**
+ * Осесимметричная схема с расщеплением по направлениям: по радиусу — явная многостадийная
+ * схема Рунге–Кутты–Лежандра первого порядка (RKL1: {@code s} стадий устойчивы на шаге в
+ * {@code s(s + 1)/2} раз длиннее шага Эйлера), по глубине — неявный Эйлер с прогонкой по столбцу
+ * (та же, что в 1D). Поле разрезано по радиусу на плитки из целых столбцов; плитки считаются
+ * параллельно, между фазами соседям копируются граничные столбцы (гало). Гало глубиной {@code H}
+ * позволяет пройти {@code H} стадий без обмена: столбцы гало пересчитываются плиткой повторно,
+ * и результат совпадает с расчётом одной плиткой до бита.
+ */
+final class AxisymmetricTileLoop {
+
+    /** Наибольшая глубина гало — стадий между обменами. */
+    static final int HALO_DEPTH = 4;
+
+    /** Сколько раз за расчёт сообщать о прогрессе. */
+    private static final int PROGRESS_TICKS = 100;
+
+    private AxisymmetricTileLoop() {
+    }
+
+    /**
+     * Радиальная часть схемы.
+     *
+     * @param inward   {@code dt·α·r₋/(V·dr)} — вклад столбца ближе к оси за шаг {@code dt}
+     * @param outward  {@code dt·α·r₊/(V·dr)} — вклад столбца ближе к краю; у края {@code 0} (адиабата)
+     * @param sourceFactor множитель источника столбца (радиальный спад)
+     * @param stages   стадий RKL1 на шаг по времени; {@code 1} — явный Эйлер
+     */
+    record Geometry(double[] inward, double[] outward, double[] sourceFactor, int stages) {
+
+        int columns() {
+            return inward.length;
+        }
+
+        /** Стадия {@code j}: {@code Yⱼ = μ·Yⱼ₋₁ + ν·Yⱼ₋₂ + μ̃·dt·L(Yⱼ₋₁)}. */
+        double mu(int j) {
+            return (2.0 * j - 1.0) / j;
+        }
+
+        double nu(int j) {
+            return (1.0 - j) / j;
+        }
+
+        double muTilde(int j) {
+            return mu(j) * 2.0 / ((double) stages * stages + stages);
+        }
+    }
+
+    /**
+     * @param finalField поле в конце расчёта, {@code [столбец·n + узел]}
+     * @param peakField  наибольшая температура узла за расчёт
+     */
+    record Result(double[] finalField, double[] peakField, int tiles) {
+    }
+
+    static Result run(ThermalTimeLoop.State state, Geometry geometry, int tiles, MathParallelSupport parallel) {
+        int nr = geometry.columns();
+        int count = Math.max(1, Math.min(tiles, nr));
+        int halo = count > 1 ? Math.min(HALO_DEPTH, geometry.stages()) : geometry.stages();
+
+        DepthSweep depthSweep = new DepthSweep(state);
+        Tile[] parts = new Tile[count];
+        int[] owner = new int[nr];
+        for (int k = 0; k < count; k++) {
+            int lo = (int) ((long) nr * k / count);
+            int hi = (int) ((long) nr * (k + 1) / count);
+            parts[k] = new Tile(state, geometry, depthSweep, lo, hi, count > 1 ? halo : 0);
+            for (int c = lo; c < hi; c++) {
+                owner[c] = k;
+            }
+        }
+
+        final ProgressListener progress = state.progress;
+        final boolean reportProgress = progress != ProgressListener.NONE;
+        final int progressEvery = Math.max(state.steps / PROGRESS_TICKS, 1);
+
+        for (int step = 0; step < state.steps; step++) {
+            double time = (step + 1) * state.dt;
+            double sourceScale = state.sourceCoeff * state.cyclingFactor(time);
+            int done = 0;
+            while (done < geometry.stages()) {
+                int from = done + 1;
+                int to = Math.min(done + halo, geometry.stages());
+                boolean last = to == geometry.stages();
+                if (count > 1) {
+                    exchange(parts, owner);
+                }
+                parallel.parallelForCoarse(count, k -> {
+                    parts[k].radial(from, to);
+                    if (last) {
+                        parts[k].depth(sourceScale);
+                    }
+                });
+                done = to;
+            }
+            if (reportProgress && ((step + 1) % progressEvery == 0 || step == state.steps - 1)) {
+                progress.progress(step + 1, state.steps);
+            }
+        }
+
+        double[] finalField = new double[nr * state.n];
+        double[] peakField = new double[nr * state.n];
+        for (Tile tile : parts) {
+            tile.copyOwned(finalField, peakField);
+        }
+        return new Result(finalField, peakField, count);
+    }
+
+    /** Гало: столбцы двух последних стадий копируются из плиток-владельцев (фаза завершена всеми). */
+    private static void exchange(Tile[] parts, int[] owner) {
+        for (Tile tile : parts) {
+            for (int global = tile.first; global < tile.lo; global++) {
+                tile.copyColumn(parts[owner[global]], global);
+            }
+            for (int global = tile.hi; global < tile.first + tile.columns; global++) {
+                tile.copyColumn(parts[owner[global]], global);
+            }
+        }
+    }
+
+    /**
+     * Прогонка по глубине с постоянным шагом: коэффициенты не меняются за расчёт и общие для всех
+     * столбцов — считаются один раз (как в {@link ThermalTimeLoop}, строка поверхности
+     * {@code b₀·T₀ − c₀·T₁ = d₀}, дно — {@code T0}).
+     */
+    private static final class DepthSweep {
+        final double surface;
+        /** Приведённый наддиагональный коэффициент и ведущий элемент строки. */
+        final double[] sweep;
+        final double[] pivot;
+
+        DepthSweep(ThermalTimeLoop.State state) {
+            int n = state.n;
+            double b0;
+            double c0;
+            double d0;
+            switch (state.boundaryCondition) {
+                case ADIABATIC -> {
+                    b0 = 1.0;
+                    c0 = 1.0;
+                    d0 = 0.0;
+                }
+                case FIXED_TEMPERATURE -> {
+                    b0 = 1.0;
+                    c0 = 0.0;
+                    d0 = state.t0;
+                }
+                default -> {
+                    double biot = state.h * state.dx / state.kappa;
+                    b0 = 1.0 + biot;
+                    c0 = 1.0;
+                    d0 = biot * state.ambientTemp;
+                }
+            }
+            sweep = new double[n];
+            pivot = new double[n];
+            sweep[0] = -c0 / b0;
+            surface = d0 / b0;
+            for (int i = 1; i < n - 1; i++) {
+                double w = state.west[i];
+                double e = state.east[i];
+                pivot[i] = 1.0 + w + e + w * sweep[i - 1];
+                sweep[i] = -e / pivot[i];
+            }
+        }
+    }
+
+    /**
+     * Плитка: собственные столбцы {@code [lo, hi)} и гало по бокам. Хранение узел-мажорное,
+     * {@code [узел·columns + столбец]}, как у {@link ThermalBatchLoop}: и радиальный шаблон,
+     * и прогонка по глубине идут по всем столбцам сразу по непрерывной памяти.
+     */
+    private static final class Tile {
+        final ThermalTimeLoop.State state;
+        final Geometry geometry;
+        final DepthSweep depthSweep;
+        final int n;
+        final int lo;
+        final int hi;
+        /** Глобальный номер первого хранимого столбца. */
+        final int first;
+        final int columns;
+        /** Гало слева/справа граничит с другой плиткой (а не с осью/краем). */
+        final boolean openLeft;
+        final boolean openRight;
+        /** {@code Yⱼ₋₁}, {@code Yⱼ₋₂} и буфер следующей стадии. */
+        double[] current;
+        double[] previous;
+        double[] next;
+        final double[] peak;
+        /** Множитель источника собственных столбцов на текущем шаге. */
+        final double[] sourceScale;
+        /** Радиальные коэффициенты столбцов на текущей стадии ({@code μ̃·dt·…}). */
+        final double[] stageInward;
+        final double[] stageOutward;
+
+        Tile(ThermalTimeLoop.State state, Geometry geometry, DepthSweep depthSweep, int lo, int hi, int halo) {
+            this.state = state;
+            this.geometry = geometry;
+            this.depthSweep = depthSweep;
+            this.n = state.n;
+            this.lo = lo;
+            this.hi = hi;
+            this.first = Math.max(0, lo - halo);
+            int end = Math.min(geometry.columns(), hi + halo);
+            this.columns = end - first;
+            this.openLeft = first > 0;
+            this.openRight = end < geometry.columns();
+            current = new double[n * columns];
+            previous = new double[n * columns];
+            next = new double[n * columns];
+            for (int i = 0; i < n; i++) {
+                Arrays.fill(current, i * columns, (i + 1) * columns, state.t[i]);
+            }
+            peak = current.clone();
+            sourceScale = new double[columns];
+            stageInward = new double[columns];
+            stageOutward = new double[columns];
+        }
+
+        void copyColumn(Tile from, int global) {
+            int src = global - from.first;
+            int dst = global - first;
+            for (int i = 0; i < n; i++) {
+                current[i * columns + dst] = from.current[i * from.columns + src];
+                previous[i * columns + dst] = from.previous[i * from.columns + src];
+            }
+        }
+
+        /**
+         * Стадии {@code [fromStage, toStage]} по радиусу. На каждой стадии крайний столбец гало
+         * со стороны соседа теряет достоверность, поэтому диапазон сужается на столбец.
+         */
+        void radial(int fromStage, int toStage) {
+            double[] inward = geometry.inward();
+            double[] outward = geometry.outward();
+            final double[] a = stageInward;
+            final double[] b = stageOutward;
+            final StencilKernel kernel = state.kernel;
+            for (int stage = fromStage; stage <= toStage; stage++) {
+                int shrink = stage - fromStage + 1;
+                int from = openLeft ? shrink : 0;
+                int to = openRight ? columns - shrink : columns;
+                // первая стадия — шаг Эйлера: Yⱼ₋₂ не участвует (μ = 1, ν = 0)
+                final double[] older = stage == 1 ? current : previous;
+                final double[] cur = current;
+                final double[] out = next;
+                double mu = geometry.mu(stage);
+                double nu = geometry.nu(stage);
+                double muTilde = geometry.muTilde(stage);
+                for (int c = from; c < to; c++) {
+                    a[c] = muTilde * inward[first + c];
+                    b[c] = muTilde * outward[first + c];
+                }
+                // у оси и края один сосед (коэффициент другого — 0): крайние столбцы отдельно,
+                // внутренние — общий цикл без ветвлений
+                boolean axis = first + from == 0;
+                boolean edge = first + to == geometry.columns();
+                int innerFrom = axis ? from + 1 : from;
+                int innerTo = edge ? to - 1 : to;
+                for (int i = 0; i < n; i++) {
+                    int row = i * columns;
+                    if (axis) {
+                        int at = row + from;
+                        double tj = cur[at];
+                        out[at] = mu * tj + nu * older[at] + b[from] * (cur[at + 1] - tj);
+                    }
+                    kernel.radialStage(cur, older, out, a, b, mu, nu, row, innerFrom, innerTo);
+                    if (edge) {
+                        int at = row + to - 1;
+                        double tj = cur[at];
+                        out[at] = mu * tj + nu * older[at] + a[to - 1] * (cur[at - 1] - tj);
+                    }
+                }
+                double[] tmp = previous;
+                previous = current;
+                current = next;
+                next = tmp;
+            }
+        }
+
+        /**
+         * Неявный шаг по глубине для собственных столбцов: прогонка сразу по всем столбцам
+         * (граничные условия и предел Дебая — как в 1D).
+         */
+        void depth(double stepSourceScale) {
+            double[] source = state.source;
+            double[] west = state.west;
+            double[] sweep = depthSweep.sweep;
+            double[] pivot = depthSweep.pivot;
+            int from = lo - first;
+            int to = hi - first;
+            for (int c = from; c < to; c++) {
+                sourceScale[c] = stepSourceScale * geometry.sourceFactor()[first + c];
+            }
+            // прямой ход на месте: current[i] превращается в приведённую правую часть
+            for (int c = from; c < to; c++) {
+                current[c] = depthSweep.surface;
+            }
+            for (int i = 1; i < n - 1; i++) {
+                int row = i * columns;
+                int up = row - columns;
+                double w = west[i];
+                double m = pivot[i];
+                double q = source[i];
+                for (int c = from; c < to; c++) {
+                    current[row + c] = (current[row + c] + sourceScale[c] * q + w * current[up + c]) / m;
+                }
+            }
+            int last = (n - 1) * columns;
+            for (int c = from; c < to; c++) {
+                current[last + c] = state.t0;
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                int row = i * columns;
+                int down = row + columns;
+                double s = sweep[i];
+                for (int c = from; c < to; c++) {
+                    current[row + c] -= s * current[down + c];
+                }
+            }
+
+            double limit = state.debyeLimit;
+            for (int i = 0; i < n; i++) {
+                int row = i * columns;
+                for (int c = from; c < to; c++) {
+                    double v = current[row + c];
+                    if (v > limit) {
+                        v = limit;
+                        current[row + c] = v;
+                    }
+                    if (v > peak[row + c]) {
+                        peak[row + c] = v;
+                    }
+                }
+            }
+        }
+
+        /** Собственные столбцы в поле {@code [столбец·n + узел]}. */
+        void copyOwned(double[] finalField, double[] peakField) {
+            for (int global = lo; global < hi; global++) {
+                int c = global - first;
+                for (int i = 0; i < n; i++) {
+                    finalField[global * n + i] = current[i * columns + c];
+                    peakField[global * n + i] = peak[i * columns + c];
+                }
+            }
+        }
+    }
+}
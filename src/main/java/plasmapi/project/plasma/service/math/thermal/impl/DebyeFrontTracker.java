@@ -0,0 +1,102 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.service.math.thermal.ThermalObserver;
+
+/**
+ * Фронт температуры Дебая без просмотра всех узлов на шаге. Нужен только самый глубокий узел,
+ * достигший предела, и время, когда он его достиг. Следим за пиком профиля (подъём от прошлого
+ * положения по окну {@link #WINDOW} узлов — явная схема у предела даёт чётно-нечётную рябь)
+ * и за фронтом: за шаг проверяются окна за пиком и за фронтом, работа — {@code O(WINDOW)}.
+ * Узлы на пределе записываются в {@code debyeReachedAt} от пика вглубь; мельче пика времена
+ * не нужны результату и не записываются.
+ */
+final class DebyeFrontTracker implements ThermalObserver {
+
+    /** Наибольший разрыв по узлам между узлами на пределе и ширина окна подъёма к пику. */
+    static final int WINDOW = 8;
+
+    private final double debyeLimit;
+    private final double[] debyeReachedAt;
+
+    private int peak;
+    /** Самый глубокий узел, достигший предела; {@code -1} — ни один. */
+    private int front = -1;
+
+    DebyeFrontTracker(double debyeLimit, double[] debyeReachedAt) {
+        this.debyeLimit = debyeLimit;
+        this.debyeReachedAt = debyeReachedAt;
+    }
+
+    /** Самый глубокий узел с заданным временем достижения; {@code -1} — ни одного. */
+    static int deepestReached(double[] debyeReachedAt) {
+        for (int i = debyeReachedAt.length - 1; i >= 0; i--) {
+            if (!Double.isNaN(debyeReachedAt[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void start(double[] depths, double time, double[] field) {
+        front = deepestReached(debyeReachedAt);
+        peak = 0;
+        for (int i = 1; i < field.length; i++) {
+            if (field[i] > field[peak]) {
+                peak = i;
+            }
+        }
+    }
+
+    @Override
+    public void step(double time, double[] field) {
+        climb(field);
+        if (field[peak] >= debyeLimit && peak > front) {
+            mark(peak, time);
+            front = peak;
+        }
+        if (front >= 0) {
+            advance(field, time);
+        }
+    }
+
+    int front() {
+        return front;
+    }
+
+    /** Узлы на пределе за фронтом с разрывами не больше {@link #WINDOW}. */
+    private void advance(double[] field, double time) {
+        int last = field.length - 1;
+        int end = Math.min(last, front + WINDOW);
+        for (int i = front + 1; i <= end; i++) {
+            if (field[i] >= debyeLimit) {
+                mark(i, time);
+                front = i;
+                end = Math.min(last, i + WINDOW);
+            }
+        }
+    }
+
+    private void climb(double[] field) {
+        int last = field.length - 1;
+        while (true) {
+            int best = peak;
+            int to = Math.min(last, peak + WINDOW);
+            for (int i = Math.max(0, peak - WINDOW); i <= to; i++) {
+                if (field[i] > field[best]) {
+                    best = i;
+                }
+            }
+            if (best == peak) {
+                return;
+            }
+            peak = best;
+        }
+    }
+
+    private void mark(int node, double time) {
+        if (Double.isNaN(debyeReachedAt[node])) {
+            debyeReachedAt[node] = time;
+        }
+    }
+}
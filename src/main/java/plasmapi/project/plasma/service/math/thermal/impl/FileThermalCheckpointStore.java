@@ -0,0 +1,86 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import plasmapi.project.plasma.config.ThermalCheckpointProperties;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointCodec;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Контрольные точки — файлы {@code <id>.ckpt} в локальном каталоге. Запись идёт во временный
+ * файл и атомарно заменяет прежнюю точку: прерванная запись не портит последнюю целую точку.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FileThermalCheckpointStore implements ThermalCheckpointStore {
+
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String SUFFIX = ".ckpt";
+
+    private final ThermalCheckpointProperties properties;
+
+    @Override
+    public void save(String id, ThermalCheckpoint checkpoint) {
+        Path target = path(id);
+        try {
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), id, SUFFIX + ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                    ThermalCheckpointCodec.write(checkpoint, out);
+                }
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write thermal checkpoint " + id, e);
+        }
+    }
+
+    @Override
+    public Optional<ThermalCheckpoint> load(String id) {
+        Path source = path(id);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(source))) {
+            return Optional.of(ThermalCheckpointCodec.read(in));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            // повреждённая или устаревшая точка — расчёт начнётся заново
+            log.warn("Ignoring unreadable thermal checkpoint {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean delete(String id) {
+        try {
+            return Files.deleteIfExists(path(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete thermal checkpoint " + id, e);
+        }
+    }
+
+    private Path path(String id) {
+        if (id == null || !ID.matcher(id).matches()) {
+            throw new IllegalArgumentException("Checkpoint id must match " + ID.pattern());
+        }
+        return properties.getDirectory().resolve(id + SUFFIX);
+    }
+}
@@ -0,0 +1,89 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+
+/**
+ * Периодический режим при циклировании: поле на границах циклов сравнивается с предыдущей границей.
+ * Режим считается установившимся, когда изменение за цикл меньше допуска вместе с оценкой
+ * оставшегося дрейфа (геометрический хвост {@code δ·ρ/(1 − ρ)}, {@code ρ} — отношение соседних δ).
+ * После этого оставшиеся целые циклы не считаются: их профили повторяют последний цикл.
+ */
+final class PeriodicSteadyState {
+
+    private final double period;
+    private final double tolerance;
+
+    private double[] boundary;
+    private double previousChange = Double.NaN;
+    private int cycleStart;
+    private int lastCycleStart;
+    private int simulatedCycles;
+    private int skippedCycles;
+
+    private PeriodicSteadyState(double period, double tolerance) {
+        this.period = period;
+        this.tolerance = tolerance;
+    }
+
+    /** {@code null}, если циклирования нет или обнаружение выключено. */
+    static PeriodicSteadyState of(ThermalTimeLoop.State state) {
+        if (state.periodicTolerance <= 0 || !state.thermalCyclingEnabled
+                || state.cyclePeriod == null || state.cyclePeriod <= 0) {
+            return null;
+        }
+        return new PeriodicSteadyState(state.cyclePeriod, state.periodicTolerance);
+    }
+
+    double period() {
+        return period;
+    }
+
+    /**
+     * Граница цикла: {@code profileCount} — сколько профилей сохранено к этому моменту
+     * (профиль на самой границе уже добавлен). {@code true} — режим установился.
+     */
+    boolean cycleCompleted(double[] field, int profileCount) {
+        simulatedCycles++;
+        lastCycleStart = cycleStart;
+        cycleStart = profileCount;
+        if (boundary == null) {
+            boundary = field.clone();
+            return false;
+        }
+        double change = 0.0;
+        for (int i = 0; i < field.length; i++) {
+            change = Math.max(change, Math.abs(field[i] - boundary[i]));
+        }
+        System.arraycopy(field, 0, boundary, 0, field.length);
+
+        boolean converged = false;
+        if (!Double.isNaN(previousChange) && change < tolerance) {
+            double ratio = previousChange > 0 ? change / previousChange : 0.0;
+            converged = ratio < 1.0 && change * ratio / (1.0 - ratio) < tolerance;
+        }
+        previousChange = change;
+        return converged;
+    }
+
+    /**
+     * Пропускает {@code cycles} целых циклов: профили последнего цикла повторяются со сдвигом
+     * на период. Поле на границе не меняется — режим периодический.
+     */
+    void skip(TemperatureMap.Builder map, int cycles) {
+        int end = cycleStart;
+        for (int c = 1; c <= cycles; c++) {
+            map.repeat(lastCycleStart, end, c * period);
+        }
+        skippedCycles += cycles;
+        cycleStart = map.rows();
+        lastCycleStart = end;
+    }
+
+    int simulatedCycles() {
+        return simulatedCycles;
+    }
+
+    int skippedCycles() {
+        return skippedCycles;
+    }
+}
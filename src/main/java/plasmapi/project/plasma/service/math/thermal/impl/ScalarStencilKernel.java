@@ -0,0 +1,95 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+/**
+ * Скалярное ядро — по умолчанию и как запасной вариант без {@code jdk.incubator.vector}.
+ */
+final class ScalarStencilKernel implements StencilKernel {
+
+    @Override
+    public void explicitStep(
+            double[] current,
+            double[] next,
+            double[] west,
+            double[] east,
+            double[] source,
+            double sourceScale,
+            double limit,
+            int from,
+            int to
+    ) {
+        for (int i = from; i < to; i++) {
+            double ti = current[i];
+            double val = ti + west[i] * (current[i - 1] - ti) + east[i] * (current[i + 1] - ti)
+                    + sourceScale * source[i];
+            if (val > limit) {
+                val = limit;
+            }
+            next[i] = val;
+        }
+    }
+
+    @Override
+    public void implicitRhs(
+            double[] current,
+            double[] rhs,
+            double[] west,
+            double[] east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int from,
+            int to
+    ) {
+        for (int i = from; i < to; i++) {
+            double ti = current[i];
+            double flux = west[i] * (current[i - 1] - ti) + east[i] * (current[i + 1] - ti);
+            rhs[i] = ti + explicitPart * flux + sourceScale * source[i];
+        }
+    }
+
+    @Override
+    public void batchRhs(
+            double[] current,
+            double[] rhs,
+            double west,
+            double east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int stride,
+            int from,
+            int to
+    ) {
+        for (int j = from; j < to; j++) {
+            double ti = current[j];
+            double flux = west * (current[j - stride] - ti) + east * (current[j + stride] - ti);
+            rhs[j] = ti + explicitPart * flux + sourceScale * source[j];
+        }
+    }
+
+    @Override
+    public void radialStage(
+            double[] current,
+            double[] older,
+            double[] next,
+            double[] inward,
+            double[] outward,
+            double mu,
+            double nu,
+            int offset,
+            int from,
+            int to
+    ) {
+        for (int c = from; c < to; c++) {
+            int at = offset + c;
+            double tj = current[at];
+            next[at] = mu * tj + nu * older[at]
+                    + inward[c] * (current[at - 1] - tj) + outward[c] * (current[at + 1] - tj);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
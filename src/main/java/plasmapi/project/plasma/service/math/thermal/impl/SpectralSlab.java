@@ -0,0 +1,294 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Точное решение для однородной пластины с постоянными k, c: источник
+ * {@code q(x) = P/Rp·exp(−x/Rp)} (как {@code ThermalServiceImpl.buildSource}), тыльная граница
+ * {@code T0}, поверхность адиабатическая ({@code cos λx}, {@code λₘ = (m + ½)π/L}) или при
+ * {@code T0} ({@code sin λx}, {@code λₘ = mπ/L}). Циклирование — сумма включений и выключений
+ * источника: {@code θ(x, t) = f(t)·θ∞(x) − Σₘ cₘ·bₘ(t)·φₘ(x)}, где {@code θ∞ = Σ cₘφₘ} —
+ * стационарное поле (в замкнутом виде), {@code bₘ(t) = Σₖ Δfₖ·exp(−αλₘ²(t − tₖ))} по
+ * переключениям {@code tₖ < t}. Ряд переходной части сходится быстро везде, кроме профилей
+ * сразу после переключения; число мод выбирается по оценке хвоста сверху.
+ * <p>
+ * Профили — в те же моменты, что сохраняет {@link ThermalTimeLoop}. Если предел Дебая может
+ * быть достигнут (поле при постоянно включённом источнике к {@code tMax} — оценка сверху)
+ * или мод нужно больше {@link #MAX_MODES}, ответа нет и считается расчёт шагами.
+ */
+final class SpectralSlab {
+
+    /** Больше мод — профиль слишком близко к переключению, шагами дешевле. */
+    static final int MAX_MODES = 2048;
+
+    /** Переключений источника за расчёт. */
+    static final int MAX_EDGES = 1 << 20;
+
+    private SpectralSlab() {
+    }
+
+    /** Линейная задача с граничными условиями, для которых собственные функции известны. */
+    static boolean applies(
+            PlasmaConfiguration cfg,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            ThermalResolution resolution
+    ) {
+        return resolution.spectral()
+                && cfg.getThermalProperties() == null
+                && (boundaryCondition == ThermalServiceImpl.BoundaryCondition.ADIABATIC
+                || boundaryCondition == ThermalServiceImpl.BoundaryCondition.FIXED_TEMPERATURE);
+    }
+
+    /**
+     * Поле в узлах и моменты профилей — из {@code state} (подготовленного, но не посчитанного);
+     * пусто — нужен расчёт шагами.
+     */
+    static Optional<ThermalTimeLoop.Result> solve(
+            ThermalTimeLoop.State state,
+            PlasmaConfiguration cfg,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            double tolerance
+    ) {
+        if (state.t0 >= state.debyeLimit) {
+            return Optional.empty();
+        }
+        boolean adaptive = state.scheme.implicit() && state.stepTolerance > 0;
+        double tEnd = adaptive ? state.tMax : state.steps * state.dt;
+        double[] times = ThermalTimeLoop.snapshotTimes(state);
+        if (times[times.length - 1] != tEnd) {
+            // адаптивный расчёт короче одного шага сетки — профилей нет
+            return Optional.empty();
+        }
+        int n = state.n;
+
+        double power = powerInput != null && powerInput > 0 && projectedRange != null && projectedRange > 0
+                ? powerInput
+                : 0.0;
+        if (power == 0.0) {
+            double[] flat = new double[n];
+            Arrays.fill(flat, state.t0);
+            TemperatureMap.Builder map = state.newMap(times.length);
+            for (double time : times) {
+                map.append(time, flat);
+            }
+            return Optional.of(new ThermalTimeLoop.Result(flat, map.build(), ThermalStepStats.spectral(0)));
+        }
+
+        Series series = new Series(
+                state.boundaryCondition == ThermalServiceImpl.BoundaryCondition.FIXED_TEMPERATURE,
+                power, 1.0 / projectedRange, thickness, cfg.getThermalConductivity(),
+                cfg.getThermalConductivity() / (cfg.getDensity() * cfg.getHeatCapacity())
+        );
+        double[] x = state.nodeDepths;
+        double[] steady = new double[n];
+        for (int i = 0; i < n; i++) {
+            steady[i] = series.steady(x[i]);
+        }
+        steady[n - 1] = 0.0;
+
+        if (state.debyeLimit < Double.POSITIVE_INFINITY) {
+            // при постоянном источнике θ растёт по времени и не меньше, чем при циклировании
+            int modes = series.modes(tEnd, Double.POSITIVE_INFINITY, tolerance);
+            if (modes < 0) {
+                return Optional.empty();
+            }
+            double[] b = new double[modes];
+            for (int m = 0; m < modes; m++) {
+                b[m] = Math.exp(-series.mu(m) * tEnd);
+            }
+            double[] bound = new double[n];
+            series.evaluate(x, steady, 1.0, b, modes, state.t0, bound);
+            for (int i = 0; i < n; i++) {
+                if (bound[i] + tolerance >= state.debyeLimit) {
+                    return Optional.empty();
+                }
+            }
+        }
+
+        double[] edgeTimes;
+        double[] jumps;
+        double gap;
+        double period = state.cyclePeriod != null ? state.cyclePeriod : 0.0;
+        if (state.thermalCyclingEnabled && period > 0) {
+            double duty = state.dutyCycle == null ? 0.5 : Math.max(0.01, Math.min(0.99, state.dutyCycle));
+            long cycles = (long) Math.ceil(tEnd / period);
+            if (2 * cycles > MAX_EDGES) {
+                return Optional.empty();
+            }
+            edgeTimes = new double[(int) (2 * cycles)];
+            jumps = new double[edgeTimes.length];
+            for (int c = 0; c < cycles; c++) {
+                edgeTimes[2 * c] = c * period;
+                jumps[2 * c] = 1.0;
+                edgeTimes[2 * c + 1] = (c + duty) * period;
+                jumps[2 * c + 1] = -1.0;
+            }
+            gap = Math.min(duty, 1.0 - duty) * period;
+        } else {
+            edgeTimes = new double[]{0.0};
+            jumps = new double[]{1.0};
+            gap = Double.POSITIVE_INFINITY;
+        }
+        // переключение в пределах ошибки округления от профиля ещё не действует
+        double eps = 1e-9 * (period > 0 ? period : tEnd);
+
+        double delta = Double.POSITIVE_INFINITY;
+        int e = 0;
+        for (double time : times) {
+            while (e < edgeTimes.length && edgeTimes[e] < time - eps) {
+                e++;
+            }
+            if (e > 0) {
+                delta = Math.min(delta, time - edgeTimes[e - 1]);
+            }
+        }
+        int modes = delta < Double.POSITIVE_INFINITY ? series.modes(delta, gap, tolerance) : 0;
+        if (modes < 0) {
+            return Optional.empty();
+        }
+
+        double[] b = new double[modes];
+        double[] field = new double[n];
+        TemperatureMap.Builder map = state.newMap(times.length);
+        double now = 0.0;
+        double on = 0.0;
+        e = 0;
+        for (double time : times) {
+            while (e < edgeTimes.length && edgeTimes[e] < time - eps) {
+                advance(series, b, modes, edgeTimes[e] - now);
+                for (int m = 0; m < modes; m++) {
+                    b[m] += jumps[e];
+                }
+                on += jumps[e];
+                now = edgeTimes[e];
+                e++;
+            }
+            advance(series, b, modes, time - now);
+            now = time;
+            series.evaluate(x, steady, on, b, modes, state.t0, field);
+            field[n - 1] = state.t0;
+            map.append(time, field);
+        }
+        return Optional.of(new ThermalTimeLoop.Result(field, map.build(), ThermalStepStats.spectral(modes)));
+    }
+
+    private static void advance(Series series, double[] b, int modes, double span) {
+        if (span <= 0) {
+            return;
+        }
+        for (int m = 0; m < modes; m++) {
+            b[m] *= Math.exp(-series.mu(m) * span);
+        }
+    }
+
+    /**
+     * Коэффициенты ряда: {@code cₘ = 2Pβ·Iₘ/(kLλₘ²)}, {@code Iₘ = ∫₀ᴸ e^{−βx}φₘ dx}, {@code β = 1/Rp} —
+     * разложение стационарного поля {@code θ∞} по {@code φₘ}.
+     */
+    private static final class Series {
+
+        private final boolean fixedSurface;
+        private final double power;
+        private final double beta;
+        private final double length;
+        private final double conductivity;
+        private final double alpha;
+        /** {@code e^{−βL}}. */
+        private final double tail;
+
+        Series(boolean fixedSurface, double power, double beta, double length, double conductivity, double alpha) {
+            this.fixedSurface = fixedSurface;
+            this.power = power;
+            this.beta = beta;
+            this.length = length;
+            this.conductivity = conductivity;
+            this.alpha = alpha;
+            this.tail = Math.exp(-beta * length);
+        }
+
+        double lambda(int m) {
+            return (fixedSurface ? m + 1.0 : m + 0.5) * Math.PI / length;
+        }
+
+        double mu(int m) {
+            double lambda = lambda(m);
+            return alpha * lambda * lambda;
+        }
+
+        double coefficient(int m) {
+            double lambda = lambda(m);
+            double sign = (m & 1) == 0 ? 1.0 : -1.0;
+            double denominator = beta * beta + lambda * lambda;
+            // cos: sin λL = (−1)ᵐ, cos λL = 0; sin: sin λL = 0, cos λL = (−1)ᵐ⁺¹
+            double integral = fixedSurface
+                    ? lambda * (1.0 + sign * tail) / denominator
+                    : (beta + sign * tail * lambda) / denominator;
+            return 2.0 * power * beta * integral / (conductivity * length * lambda * lambda);
+        }
+
+        /** Решение {@code kθ'' = −q} с нулём на тыльной границе. */
+        double steady(double x) {
+            double scale = power / conductivity;
+            return fixedSurface
+                    ? scale / beta * (1.0 - Math.exp(-beta * x) - x / length * (1.0 - tail))
+                    : scale * ((length - x) + (tail - Math.exp(-beta * x)) / beta);
+        }
+
+        /**
+         * Мод, после которых хвост {@code Σ |cₘ|·Σₖ e^{−μₘ(t − tₖ)}} меньше {@code tolerance} при
+         * {@code t − tₖ ≥ delta} и переключениях не чаще {@code gap}; {@code −1} — больше {@link #MAX_MODES}.
+         * Оценка {@code |Iₘ| ≤ (β + 2λ)/(β² + λ²)} убывает после {@code λ = β(√5 − 1)/2}, экспоненты
+         * убывают не медленнее {@code e^{−(μₘ₊₁ − μₘ)·delta}} — хвост не больше геометрического.
+         */
+        int modes(double delta, double gap, double tolerance) {
+            double peak = beta * (Math.sqrt(5.0) - 1.0) / 2.0;
+            for (int m = 0; m <= MAX_MODES; m++) {
+                double lambda = lambda(m);
+                double envelope = Math.max(lambda, peak);
+                double bound = 2.0 * power * beta * (beta + 2.0 * envelope)
+                        / ((beta * beta + envelope * envelope) * conductivity * length * lambda * lambda);
+                double mu = mu(m);
+                double repeats = gap < Double.POSITIVE_INFINITY ? 1.0 / -Math.expm1(-mu * gap) : 1.0;
+                double term = bound * Math.exp(-mu * delta) * repeats;
+                double ratio = Math.exp(-(mu(m + 1) - mu) * delta);
+                if (ratio < 1.0 && term / (1.0 - ratio) < tolerance) {
+                    return m;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * {@code out = base + on·θ∞ − Σₘ cₘ·bₘ·φₘ(x)}; {@code φₘ} по рекуррентности
+         * {@code φₘ₊₁ = 2cos(y)·φₘ − φₘ₋₁}, {@code y = πx/L} — без тригонометрии в цикле.
+         */
+        void evaluate(double[] x, double[] steady, double on, double[] b, int modes, double base, double[] out) {
+            double[] weighted = new double[modes];
+            for (int m = 0; m < modes; m++) {
+                weighted[m] = coefficient(m) * b[m];
+            }
+            for (int i = 0; i < x.length; i++) {
+                double y = Math.PI * x[i] / length;
+                double twoCos = 2.0 * Math.cos(y);
+                double previous = fixedSurface ? 0.0 : Math.cos(-0.5 * y);
+                double current = fixedSurface ? Math.sin(y) : Math.cos(0.5 * y);
+                double sum = 0.0;
+                for (int m = 0; m < modes; m++) {
+                    sum += weighted[m] * current;
+                    double next = twoCos * current - previous;
+                    previous = current;
+                    current = next;
+                }
+                out[i] = base + on * steady[i] - sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Внутренние циклы схем по глубине: шаг явной 1D схемы
+ * {@code Tᵢ' = min(Tᵢ + wᵢ(Tᵢ₋₁ − Tᵢ) + eᵢ(Tᵢ₊₁ − Tᵢ) + s·qᵢ, T_D)} для узлов {@code [from, to)},
+ * правая часть θ-схемы (одиночный расчёт и пакет по мощностям) и стадия RKL1 по радиусу
+ * осесимметричной схемы. Реализация выбирается один раз при загрузке класса: векторная
+ * ({@code jdk.incubator.vector}), если она собрана (профиль {@code vector}), модуль подключён
+ * ({@code --add-modules jdk.incubator.vector}) и процессор даёт хотя бы две полосы {@code double},
+ * иначе скалярная. Обе дают одинаковый результат до бита: порядок операций тот же, FMA не используется.
+ */
+interface StencilKernel {
+
+    StencilKernel SCALAR = new ScalarStencilKernel();
+
+    StencilKernel SELECTED = Selection.select();
+
+    void explicitStep(
+            double[] current,
+            double[] next,
+            double[] west,
+            double[] east,
+            double[] source,
+            double sourceScale,
+            double limit,
+            int from,
+            int to
+    );
+
+    /**
+     * Правая часть θ-схемы для узлов {@code [from, to)}:
+     * {@code rᵢ = Tᵢ + λ·(wᵢ(Tᵢ₋₁ − Tᵢ) + eᵢ(Tᵢ₊₁ − Tᵢ)) + s·qᵢ}, {@code λ = (1 − θ)·scale}.
+     */
+    void implicitRhs(
+            double[] current,
+            double[] rhs,
+            double[] west,
+            double[] east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int from,
+            int to
+    );
+
+    /**
+     * То же для пакета конфигураций, значения узла которых лежат подряд: соседи по глубине —
+     * через {@code ±stride}, коэффициенты {@code west, east} общие для строки {@code [from, to)}.
+     */
+    void batchRhs(
+            double[] current,
+            double[] rhs,
+            double west,
+            double east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int stride,
+            int from,
+            int to
+    );
+
+    /**
+     * Стадия RKL1 по строке столбцов {@code c ∈ [from, to)} (узел {@code offset + c}):
+     * {@code Yⱼ = μ·Yⱼ₋₁ + ν·Yⱼ₋₂ + aᶜ(Yⱼ₋₁[c − 1] − Yⱼ₋₁[c]) + bᶜ(Yⱼ₋₁[c + 1] − Yⱼ₋₁[c])};
+     * оба соседа должны существовать.
+     */
+    void radialStage(
+            double[] current,
+            double[] older,
+            double[] next,
+            double[] inward,
+            double[] outward,
+            double mu,
+            double nu,
+            int offset,
+            int from,
+            int to
+    );
+
+    /** Название для логов и сравнения производительности. */
+    String name();
+
+    @Slf4j
+    final class Selection {
+
+        private static final String VECTOR_KERNEL =
+                "plasmapi.project.plasma.service.math.thermal.impl.VectorStencilKernel";
+
+        private Selection() {
+        }
+
+        /** Векторное ядро или {@code null}, если оно не собрано, модуль не подключён или SIMD нет. */
+        static StencilKernel vector() {
+            try {
+                return (StencilKernel) Class.forName(VECTOR_KERNEL)
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (LinkageError | ReflectiveOperationException e) {
+                log.debug("Vector stencil kernel unavailable: {}", e.toString());
+                return null;
+            }
+        }
+
+        private static StencilKernel select() {
+            StencilKernel vector = vector();
+            StencilKernel selected = vector != null ? vector : SCALAR;
+            log.info("Thermal stencil kernel: {}", selected.name());
+            return selected;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
+
+/**
+ * Те же схемы, что в {@link ThermalTimeLoop}, для {@code width} конфигураций с общей сеткой,
+ * коэффициентами и граничными условиями — различаются только источники. Поля хранятся
+ * узел-мажорно ({@code [i·width + k]}): соседи по глубине всех конфигураций лежат подряд,
+ * внутренний цикл по {@code k} без ветвлений. У неявной схемы коэффициенты прогонки общие —
+ * прямой ход по матрице считается один раз на шаг для всех правых частей.
+ * Операции над каждой конфигурацией те же и в том же порядке, что в одиночном расчёте.
+ */
+final class ThermalBatchLoop {
+
+    private ThermalBatchLoop() {
+    }
+
+    /**
+     * @param state   общие сетка и коэффициенты; {@code state.t} — начальное поле каждой конфигурации
+     * @param sources источники {@code [i·width + k]} (без множителя {@code sourceCoeff})
+     */
+    static Result run(ThermalTimeLoop.State state, double[] sources, int width) {
+        Batch batch = new Batch(state, sources, width);
+        return state.scheme.implicit() && state.stepTolerance > 0
+                ? runAdaptive(batch)
+                : runFixed(batch);
+    }
+
+    private static Result runFixed(Batch batch) {
+        ThermalTimeLoop.State state = batch.state;
+        boolean implicit = state.scheme.implicit();
+        boolean crankNicolson = state.scheme == ThermalScheme.CRANK_NICOLSON;
+        boolean trackDebye = state.debyeLimit < Double.POSITIVE_INFINITY;
+        int saveEvery = Math.max(state.steps / ThermalTimeLoop.MAX_SNAPSHOTS, 1);
+        TemperatureMap.Builder[] maps = batch.newMaps(state.steps / saveEvery + 2);
+        batch.append(maps, 0.0, batch.current);
+
+        double prevCycling = state.cyclingFactor(0.0);
+        int dampingLeft = crankNicolson ? ThermalTimeLoop.DAMPING_STEPS : 0;
+        PeriodicSteadyState[] periodic = batch.periodic();
+        int stepsPerCycle = periodic != null ? ThermalTimeLoop.stepsPerCycle(state, periodic[0]) : 0;
+        int skippedSteps = 0;
+
+        for (int step = 0; step < state.steps; step++) {
+            double time = (step + 1) * state.dt;
+            double cycling = state.cyclingFactor(time);
+            if (implicit) {
+                if (crankNicolson && cycling != prevCycling) {
+                    dampingLeft = ThermalTimeLoop.DAMPING_STEPS;
+                }
+                double theta = (!crankNicolson || dampingLeft > 0) ? 1.0 : 0.5;
+                if (dampingLeft > 0) {
+                    dampingLeft--;
+                }
+                double sourceFactor = theta * cycling + (1.0 - theta) * prevCycling;
+                batch.implicitStep(batch.current, batch.next, 1.0, theta, sourceFactor);
+            } else {
+                batch.explicitStep(state.sourceCoeff * cycling);
+            }
+            if (trackDebye) {
+                batch.trackDebye(batch.next, time);
+            }
+            batch.swap();
+            prevCycling = cycling;
+
+            if (step % saveEvery == 0 || step == state.steps - 1) {
+                batch.append(maps, time, batch.current);
+            }
+
+            if (stepsPerCycle > 0 && (step + 1) % stepsPerCycle == 0
+                    && batch.cycleCompleted(periodic, maps[0].rows())) {
+                int cycles = (state.steps - step - 1) / stepsPerCycle;
+                if (cycles > 0) {
+                    batch.skip(periodic, maps, cycles);
+                    step += cycles * stepsPerCycle;
+                    skippedSteps += cycles * stepsPerCycle;
+                }
+            }
+        }
+
+        return batch.result(maps, ThermalTimeLoop.fixedStats(state, periodic != null ? periodic[0] : null,
+                skippedSteps));
+    }
+
+    /**
+     * Удвоение шага, как в {@link ThermalTimeLoop}: погрешность — максимум по узлам всех
+     * конфигураций, поэтому шаг общий и определяется самой «трудной» из них.
+     */
+    private static Result runAdaptive(Batch batch) {
+        ThermalTimeLoop.State state = batch.state;
+        final double tEnd = state.tMax;
+        final double tolerance = state.stepTolerance;
+        final double hMin = tEnd * ThermalTimeLoop.ADAPTIVE_MIN_FRACTION;
+        final double hMax = tEnd * ThermalTimeLoop.ADAPTIVE_MAX_FRACTION;
+        final double hRestart = state.dt * ThermalTimeLoop.ADAPTIVE_START_FRACTION;
+        final boolean crankNicolson = state.scheme == ThermalScheme.CRANK_NICOLSON;
+        final boolean trackDebye = state.debyeLimit < Double.POSITIVE_INFINITY;
+        final int size = batch.current.length;
+
+        double[] coarse = new double[size];
+        double[] half = new double[size];
+        double[] interpolated = new double[size];
+
+        int snapshots = Math.min(state.steps, ThermalTimeLoop.MAX_SNAPSHOTS);
+        TemperatureMap.Builder[] maps = batch.newMaps(snapshots + 1);
+        batch.append(maps, 0.0, batch.current);
+        int nextSnapshot = 1;
+
+        int accepted = 0;
+        int rejected = 0;
+        double minDt = Double.POSITIVE_INFINITY;
+        double maxDt = 0.0;
+
+        double time = 0.0;
+        double h = hRestart;
+        int dampingLeft = crankNicolson ? ThermalTimeLoop.DAMPING_STEPS : 0;
+        PeriodicSteadyState[] periodic = batch.periodic();
+
+        while (time < tEnd) {
+            double edge = Math.min(state.nextCyclingEdge(time), tEnd);
+            boolean reachesEdge = time + h >= edge - hMin;
+            double step = reachesEdge ? edge - time : h;
+            double cycling = state.cyclingFactor(time + 0.5 * step);
+            double theta = dampingLeft > 0 || !crankNicolson ? 1.0 : 0.5;
+            double[] current = batch.current;
+            double[] fine = batch.next;
+
+            batch.implicitStep(current, coarse, step / state.dt, theta, cycling);
+            batch.implicitStep(current, half, 0.5 * step / state.dt, theta, cycling);
+            batch.implicitStep(half, fine, 0.5 * step / state.dt, theta, cycling);
+
+            double error = 0.0;
+            for (int j = 0; j < size; j++) {
+                error = Math.max(error, Math.abs(fine[j] - coarse[j]));
+            }
+            double order = theta == 1.0 ? 1.0 : 2.0;
+            double factor = error > 0
+                    ? 0.9 * Math.pow(tolerance / error, 1.0 / (order + 1.0))
+                    : 2.0;
+
+            if (error > tolerance && step > hMin) {
+                rejected++;
+                h = Math.max(step * Math.max(0.2, factor), hMin);
+                continue;
+            }
+
+            double previousTime = time;
+            time = reachesEdge ? edge : time + step;
+            accepted++;
+            minDt = Math.min(minDt, step);
+            maxDt = Math.max(maxDt, step);
+            if (dampingLeft > 0) {
+                dampingLeft--;
+            }
+
+            if (trackDebye) {
+                batch.trackDebye(fine, time);
+            }
+
+            while (nextSnapshot <= snapshots && tEnd * nextSnapshot / snapshots <= time) {
+                double at = tEnd * nextSnapshot / snapshots;
+                double w = (at - previousTime) / (time - previousTime);
+                for (int j = 0; j < size; j++) {
+                    interpolated[j] = current[j] + w * (fine[j] - current[j]);
+                }
+                batch.append(maps, at, interpolated);
+                nextSnapshot++;
+            }
+
+            batch.swap();
+
+            if (reachesEdge && periodic != null && ThermalTimeLoop.isCycleStart(time, periodic[0].period())
+                    && batch.cycleCompleted(periodic, maps[0].rows())) {
+                int cycles = (int) Math.floor((tEnd - time) / periodic[0].period() + 1e-9);
+                if (cycles > 0) {
+                    batch.skip(periodic, maps, cycles);
+                    time = Math.min(time + cycles * periodic[0].period(), tEnd);
+                    while (nextSnapshot <= snapshots && tEnd * nextSnapshot / snapshots <= time) {
+                        nextSnapshot++;
+                    }
+                }
+            }
+
+            if (reachesEdge && time < tEnd) {
+                h = hRestart;
+                dampingLeft = crankNicolson ? ThermalTimeLoop.DAMPING_STEPS : 0;
+            } else {
+                h = Math.min(step * Math.min(2.0, factor), hMax);
+            }
+        }
+
+        return batch.result(maps, new ThermalStepStats(
+                accepted, rejected, minDt, maxDt, true,
+                periodic != null ? periodic[0].simulatedCycles() : 0,
+                periodic != null ? periodic[0].skippedCycles() : 0
+        ));
+    }
+
+    /**
+     * @param maps сохранённые профили каждой конфигурации
+     */
+    record Result(double[] finalFields, double[] debyeReachedAt, int width, TemperatureMap[] maps,
+                  ThermalStepStats stepStats) {
+
+        double[] finalField(int k) {
+            return column(finalFields, k);
+        }
+
+        double[] debyeReachedAt(int k) {
+            return column(debyeReachedAt, k);
+        }
+
+        private double[] column(double[] values, int k) {
+            double[] out = new double[values.length / width];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = values[i * width + k];
+            }
+            return out;
+        }
+    }
+
+    /** Поля и буферы пакета; индекс {@code [i·width + k]}. */
+    private static final class Batch {
+        final ThermalTimeLoop.State state;
+        final double[] sources;
+        final int width;
+        final int n;
+        final double[] debyeReachedAt;
+        final double[] rhs;
+        /** Приведённый наддиагональный коэффициент прогонки — общий для пакета. */
+        final double[] sweep;
+        /** Строка поверхности {@code b₀·T₀ − c₀·T₁ = d₀}: не меняется за расчёт. */
+        final double b0;
+        final double c0;
+        final double d0;
+        final double[] column;
+        double[] current;
+        double[] next;
+
+        Batch(ThermalTimeLoop.State state, double[] sources, int width) {
+            this.state = state;
+            this.sources = sources;
+            this.width = width;
+            this.n = state.n;
+            int size = n * width;
+            this.current = new double[size];
+            this.next = new double[size];
+            this.debyeReachedAt = new double[size];
+            for (int i = 0; i < n; i++) {
+                for (int k = 0; k < width; k++) {
+                    current[i * width + k] = state.t[i];
+                    debyeReachedAt[i * width + k] = state.debyeReachedAt[i];
+                }
+            }
+            this.rhs = new double[size];
+            this.sweep = new double[n];
+            this.column = new double[n];
+            switch (state.boundaryCondition) {
+                case ADIABATIC -> {
+                    b0 = 1.0;
+                    c0 = 1.0;
+                    d0 = 0.0;
+                }
+                case FIXED_TEMPERATURE -> {
+                    b0 = 1.0;
+                    c0 = 0.0;
+                    d0 = state.t0;
+                }
+                default -> {
+                    double biot = state.h * state.dx / state.kappa;
+                    b0 = 1.0 + biot;
+                    c0 = 1.0;
+                    d0 = biot * state.ambientTemp;
+                }
+            }
+        }
+
+        void explicitStep(double sourceScale) {
+            double[] west = state.west;
+            double[] east = state.east;
+            double limit = state.debyeLimit;
+            for (int i = 1; i < n - 1; i++) {
+                double w = west[i];
+                double e = east[i];
+                int base = i * width;
+                for (int j = base; j < base + width; j++) {
+                    double ti = current[j];
+                    double val = ti + w * (current[j - width] - ti) + e * (current[j + width] - ti)
+                            + sourceScale * sources[j];
+                    if (val > limit) {
+                        val = limit;
+                    }
+                    next[j] = val;
+                }
+            }
+            applyBoundaries(next);
+        }
+
+        private void applyBoundaries(double[] field) {
+            int last = (n - 1) * width;
+            double limit = state.debyeLimit;
+            double biot = state.boundaryCondition == ThermalServiceImpl.BoundaryCondition.CONVECTIVE
+                    ? state.h * state.dx / state.kappa
+                    : 0.0;
+            for (int k = 0; k < width; k++) {
+                double surface = switch (state.boundaryCondition) {
+                    case ADIABATIC -> field[width + k];
+                    case FIXED_TEMPERATURE -> state.t0;
+                    case CONVECTIVE -> (field[width + k] + biot * state.ambientTemp) / (1.0 + biot);
+                };
+                field[k] = surface > limit ? limit : surface;
+                field[last + k] = state.t0 > limit ? limit : state.t0;
+            }
+        }
+
+        /** Шаг θ-схемы длиной {@code scale·dt} для всех конфигураций; см. {@link ThermalTimeLoop}. */
+        void implicitStep(double[] from, double[] to, double scale, double theta, double sourceFactor) {
+            double[] west = state.west;
+            double[] east = state.east;
+            double explicitPart = (1.0 - theta) * scale;
+            double sourceScale = state.sourceCoeff * scale * sourceFactor;
+            StencilKernel kernel = state.kernel;
+            for (int i = 1; i < n - 1; i++) {
+                int base = i * width;
+                kernel.batchRhs(from, rhs, west[i], east[i], sources, explicitPart, sourceScale, width, base, base + width);
+            }
+
+            double implicitWeight = theta * scale;
+            sweep[0] = -c0 / b0;
+            double surface = d0 / b0;
+            for (int k = 0; k < width; k++) {
+                to[k] = surface;
+            }
+            for (int i = 1; i < n - 1; i++) {
+                double w = implicitWeight * west[i];
+                double e = implicitWeight * east[i];
+                double m = 1.0 + w + e + w * sweep[i - 1];
+                sweep[i] = -e / m;
+                int base = i * width;
+                for (int j = base; j < base + width; j++) {
+                    to[j] = (rhs[j] + w * to[j - width]) / m;
+                }
+            }
+            int last = (n - 1) * width;
+            for (int k = 0; k < width; k++) {
+                to[last + k] = state.t0;
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                double s = sweep[i];
+                int base = i * width;
+                for (int j = base; j < base + width; j++) {
+                    to[j] -= s * to[j + width];
+                }
+            }
+
+            double limit = state.debyeLimit;
+            if (limit < Double.POSITIVE_INFINITY) {
+                for (int j = 0; j < to.length; j++) {
+                    if (to[j] > limit) {
+                        to[j] = limit;
+                    }
+                }
+            }
+        }
+
+        void trackDebye(double[] field, double time) {
+            double limit = state.debyeLimit;
+            for (int j = 0; j < field.length; j++) {
+                if (Double.isNaN(debyeReachedAt[j]) && field[j] >= limit) {
+                    debyeReachedAt[j] = time;
+                }
+            }
+        }
+
+        void swap() {
+            double[] tmp = current;
+            current = next;
+            next = tmp;
+        }
+
+        TemperatureMap.Builder[] newMaps(int expectedRows) {
+            TemperatureMap.Builder[] maps = new TemperatureMap.Builder[width];
+            for (int k = 0; k < width; k++) {
+                maps[k] = state.newMap(expectedRows);
+            }
+            return maps;
+        }
+
+        void append(TemperatureMap.Builder[] maps, double time, double[] field) {
+            for (int k = 0; k < width; k++) {
+                maps[k].append(time, column(field, k));
+            }
+        }
+
+        /** {@code null}, если пропуск циклов выключен; иначе — по одному на конфигурацию. */
+        PeriodicSteadyState[] periodic() {
+            if (PeriodicSteadyState.of(state) == null) {
+                return null;
+            }
+            PeriodicSteadyState[] periodic = new PeriodicSteadyState[width];
+            for (int k = 0; k < width; k++) {
+                periodic[k] = PeriodicSteadyState.of(state);
+            }
+            return periodic;
+        }
+
+        /** Граница цикла у всех конфигураций; {@code true}, если режим установился у каждой. */
+        boolean cycleCompleted(PeriodicSteadyState[] periodic, int profileCount) {
+            boolean all = true;
+            for (int k = 0; k < width; k++) {
+                all &= periodic[k].cycleCompleted(column(current, k), profileCount);
+            }
+            return all;
+        }
+
+        void skip(PeriodicSteadyState[] periodic, TemperatureMap.Builder[] maps, int cycles) {
+            for (int k = 0; k < width; k++) {
+                periodic[k].skip(maps[k], cycles);
+            }
+        }
+
+        Result result(TemperatureMap.Builder[] maps, ThermalStepStats stats) {
+            TemperatureMap[] built = new TemperatureMap[width];
+            for (int k = 0; k < width; k++) {
+                built[k] = maps[k].build();
+            }
+            return new Result(current, debyeReachedAt, width, built, stats);
+        }
+
+        /** Поле конфигурации {@code k} во временный буфер (перезаписывается следующим вызовом). */
+        private double[] column(double[] field, int k) {
+            for (int i = 0; i < n; i++) {
+                column[i] = field[i * width + k];
+            }
+            return column;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import plasmapi.project.plasma.config.ThermalCheckpointProperties;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.parallel.SimulationCost;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointService;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointStore;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointing;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalService;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ThermalCheckpointServiceImpl implements ThermalCheckpointService {
+
+    private final ThermalService thermalService;
+    private final ThermalCheckpointStore store;
+    private final ThermalCheckpointProperties properties;
+    private final MathParallelSupport mathParallelSupport;
+
+    @Override
+    public ThermalCheckpointing checkpointing(String id) {
+        if (id == null || !properties.isEnabled()) {
+            return ThermalCheckpointing.NONE;
+        }
+        return new ThermalCheckpointing(id, store, properties.getInterval());
+    }
+
+    @Override
+    public Optional<ThermalCheckpoint> find(String id) {
+        return store.load(id);
+    }
+
+    /** Стоимость — только дополнительные шаги: узлы × {@code extraTime/dt}. */
+    @Override
+    public Optional<ThermalResult> extend(String id, double extraTime) {
+        if (!(extraTime > 0) || extraTime == Double.POSITIVE_INFINITY) {
+            throw new IllegalArgumentException("extraTime must be > 0");
+        }
+        return store.load(id).map(checkpoint -> {
+            long work = (long) checkpoint.nodes() * (long) Math.ceil(extraTime / checkpoint.dt());
+            return mathParallelSupport.runAdmitted(
+                    SimulationCost.of(work, 0, 0, 0),
+                    () -> thermalService.resume(
+                            checkpoint, checkpoint.time() + extraTime, ProgressListener.NONE, checkpointing(id)
+                    )
+            );
+        });
+    }
+
+    @Override
+    public boolean delete(String id) {
+        return store.delete(id);
+    }
+}
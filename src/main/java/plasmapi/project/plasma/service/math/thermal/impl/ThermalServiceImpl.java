@@ -1,15 +1,43 @@
 package plasmapi.project.plasma.service.math.thermal.impl;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointing;
+import plasmapi.project.plasma.service.math.thermal.ThermalObservation;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
 import plasmapi.project.plasma.service.math.thermal.ThermalResult;
 import plasmapi.project.plasma.service.math.thermal.ThermalService;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
 @Service
 public class ThermalServiceImpl implements ThermalService {
 
+    /** Конфигураций в одном проходе пакетного расчёта: поля растут как узлы × ширина. */
+    static final int MAX_BATCH_WIDTH = 64;
+
+    private final ThermalSuperposition superposition = new ThermalSuperposition();
+
     /**
-     * Моделирует нагрев и охлаждение материала под действием ионного пучка.
+     * Моделирует нагрев и охлаждение материала под действием ионного пучка. С контрольными
+     * точками: если по id уже есть точка тех же входных данных раньше {@code tMax} — расчёт
+     * продолжается с неё (результат тот же, профили — с момента точки). Наблюдатели
+     * {@code observation} вызываются на каждом шаге этого запуска. Если для этих входных данных
+     * уже есть линейный отклик ({@link ThermalSuperposition}, после пакетного расчёта) и предел
+     * Дебая не достигается — результат масштабируется из него без шагов по времени. Однородная
+     * пластина с адиабатической или фиксированной поверхностью при
+     * {@link ThermalResolution#spectral()} считается рядом по собственным функциям ({@link SpectralSlab}).
      */
     @Override
     public ThermalResult simulate(
@@ -28,53 +56,388 @@ public class ThermalServiceImpl implements ThermalService {
             Double probeDepth,
             boolean thermalCyclingEnabled,
             Double cyclePeriod,
-            Double dutyCycle
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution,
+            ThermalCheckpointing checkpointing,
+            ThermalObservation observation
     ) {
-        double rho = plasmaConfig.getDensity();
-        double cp = plasmaConfig.getHeatCapacity();
-        double kappa = plasmaConfig.getThermalConductivity();
-        double alpha = kappa / (rho * cp);
+        ThermalTimeLoop.State exactState = null;
+        if (!checkpointing.enabled() && observation.observers().isEmpty()
+                && SpectralSlab.applies(plasmaConfig, boundaryCondition, resolution)) {
+            exactState = prepare(
+                    plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                    ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                    progress, resolution
+            );
+            exactState.snapshots = observation.snapshots();
+            Optional<ThermalResult> exact = spectral(
+                    exactState, plasmaConfig, thickness, powerInput, projectedRange, probeDepth, resolution);
+            if (exact.isPresent()) {
+                progress.progress(1, 1);
+                return exact.get();
+            }
+        }
+        if (!checkpointing.enabled() && observation.observers().isEmpty()
+                && ThermalSuperposition.applies(plasmaConfig)) {
+            Optional<ThermalResult> scaled = superposition.cached(
+                    ThermalSuperposition.key(plasmaConfig, T0, tMax, dt, thickness, projectedRange, boundaryCondition,
+                            ambientTemp, h, N, thermalCyclingEnabled, cyclePeriod, dutyCycle, resolution),
+                    powerInput, debyeTemperature, probeDepth, observation.snapshots()
+            );
+            if (scaled.isPresent()) {
+                progress.progress(1, 1);
+                return scaled.get();
+            }
+        }
+        ThermalCheckpoint.Inputs inputs = new ThermalCheckpoint.Inputs(
+                plasmaConfig.getDensity(), plasmaConfig.getHeatCapacity(), plasmaConfig.getThermalConductivity(),
+                plasmaConfig.getThermalProperties(), T0, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle, probeDepth,
+                resolution
+        );
+        ThermalCheckpoint resume = null;
+        if (checkpointing.enabled()) {
+            Optional<ThermalCheckpoint> saved = checkpointing.store().load(checkpointing.id());
+            double gridDt = grid(maxDiffusivity(plasmaConfig), tMax, dt, thickness, projectedRange, N,
+                    thermalCyclingEnabled, cyclePeriod, resolution).dt();
+            // та же сетка и те же входы: продолжение даёт тот же результат, что и расчёт с нуля
+            if (saved.isPresent() && saved.get().inputs().equals(inputs)
+                    && saved.get().dt() == gridDt && saved.get().time() < tMax) {
+                resume = saved.get();
+                log.info("Resuming thermal run {} from t = {} s", checkpointing.id(), resume.time());
+            }
+        }
+        ThermalTimeLoop.State state = exactState != null ? exactState : prepare(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, resolution, resume
+        );
+        return run(state, inputs, checkpointing, observation);
+    }
 
-        if (N == null) {
-            double dxMin = (projectedRange != null) ? projectedRange / 10 : thickness / 100;
-            N = (int) Math.ceil(thickness / dxMin) + 1;
-            N = Math.max(10, Math.min(1000, N));
+    @Override
+    public ThermalResult resume(
+            ThermalCheckpoint checkpoint,
+            double tMax,
+            ProgressListener progress,
+            ThermalCheckpointing checkpointing
+    ) {
+        if (!(tMax > checkpoint.time())) {
+            throw new IllegalArgumentException("tMax must be after the checkpoint time " + checkpoint.time());
         }
-        int n = N;
-        double dx = thickness / (n - 1);
+        ThermalCheckpoint.Inputs in = checkpoint.inputs();
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(in.density());
+        cfg.setHeatCapacity(in.heatCapacity());
+        cfg.setThermalConductivity(in.thermalConductivity());
+        cfg.setThermalProperties(in.thermalProperties());
+        ThermalTimeLoop.State state = prepare(
+                cfg, in.t0(), tMax, checkpoint.dt(), in.thickness(), in.powerInput(), in.projectedRange(),
+                in.boundaryCondition(), in.ambientTemp(), in.h(), in.nodes(), in.debyeTemperature(),
+                in.thermalCyclingEnabled(), in.cyclePeriod(), in.dutyCycle(), progress, in.resolution(), checkpoint
+        );
+        return run(state, in, checkpointing, ThermalObservation.FULL);
+    }
 
-        double dtMax = dx * dx / (2 * alpha);
-        if (thermalCyclingEnabled && cyclePeriod != null && cyclePeriod > 0) {
-            dtMax = Math.min(dtMax, cyclePeriod / 25.0);
+    private static ThermalResult run(
+            ThermalTimeLoop.State state,
+            ThermalCheckpoint.Inputs inputs,
+            ThermalCheckpointing checkpointing,
+            ThermalObservation observation
+    ) {
+        state.observe(observation.observers());
+        state.snapshots = observation.snapshots();
+        if (checkpointing.enabled()) {
+            state.checkpoints = new ThermalTimeLoop.Checkpoints(
+                    checkpointing.intervalNanos(),
+                    (stepsDone, time, nextStep, dampingLeft, field) -> save(
+                            checkpointing, new ThermalCheckpoint(
+                                    inputs, state.dt, stepsDone, time, cyclePhase(inputs, time), nextStep,
+                                    dampingLeft, field.clone(), state.debyeReachedAt.clone()
+                            )
+                    )
+            );
         }
-        if (dt > dtMax) {
-            dt = dtMax * 0.9;
-            System.err.printf("Warning: time step too large, reduced to %g s for stability%n", dt);
+        ThermalTimeLoop.Result loop = ThermalTimeLoop.run(state);
+        int front = state.debyeFront != null ? state.debyeFront.front() : -1;
+        return result(state, inputs.thickness(), inputs.probeDepth(), loop.map(), loop.finalField(),
+                front, state.debyeReachedAt, loop.stepStats());
+    }
+
+    /** Неудачная запись точки не прерывает расчёт — остаётся предыдущая точка. */
+    private static void save(ThermalCheckpointing checkpointing, ThermalCheckpoint checkpoint) {
+        try {
+            checkpointing.store().save(checkpointing.id(), checkpoint);
+        } catch (UncheckedIOException e) {
+            log.warn("Thermal checkpoint {} not saved: {}", checkpointing.id(), e.getMessage());
+        }
+    }
+
+    private static double cyclePhase(ThermalCheckpoint.Inputs inputs, double time) {
+        Double period = inputs.cyclePeriod();
+        if (!inputs.thermalCyclingEnabled() || period == null || period <= 0) {
+            return 0.0;
+        }
+        double cycles = time / period;
+        return Math.max(0.0, cycles - Math.floor(cycles + 1e-9));
+    }
+
+    /**
+     * Конфигурации, отличающиеся только мощностью: где применимо — точным решением
+     * ({@link SpectralSlab}), иначе в линейном режиме — масштабированием одного
+     * отклика ({@link ThermalSuperposition}); точки, где достигается предел Дебая, считаются
+     * вместе ({@link ThermalBatchLoop}): сетка, коэффициенты и прогонка общие, поля хранятся
+     * узел-мажорно. Не больше {@link #MAX_BATCH_WIDTH} конфигураций за проход. При k(T), c(T)
+     * коэффициенты у каждой мощности свои — конфигурации считаются по одной.
+     */
+    @Override
+    public List<ThermalResult> simulateBatch(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            List<Double> powerInputs,
+            Double projectedRange,
+            BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ThermalResolution resolution
+    ) {
+        if (powerInputs == null || powerInputs.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one power input");
+        }
+        if (plasmaConfig.getThermalProperties() != null) {
+            List<ThermalResult> results = new ArrayList<>(powerInputs.size());
+            for (Double powerInput : powerInputs) {
+                results.add(simulate(
+                        plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                        ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod,
+                        dutyCycle, ProgressListener.NONE, resolution
+                ));
+            }
+            return results;
+        }
+
+        boolean spectral = SpectralSlab.applies(plasmaConfig, boundaryCondition, resolution);
+        ThermalResult[] exact = new ThermalResult[powerInputs.size()];
+        List<Double> remaining = new ArrayList<>();
+        for (int k = 0; k < exact.length; k++) {
+            if (spectral) {
+                ThermalTimeLoop.State state = prepare(
+                        plasmaConfig, T0, tMax, dt, thickness, powerInputs.get(k), projectedRange, boundaryCondition,
+                        ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                        ProgressListener.NONE, resolution
+                );
+                exact[k] = spectral(state, plasmaConfig, thickness, powerInputs.get(k), projectedRange, probeDepth,
+                        resolution).orElse(null);
+            }
+            if (exact[k] == null) {
+                remaining.add(powerInputs.get(k));
+            }
+        }
+        if (remaining.isEmpty()) {
+            return Arrays.asList(exact);
         }
-        int steps = (int) (tMax / dt);
 
-        final int MAX_STEPS = 1_000_000;
-        if (steps > MAX_STEPS) {
-            System.err.printf(
-                    "Warning: too many time steps (%d). Limiting to %d steps.%n",
-                    steps, MAX_STEPS
+        ThermalResult[] linear = superposition.answer(
+                ThermalSuperposition.key(plasmaConfig, T0, tMax, dt, thickness, projectedRange, boundaryCondition,
+                        ambientTemp, h, N, thermalCyclingEnabled, cyclePeriod, dutyCycle, resolution),
+                remaining, debyeTemperature, probeDepth
+        );
+        List<Double> clamped = new ArrayList<>();
+        for (int k = 0; k < linear.length; k++) {
+            if (linear[k] == null) {
+                clamped.add(remaining.get(k));
+            }
+        }
+        List<ThermalResult> stepped = clamped.isEmpty() ? List.of() : simulateBatchStepped(
+                plasmaConfig, T0, tMax, dt, thickness, clamped, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, probeDepth, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                resolution
+        );
+        List<ThermalResult> results = new ArrayList<>(exact.length);
+        int nextLinear = 0;
+        int nextStepped = 0;
+        for (ThermalResult result : exact) {
+            if (result == null) {
+                result = linear[nextLinear++];
+                if (result == null) {
+                    result = stepped.get(nextStepped++);
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /** Точное решение ({@link SpectralSlab}) по подготовленному {@code state}; пусто — нужен расчёт шагами. */
+    private static Optional<ThermalResult> spectral(
+            ThermalTimeLoop.State state,
+            PlasmaConfiguration plasmaConfig,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            Double probeDepth,
+            ThermalResolution resolution
+    ) {
+        return SpectralSlab.solve(state, plasmaConfig, thickness, powerInput, projectedRange,
+                        resolution.spectralTolerance())
+                .map(exact -> result(state, thickness, probeDepth, exact.map(), exact.finalField(),
+                        -1, state.debyeReachedAt, exact.stepStats()));
+    }
+
+    private List<ThermalResult> simulateBatchStepped(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            List<Double> powerInputs,
+            Double projectedRange,
+            BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ThermalResolution resolution
+    ) {
+        List<ThermalResult> results = new ArrayList<>(powerInputs.size());
+        for (int from = 0; from < powerInputs.size(); from += MAX_BATCH_WIDTH) {
+            List<Double> chunk = powerInputs.subList(from, Math.min(powerInputs.size(), from + MAX_BATCH_WIDTH));
+            int width = chunk.size();
+            ThermalTimeLoop.State state = prepare(
+                    plasmaConfig, T0, tMax, dt, thickness, chunk.get(0), projectedRange, boundaryCondition,
+                    ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                    ProgressListener.NONE, resolution
             );
-            steps = MAX_STEPS;
-            dt = tMax / steps;
+            double[] sources = new double[state.n * width];
+            for (int k = 0; k < width; k++) {
+                double[] source = k == 0 ? state.source : buildSource(state.nodeDepths, chunk.get(k), projectedRange);
+                for (int i = 0; i < state.n; i++) {
+                    sources[i * width + k] = source[i];
+                }
+            }
+            ThermalBatchLoop.Result batch = ThermalBatchLoop.run(state, sources, width);
+            for (int k = 0; k < width; k++) {
+                double[] debyeReachedAt = batch.debyeReachedAt(k);
+                results.add(result(state, thickness, probeDepth, batch.maps()[k], batch.finalField(k),
+                        DebyeFrontTracker.deepestReached(debyeReachedAt), debyeReachedAt, batch.stepStats()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Сетка, начальное поле, источник и коэффициенты схемы — всё, кроме самого расчёта.
+     * С таблицей k(T), c(T) коэффициенты запаздывают на шаг ({@link ThermalTimeLoop.State#lagCoefficients}):
+     * берутся по полю предыдущего шага, сама схема остаётся линейной.
+     */
+    static ThermalTimeLoop.State prepare(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution
+    ) {
+        return prepare(
+                plasmaConfig, T0, tMax, dt, thickness, powerInput, projectedRange, boundaryCondition,
+                ambientTemp, h, N, debyeTemperature, thermalCyclingEnabled, cyclePeriod, dutyCycle,
+                progress, resolution, null
+        );
+    }
+
+    /**
+     * С контрольной точкой {@code resume}: шаг по времени — её, поле и времена Дебая — из неё,
+     * цикл начинается с её шага.
+     */
+    private static ThermalTimeLoop.State prepare(
+            PlasmaConfiguration plasmaConfig,
+            double T0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double powerInput,
+            Double projectedRange,
+            BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer N,
+            Double debyeTemperature,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ProgressListener progress,
+            ThermalResolution resolution,
+            ThermalCheckpoint resume
+    ) {
+        double rho = plasmaConfig.getDensity();
+        double cp = plasmaConfig.getHeatCapacity();
+        double kappa = plasmaConfig.getThermalConductivity();
+        double alpha = kappa / (rho * cp);
+        ThermalPropertyTable properties = plasmaConfig.getThermalProperties();
+
+        Grid grid = grid(maxDiffusivity(plasmaConfig), tMax, dt, thickness, projectedRange, N, thermalCyclingEnabled, cyclePeriod, resolution);
+        // prepare идёт на каждую попытку (спектр, суперпозиция, пакет) — не warn
+        if (grid.stabilityLimited()) {
+            log.debug("Thermal time step too large, reduced to {} s for stability", grid.dt());
+        }
+        if (grid.stepLimited()) {
+            log.debug("Too many thermal time steps ({}), limiting to {}", grid.requestedSteps(), resolution.maxSteps());
+        }
+        int n = grid.nodes();
+        int steps = grid.steps();
+        double dx = grid.dx();
+        double[] x = grid.depths(thickness);
+        dt = grid.dt();
+        if (resume != null) {
+            if (resume.nodes() != n) {
+                throw new IllegalArgumentException(
+                        "Checkpoint has " + resume.nodes() + " nodes, the thermal grid has " + n);
+            }
+            if (resume.dt() != dt) {
+                dt = resume.dt();
+                steps = (int) Math.floor(tMax / dt + 1e-9);
+            }
+            if (resume.stepsDone() > steps && !resolution.adaptive()) {
+                throw new IllegalArgumentException("Checkpoint step " + resume.stepsDone() + " is past " + steps);
+            }
         }
 
         double[] t = new double[n];
         for (int i = 0; i < n; i++) {
             t[i] = T0;
         }
+        if (resume != null) {
+            System.arraycopy(resume.field(), 0, t, 0, n);
+        }
 
         double debyeLimit = (debyeTemperature != null && debyeTemperature > 0)
                 ? debyeTemperature
                 : Double.POSITIVE_INFINITY;
-        double observationDepth = probeDepth != null ? probeDepth : thickness / 2.0;
-        double observationDepthClamped = Math.max(0.0, Math.min(thickness, observationDepth));
-        int observationIndex = (int) Math.round(observationDepthClamped / dx);
-        observationIndex = Math.max(0, Math.min(n - 1, observationIndex));
 
         double[] debyeReachedAt = new double[n];
         for (int i = 0; i < n; i++) {
@@ -83,11 +446,23 @@ public class ThermalServiceImpl implements ThermalService {
                 debyeReachedAt[i] = 0.0;
             }
         }
+        if (resume != null) {
+            System.arraycopy(resume.debyeReachedAt(), 0, debyeReachedAt, 0, n);
+        }
 
-        double[] source = buildSource(n, dx, powerInput, projectedRange);
+        double[] source = buildSource(x, powerInput, projectedRange);
 
-        double dxSq = dx * dx;
-        double laplacianCoeff = dt * alpha / dxSq;
+        // Конечные объёмы: узел i владеет отрезком (hᵢ₋₁ + hᵢ)/2, потоки через грани — по соседним шагам.
+        // На равномерной сетке west = east = α·dt/dx².
+        double[] west = new double[n];
+        double[] east = new double[n];
+        for (int i = 1; i < n - 1; i++) {
+            double hWest = x[i] - x[i - 1];
+            double hEast = x[i + 1] - x[i];
+            double volume = 0.5 * (hWest + hEast);
+            west[i] = dt * alpha / (volume * hWest);
+            east[i] = dt * alpha / (volume * hEast);
+        }
         double sourceCoeff = dt / (rho * cp);
 
         ThermalTimeLoop.State state = new ThermalTimeLoop.State(
@@ -100,7 +475,8 @@ public class ThermalServiceImpl implements ThermalService {
                 h,
                 kappa,
                 debyeLimit,
-                laplacianCoeff,
+                west,
+                east,
                 sourceCoeff,
                 source,
                 debyeReachedAt,
@@ -108,52 +484,219 @@ public class ThermalServiceImpl implements ThermalService {
                 thermalCyclingEnabled,
                 cyclePeriod,
                 dutyCycle,
-                t
+                t,
+                progress,
+                resolution.scheme(),
+                resolution.adaptive() ? resolution.stepTolerance() : 0.0,
+                tMax,
+                resolution.periodicTolerance(),
+                x,
+                resolution.singlePrecisionMap()
         );
+        if (debyeLimit < Double.POSITIVE_INFINITY) {
+            state.trackDebyeFront();
+        }
+        if (resume != null) {
+            state.firstStep = resume.stepsDone();
+            state.resumeTime = resume.time();
+            state.resumeStep = resume.nextStep();
+            state.resumeDamping = resume.dampingLeft();
+        }
+        if (properties != null) {
+            state.useProperties(properties, rho, cp);
+        }
+        return state;
+    }
 
-        ThermalTimeLoop.Result loop = ThermalTimeLoop.run(state);
+    /**
+     * Температуропроводность, по которой строится сетка: с таблицей k(T), c(T) — наибольшая
+     * по таблице, чтобы явная схема оставалась устойчивой при любой температуре.
+     */
+    public static double maxDiffusivity(PlasmaConfiguration cfg) {
+        ThermalPropertyTable properties = cfg.getThermalProperties();
+        return properties != null
+                ? properties.maxDiffusivity(cfg.getDensity())
+                : cfg.getThermalConductivity() / (cfg.getDensity() * cfg.getHeatCapacity());
+    }
 
-        double debyeReachTime = Double.NaN;
-        double debyeFrontDepth = 0.0;
-        for (int i = 0; i < n; i++) {
-            if (!Double.isNaN(debyeReachedAt[i])) {
-                double x = i * dx;
-                if (x >= debyeFrontDepth) {
-                    debyeFrontDepth = x;
-                    debyeReachTime = debyeReachedAt[i];
-                }
-            }
-        }
+    /** @param debyeFront самый глубокий узел, достигший температуры Дебая; {@code -1} — ни один */
+    private static ThermalResult result(
+            ThermalTimeLoop.State state,
+            double thickness,
+            Double probeDepth,
+            TemperatureMap map,
+            double[] finalField,
+            int debyeFront,
+            double[] debyeReachedAt,
+            ThermalStepStats stepStats
+    ) {
+        double[] x = state.nodeDepths;
+        double observationDepth = probeDepth != null ? probeDepth : thickness / 2.0;
+        double observationDepthClamped = Math.max(0.0, Math.min(thickness, observationDepth));
+
+        double debyeReachTime = debyeFront >= 0 ? debyeReachedAt[debyeFront] : Double.NaN;
+        double debyeFrontDepth = debyeFront >= 0 ? x[debyeFront] : 0.0;
         double debyeFrontSpeed = (!Double.isNaN(debyeReachTime) && debyeReachTime > 0)
                 ? debyeFrontDepth / debyeReachTime
                 : 0.0;
 
         return new ThermalResult(
-                loop.times(),
-                loop.profiles(),
-                T0,
+                map,
+                state.t0,
                 thickness,
                 observationDepthClamped,
-                loop.finalField()[observationIndex],
-                debyeLimit,
+                interpolate(x, finalField, observationDepthClamped),
+                state.debyeLimit,
                 debyeReachTime,
                 debyeFrontDepth,
-                debyeFrontSpeed
+                debyeFrontSpeed,
+                stepStats
         );
     }
 
+    /**
+     * Сетка по времени и глубине: число узлов, шаг по времени с учётом устойчивости явной схемы
+     * (и периода циклирования) и число шагов в пределах {@code resolution}. Ничего не считает —
+     * годится для оценки стоимости.
+     */
+    public static Grid grid(
+            double alpha,
+            double tMax,
+            double dt,
+            double thickness,
+            Double projectedRange,
+            Integer N,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            ThermalResolution resolution
+    ) {
+        double dxMin = (projectedRange != null) ? projectedRange / 10 : thickness / 100;
+        double growth = resolution.meshGrowth();
+        if (N == null) {
+            N = resolution.graded()
+                    ? (int) Math.ceil(Math.log1p(thickness * (growth - 1) / dxMin) / Math.log(growth)) + 1
+                    : (int) Math.ceil(thickness / dxMin) + 1;
+            N = Math.max(Math.min(10, resolution.maxNodes()), Math.min(resolution.maxNodes(), N));
+        }
+        int n = N;
+        double dx = thickness / (n - 1);
+        if (resolution.graded()) {
+            growth = gradedGrowth(n, dxMin, thickness);
+            dx = growth > 1.0 ? thickness * (growth - 1) / (Math.pow(growth, n - 1) - 1) : dx;
+        } else {
+            growth = 1.0;
+        }
+
+        double dtMax = resolution.scheme().implicit() ? Double.POSITIVE_INFINITY : dx * dx / (2 * alpha);
+        if (thermalCyclingEnabled && cyclePeriod != null && cyclePeriod > 0) {
+            dtMax = Math.min(dtMax, cyclePeriod / 25.0);
+        }
+        boolean stabilityLimited = dt > dtMax;
+        if (stabilityLimited) {
+            dt = dtMax * 0.9;
+        }
+        if (thermalCyclingEnabled && cyclePeriod != null && cyclePeriod > 0 && dt < cyclePeriod) {
+            // целое число шагов на период: границы циклов совпадают с шагами
+            dt = cyclePeriod / Math.ceil(cyclePeriod / dt);
+        }
+        int requestedSteps = (int) (tMax / dt);
+        int steps = requestedSteps;
+        if (steps > resolution.maxSteps()) {
+            steps = resolution.maxSteps();
+            dt = tMax / steps;
+        }
+        return new Grid(n, dx, steps, dt, requestedSteps, stabilityLimited, growth);
+    }
+
+    /**
+     * Отношение шагов геометрической сетки из {@code n} узлов с первым шагом {@code dxMin},
+     * покрывающей {@code thickness}; {@code 1}, если равномерная сетка и так не крупнее {@code dxMin}.
+     */
+    private static double gradedGrowth(int n, double dxMin, double thickness) {
+        int cells = n - 1;
+        if (thickness / cells <= dxMin) {
+            return 1.0;
+        }
+        double lo = 1.0;
+        double hi = 2.0;
+        while (span(hi, cells, dxMin) < thickness) {
+            hi *= 2.0;
+        }
+        for (int i = 0; i < 100 && hi - lo > 1e-12; i++) {
+            double mid = 0.5 * (lo + hi);
+            if (span(mid, cells, dxMin) < thickness) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return hi;
+    }
+
+    private static double span(double growth, int cells, double dxMin) {
+        return dxMin * (Math.pow(growth, cells) - 1) / (growth - 1);
+    }
+
+    /** Линейная интерполяция поля по глубине (узлы {@code x} возрастают). */
+    static double interpolate(double[] x, double[] field, double depth) {
+        int n = x.length;
+        if (depth <= x[0]) {
+            return field[0];
+        }
+        if (depth >= x[n - 1]) {
+            return field[n - 1];
+        }
+        int hi = Arrays.binarySearch(x, depth);
+        if (hi >= 0) {
+            return field[hi];
+        }
+        hi = -hi - 1;
+        int lo = hi - 1;
+        double w = (depth - x[lo]) / (x[hi] - x[lo]);
+        return field[lo] + w * (field[hi] - field[lo]);
+    }
+
+    /**
+     * @param dx             первый (наименьший) шаг по глубине — по нему ограничена явная схема
+     * @param requestedSteps шагов до ограничения {@link ThermalResolution#maxSteps()}
+     * @param growth         отношение соседних шагов; {@code 1} — равномерная сетка
+     */
+    public record Grid(int nodes, double dx, int steps, double dt, int requestedSteps, boolean stabilityLimited,
+                       double growth) {
+
+        /** Глубины узлов: {@code 0}, {@code dx}, {@code dx·(1 + q)}, …, {@code thickness}. */
+        public double[] depths(double thickness) {
+            double[] x = new double[nodes];
+            double h = dx;
+            for (int i = 1; i < nodes - 1; i++) {
+                x[i] = growth > 1.0 ? x[i - 1] + h : i * dx;
+                h *= growth;
+            }
+            x[nodes - 1] = thickness;
+            return x;
+        }
+
+        public boolean stepLimited() {
+            return requestedSteps > steps;
+        }
+
+        /** Узлы × шаги — основная стоимость расчёта (у неявных схем — с прогонкой на шаге). */
+        public long work() {
+            return (long) nodes * steps;
+        }
+    }
+
     private static double[] buildSource(
-            int n,
-            double dx,
+            double[] x,
             Double powerInput,
             Double projectedRange
     ) {
+        int n = x.length;
         double[] source = new double[n];
         if (powerInput != null && powerInput > 0 && projectedRange != null && projectedRange > 0) {
             double norm = 1.0 / projectedRange;
             for (int i = 0; i < n; i++) {
-                double x = i * dx;
-                source[i] = powerInput * norm * Math.exp(-x / projectedRange);
+                source[i] = powerInput * norm * Math.exp(-x[i] / projectedRange);
             }
         }
         return source;
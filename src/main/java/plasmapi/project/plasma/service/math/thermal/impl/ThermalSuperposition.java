@@ -0,0 +1,327 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalObserver;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Линейный режим теплового расчёта: при постоянных k, c (без таблицы k(T), c(T)) и без ограничения
+ * температурой Дебая уравнение и граничные условия линейны по мощности, и
+ * {@code T(P) = T_base + P·U}. {@code T_base} — расчёт без источника, {@code U} — отклик на
+ * источник единичной мощности при нулевых начальной и граничных температурах. Оба считаются
+ * один раз на ключ (материал, сетка, экспозиция, циклирование) и хранятся в LRU; ответ для
+ * любой мощности — {@code O(узлы × профили)}, без шагов по времени.
+ * <p>
+ * Предел Дебая проверяется оценкой сверху {@code max_t T_base + P·max_t U} по узлам: если он
+ * может быть достигнут, ответа нет и считается полный расчёт. Адаптивный шаг и пропуск
+ * установившихся циклов держат абсолютные допуски в К, поэтому с ними отклик считается при
+ * наибольшей запрошенной мощности и пересчитывается, если пришла мощность больше. Если
+ * {@code T_base} не постоянно, пропуск циклов выключен: профили обоих расчётов должны совпадать
+ * по времени.
+ */
+final class ThermalSuperposition {
+
+    /** Откликов в кэше: два поля до 500 профилей каждое. */
+    static final int MAX_ENTRIES = 16;
+
+    private final LinkedHashMap<Key, Response> responses = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Response> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Всё, от чего зависят сетка и отклик, кроме мощности, температуры Дебая и глубины датчика.
+     */
+    record Key(
+            double density,
+            double heatCapacity,
+            double thermalConductivity,
+            double t0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer nodes,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ThermalResolution resolution
+    ) {
+    }
+
+    /**
+     * @param referencePower мощность, при которой посчитан отклик
+     * @param anyPower       отклик точен при любой мощности (постоянный шаг без пропуска циклов)
+     * @param base           поле без источника; {@code null} — везде {@code t0}
+     * @param unit           отклик на {@code referencePower}
+     */
+    private record Response(
+            double referencePower,
+            boolean anyPower,
+            double[] depths,
+            TemperatureMap base,
+            double[] baseFinal,
+            double[] baseMax,
+            TemperatureMap unit,
+            double[] unitFinal,
+            double[] unitMax,
+            ThermalStepStats stepStats
+    ) {
+
+        boolean covers(double power) {
+            return anyPower || power <= referencePower;
+        }
+    }
+
+    /** Линейный ли расчёт при этой конфигурации (до проверки предела Дебая). */
+    static boolean applies(PlasmaConfiguration cfg) {
+        return cfg.getThermalProperties() == null;
+    }
+
+    static Key key(
+            PlasmaConfiguration cfg,
+            double t0,
+            double tMax,
+            double dt,
+            double thickness,
+            Double projectedRange,
+            ThermalServiceImpl.BoundaryCondition boundaryCondition,
+            double ambientTemp,
+            double h,
+            Integer nodes,
+            boolean thermalCyclingEnabled,
+            Double cyclePeriod,
+            Double dutyCycle,
+            ThermalResolution resolution
+    ) {
+        return new Key(
+                cfg.getDensity(), cfg.getHeatCapacity(), cfg.getThermalConductivity(), t0, tMax, dt, thickness,
+                projectedRange, boundaryCondition, ambientTemp, h, nodes, thermalCyclingEnabled, cyclePeriod,
+                dutyCycle, resolution
+        );
+    }
+
+    /**
+     * Ответ по готовому отклику; пусто — отклика нет или предел Дебая может быть достигнут.
+     * Без {@code snapshots} в поле ответа только начальный и конечный профили.
+     */
+    Optional<ThermalResult> cached(
+            Key key,
+            Double powerInput,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean snapshots
+    ) {
+        Response response;
+        synchronized (this) {
+            response = responses.get(key);
+        }
+        double power = power(key, powerInput);
+        if (response == null || !response.covers(power)) {
+            return Optional.empty();
+        }
+        return scale(key, response, power, debyeTemperature, probeDepth, snapshots);
+    }
+
+    /**
+     * Ответы для мощностей {@code powerInputs} (в том же порядке); {@code null} — точка требует
+     * полного расчёта. Отклик считается, если его нет или он посчитан при меньшей мощности.
+     */
+    ThermalResult[] answer(Key key, List<Double> powerInputs, Double debyeTemperature, Double probeDepth) {
+        double maxPower = 0.0;
+        for (Double powerInput : powerInputs) {
+            maxPower = Math.max(maxPower, power(key, powerInput));
+        }
+        Response response;
+        synchronized (this) {
+            response = responses.get(key);
+        }
+        if (response == null || !response.covers(maxPower)) {
+            response = solve(key, maxPower);
+            synchronized (this) {
+                responses.put(key, response);
+            }
+        }
+        ThermalResult[] results = new ThermalResult[powerInputs.size()];
+        for (int k = 0; k < results.length; k++) {
+            results[k] = scale(key, response, power(key, powerInputs.get(k)), debyeTemperature, probeDepth, true)
+                    .orElse(null);
+        }
+        return results;
+    }
+
+    synchronized int size() {
+        return responses.size();
+    }
+
+    /** Мощность источника; без пробега ионов источника нет. */
+    private static double power(Key key, Double powerInput) {
+        return powerInput != null && powerInput > 0 && key.projectedRange() != null && key.projectedRange() > 0
+                ? powerInput
+                : 0.0;
+    }
+
+    private static Response solve(Key key, double maxPower) {
+        ThermalResolution resolution = key.resolution();
+        boolean trivialBase = trivialBase(key);
+        ThermalResolution reference = trivialBase ? resolution : new ThermalResolution(
+                resolution.maxNodes(), resolution.maxSteps(), resolution.scheme(), resolution.meshGrowth(),
+                resolution.stepTolerance(), 0.0, resolution.singlePrecisionMap()
+        );
+        boolean anyPower = !reference.adaptive() && reference.periodicTolerance() <= 0;
+        double referencePower = !anyPower && maxPower > 0 ? maxPower : 1.0;
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(key.density());
+        cfg.setHeatCapacity(key.heatCapacity());
+        cfg.setThermalConductivity(key.thermalConductivity());
+
+        // отклик: источник referencePower, нулевые начальное поле, окружение и тыльная граница
+        ThermalTimeLoop.State unitState = ThermalServiceImpl.prepare(
+                cfg, 0.0, key.tMax(), key.dt(), key.thickness(), referencePower, key.projectedRange(),
+                key.boundaryCondition(), 0.0, key.h(), key.nodes(), null, key.thermalCyclingEnabled(),
+                key.cyclePeriod(), key.dutyCycle(), ProgressListener.NONE, reference
+        );
+        NodeMaxima unitMax = new NodeMaxima();
+        unitState.observe(List.of(unitMax));
+        ThermalTimeLoop.Result unit = ThermalTimeLoop.run(unitState);
+        double[] unitFinal = unit.finalField().clone();
+        TemperatureMap unitMap = unit.map();
+        double scale = 1.0 / referencePower;
+        for (int i = 0; i < unitFinal.length; i++) {
+            unitFinal[i] *= scale;
+            unitMax.max[i] *= scale;
+        }
+
+        TemperatureMap baseMap = null;
+        double[] baseFinal;
+        double[] baseMax;
+        if (trivialBase) {
+            baseFinal = filled(unitFinal.length, key.t0());
+            baseMax = baseFinal;
+        } else {
+            ThermalTimeLoop.State baseState = ThermalServiceImpl.prepare(
+                    cfg, key.t0(), key.tMax(), key.dt(), key.thickness(), null, key.projectedRange(),
+                    key.boundaryCondition(), key.ambientTemp(), key.h(), key.nodes(), null,
+                    key.thermalCyclingEnabled(), key.cyclePeriod(), key.dutyCycle(), ProgressListener.NONE, reference
+            );
+            NodeMaxima maxima = new NodeMaxima();
+            baseState.observe(List.of(maxima));
+            ThermalTimeLoop.Result base = ThermalTimeLoop.run(baseState);
+            baseMap = base.map();
+            baseFinal = base.finalField().clone();
+            baseMax = maxima.max;
+            if (baseMap.rows() != unitMap.rows()) {
+                throw new IllegalStateException("Base and unit thermal responses have different snapshots");
+            }
+        }
+        return new Response(
+                referencePower, anyPower, unitState.nodeDepths, baseMap, baseFinal, baseMax,
+                unitMap, unitFinal, unitMax.max, unit.stepStats()
+        );
+    }
+
+    /** Без источника поле остаётся {@code t0}: окружение не отводит и не подводит тепло. */
+    private static boolean trivialBase(Key key) {
+        return key.boundaryCondition() != ThermalServiceImpl.BoundaryCondition.CONVECTIVE
+                || key.h() == 0.0
+                || key.ambientTemp() == key.t0();
+    }
+
+    private static Optional<ThermalResult> scale(
+            Key key,
+            Response response,
+            double power,
+            Double debyeTemperature,
+            Double probeDepth,
+            boolean snapshots
+    ) {
+        double debyeLimit = (debyeTemperature != null && debyeTemperature > 0)
+                ? debyeTemperature
+                : Double.POSITIVE_INFINITY;
+        int n = response.depths().length;
+        double s = power / response.referencePower();
+        double bound = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            bound = Math.max(bound, response.baseMax()[i] + power * response.unitMax()[i]);
+        }
+        if (bound >= debyeLimit) {
+            return Optional.empty();
+        }
+
+        TemperatureMap unit = response.unit();
+        TemperatureMap base = response.base();
+        TemperatureMap.Builder map = TemperatureMap.builder(
+                response.depths(), key.resolution().singlePrecisionMap(), snapshots ? unit.rows() : 2);
+        double[] row = new double[n];
+        // без профилей — как в цикле по времени: только начальный и конечный
+        int stride = snapshots ? 1 : Math.max(1, unit.rows() - 1);
+        for (int r = 0; r < unit.rows(); r += stride) {
+            for (int c = 0; c < n; c++) {
+                double b = base != null ? base.get(r, c) : key.t0();
+                row[c] = b + s * unit.get(r, c);
+            }
+            map.append(unit.time(r), row);
+        }
+        double[] finalField = new double[n];
+        for (int i = 0; i < n; i++) {
+            finalField[i] = response.baseFinal()[i] + power * response.unitFinal()[i];
+        }
+
+        double observationDepth = probeDepth != null ? probeDepth : key.thickness() / 2.0;
+        double observationDepthClamped = Math.max(0.0, Math.min(key.thickness(), observationDepth));
+        return Optional.of(new ThermalResult(
+                map.build(),
+                key.t0(),
+                key.thickness(),
+                observationDepthClamped,
+                ThermalServiceImpl.interpolate(response.depths(), finalField, observationDepthClamped),
+                debyeLimit,
+                Double.NaN,
+                0.0,
+                0.0,
+                response.stepStats()
+        ));
+    }
+
+    private static double[] filled(int n, double value) {
+        double[] values = new double[n];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    /** Максимум по времени в каждом узле — для оценки предела Дебая. */
+    private static final class NodeMaxima implements ThermalObserver {
+
+        double[] max;
+
+        @Override
+        public void start(double[] depths, double time, double[] field) {
+            max = field.clone();
+        }
+
+        @Override
+        public void step(double time, double[] field) {
+            double[] m = max;
+            for (int i = 0; i < m.length; i++) {
+                if (field[i] > m[i]) {
+                    m[i] = field[i];
+                }
+            }
+        }
+    }
+}
@@ -1,69 +1,514 @@
 package plasmapi.project.plasma.service.math.thermal.impl;
 
-import java.util.ArrayList;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalObserver;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
- * Явная 1D схема теплопроводности: двойной буфер (без clone на каждый шаг).
+ * 1D схема теплопроводности: явная (двойной буфер, без clone на каждый шаг) или неявная θ-схема
+ * с прогонкой ({@link ThermalScheme}); внутренний цикл шага и правой части — {@link StencilKernel}.
  * Параллель по шагам времени здесь не используется — при 10⁵–10⁶ шагов барьер/потоки
- * на каждом шаге только замедляют расчёт.
+ * на каждом шаге только замедляют расчёт. Всё, что считается по полю на шаге (фронт Дебая,
+ * датчики), — {@link ThermalObserver}; профили сохраняются, только если они нужны.
  */
 final class ThermalTimeLoop {
 
+    /** Сколько раз за расчёт сообщать о прогрессе. */
+    private static final int PROGRESS_TICKS = 100;
+
+    /** Шагов неявного Эйлера в начале и на фронтах циклирования у Кранка–Николсон. */
+    static final int DAMPING_STEPS = 2;
+
+    /** Сохраняемых профилей (кроме начального). */
+    static final int MAX_SNAPSHOTS = 500;
+
+    /** Адаптивный шаг: стартовый и после фронта циклирования — доля от шага сетки. */
+    static final double ADAPTIVE_START_FRACTION = 0.01;
+    /** Адаптивный шаг: наименьший — доля от {@code tMax}; такой шаг принимается без проверки. */
+    static final double ADAPTIVE_MIN_FRACTION = 1e-7;
+    /** Адаптивный шаг: наибольший — доля от {@code tMax}. */
+    static final double ADAPTIVE_MAX_FRACTION = 0.1;
+
+    /** Срок контрольной точки проверяется раз в столько шагов постоянной длины (маска). */
+    static final int CHECKPOINT_STRIDE_MASK = 1023;
+
     private ThermalTimeLoop() {
     }
 
     static Result run(State state) {
+        if (!state.scheme.implicit()) {
+            return runExplicit(state);
+        }
+        return state.stepTolerance > 0 ? runAdaptive(state) : runImplicit(state);
+    }
+
+    private static Result runExplicit(State state) {
         double[] current = state.t;
         double[] next = state.tNext;
-        List<double[]> profiles = new ArrayList<>();
-        List<Double> times = new ArrayList<>();
-        profiles.add(current.clone());
-        times.add(0.0);
+        int saveEvery = Math.max(state.steps / MAX_SNAPSHOTS, 1);
+        TemperatureMap.Builder map = state.newMap(state.snapshots ? (state.steps - state.firstStep) / saveEvery + 2 : 2);
+        map.append(state.firstStep * state.dt, current);
+        final ThermalObserver[] observers = state.observers;
+        start(observers, state, state.firstStep * state.dt, current);
 
-        int saveEvery = Math.max(state.steps / 500, 1);
-        boolean trackDebye = state.debyeLimit < Double.POSITIVE_INFINITY;
+        final boolean snapshots = state.snapshots;
         boolean cyclingVaries = state.thermalCyclingEnabled
                 && state.cyclePeriod != null
                 && state.cyclePeriod > 0;
 
         final int n = state.n;
         final int innerEnd = n - 1;
-        final double laplacianCoeff = state.laplacianCoeff;
+        final double[] west = state.west;
+        final double[] east = state.east;
         final double sourceCoeff = state.sourceCoeff;
         final double[] source = state.source;
+        final StencilKernel kernel = state.kernel;
+        final ProgressListener progress = state.progress;
+        final boolean reportProgress = progress != ProgressListener.NONE;
+        final int progressEvery = Math.max(state.steps / PROGRESS_TICKS, 1);
+        final PeriodicSteadyState periodic = PeriodicSteadyState.of(state);
+        final int stepsPerCycle = stepsPerCycle(state, periodic);
+        final Checkpoints checkpoints = state.checkpoints;
+        int skippedSteps = 0;
 
-        for (int step = 0; step < state.steps; step++) {
+        for (int step = state.firstStep; step < state.steps; step++) {
             double time = (step + 1) * state.dt;
             double cycling = cyclingVaries ? state.cyclingFactor(time) : 1.0;
             double sourceScale = sourceCoeff * cycling;
+            if (state.properties != null) {
+                state.lagCoefficients(current);
+            }
 
-            for (int i = 1; i < innerEnd; i++) {
-                double laplacian = current[i - 1] - 2.0 * current[i] + current[i + 1];
-                double val = current[i] + laplacianCoeff * laplacian + sourceScale * source[i];
-                if (val > state.debyeLimit) {
-                    val = state.debyeLimit;
+            kernel.explicitStep(current, next, west, east, source, sourceScale, state.debyeLimit, 1, innerEnd);
+
+            applyBoundaries(next, state);
+
+            for (ThermalObserver observer : observers) {
+                observer.step(time, next);
+            }
+
+            double[] tmp = current;
+            current = next;
+            next = tmp;
+
+            if (snapshots && (step % saveEvery == 0 || step == state.steps - 1)) {
+                map.append(time, current);
+            }
+
+            if (stepsPerCycle > 0 && (step + 1) % stepsPerCycle == 0
+                    && cycleCompleted(observers, periodic, time, current, map)) {
+                int cycles = (state.steps - step - 1) / stepsPerCycle;
+                if (cycles > 0) {
+                    skipCycles(observers, periodic, map, cycles);
+                    step += cycles * stepsPerCycle;
+                    skippedSteps += cycles * stepsPerCycle;
+                    if (reportProgress) {
+                        progress.progress(step + 1, state.steps);
+                    }
                 }
-                next[i] = val;
             }
 
-            applyBoundaries(next, state);
+            if (reportProgress && ((step + 1) % progressEvery == 0 || step == state.steps - 1)) {
+                progress.progress(step + 1, state.steps);
+            }
+
+            if (checkpoints != null && (step & CHECKPOINT_STRIDE_MASK) == 0 && checkpoints.due()) {
+                checkpoints.save(step + 1, (step + 1) * state.dt, 0.0, 0, current);
+            }
+        }
+        if (!snapshots) {
+            map.append(state.steps * state.dt, current);
+        }
+        if (checkpoints != null) {
+            checkpoints.save(state.steps, state.steps * state.dt, 0.0, 0, current);
+        }
+
+        return new Result(current, map.build(), fixedStats(state, periodic, skippedSteps));
+    }
 
-            if (trackDebye) {
-                trackDebye(next, state.debyeReachedAt, time, state.debyeLimit);
+    /**
+     * θ-схема: {@code (1 + θ(wᵢ + eᵢ))·Tᵢ' − θwᵢ·Tᵢ₋₁' − θeᵢ·Tᵢ₊₁' = Tᵢ + (1 − θ)·(потоки) + dt·q/(ρc)},
+     * граничные условия — первой и последней строкой трёхдиагональной системы.
+     */
+    private static Result runImplicit(State state) {
+        double[] current = state.t;
+        double[] next = state.tNext;
+        int saveEvery = Math.max(state.steps / MAX_SNAPSHOTS, 1);
+        TemperatureMap.Builder map = state.newMap(state.snapshots ? (state.steps - state.firstStep) / saveEvery + 2 : 2);
+        map.append(state.firstStep * state.dt, current);
+        final ThermalObserver[] observers = state.observers;
+        start(observers, state, state.firstStep * state.dt, current);
+
+        final boolean snapshots = state.snapshots;
+        boolean crankNicolson = state.scheme == ThermalScheme.CRANK_NICOLSON;
+
+        final int n = state.n;
+        final ProgressListener progress = state.progress;
+        final boolean reportProgress = progress != ProgressListener.NONE;
+        final int progressEvery = Math.max(state.steps / PROGRESS_TICKS, 1);
+
+        double[] rhs = new double[n];
+        double[] sweep = new double[n];
+        double prevCycling = state.cyclingFactor(state.firstStep * state.dt);
+        int dampingLeft = state.resumeDamping >= 0 ? state.resumeDamping : crankNicolson ? DAMPING_STEPS : 0;
+        final PeriodicSteadyState periodic = PeriodicSteadyState.of(state);
+        final int stepsPerCycle = stepsPerCycle(state, periodic);
+        final Checkpoints checkpoints = state.checkpoints;
+        int skippedSteps = 0;
+
+        for (int step = state.firstStep; step < state.steps; step++) {
+            double time = (step + 1) * state.dt;
+            double cycling = state.cyclingFactor(time);
+            if (crankNicolson && cycling != prevCycling) {
+                dampingLeft = DAMPING_STEPS;
+            }
+            double theta = (!crankNicolson || dampingLeft > 0) ? 1.0 : 0.5;
+            if (dampingLeft > 0) {
+                dampingLeft--;
+            }
+            double sourceFactor = theta * cycling + (1.0 - theta) * prevCycling;
+            if (state.properties != null) {
+                state.lagCoefficients(current);
+            }
+            implicitStep(current, next, 1.0, theta, sourceFactor, rhs, sweep, state);
+
+            for (ThermalObserver observer : observers) {
+                observer.step(time, next);
             }
 
             double[] tmp = current;
             current = next;
             next = tmp;
+            prevCycling = cycling;
+
+            if (snapshots && (step % saveEvery == 0 || step == state.steps - 1)) {
+                map.append(time, current);
+            }
+
+            if (stepsPerCycle > 0 && (step + 1) % stepsPerCycle == 0
+                    && cycleCompleted(observers, periodic, time, current, map)) {
+                int cycles = (state.steps - step - 1) / stepsPerCycle;
+                if (cycles > 0) {
+                    skipCycles(observers, periodic, map, cycles);
+                    step += cycles * stepsPerCycle;
+                    skippedSteps += cycles * stepsPerCycle;
+                    if (reportProgress) {
+                        progress.progress(step + 1, state.steps);
+                    }
+                }
+            }
+
+            if (reportProgress && ((step + 1) % progressEvery == 0 || step == state.steps - 1)) {
+                progress.progress(step + 1, state.steps);
+            }
+
+            if (checkpoints != null && (step & CHECKPOINT_STRIDE_MASK) == 0 && checkpoints.due()) {
+                checkpoints.save(step + 1, (step + 1) * state.dt, 0.0, dampingLeft, current);
+            }
+        }
+        if (!snapshots) {
+            map.append(state.steps * state.dt, current);
+        }
+        if (checkpoints != null) {
+            checkpoints.save(state.steps, state.steps * state.dt, 0.0, dampingLeft, current);
+        }
+
+        return new Result(current, map.build(), fixedStats(state, periodic, skippedSteps));
+    }
+
+    /**
+     * Шагов постоянной длины в цикле нагрева; {@code 0}, если обнаружение периодического режима
+     * выключено или период не кратен шагу (тогда границы циклов не попадают на шаги).
+     */
+    static int stepsPerCycle(State state, PeriodicSteadyState periodic) {
+        if (periodic == null) {
+            return 0;
+        }
+        double ratio = periodic.period() / state.dt;
+        long rounded = Math.round(ratio);
+        return rounded >= 1 && Math.abs(ratio - rounded) < 1e-6 * rounded ? (int) rounded : 0;
+    }
+
+    static ThermalStepStats fixedStats(State state, PeriodicSteadyState periodic, int skippedSteps) {
+        return ThermalStepStats.fixed(
+                state.steps - state.firstStep - skippedSteps,
+                state.dt,
+                periodic != null ? periodic.simulatedCycles() : 0,
+                periodic != null ? periodic.skippedCycles() : 0
+        );
+    }
+
+    /**
+     * Неявная схема с шагом, подобранным удвоением: шаг {@code h} сравнивается с двумя шагами
+     * {@code h/2}, расхождение (max по узлам, К) держится в пределах {@code stepTolerance}.
+     * Шаги не пересекают фронты циклирования и после фронта начинаются заново с малого шага;
+     * профили интерполируются на равномерную сетку времён, как у постоянного шага.
+     */
+    private static Result runAdaptive(State state) {
+        final int n = state.n;
+        final double tEnd = state.tMax;
+        final double tolerance = state.stepTolerance;
+        final double hMin = tEnd * ADAPTIVE_MIN_FRACTION;
+        final double hMax = tEnd * ADAPTIVE_MAX_FRACTION;
+        final double hRestart = state.dt * ADAPTIVE_START_FRACTION;
+        final boolean crankNicolson = state.scheme == ThermalScheme.CRANK_NICOLSON;
+        final ThermalObserver[] observers = state.observers;
+        final ProgressListener progress = state.progress;
+
+        double[] current = state.t;
+        double[] fine = state.tNext;
+        double[] coarse = new double[n];
+        double[] half = new double[n];
+        double[] rhs = new double[n];
+        double[] sweep = new double[n];
+
+        double[] row = new double[n];
+
+        double time = state.resumeTime;
+        int snapshots = state.snapshots ? Math.min(state.steps, MAX_SNAPSHOTS) : 0;
+        TemperatureMap.Builder map = state.newMap(state.snapshots ? snapshots + 1 : 2);
+        map.append(time, current);
+        start(observers, state, time, current);
+        int nextSnapshot = 1;
+        int nextTick = 1;
+        while (nextSnapshot <= snapshots && tEnd * nextSnapshot / snapshots <= time) {
+            nextSnapshot++;
+        }
+        while (nextTick <= PROGRESS_TICKS && tEnd * nextTick / PROGRESS_TICKS <= time) {
+            nextTick++;
+        }
+
+        int accepted = 0;
+        int rejected = 0;
+        double minDt = Double.POSITIVE_INFINITY;
+        double maxDt = 0.0;
+
+        double h = state.resumeStep > 0 ? state.resumeStep : hRestart;
+        int dampingLeft = state.resumeDamping >= 0 ? state.resumeDamping : crankNicolson ? DAMPING_STEPS : 0;
+        final PeriodicSteadyState periodic = PeriodicSteadyState.of(state);
+        final Checkpoints checkpoints = state.checkpoints;
+
+        while (time < tEnd) {
+            double edge = Math.min(state.nextCyclingEdge(time), tEnd);
+            boolean reachesEdge = time + h >= edge - hMin;
+            double step = reachesEdge ? edge - time : h;
+            double cycling = state.cyclingFactor(time + 0.5 * step);
+            double theta = dampingLeft > 0 || !crankNicolson ? 1.0 : 0.5;
+            if (state.properties != null) {
+                state.lagCoefficients(current);
+            }
+
+            implicitStep(current, coarse, step / state.dt, theta, cycling, rhs, sweep, state);
+            implicitStep(current, half, 0.5 * step / state.dt, theta, cycling, rhs, sweep, state);
+            implicitStep(half, fine, 0.5 * step / state.dt, theta, cycling, rhs, sweep, state);
+
+            double error = 0.0;
+            for (int i = 0; i < n; i++) {
+                error = Math.max(error, Math.abs(fine[i] - coarse[i]));
+            }
+            double order = theta == 1.0 ? 1.0 : 2.0;
+            double factor = error > 0
+                    ? 0.9 * Math.pow(tolerance / error, 1.0 / (order + 1.0))
+                    : 2.0;
+
+            if (error > tolerance && step > hMin) {
+                rejected++;
+                h = Math.max(step * Math.max(0.2, factor), hMin);
+                continue;
+            }
+
+            double previousTime = time;
+            time = reachesEdge ? edge : time + step;
+            accepted++;
+            minDt = Math.min(minDt, step);
+            maxDt = Math.max(maxDt, step);
+            if (dampingLeft > 0) {
+                dampingLeft--;
+            }
 
+            for (ThermalObserver observer : observers) {
+                observer.step(time, fine);
+            }
+
+            while (nextSnapshot <= snapshots && tEnd * nextSnapshot / snapshots <= time) {
+                double at = tEnd * nextSnapshot / snapshots;
+                double w = (at - previousTime) / (time - previousTime);
+                for (int i = 0; i < n; i++) {
+                    row[i] = current[i] + w * (fine[i] - current[i]);
+                }
+                map.append(at, row);
+                nextSnapshot++;
+            }
+
+            double[] tmp = current;
+            current = fine;
+            fine = tmp;
+
+            if (reachesEdge && periodic != null && isCycleStart(time, periodic.period())
+                    && cycleCompleted(observers, periodic, time, current, map)) {
+                int cycles = (int) Math.floor((tEnd - time) / periodic.period() + 1e-9);
+                if (cycles > 0) {
+                    skipCycles(observers, periodic, map, cycles);
+                    time = Math.min(time + cycles * periodic.period(), tEnd);
+                    while (nextSnapshot <= snapshots && tEnd * nextSnapshot / snapshots <= time) {
+                        nextSnapshot++;
+                    }
+                }
+            }
+
+            if (reachesEdge && time < tEnd) {
+                h = hRestart;
+                dampingLeft = crankNicolson ? DAMPING_STEPS : 0;
+            } else {
+                h = Math.min(step * Math.min(2.0, factor), hMax);
+            }
+
+            if (progress != ProgressListener.NONE) {
+                while (nextTick <= PROGRESS_TICKS && tEnd * nextTick / PROGRESS_TICKS <= time) {
+                    progress.progress((long) state.steps * nextTick / PROGRESS_TICKS, state.steps);
+                    nextTick++;
+                }
+            }
+
+            if (checkpoints != null && checkpoints.due()) {
+                checkpoints.save(state.firstStep + accepted, time, h, dampingLeft, current);
+            }
+        }
+        if (!state.snapshots) {
+            map.append(tEnd, current);
+        }
+        if (checkpoints != null) {
+            checkpoints.save(state.firstStep + accepted, tEnd, h, dampingLeft, current);
+        }
+
+        return new Result(current, map.build(), new ThermalStepStats(
+                accepted, rejected, minDt, maxDt, true,
+                periodic != null ? periodic.simulatedCycles() : 0,
+                periodic != null ? periodic.skippedCycles() : 0
+        ));
+    }
+
+    /**
+     * Времена профилей, которые сохраняет {@link #run(State)} без продолжения с контрольной точки:
+     * при постоянном шаге — каждый {@code saveEvery}-й шаг и последний, при адаптивном —
+     * равномерная сетка до {@code tMax}; без {@link State#snapshots} — начало и конец.
+     */
+    static double[] snapshotTimes(State state) {
+        boolean adaptive = state.scheme.implicit() && state.stepTolerance > 0;
+        if (!state.snapshots) {
+            return new double[]{0.0, adaptive ? state.tMax : state.steps * state.dt};
+        }
+        if (adaptive) {
+            int snapshots = Math.min(state.steps, MAX_SNAPSHOTS);
+            double[] times = new double[snapshots + 1];
+            for (int k = 1; k <= snapshots; k++) {
+                times[k] = state.tMax * k / snapshots;
+            }
+            return times;
+        }
+        int saveEvery = Math.max(state.steps / MAX_SNAPSHOTS, 1);
+        double[] times = new double[state.steps / saveEvery + 3];
+        int rows = 1;
+        for (int step = 0; step < state.steps; step++) {
             if (step % saveEvery == 0 || step == state.steps - 1) {
-                profiles.add(current.clone());
-                times.add(time);
+                times[rows++] = (step + 1) * state.dt;
             }
         }
+        return Arrays.copyOf(times, rows);
+    }
+
+    static boolean isCycleStart(double time, double period) {
+        double cycles = time / period;
+        return Math.abs(cycles - Math.rint(cycles)) < 1e-9 * Math.max(1.0, cycles);
+    }
 
-        return new Result(current, profiles, times);
+    /**
+     * Один шаг θ-схемы длиной {@code scale·dt}; {@code sourceFactor} — множитель циклирования источника.
+     */
+    private static void implicitStep(
+            double[] from,
+            double[] to,
+            double scale,
+            double theta,
+            double sourceFactor,
+            double[] rhs,
+            double[] sweep,
+            State state
+    ) {
+        double explicitPart = (1.0 - theta) * scale;
+        double sourceScale = state.sourceCoeff * scale * sourceFactor;
+        state.kernel.implicitRhs(from, rhs, state.west, state.east, state.source, explicitPart, sourceScale,
+                1, state.n - 1);
+        solveTridiagonal(rhs, sweep, to, theta * scale, state);
+    }
+
+    /**
+     * Прогонка (алгоритм Томаса) для внутренних строк {@code −θw, 1 + θ(w + e), −θe}
+     * ({@code θ = implicitWeight}, уже с учётом длины шага); строка 0 —
+     * граничное условие на поверхности ({@code b₀·T₀ − c₀·T₁ = d₀}), последняя — {@code T = T0}.
+     * Результат ограничивается температурой Дебая, как и в явной схеме.
+     */
+    private static void solveTridiagonal(
+            double[] rhs,
+            double[] sweep,
+            double[] out,
+            double implicitWeight,
+            State state
+    ) {
+        int n = state.n;
+        double[] west = state.west;
+        double[] east = state.east;
+        double b0;
+        double c0;
+        double d0;
+        switch (state.boundaryCondition) {
+            case ADIABATIC -> {
+                b0 = 1.0;
+                c0 = 1.0;
+                d0 = 0.0;
+            }
+            case FIXED_TEMPERATURE -> {
+                b0 = 1.0;
+                c0 = 0.0;
+                d0 = state.t0;
+            }
+            default -> {
+                double biot = state.h * state.dx / state.kappa;
+                b0 = 1.0 + biot;
+                c0 = 1.0;
+                d0 = biot * state.ambientTemp;
+            }
+        }
+
+        // sweep[i] — приведённый наддиагональный коэффициент, out[i] — приведённая правая часть
+        sweep[0] = -c0 / b0;
+        out[0] = d0 / b0;
+        for (int i = 1; i < n - 1; i++) {
+            double w = implicitWeight * west[i];
+            double e = implicitWeight * east[i];
+            double m = 1.0 + w + e + w * sweep[i - 1];
+            sweep[i] = -e / m;
+            out[i] = (rhs[i] + w * out[i - 1]) / m;
+        }
+        out[n - 1] = state.t0;
+        for (int i = n - 2; i >= 0; i--) {
+            out[i] -= sweep[i] * out[i + 1];
+        }
+
+        double limit = state.debyeLimit;
+        if (limit < Double.POSITIVE_INFINITY) {
+            for (int i = 0; i < n; i++) {
+                if (out[i] > limit) {
+                    out[i] = limit;
+                }
+            }
+        }
     }
 
     private static void applyBoundaries(double[] field, State state) {
@@ -84,15 +529,70 @@ final class ThermalTimeLoop {
         }
     }
 
-    private static void trackDebye(double[] field, double[] debyeReachedAt, double time, double debyeLimit) {
-        for (int i = 0; i < field.length; i++) {
-            if (Double.isNaN(debyeReachedAt[i]) && field[i] >= debyeLimit) {
-                debyeReachedAt[i] = time;
-            }
+    private static void start(ThermalObserver[] observers, State state, double time, double[] field) {
+        for (ThermalObserver observer : observers) {
+            observer.start(state.nodeDepths, time, field);
+        }
+    }
+
+    /** Граница цикла для наблюдателей и проверки периодического режима. */
+    private static boolean cycleCompleted(
+            ThermalObserver[] observers,
+            PeriodicSteadyState periodic,
+            double time,
+            double[] field,
+            TemperatureMap.Builder map
+    ) {
+        for (ThermalObserver observer : observers) {
+            observer.cycleCompleted(time);
+        }
+        return periodic.cycleCompleted(field, map.rows());
+    }
+
+    private static void skipCycles(
+            ThermalObserver[] observers,
+            PeriodicSteadyState periodic,
+            TemperatureMap.Builder map,
+            int cycles
+    ) {
+        periodic.skip(map, cycles);
+        for (ThermalObserver observer : observers) {
+            observer.cyclesSkipped(cycles, periodic.period());
+        }
+    }
+
+    /**
+     * Контрольные точки по ходу цикла: не чаще раза в {@code intervalNanos} по времени работы
+     * (плюс точка в конце расчёта, её вызывает цикл).
+     */
+    static final class Checkpoints {
+
+        private final long intervalNanos;
+        private final Sink sink;
+        private long lastSaved = System.nanoTime();
+
+        Checkpoints(long intervalNanos, Sink sink) {
+            this.intervalNanos = intervalNanos;
+            this.sink = sink;
+        }
+
+        boolean due() {
+            return System.nanoTime() - lastSaved >= intervalNanos;
+        }
+
+        void save(int stepsDone, double time, double nextStep, int dampingLeft, double[] field) {
+            sink.save(stepsDone, time, nextStep, dampingLeft, field);
+            lastSaved = System.nanoTime();
+        }
+
+        @FunctionalInterface
+        interface Sink {
+            void save(int stepsDone, double time, double nextStep, int dampingLeft, double[] field);
         }
     }
 
-    record Result(double[] finalField, List<double[]> profiles, List<Double> times) {}
+    /** @param map сохранённые профили; min/max/среднее накоплены при сохранении */
+    record Result(double[] finalField, TemperatureMap map, ThermalStepStats stepStats) {}
 
     static final class State {
         final int n;
@@ -102,9 +602,12 @@ final class ThermalTimeLoop {
         final double t0;
         final double ambientTemp;
         final double h;
-        final double kappa;
+        /** Теплопроводность у поверхности (условие конвекции); с k(T) — по полю прошлого шага. */
+        double kappa;
         final double debyeLimit;
-        final double laplacianCoeff;
+        /** {@code α·dt/(Vᵢ·hᵢ₋₁)} и {@code α·dt/(Vᵢ·hᵢ)} — вклад западного и восточного соседа. */
+        final double[] west;
+        final double[] east;
         final double sourceCoeff;
         final double[] source;
         final double[] debyeReachedAt;
@@ -115,6 +618,48 @@ final class ThermalTimeLoop {
 
         final double[] t;
         final double[] tNext;
+        final ProgressListener progress;
+        final ThermalScheme scheme;
+        /** Допуск адаптивного шага, К; {@code 0} — постоянный шаг. */
+        final double stepTolerance;
+        /** Конец расчёта для адаптивного шага (постоянный шаг идёт до {@code steps·dt}). */
+        final double tMax;
+        /** Допуск дрейфа за цикл для пропуска установившихся циклов, К; {@code 0} — выключено. */
+        final double periodicTolerance;
+        /** Глубина узлов (м) — столбцы температурного поля. */
+        final double[] nodeDepths;
+        /** Хранить профили в {@code float}. */
+        final boolean singlePrecisionMap;
+        /** Ядро явной схемы; по умолчанию выбранное при старте. */
+        StencilKernel kernel = StencilKernel.SELECTED;
+        /**
+         * Первый шаг постоянной длины: больше нуля при продолжении с контрольной точки
+         * (у адаптивного шага — сколько шагов принято до неё).
+         */
+        int firstStep;
+        /** Начало адаптивного расчёта, с (при продолжении — время контрольной точки). */
+        double resumeTime;
+        /** Первый адаптивный шаг при продолжении, с; {@code 0} — стартовый. */
+        double resumeStep;
+        /** Оставшиеся шаги затухания Кранка–Николсон при продолжении; {@code -1} — как в начале. */
+        int resumeDamping = -1;
+        /** Сохранение контрольных точек; {@code null} — не сохраняются. */
+        Checkpoints checkpoints;
+        /** Фронт Дебая; {@code null} — температура Дебая не задана. */
+        DebyeFrontTracker debyeFront;
+        /** Наблюдатели шагов, фронт Дебая — первым. */
+        ThermalObserver[] observers = new ThermalObserver[0];
+        /** Сохранять профили; иначе в карте только начальный и конечный. */
+        boolean snapshots = true;
+        /** k(T), c(T); {@code null} — {@link #west}, {@link #east}, {@link #source} постоянные. */
+        ThermalPropertyTable properties;
+        /** {@code dt/(ρ·Vᵢ·hᵢ₋₁)}, {@code dt/(ρ·Vᵢ·hᵢ)} — геометрия граней без k и c. */
+        private double[] westGeometry;
+        private double[] eastGeometry;
+        /** Источник без поправки {@code c_ref/c(T)}. */
+        private double[] baseSource;
+        private double[] nodeConductivity;
+        private double referenceHeatCapacity;
 
         State(
                 int n,
@@ -126,7 +671,8 @@ final class ThermalTimeLoop {
                 double h,
                 double kappa,
                 double debyeLimit,
-                double laplacianCoeff,
+                double[] west,
+                double[] east,
                 double sourceCoeff,
                 double[] source,
                 double[] debyeReachedAt,
@@ -134,7 +680,14 @@ final class ThermalTimeLoop {
                 boolean thermalCyclingEnabled,
                 Double cyclePeriod,
                 Double dutyCycle,
-                double[] initialT
+                double[] initialT,
+                ProgressListener progress,
+                ThermalScheme scheme,
+                double stepTolerance,
+                double tMax,
+                double periodicTolerance,
+                double[] nodeDepths,
+                boolean singlePrecisionMap
         ) {
             this.n = n;
             this.steps = steps;
@@ -145,7 +698,8 @@ final class ThermalTimeLoop {
             this.h = h;
             this.kappa = kappa;
             this.debyeLimit = debyeLimit;
-            this.laplacianCoeff = laplacianCoeff;
+            this.west = west;
+            this.east = east;
             this.sourceCoeff = sourceCoeff;
             this.source = source;
             this.debyeReachedAt = debyeReachedAt;
@@ -155,6 +709,71 @@ final class ThermalTimeLoop {
             this.dutyCycle = dutyCycle;
             this.t = initialT;
             this.tNext = new double[n];
+            this.progress = progress != null ? progress : ProgressListener.NONE;
+            this.scheme = scheme != null ? scheme : ThermalScheme.EXPLICIT;
+            this.stepTolerance = stepTolerance;
+            this.tMax = tMax;
+            this.periodicTolerance = periodicTolerance;
+            this.nodeDepths = nodeDepths;
+            this.singlePrecisionMap = singlePrecisionMap;
+        }
+
+        /**
+         * Переводит коэффициенты на таблицу {@code properties}: {@code sourceCoeff} остаётся
+         * {@code dt/(ρ·c_ref)}, поправка {@code c_ref/c(T)} входит в {@link #source}.
+         */
+        void useProperties(ThermalPropertyTable table, double density, double heatCapacity) {
+            properties = table;
+            referenceHeatCapacity = heatCapacity;
+            westGeometry = new double[n];
+            eastGeometry = new double[n];
+            for (int i = 1; i < n - 1; i++) {
+                double hWest = nodeDepths[i] - nodeDepths[i - 1];
+                double hEast = nodeDepths[i + 1] - nodeDepths[i];
+                double volume = 0.5 * (hWest + hEast);
+                westGeometry[i] = dt / (density * volume * hWest);
+                eastGeometry[i] = dt / (density * volume * hEast);
+            }
+            baseSource = source.clone();
+            nodeConductivity = new double[n];
+            lagCoefficients(t);
+        }
+
+        /**
+         * Коэффициенты шага по полю {@code field} предыдущего шага: k и c — из равномерной таблицы,
+         * k на грани — среднее соседних узлов. Два поиска на узел, без итераций.
+         */
+        void lagCoefficients(double[] field) {
+            ThermalPropertyTable table = properties;
+            double[] k = nodeConductivity;
+            for (int i = 0; i < n; i++) {
+                k[i] = table.conductivity(field[i]);
+            }
+            for (int i = 1; i < n - 1; i++) {
+                double inverseCapacity = 1.0 / table.heatCapacity(field[i]);
+                west[i] = westGeometry[i] * 0.5 * (k[i - 1] + k[i]) * inverseCapacity;
+                east[i] = eastGeometry[i] * 0.5 * (k[i] + k[i + 1]) * inverseCapacity;
+                source[i] = baseSource[i] * referenceHeatCapacity * inverseCapacity;
+            }
+            kappa = k[0];
+        }
+
+        void trackDebyeFront() {
+            debyeFront = new DebyeFrontTracker(debyeLimit, debyeReachedAt);
+            observers = new ThermalObserver[]{debyeFront};
+        }
+
+        void observe(List<ThermalObserver> extra) {
+            ThermalObserver[] all = new ThermalObserver[observers.length + extra.size()];
+            System.arraycopy(observers, 0, all, 0, observers.length);
+            for (int i = 0; i < extra.size(); i++) {
+                all[observers.length + i] = extra.get(i);
+            }
+            observers = all;
+        }
+
+        TemperatureMap.Builder newMap(int expectedRows) {
+            return TemperatureMap.builder(nodeDepths, singlePrecisionMap, expectedRows);
         }
 
         double cyclingFactor(double time) {
@@ -162,8 +781,20 @@ final class ThermalTimeLoop {
                 return 1.0;
             }
             double duty = (dutyCycle == null) ? 0.5 : Math.max(0.01, Math.min(0.99, dutyCycle));
-            double phase = time % cyclePeriod;
+            // время, отстоящее от границы цикла на ошибку округления, относится к новому циклу
+            double phase = time - Math.floor(time / cyclePeriod + 1e-9) * cyclePeriod;
             return phase <= cyclePeriod * duty ? 1.0 : 0.0;
         }
+
+        /** Ближайшее после {@code time} переключение источника; без циклирования — бесконечность. */
+        double nextCyclingEdge(double time) {
+            if (!thermalCyclingEnabled || cyclePeriod == null || cyclePeriod <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double duty = (dutyCycle == null) ? 0.5 : Math.max(0.01, Math.min(0.99, dutyCycle));
+            double start = Math.floor(time / cyclePeriod + 1e-9) * cyclePeriod;
+            double off = start + cyclePeriod * duty;
+            return off > time + 1e-9 * cyclePeriod ? off : start + cyclePeriod;
+        }
     }
 }
@@ -2,6 +2,7 @@ package plasmapi.project.plasma.service.math.transport;
 
 import plasmapi.project.plasma.model.atom.AtomList;
 import plasmapi.project.plasma.model.res.Ion;
+import plasmapi.project.plasma.service.math.ProgressListener;
 
 public interface IonTransportService {
 
@@ -12,11 +13,25 @@ public interface IonTransportService {
             int particles
     );
 
-    TransportResult simulate(
+    default TransportResult simulate(
             Ion ion,
             AtomList atom,
             double ionEnergyEv,
             int particles,
             LorentzContext lorentzContext
+    ) {
+        return simulate(ion, atom, ionEnergyEv, particles, lorentzContext, ProgressListener.NONE);
+    }
+
+    /**
+     * То же с отчётом о числе отслеженных частиц.
+     */
+    TransportResult simulate(
+            Ion ion,
+            AtomList atom,
+            double ionEnergyEv,
+            int particles,
+            LorentzContext lorentzContext,
+            ProgressListener progress
     );
 }
@@ -10,6 +10,11 @@ public interface LorentzForceService {
      */
     Vector3D advanceVelocity(Vector3D velocity, LorentzContext context, int chargeUnits, double massKg, double dt);
 
+    /**
+     * То же на месте: {@code velocity} — {@code {vx, vy, vz}}, м/с, без промежуточных векторов.
+     */
+    void advanceVelocity(double[] velocity, LorentzContext context, int chargeUnits, double massKg, double dt);
+
     /**
      * Радиус циклотронной орбиты r_L = m v / (q B) при v ⊥ B.
      */
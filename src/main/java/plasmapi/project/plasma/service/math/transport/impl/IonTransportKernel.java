@@ -0,0 +1,241 @@
+package plasmapi.project.plasma.service.math.transport.impl;
+
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.service.math.PhysicalConstants;
+import plasmapi.project.plasma.service.math.collision.CollisionScratch;
+import plasmapi.project.plasma.service.math.collision.CollisionService;
+import plasmapi.project.plasma.service.math.collision.StoppingTable;
+import plasmapi.project.plasma.service.math.transport.LorentzContext;
+import plasmapi.project.plasma.service.math.transport.LorentzForceService;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Трассировка одного иона без выделения памяти на шаге: направление — в полях-числах,
+ * результат столкновения — в {@link CollisionScratch}, скорость для силы Лоренца — в массиве,
+ * отдача каскада — парой {@link StoppingTable} вместо сущности {@code Ion}. Один экземпляр на поток:
+ * состояние перезаписывается каждым вызовом {@link #trackPrimary}.
+ */
+final class IonTransportKernel {
+
+    private static final double EV = PhysicalConstants.EV;
+    private static final double E_MIN = 1.0; // eV
+    /** Наибольший шаг между столкновениями, м (устойчивость). */
+    private static final double MAX_STEP = 5e-9;
+    /** Энергия связи у поверхности и порог смещения отдачи, эВ. */
+    private static final double BINDING_EV = 25.0;
+    private static final int MAX_CASCADE_DEPTH = 10;
+
+    private final CollisionService collisionService;
+    private final LorentzForceService lorentzForceService;
+    private final CollisionScratch collision = new CollisionScratch();
+    private final double[] velocity = new double[3];
+
+    private double dirX;
+    private double dirY;
+    private double dirZ;
+
+    private double depth;
+    private double lorentzDeflection;
+
+    IonTransportKernel(CollisionService collisionService, LorentzForceService lorentzForceService) {
+        this.collisionService = collisionService;
+        this.lorentzForceService = lorentzForceService;
+    }
+
+    /** Глубина остановки последнего иона, м. */
+    double depth() {
+        return depth;
+    }
+
+    /** Накопленное отклонение силой Лоренца у последнего иона, рад. */
+    double lorentzDeflection() {
+        return lorentzDeflection;
+    }
+
+    /**
+     * @param primary пара ион/атом мишени ({@link CollisionService#table})
+     * @param recoil  пара атом мишени/атом мишени — для каскада отдачи
+     * @param density атомов мишени в м³
+     * @param energy  начальная энергия, Дж
+     */
+    void trackPrimary(
+            StoppingTable primary,
+            StoppingTable recoil,
+            double density,
+            double energy,
+            LorentzContext lorentz,
+            RandomGenerator rng
+    ) {
+        dirX = 0.0;
+        dirY = 0.0;
+        dirZ = 1.0;
+        double E = energy;
+        double z = 0.0;
+        double deflection = 0.0;
+
+        int Z1 = primary.z1();
+        double M1 = primary.m1();
+        double M2 = primary.m2();
+
+        while (E > E_MIN * EV) {
+
+            double sigma = primary.crossSection(E);
+            if (sigma <= 0) break;
+
+            double lambda = 1.0 / (density * sigma);
+            double step = -lambda * Math.log(rng.nextDouble());
+            step = Math.min(step, MAX_STEP);
+
+            double bMax = Math.sqrt(sigma / Math.PI);
+            double b = bMax * Math.sqrt(rng.nextDouble());
+
+            collisionService.simulate(primary, E / EV, b, BINDING_EV, collision);
+
+            // CM → LAB
+            double thetaCM = collision.thetaCM;
+            double denom = Math.cos(thetaCM) + M1 / M2;
+            denom = Math.max(denom, 1e-12);
+
+            double thetaLab = Math.atan(Math.sin(thetaCM) / denom);
+            double phi = 2 * Math.PI * rng.nextDouble();
+
+            rotate(thetaLab, phi);
+
+            // Lorentz: F = q(E + v × B)
+            if (lorentz.active()) {
+                double speed = Math.sqrt(2.0 * E / M1);
+                if (speed > 0) {
+                    double dt = step / speed;
+                    double beforeX = dirX;
+                    double beforeY = dirY;
+                    double beforeZ = dirZ;
+                    velocity[0] = dirX * speed;
+                    velocity[1] = dirY * speed;
+                    velocity[2] = dirZ * speed;
+                    lorentzForceService.advanceVelocity(velocity, lorentz, Z1, M1, dt);
+                    setNormalized(velocity[0], velocity[1], velocity[2]);
+                    deflection += angle(beforeX, beforeY, beforeZ, dirX, dirY, dirZ);
+                }
+            }
+
+            double Sn = collision.nuclearStopping * density;
+            double Se = collision.electronicStopping * density;
+
+            E -= (Sn + Se) * step;
+
+            if (E <= 0) break;
+
+            if (dirZ > 0) {
+                z += step * dirZ;
+            }
+
+            double T = collision.transferredEnergy * EV;
+            if (T > BINDING_EV * EV) {
+                cascade(recoil, density, 0.5 * T, 1, rng);
+            }
+
+            // выход из материала
+            if (dirZ < 0 && z <= 0) {
+                break;
+            }
+        }
+
+        depth = Math.max(z, 0.0);
+        lorentzDeflection = deflection;
+    }
+
+    /** Каскад отдачи (на глубину не влияет): атом мишени с энергией {@code E}, Дж. */
+    private void cascade(StoppingTable recoil, double density, double E, int level, RandomGenerator rng) {
+
+        if (E < 5 * EV || level > MAX_CASCADE_DEPTH) return;
+
+        while (E > E_MIN * EV) {
+
+            double sigma = recoil.crossSection(E);
+            if (sigma <= 0) break;
+
+            double lambda = 1.0 / (density * sigma);
+            double step = -lambda * Math.log(rng.nextDouble());
+            step = Math.min(step, MAX_STEP);
+
+            double bMax = Math.sqrt(sigma / Math.PI);
+            double b = bMax * Math.sqrt(rng.nextDouble());
+
+            collisionService.simulate(recoil, E / EV, b, BINDING_EV, collision);
+
+            double Sn = collision.nuclearStopping * density;
+            double Se = collision.electronicStopping * density;
+
+            E -= (Sn + Se) * step;
+
+            if (E <= 0) break;
+
+            double T = collision.transferredEnergy * EV;
+            if (T > BINDING_EV * EV) {
+                cascade(recoil, density, 0.5 * T, level + 1, rng);
+            }
+        }
+    }
+
+    static double atomicDensity(AtomList atom) {
+
+        double rho = atom.getDsteny();
+        double M = atom.getMolarMass();
+
+        if (rho <= 0 || M <= 0) {
+            return 1e28;
+        }
+
+        return rho * PhysicalConstants.NA / M;
+    }
+
+    /** Поворот направления на полярный {@code theta} и азимутальный {@code phi} углы. */
+    private void rotate(double theta, double phi) {
+
+        double ux = dirX;
+        double uy = dirY;
+        double uz = dirZ;
+
+        double sinT = Math.sin(theta);
+        double cosT = Math.cos(theta);
+
+        double sinP = Math.sin(phi);
+        double cosP = Math.cos(phi);
+
+        double sqrt = Math.sqrt(Math.max(1 - uz * uz, 0.0));
+
+        if (sqrt > 1e-10) {
+            setNormalized(
+                    ux * cosT + (ux * uz * cosP - uy * sinP) * sinT / sqrt,
+                    uy * cosT + (uy * uz * cosP + ux * sinP) * sinT / sqrt,
+                    uz * cosT - sqrt * cosP * sinT
+            );
+        } else {
+            // почти вертикальное движение
+            setNormalized(sinT * cosP, sinT * sinP, Math.signum(uz) * cosT);
+        }
+    }
+
+    private void setNormalized(double x, double y, double z) {
+        double mag = Math.sqrt(x * x + y * y + z * z);
+        if (mag < 1e-20) {
+            // защита от деления на 0
+            dirX = 0.0;
+            dirY = 0.0;
+            dirZ = 1.0;
+            return;
+        }
+        dirX = x / mag;
+        dirY = y / mag;
+        dirZ = z / mag;
+    }
+
+    private static double angle(double ax, double ay, double az, double bx, double by, double bz) {
+        double dot = ax * bx + ay * by + az * bz;
+        double mags = Math.sqrt(ax * ax + ay * ay + az * az) * Math.sqrt(bx * bx + by * by + bz * bz);
+        if (mags < 1e-20) return 0;
+        double cos = Math.max(-1.0, Math.min(1.0, dot / mags));
+        return Math.acos(cos);
+    }
+}
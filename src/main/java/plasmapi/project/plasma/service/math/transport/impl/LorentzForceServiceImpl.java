@@ -21,6 +21,25 @@ public class LorentzForceServiceImpl implements LorentzForceService {
         if (!context.active() || dt <= 0 || velocity.magnitude() <= 0) {
             return velocity;
         }
+        double[] v = {velocity.getX(), velocity.getY(), velocity.getZ()};
+        advanceVelocity(v, context, chargeUnits, massKg, dt);
+        return new Vector3D(v[0], v[1], v[2]);
+    }
+
+    @Override
+    public void advanceVelocity(
+            double[] velocity,
+            LorentzContext context,
+            int chargeUnits,
+            double massKg,
+            double dt
+    ) {
+        double vx = velocity[0];
+        double vy = velocity[1];
+        double vz = velocity[2];
+        if (!context.active() || dt <= 0 || Math.sqrt(vx * vx + vy * vy + vz * vz) <= 0) {
+            return;
+        }
 
         double mass = PhysicsMath.safeIonMassKg(massKg);
         int charge = PhysicsMath.safeIonCharge(chargeUnits);
@@ -31,14 +50,27 @@ public class LorentzForceServiceImpl implements LorentzForceService {
 
         // Алгоритм Бориса: F = q(E + v × B)
         double halfDt = dt * 0.5;
-        Vector3D vMinus = velocity.add(e.scale(qOverM * halfDt));
+        double kick = qOverM * halfDt;
+        double ex = e.getX() * kick;
+        double ey = e.getY() * kick;
+        double ez = e.getZ() * kick;
+        double mx = vx + ex;
+        double my = vy + ey;
+        double mz = vz + ez;
 
-        Vector3D t = b.scale(qOverM * halfDt);
-        double tMagSq = t.magnitudeSquared();
-        Vector3D s = t.scale(2.0 / (1.0 + tMagSq));
+        double tx = b.getX() * kick;
+        double ty = b.getY() * kick;
+        double tz = b.getZ() * kick;
+        double tMagSq = tx * tx + ty * ty + tz * tz;
+        double sScale = 2.0 / (1.0 + tMagSq);
+        double sx = tx * sScale;
+        double sy = ty * sScale;
+        double sz = tz * sScale;
 
-        Vector3D vPlus = vMinus.add(vMinus.cross(s));
-        return vPlus.add(e.scale(qOverM * halfDt));
+        // v⁺ = v⁻ + v⁻ × s, затем второй полуудар полем E
+        velocity[0] = (mx + (my * sz - mz * sy)) + ex;
+        velocity[1] = (my + (mz * sx - mx * sz)) + ey;
+        velocity[2] = (mz + (mx * sy - my * sx)) + ez;
     }
 
     @Override
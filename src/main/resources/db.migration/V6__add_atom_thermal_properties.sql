@@ -0,0 +1,10 @@
+CREATE TABLE plazma.atom_thermal_properties (
+    id SERIAL PRIMARY KEY,
+    atom_list_id INT NOT NULL REFERENCES plazma.atom_list(id) ON DELETE CASCADE,
+    temperature DOUBLE PRECISION NOT NULL CHECK (temperature > 0),
+    thermal_conductivity DOUBLE PRECISION NOT NULL CHECK (thermal_conductivity > 0),
+    heat_capacity DOUBLE PRECISION NOT NULL CHECK (heat_capacity > 0),
+    UNIQUE (atom_list_id, temperature)
+);
+
+CREATE INDEX idx_atom_thermal_properties_atom ON plazma.atom_thermal_properties(atom_list_id);
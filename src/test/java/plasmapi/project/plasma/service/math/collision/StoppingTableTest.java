@@ -0,0 +1,65 @@
+package plasmapi.project.plasma.service.math.collision;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.service.math.PhysicalConstants;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoppingTableTest {
+
+    private static final double EV = PhysicalConstants.EV;
+    private static final double E2 = PhysicalConstants.E_CHARGE_SQ / (4.0 * Math.PI * PhysicalConstants.EPS0);
+    /** Допуск линейной интерполяции по ln ε при 64 узлах на декаду. */
+    private static final double TOLERANCE = 1e-3;
+
+    @Test
+    void interpolatedFunctionStaysWithinBound() {
+        double worst = 0.0;
+        for (double logEps = -7.0; logEps <= 10.0; logEps += 0.0013) {
+            double eps = Math.pow(10.0, logEps);
+            double exact = universal(eps);
+            worst = Math.max(worst, Math.abs(StoppingTable.nuclearFunction(eps) - exact) / exact);
+        }
+        assertTrue(worst < TOLERANCE, "relative error " + worst);
+    }
+
+    @Test
+    void pairMatchesAnalyticFormulas() {
+        double[][] pairs = {
+                {1, 1.67e-27, 14, 4.66e-26},  // H → Si
+                {1, 6.63e-26, 2, 9.27e-26},   // Ar⁺ → Fe
+                {18, 6.63e-26, 74, 3.05e-25}, // Ar → W
+                {2, 1.99e-26, 2, 1.99e-26},   // отдача C → C
+        };
+        for (double[] p : pairs) {
+            int z1 = (int) p[0];
+            int z2 = (int) p[2];
+            StoppingTable table = StoppingTable.of(z1, p[1], z2, p[3]);
+            double a = 0.8853 * 0.529e-10 / (Math.pow(z1, 0.23) + Math.pow(z2, 0.23));
+            assertEquals(a, table.screeningLength(), 1e-12 * a);
+            for (double ev = 1.0; ev <= 1e7; ev *= 1.37) {
+                double E = ev * EV;
+                double eps = Math.max(E / (z1 * z2 * E2 / a) * (p[3] / (p[1] + p[3])), 1e-12);
+                double g = universal(eps);
+                double sigma = Math.max(Math.PI * a * a * g, 1e-22);
+                double sn = 4 * Math.PI * a * a * Math.pow(z1 * z2 * E2, 2)
+                        * (p[1] * p[3] / Math.pow(p[1] + p[3], 2)) * g;
+                double se = 0.0793 * Math.pow(z1, 2.0 / 3.0) * Math.sqrt(z2) * Math.sqrt(ev) * 1e-20;
+
+                assertEquals(eps, table.reducedEnergy(E), 1e-12 * eps);
+                assertEquals(sigma, table.crossSection(E), TOLERANCE * sigma, "sigma at " + ev + " eV");
+                assertEquals(sn, table.nuclearStopping(E), TOLERANCE * sn, "Sn at " + ev + " eV");
+                assertEquals(se, table.electronicStopping(ev), 1e-12 * se, "Se at " + ev + " eV");
+            }
+        }
+    }
+
+    /** {@code g(ε)} ZBL по формуле, как считал расчёт столкновения до таблиц. */
+    private static double universal(double eps) {
+        if (eps < 1e-6) {
+            return Math.sqrt(eps);
+        }
+        return Math.log(1 + 1.138 * eps) / (eps + 0.01321 * Math.pow(eps, 0.21226) + 0.19593 * Math.sqrt(eps));
+    }
+}
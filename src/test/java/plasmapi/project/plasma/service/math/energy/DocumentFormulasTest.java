@@ -1,5 +1,6 @@
 package plasmapi.project.plasma.service.math.energy;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 import plasmapi.project.plasma.model.res.PlasmaConfiguration;
@@ -8,8 +9,7 @@ import plasmapi.project.plasma.config.MathParallelProperties;
 import plasmapi.project.plasma.service.math.energy.impl.FluenceIntegrationServiceImpl;
 import plasmapi.project.plasma.service.math.energy.impl.ModifiedLayerThicknessServiceImpl;
 import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
-
-import java.util.concurrent.Semaphore;
+import plasmapi.project.plasma.service.math.parallel.SimulationAdmissionController;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -23,7 +23,7 @@ class DocumentFormulasTest {
     private static MathParallelSupport sequentialParallelSupport() {
         MathParallelProperties props = new MathParallelProperties();
         props.setEnabled(false);
-        return new MathParallelSupport(props, new Semaphore(1));
+        return new MathParallelSupport(props, new SimulationAdmissionController(props, new SimpleMeterRegistry()));
     }
     private final ModifiedLayerThicknessServiceImpl layerService = new ModifiedLayerThicknessServiceImpl();
 
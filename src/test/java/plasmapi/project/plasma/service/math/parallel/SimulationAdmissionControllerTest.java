@@ -0,0 +1,100 @@
+package plasmapi.project.plasma.service.math.parallel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.config.MathParallelProperties;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationAdmissionControllerTest {
+
+    private static final SimulationCost SMALL = SimulationCost.of(1_000_000L, 0, 0, 0);
+    private static final SimulationCost HUGE = SimulationCost.of(1_000_000_000L, 200, 0, 0);
+
+    private static SimulationAdmissionController controller(int maxQueued) {
+        MathParallelProperties props = new MathParallelProperties();
+        props.setSimulationCostBudget(1.0e8);
+        props.setSimulationMaxQueued(maxQueued);
+        return new SimulationAdmissionController(props, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void cheapRunsShareBudgetWhileExpensiveRunExclusive() throws Exception {
+        SimulationAdmissionController admission = controller(4);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> first = pool.submit(() -> admission.run(SMALL, () -> hold(bothRunning, release)));
+            Future<?> second = pool.submit(() -> admission.run(SMALL, () -> hold(bothRunning, release)));
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS), "две дешёвые задачи помещаются в бюджет");
+
+            CompletableFuture<Integer> huge = CompletableFuture.supplyAsync(
+                    () -> admission.run(HUGE, admission::running), pool
+            );
+            awaitQueued(admission, 1);
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, huge.get(5, TimeUnit.SECONDS), "дорогая задача выполняется одна");
+            assertEquals(0, admission.running());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void fullQueueIsRejectedWithRetryAfter() throws Exception {
+        SimulationAdmissionController admission = controller(0);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> busy = pool.submit(() -> admission.run(HUGE, () -> hold(running, release)));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            SimulationQueueFullException ex = assertThrows(
+                    SimulationQueueFullException.class,
+                    () -> admission.run(SMALL, () -> null)
+            );
+            assertNotNull(ex.getRetryAfterSeconds());
+            assertTrue(ex.getRetryAfterSeconds() >= 1);
+
+            release.countDown();
+            busy.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Object hold(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+
+    private static void awaitQueued(SimulationAdmissionController admission, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admission.queued() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, admission.queued());
+    }
+}
@@ -0,0 +1,60 @@
+package plasmapi.project.plasma.service.math.parallel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.config.MathParallelProperties;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StageGraphTest {
+
+    private static MathParallelSupport parallelSupport() {
+        MathParallelProperties props = new MathParallelProperties();
+        props.setEnabled(true);
+        return new MathParallelSupport(props, new SimulationAdmissionController(props, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void criticalPathFollowsSlowestChain() {
+        StageGraph graph = parallelSupport().newStageGraph();
+
+        StageGraph.Stage<Integer> fast = graph.stage("fast", () -> 1);
+        StageGraph.Stage<Integer> slow = graph.stage("slow", () -> {
+            sleep(50);
+            return 2;
+        });
+        StageGraph.Stage<Integer> sum = graph.stage("sum", () -> fast.join() + slow.join(), fast, slow);
+
+        assertEquals(3, sum.join());
+        StageGraph.Report report = graph.report();
+        assertEquals(List.of("slow", "sum"), report.criticalPath());
+        assertEquals(3, report.stages().size());
+        assertTrue(report.wallMs() >= 50.0);
+    }
+
+    @Test
+    void failureOfInputIsRethrownFromDependentStage() {
+        StageGraph graph = parallelSupport().newStageGraph();
+        StageGraph.Stage<Integer> broken = graph.stage("broken", () -> {
+            throw new IllegalStateException("boom");
+        });
+        StageGraph.Stage<Integer> dependent = graph.stage("dependent", () -> broken.join() + 1, broken);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, dependent::join);
+        assertEquals("boom", error.getMessage());
+        assertTrue(graph.report().stages().stream().noneMatch(s -> s.stage().equals("dependent")));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
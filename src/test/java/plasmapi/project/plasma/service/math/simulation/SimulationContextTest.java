@@ -0,0 +1,147 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationIntermediateResultDto;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRunResponse;
+import plasmapi.project.plasma.mapper.simulation.SimulationResultMapper;
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.model.res.Ion;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.diffusion.DiffusionIntermediate;
+import plasmapi.project.plasma.service.math.energy.EnergyDepositionResult;
+import plasmapi.project.plasma.service.math.energy.EnergyDepositionService;
+import plasmapi.project.plasma.service.math.energy.IntermediateResultEnrichmentService;
+import plasmapi.project.plasma.service.math.plazma.PlasmaResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationContextTest {
+
+    @Test
+    void stageIsEvaluatedOncePerContext() {
+        SimulationContext context = SimulationContext.create();
+        AtomicInteger calls = new AtomicInteger();
+        PlasmaResult plasma = new PlasmaResult(500.0, 1e19);
+
+        PlasmaResult first = context.stage(SimulationContext.PLASMA, () -> {
+            calls.incrementAndGet();
+            return plasma;
+        });
+        PlasmaResult second = context.stage(SimulationContext.PLASMA, () -> {
+            calls.incrementAndGet();
+            return new PlasmaResult(1.0, 1.0);
+        });
+
+        assertEquals(1, calls.get());
+        assertSame(plasma, first);
+        assertSame(plasma, second);
+        assertSame(plasma, context.plasma());
+        assertEquals(1, context.evaluations().get(SimulationContext.PLASMA).computed());
+        assertEquals(1, context.evaluations().get(SimulationContext.PLASMA).reused());
+    }
+
+    @Test
+    void saveAndResponseShareOneFallbackRecompute() {
+        AtomicInteger energyCalls = new AtomicInteger();
+        List<PlasmaConfiguration> fallbackConfigs = new ArrayList<>();
+        EnergyDepositionService energyService = (cfg, atom, ion, flux, energy, time, temp, modulation) -> {
+            energyCalls.incrementAndGet();
+            if (cfg == null) {
+                return energyDeposition(0.0);
+            }
+            fallbackConfigs.add(cfg);
+            assertEquals(1.0, modulation.applyAsDouble(30.0));
+            return energyDeposition(2e-6);
+        };
+        IntermediateResultEnrichmentService enrichment = new IntermediateResultEnrichmentService(energyService);
+        SimulationResultMapper mapper = new SimulationResultMapper(enrichment);
+
+        // этап конвейера дал skinDepth = 0: обогащение пересчитывает с ограниченным наклоном
+        SimulationContext context = SimulationContext.create();
+        context.stage(SimulationContext.ENERGY_DEPOSITION, () -> energyService.compute(
+                null, null, null, 0, 0, 0, 0, null));
+        SimulationResult result = result(context);
+        SimulationIntermediateResultDto base = mapper.toIntermediateDto(result.getIntermediate());
+        assertEquals(0.0, base.skinDepth());
+
+        SimulationIntermediateResultDto onSave = enrichment.enrich(base, result);
+        SimulationRunResponse response = SimulationRunResponse.from(result, base, enrichment, null, null);
+
+        assertEquals(2, energyCalls.get());
+        assertEquals(1, fallbackConfigs.size());
+        assertNotSame(result.getPlasmaConfig(), fallbackConfigs.get(0));
+        assertTrue(fallbackConfigs.get(0).getIonIncidenceAngle() > 0);
+        assertEquals(2e-6, onSave.skinDepth());
+        assertSame(onSave, response.intermediate());
+        assertEquals(1, context.evaluations().get(SimulationContext.ENERGY_DEPOSITION).computed());
+        assertEquals(1, context.evaluations().get(SimulationContext.ENERGY_DEPOSITION_FALLBACK).computed());
+        assertEquals(1, context.evaluations().get(SimulationContext.INTERMEDIATE).computed());
+        assertEquals(1, context.evaluations().get(SimulationContext.INTERMEDIATE).reused());
+    }
+
+    @Test
+    void intermediateIsKeyedOnBase() {
+        AtomicInteger energyCalls = new AtomicInteger();
+        EnergyDepositionService energyService = (cfg, atom, ion, flux, energy, time, temp, modulation) -> {
+            energyCalls.incrementAndGet();
+            return energyDeposition(cfg == null ? 0.0 : 2e-6);
+        };
+        IntermediateResultEnrichmentService enrichment = new IntermediateResultEnrichmentService(energyService);
+        SimulationResultMapper mapper = new SimulationResultMapper(enrichment);
+        SimulationContext context = SimulationContext.create();
+        context.stage(SimulationContext.ENERGY_DEPOSITION, () -> energyService.compute(
+                null, null, null, 0, 0, 0, 0, null));
+        SimulationResult result = result(context);
+        SimulationIntermediateResultDto base = mapper.toIntermediateDto(result.getIntermediate());
+        SimulationIntermediateResultDto denser = mapper.toIntermediateDto(result(context, 3e19).getIntermediate());
+
+        SimulationIntermediateResultDto first = enrichment.enrich(base, result);
+        SimulationIntermediateResultDto other = enrichment.enrich(denser, result);
+
+        assertNotSame(first, other);
+        assertEquals(base.ionFlux(), first.ionFlux());
+        assertEquals(denser.ionFlux(), other.ionFlux());
+        assertSame(first, enrichment.enrich(mapper.toIntermediateDto(result.getIntermediate()), result));
+        assertEquals(3, energyCalls.get());
+        assertEquals(2, context.evaluations().get(SimulationContext.ENERGY_DEPOSITION_FALLBACK).computed());
+        assertEquals(2, context.evaluations().get(SimulationContext.INTERMEDIATE).computed());
+        assertEquals(1, context.evaluations().get(SimulationContext.INTERMEDIATE).reused());
+    }
+
+    private static SimulationResult result(SimulationContext context) {
+        return result(context, 1e19);
+    }
+
+    private static SimulationResult result(SimulationContext context, double ionFlux) {
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setVoltage(500.0);
+        cfg.setExposureTime(60.0);
+        cfg.setTargetTemperature(300.0);
+
+        Ion ion = new Ion();
+        ion.setCharge(1);
+        ion.setMass(6.63e-26);
+
+        PlasmaResult plasma = new PlasmaResult(500.0, ionFlux);
+        SimulationIntermediateResult intermediate = new SimulationIntermediateResult(
+                plasma,
+                context.energyDeposition(),
+                new ThermalIntermediate(350, 0, 0, 300, 400, 350),
+                new DiffusionIntermediate(1e-16, 3e-15, 1.5, 1e15, 1e-8, 3e-9, 1e9, 2e-10)
+        );
+        return new SimulationResult(null, new AtomList(), ion, cfg, null, plasma, intermediate,
+                null, null, context);
+    }
+
+    private static EnergyDepositionResult energyDeposition(double skinDepth) {
+        return new EnergyDepositionResult(100, 1e5, 1.2, 1.1, 1e18, 1e20, 1e-9,
+                skinDepth, 0, 0, 0, 350);
+    }
+}
@@ -0,0 +1,57 @@
+package plasmapi.project.plasma.service.math.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationStageMemoTest {
+
+    @Test
+    void sharedMemoComputesEachKeyOnceAcrossThreads() {
+        SimulationStageMemo memo = SimulationStageMemo.shared();
+        AtomicInteger calls = new AtomicInteger();
+
+        IntStream.range(0, 64).parallel().forEach(i -> memo.compute(
+                "thermal",
+                Arrays.asList(7850.0, i % 2 == 0 ? 500.0 : 600.0, null),
+                () -> {
+                    calls.incrementAndGet();
+                    return i;
+                }
+        ));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, memo.reuse().get("thermal").computed());
+        assertEquals(62, memo.reuse().get("thermal").reused());
+    }
+
+    @Test
+    void failedStageIsNotCachedAndDisabledMemoAlwaysComputes() {
+        SimulationStageMemo memo = SimulationStageMemo.shared();
+        assertThrows(IllegalStateException.class, () -> memo.compute("ion", 1, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(5, (int) memo.compute("ion", 1, () -> 5));
+
+        AtomicInteger calls = new AtomicInteger();
+        SimulationStageMemo.disabled().compute("atom", 1, calls::incrementAndGet);
+        SimulationStageMemo.disabled().compute("atom", 1, calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void primedValueIsReusedAndNotReplaced() {
+        SimulationStageMemo memo = SimulationStageMemo.shared();
+        memo.prime("thermal", 1, "batch");
+        memo.prime("thermal", 1, "other");
+
+        assertEquals("batch", memo.compute("thermal", 1, () -> "computed"));
+        assertEquals(1, memo.reuse().get("thermal").computed());
+        assertEquals(1, memo.reuse().get("thermal").reused());
+    }
+}
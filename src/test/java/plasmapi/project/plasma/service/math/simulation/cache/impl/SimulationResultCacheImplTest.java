@@ -0,0 +1,150 @@
+package plasmapi.project.plasma.service.math.simulation.cache.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import plasmapi.project.plasma.config.SimulationCacheProperties;
+import plasmapi.project.plasma.dto.mathDto.diffusion.AlloyComponentDto;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.diffusion.DiffusionProfile;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SimulationResultCacheImplTest {
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void normalizedRequestsShareOneEntry() {
+        SimulationResultCacheImpl cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+
+        SimulationRequest first = request(500.0, component(3, 0.25), component(2, 0.75));
+        SimulationRequest reordered = request(500.0 + 1e-10, component(2, 0.75), component(3, 0.25));
+        reordered.setConfigId(42);
+
+        SimulationResult a = cache.getOrCompute(first, this::compute);
+        SimulationResult b = cache.getOrCompute(reordered, this::compute);
+        cache.getOrCompute(request(510.0, component(2, 0.75), component(3, 0.25)), this::compute);
+
+        assertSame(a, b);
+        assertEquals(2, computations.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverSize() {
+        long entryWeight = SimulationResultCacheImpl.estimateWeight(compute());
+        SimulationResultCacheImpl cache = cache(DataSize.ofBytes(2 * entryWeight), Duration.ofMinutes(5));
+
+        cache.getOrCompute(request(100.0), this::compute);
+        cache.getOrCompute(request(200.0), this::compute);
+        cache.getOrCompute(request(100.0), this::compute); // 100 В — самый свежий
+        cache.getOrCompute(request(300.0), this::compute); // вытесняет 200 В
+        cache.getOrCompute(request(100.0), this::compute);
+        cache.getOrCompute(request(200.0), this::compute);
+
+        assertEquals(5, computations.get());
+        assertEquals(2, cache.stats().entries());
+        assertEquals(2 * entryWeight, cache.stats().weightBytes());
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    void atomChangeInvalidatesDependentEntriesOnly() {
+        SimulationResultCacheImpl cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+        SimulationRequest alloy = request(100.0, component(7, 1.0));
+        SimulationRequest plain = request(200.0);
+
+        SimulationResult alloyResult = cache.getOrCompute(alloy, this::compute);
+        SimulationResult plainResult = cache.getOrCompute(plain, this::compute);
+        cache.invalidateAtom(7);
+
+        assertNotSame(alloyResult, cache.getOrCompute(alloy, this::compute));
+        assertSame(plainResult, cache.getOrCompute(plain, this::compute));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void resultStartedBeforeInvalidationIsNotStored() {
+        SimulationResultCacheImpl cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+
+        cache.getOrCompute(request(100.0), () -> {
+            cache.invalidateIon(1);
+            return compute();
+        });
+
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void expiredEntryIsRecomputed() throws InterruptedException {
+        SimulationResultCacheImpl cache = cache(DataSize.ofMegabytes(1), Duration.ofMillis(1));
+
+        cache.getOrCompute(request(100.0), this::compute);
+        Thread.sleep(5);
+        cache.getOrCompute(request(100.0), this::compute);
+
+        assertEquals(2, computations.get());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void checkpointedRequestIsAlwaysRecomputed() {
+        SimulationResultCacheImpl cache = cache(DataSize.ofMegabytes(1), Duration.ofMinutes(5));
+        SimulationRequest checkpointed = request(100.0);
+        checkpointed.setThermalCheckpointId("nightly");
+
+        // расчёт пишет контрольную точку: повтор должен записать её снова
+        cache.getOrCompute(checkpointed, this::compute);
+        cache.getOrCompute(checkpointed, this::compute);
+
+        assertEquals(2, computations.get());
+        assertEquals(0, cache.stats().entries());
+        assertEquals(0, cache.stats().hits());
+    }
+
+    private SimulationResult compute() {
+        computations.incrementAndGet();
+        List<Double> points = Collections.nCopies(200, 1.0);
+        DiffusionProfile profile = new DiffusionProfile(
+                1e-18, 1e-19, 1.0, 2.0, 3e-15, 4e-15, 1e-8,
+                points, points, null, null, null
+        );
+        return new SimulationResult(profile, null, null, null, null, null, null, null, null, null);
+    }
+
+    private static SimulationResultCacheImpl cache(DataSize maxSize, Duration ttl) {
+        SimulationCacheProperties properties = new SimulationCacheProperties();
+        properties.setMaxSize(maxSize);
+        properties.setTtl(ttl);
+        return new SimulationResultCacheImpl(properties, new SimpleMeterRegistry());
+    }
+
+    private static SimulationRequest request(double voltage, AlloyComponentDto... composition) {
+        SimulationRequest request = new SimulationRequest();
+        request.setAtomId(1);
+        request.setIonId(1);
+        request.setVoltage(voltage);
+        request.setCurrent(0.5);
+        request.setPressure(10.0);
+        request.setExposureTime(60.0);
+        request.setComposition(List.of(composition));
+        return request;
+    }
+
+    private static AlloyComponentDto component(int atomId, double fraction) {
+        AlloyComponentDto dto = new AlloyComponentDto();
+        dto.setAtomId(atomId);
+        dto.setFraction(fraction);
+        return dto;
+    }
+}
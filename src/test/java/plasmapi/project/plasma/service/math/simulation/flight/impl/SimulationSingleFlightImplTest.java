@@ -0,0 +1,159 @@
+package plasmapi.project.plasma.service.math.simulation.flight.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.config.SimulationCacheProperties;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationSingleFlightImplTest {
+
+    private final ExecutorService flightExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SimulationSingleFlightImpl singleFlight = new SimulationSingleFlightImpl(
+            flightExecutor, new SimulationCacheProperties(), registry
+    );
+
+    @AfterEach
+    void shutdown() {
+        flightExecutor.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentRequestsShareOneComputation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        SimulationResult expected = result();
+        Supplier<SimulationResult> compute = () -> {
+            computations.incrementAndGet();
+            awaitQuietly(release);
+            return expected;
+        };
+
+        Future<SimulationResult> first = callers.submit(() -> singleFlight.execute(request(), compute));
+        Future<SimulationResult> second = callers.submit(() -> singleFlight.execute(request(), compute));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertSame(expected, first.get(5, TimeUnit.SECONDS));
+        assertSame(expected, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void computationSurvivesUntilLastWaiterLeaves() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        SimulationResult expected = result();
+        Supplier<SimulationResult> compute = () -> {
+            try {
+                release.await();
+                interrupted.complete(false);
+                return expected;
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+                throw new IllegalStateException(e);
+            }
+        };
+
+        Future<SimulationResult> first = callers.submit(() -> singleFlight.execute(request(), compute));
+        Future<SimulationResult> second = callers.submit(() -> singleFlight.execute(request(), compute));
+        awaitCoalesced(1);
+
+        first.cancel(true);
+        Thread.sleep(50);
+        assertEquals(1, singleFlight.inFlight());
+        release.countDown();
+        assertSame(expected, second.get(5, TimeUnit.SECONDS));
+        assertEquals(false, interrupted.get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 500 && singleFlight.inFlight() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        CompletableFuture<Boolean> lonelyInterrupted = new CompletableFuture<>();
+        CountDownLatch lonelyStarted = new CountDownLatch(1);
+        Future<SimulationResult> lonely = callers.submit(() -> singleFlight.execute(request(), () -> {
+            try {
+                lonelyStarted.countDown();
+                new CountDownLatch(1).await();
+                return expected;
+            } catch (InterruptedException e) {
+                lonelyInterrupted.complete(true);
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertTrue(lonelyStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.inFlight());
+        lonely.cancel(true);
+
+        assertTrue(lonelyInterrupted.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("plasma.simulation.flights.cancelled").counter().count());
+    }
+
+    @Test
+    void checkpointedRequestsAreNotCoalesced() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicInteger checkpointWrites = new AtomicInteger();
+        SimulationRequest checkpointed = request();
+        checkpointed.setThermalCheckpointId("nightly");
+        Supplier<SimulationResult> compute = () -> {
+            bothStarted.countDown();
+            awaitQuietly(bothStarted);
+            checkpointWrites.incrementAndGet();
+            return result();
+        };
+
+        Future<SimulationResult> first = callers.submit(() -> singleFlight.execute(checkpointed, compute));
+        Future<SimulationResult> second = callers.submit(() -> singleFlight.execute(checkpointed, compute));
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, checkpointWrites.get());
+        assertEquals(0.0, registry.get("plasma.simulation.flights.coalesced").counter().count());
+    }
+
+    private void awaitCoalesced(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && registry.get("plasma.simulation.flights.coalesced").counter().count() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, registry.get("plasma.simulation.flights.coalesced").counter().count());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SimulationRequest request() {
+        SimulationRequest request = new SimulationRequest();
+        request.setAtomId(1);
+        request.setIonId(2);
+        request.setVoltage(500.0);
+        request.setExposureTime(60.0);
+        return request;
+    }
+
+    private static SimulationResult result() {
+        return new SimulationResult(null, null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,118 @@
+package plasmapi.project.plasma.service.math.simulation.job.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.config.SimulationJobProperties;
+import plasmapi.project.plasma.controller.handler.exception.SimulationQueueFullException;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJob;
+import plasmapi.project.plasma.service.math.simulation.job.SimulationJobStatus;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationJobServiceImplTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger saved = new AtomicInteger();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1)
+    );
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private SimulationJobServiceImpl service() {
+        SimulationJobProperties props = new SimulationJobProperties();
+        props.setQueueCapacity(1);
+        return new SimulationJobServiceImpl(
+                (request, configId, listener) -> {
+                    // расчёт прерывания не слушает — как настоящий оркестратор
+                    awaitUninterruptibly(release);
+                    // как SimulationRunServiceImpl: отмена проверяется перед записью
+                    if (listener.cancelled()) {
+                        throw new CancellationException("cancelled");
+                    }
+                    saved.incrementAndGet();
+                    return null;
+                },
+                executor,
+                props,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void queuedJobCanBeCancelledAndFullQueueIsRejected() throws Exception {
+        SimulationJobServiceImpl service = service();
+
+        SimulationJob running = service.submit(new SimulationRequest());
+        waitForStatus(running, SimulationJobStatus.RUNNING);
+
+        SimulationJob queued = service.submit(new SimulationRequest());
+        assertEquals(SimulationJobStatus.QUEUED, queued.getStatus());
+        assertEquals(1, service.stats().queueDepth());
+
+        assertThrows(SimulationQueueFullException.class, () -> service.submit(new SimulationRequest()));
+        assertEquals(1, service.stats().rejected());
+
+        service.cancel(queued.getId());
+        assertEquals(SimulationJobStatus.CANCELLED, queued.getStatus());
+        assertEquals(0, service.stats().queueDepth());
+
+        release.countDown();
+        waitForStatus(running, SimulationJobStatus.COMPLETED);
+        assertTrue(service.find(running.getId()).isPresent());
+        assertEquals(1, saved.get());
+    }
+
+    @Test
+    void cancelledRunningJobIsNotSaved() throws Exception {
+        SimulationJobServiceImpl service = service();
+
+        SimulationJob job = service.submit(new SimulationRequest());
+        waitForStatus(job, SimulationJobStatus.RUNNING);
+
+        service.cancel(job.getId());
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(SimulationJobStatus.CANCELLED, job.getStatus());
+        assertEquals(0, saved.get());
+        assertEquals(0, service.stats().running());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForStatus(SimulationJob job, SimulationJobStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getStatus() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, job.getStatus());
+    }
+}
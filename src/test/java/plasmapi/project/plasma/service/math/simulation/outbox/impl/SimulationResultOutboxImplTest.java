@@ -0,0 +1,225 @@
+package plasmapi.project.plasma.service.math.simulation.outbox.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.config.SimulationPersistenceProperties;
+import plasmapi.project.plasma.dto.logikDTO.result.ResultDTO;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationResultDto;
+import plasmapi.project.plasma.mapper.simulation.SimulationResultMapper;
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.model.res.Ion;
+import plasmapi.project.plasma.service.logik.ResultService;
+import plasmapi.project.plasma.service.math.simulation.SimulationResult;
+import plasmapi.project.plasma.service.math.simulation.outbox.PendingResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationResultOutboxImplTest {
+
+    private final StubResults results = new StubResults();
+    private final SimulationPersistenceProperties properties = new SimulationPersistenceProperties();
+    private SimulationResultOutboxImpl outbox;
+
+    @AfterEach
+    void tearDown() {
+        results.release.countDown();
+        if (outbox != null) {
+            outbox.stop();
+        }
+    }
+
+    @Test
+    void queuedResultsAreWrittenInOneBatch() throws Exception {
+        results.holdBatches = true;
+        start(8);
+        PendingResult first = outbox.enqueue(result(), 1);
+        awaitQuietly(results.batchStarted);
+        List<PendingResult> rest = List.of(outbox.enqueue(result(), 1), outbox.enqueue(result(), 1));
+        assertEquals(PendingResult.Status.PENDING, status(first));
+        results.release.countDown();
+
+        awaitStatus(first, PendingResult.Status.SAVED);
+        for (PendingResult pending : rest) {
+            awaitStatus(pending, PendingResult.Status.SAVED);
+        }
+        assertEquals(List.of(1, 2), results.batchSizes);
+        assertEquals(0, results.singleWrites.get());
+        assertEquals(3, outbox.stats().written());
+    }
+
+    @Test
+    void failedBatchFallsBackToSingleWrites() throws Exception {
+        results.failBatches = true;
+        results.failingSingleWrite = 2;
+        properties.setMaxAttempts(2);
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        start(8);
+
+        List<PendingResult> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pending.add(outbox.enqueue(result(), 1));
+        }
+        outbox.stop();
+
+        long saved = pending.stream().filter(p -> status(p) == PendingResult.Status.SAVED).count();
+        long failed = pending.stream().filter(p -> status(p) == PendingResult.Status.FAILED).count();
+        assertEquals(2, saved);
+        assertEquals(1, failed);
+        assertEquals(3, results.singleWrites.get());
+        assertTrue(results.batchSizes.size() >= 2, "batch retried: " + results.batchSizes);
+        assertEquals(1, outbox.stats().failed());
+    }
+
+    @Test
+    void fullQueueSavesInRequestThread() throws Exception {
+        results.holdBatches = true;
+        start(1);
+        PendingResult writing = outbox.enqueue(result(), 1);
+        awaitQuietly(results.batchStarted);
+        PendingResult queued = outbox.enqueue(result(), 1);
+
+        PendingResult overflow = outbox.enqueue(result(), 1);
+
+        assertEquals(PendingResult.Status.SAVED, overflow.status());
+        assertEquals(PendingResult.Status.PENDING, status(queued));
+        assertEquals(1, outbox.stats().overflow());
+        results.release.countDown();
+        awaitStatus(writing, PendingResult.Status.SAVED);
+        awaitStatus(queued, PendingResult.Status.SAVED);
+    }
+
+    @Test
+    void stopDrainsQueueAndLaterResultsAreSavedDirectly() throws Exception {
+        results.holdBatches = true;
+        start(16);
+        PendingResult writing = outbox.enqueue(result(), 1);
+        awaitQuietly(results.batchStarted);
+        List<PendingResult> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queued.add(outbox.enqueue(result(), 1));
+        }
+        results.release.countDown();
+        outbox.stop();
+
+        assertEquals(PendingResult.Status.SAVED, status(writing));
+        for (PendingResult pending : queued) {
+            assertEquals(PendingResult.Status.SAVED, status(pending));
+        }
+        assertEquals(0, outbox.stats().depth());
+
+        PendingResult late = outbox.enqueue(result(), 1);
+        assertEquals(PendingResult.Status.SAVED, late.status());
+        assertEquals(7, outbox.stats().written());
+    }
+
+    private void start(int capacity) {
+        properties.setWriteBehind(true);
+        properties.setOutboxCapacity(capacity);
+        properties.setPollInterval(Duration.ofMillis(5));
+        outbox = new SimulationResultOutboxImpl(results, new StubMapper(), properties, new SimpleMeterRegistry());
+        outbox.start();
+    }
+
+    private PendingResult.Status status(PendingResult pending) {
+        return outbox.find(pending.id()).orElseThrow().status();
+    }
+
+    private void awaitStatus(PendingResult pending, PendingResult.Status expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status(pending) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, status(pending));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SimulationResult result() {
+        return new SimulationResult(null, new AtomList(), new Ion(), null, null, null, null, null, null, null);
+    }
+
+    /** Сохранённая строка: для очереди важен только id. */
+    private static ResultDTO saved(int id) {
+        return new ResultDTO(id, null, null, null, null, null, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, null, null);
+    }
+
+    private static final class StubMapper extends SimulationResultMapper {
+
+        StubMapper() {
+            super(null);
+        }
+
+        @Override
+        public SimulationResultDto toDto(SimulationResult result, Integer atomId, Integer configId, Integer ionId) {
+            return null;
+        }
+    }
+
+    private static final class StubResults implements ResultService {
+
+        final CountDownLatch batchStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> batchSizes = new ArrayList<>();
+        final AtomicInteger singleWrites = new AtomicInteger();
+        private final AtomicInteger ids = new AtomicInteger();
+        volatile boolean holdBatches;
+        volatile boolean failBatches;
+        /** Номер одиночной записи, которая падает; {@code 0} — все проходят. */
+        volatile int failingSingleWrite;
+
+        @Override
+        public Optional<ResultDTO> create(SimulationResultDto dto) {
+            if (singleWrites.incrementAndGet() == failingSingleWrite) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return Optional.of(saved(ids.incrementAndGet()));
+        }
+
+        @Override
+        public List<ResultDTO> createAll(List<SimulationResultDto> dtos) {
+            synchronized (batchSizes) {
+                batchSizes.add(dtos.size());
+            }
+            batchStarted.countDown();
+            if (holdBatches) {
+                awaitQuietly(release);
+            }
+            if (failBatches) {
+                throw new IllegalStateException("connection lost");
+            }
+            List<ResultDTO> saved = new ArrayList<>();
+            for (int i = 0; i < dtos.size(); i++) {
+                saved.add(saved(ids.incrementAndGet()));
+            }
+            return saved;
+        }
+
+        @Override
+        public Optional<ResultDTO> saveFromSimulation(SimulationResult simulationResult, Integer configId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ResultDTO> findAll() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
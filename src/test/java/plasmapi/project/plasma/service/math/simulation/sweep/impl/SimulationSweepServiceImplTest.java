@@ -0,0 +1,38 @@
+package plasmapi.project.plasma.service.math.simulation.sweep.impl;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.dto.mathDto.simulation.SimulationRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SimulationSweepRequest;
+import plasmapi.project.plasma.dto.mathDto.sweep.SweepAxisDto;
+import plasmapi.project.plasma.dto.mathDto.sweep.SweepParameter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimulationSweepServiceImplTest {
+
+    /** Проверка размера идёт до обращения к зависимостям. */
+    private final SimulationSweepServiceImpl service = new SimulationSweepServiceImpl(null, null, null);
+
+    @Test
+    void hugeStepsAreRejectedBeforeBuildingValues() {
+        SweepAxisDto axis = new SweepAxisDto(SweepParameter.VOLTAGE, null, 100.0, 900.0, Integer.MAX_VALUE);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> service.sweep(new SimulationSweepRequest(new SimulationRequest(), List.of(axis))));
+        assertEquals("Sweep grid exceeds 500 points", e.getMessage());
+    }
+
+    @Test
+    void gridSizeIsTheProductOfAxes() {
+        SweepAxisDto voltage = new SweepAxisDto(SweepParameter.VOLTAGE, null, 100.0, 900.0, 400);
+        SweepAxisDto current = new SweepAxisDto(SweepParameter.CURRENT, List.of(0.1, 0.2), null, null, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.sweep(new SimulationSweepRequest(new SimulationRequest(), List.of(voltage, current))));
+        assertEquals(400, voltage.size());
+        assertEquals(2, current.size());
+    }
+}
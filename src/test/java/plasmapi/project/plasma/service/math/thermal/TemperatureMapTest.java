@@ -0,0 +1,89 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TemperatureMapTest {
+
+    private static final double[] DEPTHS = {0.0, 1e-4, 3e-4, 7e-4, 1.5e-3};
+
+    @Test
+    void statisticsAreAccumulatedWhileAppendingAndRepeating() {
+        TemperatureMap.Builder builder = TemperatureMap.builder(DEPTHS, false, 1);
+        builder.append(0.0, new double[]{300, 300, 300, 300, 300});
+        builder.append(0.1, new double[]{500, 400, 350, Double.NaN, 300});
+        builder.append(0.2, new double[]{450, 420, 360, 310, 300});
+        builder.repeat(1, 3, 0.2);
+        TemperatureMap map = builder.build();
+
+        assertEquals(5, map.rows());
+        assertEquals(List.of(0.0, 0.1, 0.2, 0.30000000000000004, 0.4), map.times());
+        assertEquals(420.0, map.get(4, 1));
+        assertEquals(300.0, map.min());
+        assertEquals(500.0, map.max());
+        assertEquals(23, map.count());
+        double sum = 1500 + 2 * (500 + 400 + 350 + 300) + 2 * (450 + 420 + 360 + 310 + 300);
+        assertEquals(sum / 23, map.average(), 1e-9);
+        assertEquals(5L * 5 * Double.BYTES + 10L * Double.BYTES, map.storageBytes());
+    }
+
+    @Test
+    void serializesAsNestedArrays() throws Exception {
+        TemperatureMap map = TemperatureMap.builder(new double[]{0.0, 1e-3}, true, 2)
+                .append(0.0, new double[]{300.0, 300.0})
+                .append(0.5, new double[]{350.25, 300.5})
+                .build();
+
+        assertEquals("[[300.0,300.0],[350.25,300.5]]", new ObjectMapper().writeValueAsString(map));
+    }
+
+    @Test
+    void singlePrecisionHalvesStorage() {
+        double[] row = {1234.5678901, 1000.1, 700.25, 300.0, 300.0};
+        TemperatureMap full = TemperatureMap.builder(DEPTHS, false, 4).append(0.0, row).build();
+        TemperatureMap compact = TemperatureMap.builder(DEPTHS, true, 4).append(0.0, row).build();
+
+        assertTrue(compact.singlePrecision());
+        assertEquals(full.get(0, 0), compact.get(0, 0), 1e-4);
+        assertEquals(full.max(), compact.max());
+        assertTrue(compact.storageBytes() < full.storageBytes());
+    }
+
+    @Test
+    void levelOfDetailKeepsEndsAndFullStatistics() {
+        double[] depths = new double[101];
+        for (int c = 0; c < depths.length; c++) {
+            depths[c] = c * 1e-5;
+        }
+        TemperatureMap.Builder builder = TemperatureMap.builder(depths, false, 16);
+        double[] row = new double[depths.length];
+        for (int r = 0; r <= 500; r++) {
+            for (int c = 0; c < row.length; c++) {
+                row[c] = 300.0 + r + c;
+            }
+            builder.append(r * 1e-3, row);
+        }
+        TemperatureMap map = builder.build();
+
+        TemperatureMap lod = map.lod(50, 11);
+        assertEquals(50, lod.rows());
+        assertEquals(11, lod.columns());
+        assertEquals(0.0, lod.time(0));
+        assertEquals(0.5, lod.time(49), 1e-12);
+        assertEquals(1e-3, lod.depth(10), 1e-15);
+        assertEquals(map.get(500, 100), lod.get(49, 10));
+        assertEquals(map.max(), lod.max());
+
+        TemperatureMap coarser = lod.lod(5, 3);
+        assertEquals(map.get(500, 50), coarser.get(4, 1));
+        assertSame(lod, lod.lod(50, 11));
+        assertThrows(IllegalArgumentException.class, () -> map.lod(1, 10));
+    }
+}
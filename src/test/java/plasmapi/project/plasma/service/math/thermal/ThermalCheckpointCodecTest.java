@@ -0,0 +1,58 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.service.math.thermal.impl.ThermalServiceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThermalCheckpointCodecTest {
+
+    @Test
+    void roundTripKeepsInputsAndStateExactly() throws IOException {
+        ThermalPropertyTable table = ThermalPropertyTable.of(List.of(
+                new ThermalPropertyTable.Point(300.0, 50.0, 460.0),
+                new ThermalPropertyTable.Point(800.0, 35.0, 600.0)
+        ));
+        ThermalCheckpoint.Inputs inputs = new ThermalCheckpoint.Inputs(
+                7850.0, 460.0, 50.0, table, 300.0, 1e-3, 1e7, null,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null, 420.0, true,
+                0.1, 0.5, null, new ThermalResolution(500, 20_000, ThermalScheme.CRANK_NICOLSON, 1.05, 0.05, 1e-4, true)
+        );
+        ThermalCheckpoint checkpoint = new ThermalCheckpoint(
+                inputs, 1e-3, 1234, 1.234, 0.34, 2.5e-4, 3,
+                new double[]{310.5, 305.25, 300.125},
+                new double[]{0.75, Double.NaN, Double.NaN}
+        );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ThermalCheckpointCodec.write(checkpoint, bytes);
+        ThermalCheckpoint read = ThermalCheckpointCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(inputs.resolution(), read.inputs().resolution());
+        assertEquals(inputs.boundaryCondition(), read.inputs().boundaryCondition());
+        assertEquals(inputs.projectedRange(), read.inputs().projectedRange());
+        assertEquals(inputs.nodes(), read.inputs().nodes());
+        assertEquals(inputs.debyeTemperature(), read.inputs().debyeTemperature());
+        assertEquals(table.conductivity(555.0), read.inputs().thermalProperties().conductivity(555.0));
+        assertEquals(table.heatCapacity(555.0), read.inputs().thermalProperties().heatCapacity(555.0));
+        assertEquals(checkpoint.stepsDone(), read.stepsDone());
+        assertEquals(checkpoint.time(), read.time());
+        assertEquals(checkpoint.nextStep(), read.nextStep());
+        assertEquals(checkpoint.dampingLeft(), read.dampingLeft());
+        assertArrayEquals(checkpoint.field(), read.field());
+        assertArrayEquals(checkpoint.debyeReachedAt(), read.debyeReachedAt());
+    }
+
+    @Test
+    void rejectsForeignData() {
+        assertThrows(IOException.class,
+                () -> ThermalCheckpointCodec.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+}
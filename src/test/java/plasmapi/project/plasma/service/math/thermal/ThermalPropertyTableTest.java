@@ -0,0 +1,37 @@
+package plasmapi.project.plasma.service.math.thermal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThermalPropertyTableTest {
+
+    @Test
+    void uniformLookupReproducesPiecewiseLinearTable() {
+        ThermalPropertyTable table = ThermalPropertyTable.of(List.of(
+                new ThermalPropertyTable.Point(1000.0, 30.0, 700.0),
+                new ThermalPropertyTable.Point(300.0, 50.0, 460.0),
+                new ThermalPropertyTable.Point(500.0, 45.0, 520.0)
+        ));
+
+        assertEquals(14, table.intervals());
+        assertEquals(50.0, table.conductivity(300.0), 1e-12);
+        assertEquals(47.5, table.conductivity(400.0), 1e-12);
+        assertEquals(45.0, table.conductivity(500.0), 1e-12);
+        assertEquals(610.0, table.heatCapacity(750.0), 1e-9);
+        // вне таблицы — ближайший край
+        assertEquals(50.0, table.conductivity(20.0));
+        assertEquals(700.0, table.heatCapacity(5000.0));
+        assertEquals(50.0 / (7850.0 * 460.0), table.maxDiffusivity(7850.0), 1e-18);
+
+        assertNull(ThermalPropertyTable.of(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> ThermalPropertyTable.of(List.of(
+                new ThermalPropertyTable.Point(300.0, 50.0, 460.0),
+                new ThermalPropertyTable.Point(300.0, 40.0, 470.0)
+        )));
+    }
+}
@@ -0,0 +1,101 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import plasmapi.project.plasma.config.MathParallelProperties;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.parallel.MathParallelSupport;
+import plasmapi.project.plasma.service.math.parallel.SimulationAdmissionController;
+import plasmapi.project.plasma.service.math.thermal.AxisymmetricThermalResult;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AxisymmetricThermalServiceImplTest {
+
+    private static final ThermalResolution RESOLUTION =
+            new ThermalResolution(60, 10_000, ThermalScheme.BACKWARD_EULER, 1.1);
+
+    private final MathParallelSupport parallel = parallelSupport();
+    private final AxisymmetricThermalServiceImpl service = new AxisymmetricThermalServiceImpl(parallel);
+
+    @Test
+    void uniformSourceReproducesDepthSolverInEveryColumn() {
+        ReflectionTestUtils.setField(service, "geometryExponent", 0.0);
+
+        AxisymmetricThermalResult field = service.simulate(
+                cathode(), 300.0, 0.5, 1e-2, 1e-3, 1e7, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null,
+                false, null, null, 17, ProgressListener.NONE, RESOLUTION
+        );
+        ThermalResult depth = new ThermalServiceImpl().simulate(
+                cathode(), 300.0, 0.5, 1e-2, 1e-3, 1e7, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null, null, null,
+                false, null, null, ProgressListener.NONE, RESOLUTION
+        );
+
+        TemperatureMap map = depth.temperatureMap();
+        double[] profile = map.row(map.rows() - 1);
+        assertTrue(profile[0] > 310.0, "surface: " + profile[0]);
+        for (double[] column : field.temperature()) {
+            assertArrayEquals(profile, column, 1e-9);
+        }
+    }
+
+    @Test
+    void tilesWithHaloExchangeMatchSingleTile() {
+        PlasmaConfiguration cfg = cathode();
+        ThermalTimeLoop.State state = ThermalServiceImpl.prepare(
+                cfg, 300.0, 0.5, 1e-2, 1e-3, 1e7, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.ADIABATIC, 300.0, 0.0, null, null,
+                true, 0.1, 0.5, ProgressListener.NONE,
+                new ThermalResolution(60, 10_000, ThermalScheme.BACKWARD_EULER, 1.1)
+        );
+        AxisymmetricThermalServiceImpl.Grid grid = AxisymmetricThermalServiceImpl.grid(cfg, state.dt, 81);
+        AxisymmetricTileLoop.Geometry geometry = AxisymmetricThermalServiceImpl.geometry(
+                grid, 50.0 / (7850.0 * 460.0), state.dt, 2.0
+        );
+        assertTrue(grid.stages() > AxisymmetricTileLoop.HALO_DEPTH, "stages: " + grid.stages());
+
+        AxisymmetricTileLoop.Result single = AxisymmetricTileLoop.run(state, geometry, 1, parallel);
+        AxisymmetricTileLoop.Result tiled = AxisymmetricTileLoop.run(state, geometry, 4, parallel);
+
+        assertEquals(4, tiled.tiles());
+        assertArrayEquals(single.finalField(), tiled.finalField());
+        assertArrayEquals(single.peakField(), tiled.peakField());
+        int n = state.n;
+        double axis = tiled.peakField()[0];
+        double edge = tiled.peakField()[80 * n];
+        assertTrue(axis > edge && edge > 300.0, "axis " + axis + ", edge " + edge);
+    }
+
+    @Test
+    void radialNodesAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> AxisymmetricThermalServiceImpl.grid(cathode(), 1e-3, 2));
+        assertEquals(1, AxisymmetricThermalServiceImpl.tiles(16, 20, 8));
+        assertEquals(8, AxisymmetricThermalServiceImpl.tiles(512, 200, 8));
+    }
+
+    private static PlasmaConfiguration cathode() {
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(7850.0);
+        cfg.setHeatCapacity(460.0);
+        cfg.setThermalConductivity(50.0);
+        cfg.setChamberWidth(0.02);
+        cfg.setChamberDepth(0.02);
+        return cfg;
+    }
+
+    private static MathParallelSupport parallelSupport() {
+        MathParallelProperties props = new MathParallelProperties();
+        return new MathParallelSupport(props, new SimulationAdmissionController(props, new SimpleMeterRegistry()));
+    }
+}
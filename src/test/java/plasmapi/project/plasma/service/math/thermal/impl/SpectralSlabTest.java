@@ -0,0 +1,99 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpectralSlabTest {
+
+    private static final ThermalResolution STEPPED =
+            new ThermalResolution(201, 1_000_000, ThermalScheme.EXPLICIT, 1.0, 0.0, 0.0, false, 0.0);
+    private static final ThermalResolution SPECTRAL =
+            new ThermalResolution(201, 1_000_000, ThermalScheme.EXPLICIT, 1.0, 0.0, 0.0, false, 0.01);
+
+    @Test
+    void seriesMatchesTimeLoop() {
+        for (ThermalServiceImpl.BoundaryCondition bc : new ThermalServiceImpl.BoundaryCondition[]{
+                ThermalServiceImpl.BoundaryCondition.ADIABATIC,
+                ThermalServiceImpl.BoundaryCondition.FIXED_TEMPERATURE}) {
+            ThermalResult exact = simulate(bc, false, null, 201, SPECTRAL);
+            assertTrue(exact.stepStats().spectralModes() > 0, bc + ": series must be used");
+            assertEquals(0, exact.stepStats().acceptedSteps());
+            double difference = maxDifference(simulate(bc, false, null, 201, STEPPED), exact);
+            assertTrue(difference < 0.03 * (exact.temperatureMap().max() - 300.0), bc + ": " + difference);
+        }
+    }
+
+    @Test
+    void timeLoopConvergesToSeries() {
+        // у адиабатической поверхности схема теряет источник в полуячейке у границы: ошибка ~ dx/Rp
+        ThermalServiceImpl.BoundaryCondition bc = ThermalServiceImpl.BoundaryCondition.ADIABATIC;
+        double coarse = maxDifference(simulate(bc, false, null, 201, STEPPED), simulate(bc, false, null, 201, SPECTRAL));
+        double fine = maxDifference(simulate(bc, false, null, 401, STEPPED), simulate(bc, false, null, 401, SPECTRAL));
+        assertTrue(fine < 0.6 * coarse, fine + " vs " + coarse);
+    }
+
+    @Test
+    void cyclingSumsSourceIntervals() {
+        ThermalResult stepped = simulate(ThermalServiceImpl.BoundaryCondition.ADIABATIC, true, null, 201, STEPPED);
+        ThermalResult exact = simulate(ThermalServiceImpl.BoundaryCondition.ADIABATIC, true, null, 201, SPECTRAL);
+        assertTrue(exact.stepStats().spectralModes() > 0);
+        double difference = maxDifference(stepped, exact);
+        assertTrue(difference < 0.03 * (exact.temperatureMap().max() - 300.0), "difference " + difference);
+    }
+
+    @Test
+    void fallsBackWhenDebyeLimitCanBeReached() {
+        ThermalResult clamped = simulate(ThermalServiceImpl.BoundaryCondition.ADIABATIC, false, 305.0, 201, SPECTRAL);
+        assertEquals(0, clamped.stepStats().spectralModes());
+        assertTrue(clamped.stepStats().acceptedSteps() > 0);
+        assertTrue(clamped.debyeReachTime() > 0);
+
+        ThermalResult cold = simulate(ThermalServiceImpl.BoundaryCondition.ADIABATIC, false, 1000.0, 201, SPECTRAL);
+        assertTrue(cold.stepStats().spectralModes() > 0);
+        assertTrue(Double.isNaN(cold.debyeReachTime()));
+    }
+
+    /** Наибольшее расхождение профилей, К; моменты профилей должны совпадать. */
+    private static double maxDifference(ThermalResult expected, ThermalResult actual) {
+        TemperatureMap a = expected.temperatureMap();
+        TemperatureMap b = actual.temperatureMap();
+        assertEquals(a.rows(), b.rows());
+        double difference = 0.0;
+        for (int r = 0; r < a.rows(); r++) {
+            assertEquals(a.time(r), b.time(r), 1e-12);
+            for (int c = 0; c < a.columns(); c++) {
+                difference = Math.max(difference, Math.abs(a.get(r, c) - b.get(r, c)));
+            }
+        }
+        return difference;
+    }
+
+    private static ThermalResult simulate(
+            ThermalServiceImpl.BoundaryCondition bc,
+            boolean cycling,
+            Double debyeTemperature,
+            int nodes,
+            ThermalResolution resolution
+    ) {
+        return new ThermalServiceImpl().simulate(
+                steel(), 300.0, 0.1, 1e-3, 1e-3, 1e6, 1e-4, bc, 300.0, 0.0, nodes,
+                debyeTemperature, 1e-4, cycling, 0.02, 0.3, ProgressListener.NONE, resolution
+        );
+    }
+
+    private static PlasmaConfiguration steel() {
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(7850.0);
+        cfg.setHeatCapacity(460.0);
+        cfg.setThermalConductivity(50.0);
+        return cfg;
+    }
+}
@@ -0,0 +1,120 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StencilKernelTest {
+
+    @Test
+    void vectorKernelMatchesScalarBitForBit() {
+        StencilKernel vector = vectorKernel();
+
+        Random random = new Random(42);
+        for (int n : new int[]{3, 4, 7, 17, 64, 1001}) {
+            double[] current = new double[n];
+            double[] west = new double[n];
+            double[] east = new double[n];
+            double[] source = new double[n];
+            for (int i = 0; i < n; i++) {
+                current[i] = 300.0 + 1500.0 * random.nextDouble();
+                west[i] = 0.5 * random.nextDouble();
+                east[i] = 0.5 * random.nextDouble();
+                source[i] = 1e6 * random.nextDouble();
+            }
+            if (n > 10) {
+                current[n / 2] = Double.NaN;
+            }
+            for (double limit : new double[]{Double.POSITIVE_INFINITY, 1200.0}) {
+                double[] expected = new double[n];
+                double[] actual = new double[n];
+                StencilKernel.SCALAR.explicitStep(current, expected, west, east, source, 1e-4, limit, 1, n - 1);
+                vector.explicitStep(current, actual, west, east, source, 1e-4, limit, 1, n - 1);
+                assertArrayEquals(expected, actual, "n = " + n + ", limit = " + limit);
+            }
+        }
+    }
+
+    @Test
+    void vectorImplicitRhsMatchesScalarBitForBit() {
+        StencilKernel vector = vectorKernel();
+
+        Random random = new Random(11);
+        for (int n : new int[]{3, 5, 17, 1001}) {
+            double[] current = new double[n];
+            double[] west = new double[n];
+            double[] east = new double[n];
+            double[] source = new double[n];
+            for (int i = 0; i < n; i++) {
+                current[i] = 300.0 + 1500.0 * random.nextDouble();
+                west[i] = 40.0 * random.nextDouble();
+                east[i] = 40.0 * random.nextDouble();
+                source[i] = 1e6 * random.nextDouble();
+            }
+            double[] expected = new double[n];
+            double[] actual = new double[n];
+            StencilKernel.SCALAR.implicitRhs(current, expected, west, east, source, 0.5, 1e-4, 1, n - 1);
+            vector.implicitRhs(current, actual, west, east, source, 0.5, 1e-4, 1, n - 1);
+            assertArrayEquals(expected, actual, "n = " + n);
+
+            // строки пакета: width конфигураций на узел
+            int width = 11;
+            double[] batch = new double[n * width];
+            double[] sources = new double[n * width];
+            for (int j = 0; j < batch.length; j++) {
+                batch[j] = 300.0 + 1500.0 * random.nextDouble();
+                sources[j] = 1e6 * random.nextDouble();
+            }
+            double[] batchExpected = new double[batch.length];
+            double[] batchActual = new double[batch.length];
+            for (int i = 1; i < n - 1; i++) {
+                int base = i * width;
+                StencilKernel.SCALAR.batchRhs(batch, batchExpected, west[i], east[i], sources, 0.5, 1e-4,
+                        width, base, base + width);
+                vector.batchRhs(batch, batchActual, west[i], east[i], sources, 0.5, 1e-4,
+                        width, base, base + width);
+            }
+            assertArrayEquals(batchExpected, batchActual, "batch, n = " + n);
+        }
+    }
+
+    @Test
+    void vectorRadialStageMatchesScalarBitForBit() {
+        StencilKernel vector = vectorKernel();
+
+        Random random = new Random(7);
+        int columns = 37;
+        int rows = 3;
+        double[] current = new double[rows * columns];
+        double[] older = new double[rows * columns];
+        double[] inward = new double[columns];
+        double[] outward = new double[columns];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = 300.0 + 500.0 * random.nextDouble();
+            older[i] = 300.0 + 500.0 * random.nextDouble();
+        }
+        for (int c = 0; c < columns; c++) {
+            inward[c] = 0.1 * random.nextDouble();
+            outward[c] = 0.1 * random.nextDouble();
+        }
+        double[] expected = new double[current.length];
+        double[] actual = new double[current.length];
+        for (int row = 0; row < rows; row++) {
+            StencilKernel.SCALAR.radialStage(current, older, expected, inward, outward, 5.0 / 3.0, -2.0 / 3.0,
+                    row * columns, 1, columns - 1);
+            vector.radialStage(current, older, actual, inward, outward, 5.0 / 3.0, -2.0 / 3.0,
+                    row * columns, 1, columns - 1);
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    /** Векторное ядро собирается и подключается только в профиле {@code vector} ({@code mvn -Pvector test}). */
+    private static StencilKernel vectorKernel() {
+        StencilKernel vector = StencilKernel.Selection.vector();
+        assumeTrue(vector != null, "vector kernel is built with -Pvector");
+        return vector;
+    }
+}
@@ -0,0 +1,484 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpoint;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointStore;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointing;
+import plasmapi.project.plasma.service.math.thermal.ThermalObservation;
+import plasmapi.project.plasma.service.math.thermal.ThermalProbe;
+import plasmapi.project.plasma.service.math.thermal.ThermalPropertyTable;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+import plasmapi.project.plasma.service.math.thermal.ThermalStepStats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThermalServiceImplTest {
+
+    private final ThermalServiceImpl service = new ThermalServiceImpl();
+
+    @Test
+    void progressReachesTotalStepsWithoutChangingResult() {
+        List<long[]> ticks = new ArrayList<>();
+
+        ThermalResult silent = simulate(null);
+        ThermalResult reported = simulate(ticks);
+
+        assertTrue(ticks.size() >= 2 && ticks.size() <= 101, "ticks: " + ticks.size());
+        long[] last = ticks.get(ticks.size() - 1);
+        assertEquals(last[1], last[0]);
+        for (int i = 1; i < ticks.size(); i++) {
+            assertTrue(ticks.get(i)[0] > ticks.get(i - 1)[0]);
+        }
+        assertEquals(silent.finalProbeTemperature(), reported.finalProbeTemperature());
+        assertArrayEquals(
+                silent.temperatureMap().row(silent.temperatureMap().rows() - 1),
+                reported.temperatureMap().row(reported.temperatureMap().rows() - 1)
+        );
+    }
+
+    @Test
+    void resolutionBoundsAutomaticGrid() {
+        double alpha = 50.0 / (7850.0 * 460.0);
+        ThermalServiceImpl.Grid standard = ThermalServiceImpl.grid(
+                alpha, 10.0, 0.1, 1e-3, 1e-8, null, false, null, ThermalResolution.DEFAULT
+        );
+        ThermalServiceImpl.Grid preview = ThermalServiceImpl.grid(
+                alpha, 10.0, 0.1, 1e-3, 1e-8, null, false, null, new ThermalResolution(40, 20_000)
+        );
+
+        assertEquals(1000, standard.nodes());
+        assertEquals(1_000_000, standard.steps());
+        assertEquals(40, preview.nodes());
+        assertTrue(preview.steps() <= 20_000);
+        assertTrue(preview.work() * 100 < standard.work());
+    }
+
+    @Test
+    void crankNicolsonMatchesExplicitWithFarFewerSteps() {
+        double alpha = 50.0 / (7850.0 * 460.0);
+        ThermalResolution explicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.EXPLICIT);
+        ThermalResolution implicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON);
+
+        for (ThermalServiceImpl.BoundaryCondition bc : ThermalServiceImpl.BoundaryCondition.values()) {
+            ThermalResult reference = simulate(bc, explicit);
+            ThermalResult fast = simulate(bc, implicit);
+            double heating = reference.finalProbeTemperature() - 300.0;
+            assertTrue(heating > 1.0, bc + " heating: " + heating);
+            assertEquals(reference.finalProbeTemperature(), fast.finalProbeTemperature(), 0.01 * heating, bc.name());
+        }
+
+        ThermalServiceImpl.Grid explicitGrid = ThermalServiceImpl.grid(
+                alpha, 0.5, 1e-3, 1e-3, 1e-4, 50, false, null, explicit);
+        ThermalServiceImpl.Grid implicitGrid = ThermalServiceImpl.grid(
+                alpha, 0.5, 1e-3, 1e-3, 1e-4, 50, false, null, implicit);
+        assertTrue(explicitGrid.stabilityLimited());
+        assertTrue(implicitGrid.steps() * 50 < explicitGrid.steps());
+    }
+
+    @Test
+    void crankNicolsonKeepsTypicalCyclingExposuresStable() {
+        ThermalResolution explicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.EXPLICIT);
+        ThermalResolution implicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON);
+
+        // короткая экспозиция: явная схема ещё устойчива и служит эталоном
+        ThermalResult reference = simulateExposure(0.01, explicit);
+        ThermalResult fast = simulateExposure(0.01, implicit);
+        double heating = surface(reference) - 300.0;
+        assertTrue(heating > 1.0, "heating: " + heating);
+        assertEquals(surface(reference), surface(fast), 0.06 * heating);
+        assertEquals(reference.finalProbeTemperature(), fast.finalProbeTemperature(), 0.02 * heating);
+        long explicitSteps = reference.stepStats().acceptedSteps();
+        long implicitSteps = fast.stepStats().acceptedSteps();
+        assertTrue(implicitSteps * 100 < explicitSteps, implicitSteps + " vs " + explicitSteps);
+
+        // минута: явная схема упирается в предел шагов и расходится, Кранк–Николсон — нет
+        ThermalResult diverged = simulateExposure(60.0, explicit);
+        ThermalResult stable = simulateExposure(60.0, implicit);
+        assertEquals(1_000_000, diverged.stepStats().acceptedSteps());
+        assertTrue(Double.isNaN(surface(diverged)), "explicit surface: " + surface(diverged));
+        assertTrue(Double.isFinite(surface(stable)) && surface(stable) > 299.0 && surface(stable) < 1500.0,
+                "implicit surface: " + surface(stable));
+        assertTrue(stable.stepStats().acceptedSteps() * 100 < diverged.stepStats().acceptedSteps(),
+                stable.stepStats().toString());
+    }
+
+    @Test
+    void gradedMeshMatchesFineUniformMeshWithFewerNodes() {
+        ThermalResult uniform = simulateShallowSource(
+                10_001, new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON));
+        ThermalResult graded = simulateShallowSource(
+                null, new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON, 1.05));
+
+        double[] x = graded.temperatureMap().depths().stream().mapToDouble(Double::doubleValue).toArray();
+        assertTrue(x.length * 10 < uniform.temperatureMap().columns(), "graded nodes: " + x.length);
+        assertEquals(0.0, x[0]);
+        assertEquals(1e-3, x[x.length - 1], 1e-15);
+        assertTrue(x[1] <= 1e-7 + 1e-15);
+        for (int i = 2; i < x.length; i++) {
+            assertTrue(x[i] - x[i - 1] > x[i - 1] - x[i - 2]);
+        }
+
+        double heating = uniform.finalProbeTemperature() - 300.0;
+        assertTrue(heating > 5.0, "heating: " + heating);
+        assertEquals(uniform.finalProbeTemperature(), graded.finalProbeTemperature(), 0.02 * heating);
+    }
+
+    @Test
+    void adaptiveStepMatchesFineFixedStepThroughCyclingEdges() {
+        ThermalResult reference = simulateCycling(1e-5, 0.0);
+        ThermalResult adaptive = simulateCycling(1e-2, 0.05);
+
+        ThermalStepStats stats = adaptive.stepStats();
+        assertTrue(stats.adaptive());
+        assertTrue(stats.acceptedSteps() * 50 < reference.stepStats().acceptedSteps(), stats.toString());
+        assertTrue(stats.minDt() * 100 < stats.maxDt(), stats.toString());
+        List<Double> times = adaptive.temperatureMap().times();
+        assertEquals(0.37, times.get(times.size() - 1), 1e-12);
+        assertEquals(reference.finalProbeTemperature(), adaptive.finalProbeTemperature(), 0.5);
+
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i) > times.get(i - 1));
+        }
+    }
+
+    @Test
+    void periodicRegimeSkipsRemainingCycles() {
+        for (double stepTolerance : new double[]{0.0, 0.05}) {
+            ThermalResult full = simulateCycling(1e-3, stepTolerance, 0.0, 2.0);
+            ThermalResult skipped = simulateCycling(1e-3, stepTolerance, 0.01, 2.0);
+
+            ThermalStepStats stats = skipped.stepStats();
+            assertTrue(stats.skippedCycles() > 5, stats.toString());
+            assertTrue(stats.simulatedCycles() < 15, stats.toString());
+            assertEquals(0, full.stepStats().skippedCycles());
+            assertTrue(stats.acceptedSteps() < full.stepStats().acceptedSteps());
+            assertEquals(full.finalProbeTemperature(), skipped.finalProbeTemperature(), 0.05);
+
+            List<Double> times = skipped.temperatureMap().times();
+            assertEquals(full.temperatureMap().max(), skipped.temperatureMap().max(), 0.05);
+            for (int i = 1; i < times.size(); i++) {
+                assertTrue(times.get(i) > times.get(i - 1), "t[" + i + "] = " + times.get(i));
+            }
+            assertTrue(times.get(times.size() - 1) > 1.9);
+        }
+    }
+
+    @Test
+    void batchMatchesIndividualRuns() {
+        List<Double> powers = Arrays.asList(2e6, 5e6, null, 1e7);
+        ThermalResolution[] exact = {
+                new ThermalResolution(60, 20_000, ThermalScheme.EXPLICIT),
+                new ThermalResolution(200, 2_000, ThermalScheme.CRANK_NICOLSON, 1.05)
+        };
+        for (ThermalResolution resolution : exact) {
+            List<ThermalResult> batch = simulateBatch(powers, resolution);
+            assertTrue(batch.get(3).debyeReachTime() > 0, "Debye limit must be reached");
+            for (int k = 0; k < powers.size(); k++) {
+                ThermalResult single = simulateBatch(powers.subList(k, k + 1), resolution).get(0);
+                assertEquals(single.finalProbeTemperature(), batch.get(k).finalProbeTemperature());
+                assertEquals(single.debyeReachTime(), batch.get(k).debyeReachTime());
+                TemperatureMap map = batch.get(k).temperatureMap();
+                assertArrayEquals(single.temperatureMap().row(map.rows() - 1), map.row(map.rows() - 1));
+            }
+        }
+
+        ThermalResolution adaptive = new ThermalResolution(200, 20_000, ThermalScheme.CRANK_NICOLSON, 1.05, 0.05, 0.01);
+        List<ThermalResult> batch = simulateBatch(powers, adaptive);
+        assertTrue(batch.get(0).stepStats().skippedCycles() > 0, batch.get(0).stepStats().toString());
+        for (int k = 0; k < powers.size(); k++) {
+            ThermalResult single = simulateBatch(powers.subList(k, k + 1), adaptive).get(0);
+            assertEquals(single.finalProbeTemperature(), batch.get(k).finalProbeTemperature(), 0.2, "k = " + k);
+        }
+    }
+
+    @Test
+    void temperatureDependentPropertiesWithLaggedCoefficients() {
+        ThermalResolution explicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.EXPLICIT);
+        ThermalResolution implicit = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON);
+        PlasmaConfiguration flat = steel();
+        flat.setThermalProperties(ThermalPropertyTable.of(List.of(
+                new ThermalPropertyTable.Point(200.0, 50.0, 460.0),
+                new ThermalPropertyTable.Point(2000.0, 50.0, 460.0)
+        )));
+        for (ThermalResolution resolution : new ThermalResolution[]{explicit, implicit}) {
+            assertEquals(simulate(steel(), 1e7, resolution).finalProbeTemperature(),
+                    simulate(flat, 1e7, resolution).finalProbeTemperature(), 1e-9);
+        }
+
+        // теплопроводность стали падает с нагревом: поверхность отводит тепло хуже
+        PlasmaConfiguration heated = steel();
+        heated.setThermalProperties(ThermalPropertyTable.of(List.of(
+                new ThermalPropertyTable.Point(300.0, 50.0, 460.0),
+                new ThermalPropertyTable.Point(700.0, 35.0, 480.0),
+                new ThermalPropertyTable.Point(1000.0, 25.0, 500.0)
+        )));
+        ThermalResult reference = simulate(heated, 3e7, explicit);
+        ThermalResult lagged = simulate(heated, 3e7, implicit);
+        double heating = reference.finalProbeTemperature() - 300.0;
+        double constant = simulate(steel(), 3e7, explicit).finalProbeTemperature() - 300.0;
+        assertTrue(heating > 300.0, "heating: " + heating);
+        assertTrue(heating > 1.1 * constant, heating + " vs " + constant);
+        assertEquals(reference.finalProbeTemperature(), lagged.finalProbeTemperature(), 0.01 * heating);
+    }
+
+    @Test
+    void debyeFrontTrackerMatchesFullScan() {
+        ThermalResolution[] resolutions = {
+                new ThermalResolution(60, 20_000, ThermalScheme.EXPLICIT),
+                new ThermalResolution(200, 2_000, ThermalScheme.CRANK_NICOLSON, 1.05)
+        };
+        for (ThermalResolution resolution : resolutions) {
+            for (double power : new double[]{1e7, 3e7}) {
+                // пакетный цикл проверяет все узлы на каждом шаге
+                ThermalResult scanned = service.simulateBatch(
+                        steel(), 300.0, 2.0, 1e-3, 1e-3, List.of(power), 1e-5,
+                        ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null,
+                        400.0, 1e-5, true, 0.1, 0.5, resolution
+                ).get(0);
+                ThermalResult tracked = service.simulate(
+                        steel(), 300.0, 2.0, 1e-3, 1e-3, power, 1e-5,
+                        ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null,
+                        400.0, 1e-5, true, 0.1, 0.5, ProgressListener.NONE, resolution
+                );
+                assertTrue(scanned.debyeFrontDepth() > 0, "Debye limit must be reached");
+                assertEquals(scanned.debyeReachTime(), tracked.debyeReachTime());
+                assertEquals(scanned.debyeFrontDepth(), tracked.debyeFrontDepth());
+            }
+        }
+    }
+
+    @Test
+    void probesWithoutSnapshotsMatchStoredProfiles() {
+        ThermalResolution resolution = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON);
+        ThermalProbe stored = ThermalProbe.at(1e-4, 310.0);
+        ThermalProbe scalar = ThermalProbe.at(1e-4, 310.0);
+
+        ThermalResult full = simulateObserved(ThermalObservation.of(stored));
+        ThermalResult scalars = simulateObserved(ThermalObservation.scalarsOnly(scalar));
+
+        assertEquals(2, scalars.temperatureMap().rows());
+        assertTrue(full.temperatureMap().rows() > 100);
+        assertArrayEquals(full.temperatureMap().row(full.temperatureMap().rows() - 1),
+                scalars.temperatureMap().row(1));
+        assertEquals(full.finalProbeTemperature(), scalar.temperature(), 1e-12);
+        assertEquals(stored.max(), scalar.max());
+        assertEquals(stored.timeAbove(), scalar.timeAbove());
+
+        TemperatureMap map = full.temperatureMap();
+        int column = map.depths().indexOf(1e-4);
+        double storedMax = Double.NEGATIVE_INFINITY;
+        for (int r = 0; r < map.rows(); r++) {
+            storedMax = Math.max(storedMax, map.get(r, column));
+        }
+        assertTrue(scalar.max() >= storedMax);
+        assertTrue(scalar.timeAbove() > 0 && scalar.timeAbove() < 0.5, "time above: " + scalar.timeAbove());
+        assertTrue(scalar.min() >= 300.0 - 1e-9 && scalar.mean() > scalar.min() && scalar.mean() < scalar.max());
+    }
+
+    @Test
+    void probeExtrapolatesSkippedCycles() {
+        ThermalProbe simulated = ThermalProbe.at(1e-5, 305.0);
+        ThermalProbe skipped = ThermalProbe.at(1e-5, 305.0);
+        ThermalResult reference = simulateCyclingObserved(0.0, simulated);
+        ThermalResult fast = simulateCyclingObserved(1e-3, skipped);
+
+        assertTrue(fast.stepStats().skippedCycles() > 0, fast.stepStats().toString());
+        assertEquals(0, reference.stepStats().skippedCycles());
+        assertEquals(simulated.mean(), skipped.mean(), 0.05);
+        assertEquals(simulated.timeAbove(), skipped.timeAbove(), 0.01 * simulated.timeAbove());
+        assertEquals(simulated.max(), skipped.max(), 0.05);
+    }
+
+    private ThermalResult simulateObserved(ThermalObservation observation) {
+        return service.simulate(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, 1e7, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, 51,
+                null, 1e-4, true, 0.1, 0.5,
+                ProgressListener.NONE, new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON),
+                ThermalCheckpointing.NONE, observation
+        );
+    }
+
+    private ThermalResult simulateCyclingObserved(double periodicTolerance, ThermalProbe probe) {
+        return service.simulate(
+                steel(), 300.0, 4.0, 1e-3, 1e-4, 1e6, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 1000.0, 41,
+                null, 1e-5, true, 0.1, 0.5,
+                ProgressListener.NONE,
+                new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON, 1.0, 0.0, periodicTolerance),
+                ThermalCheckpointing.NONE, ThermalObservation.scalarsOnly(probe)
+        );
+    }
+
+    @Test
+    void resumedRunMatchesStraightRun() {
+        for (ThermalScheme scheme : ThermalScheme.values()) {
+            ThermalResolution resolution = new ThermalResolution(1000, 1_000_000, scheme);
+            MemoryStore store = new MemoryStore();
+            ThermalCheckpointing checkpointing = new ThermalCheckpointing("run", store, Duration.ZERO);
+
+            ThermalResult straight = simulateCheckpointed(0.5, resolution, ThermalCheckpointing.NONE);
+            simulateCheckpointed(0.2, resolution, checkpointing);
+            ThermalCheckpoint checkpoint = store.load("run").orElseThrow();
+            assertEquals(0.2, checkpoint.time(), 1e-12, scheme.name());
+
+            // тот же запрос с большим tMax продолжает с точки, а не считает заново
+            ThermalResult resumed = simulateCheckpointed(0.5, resolution, checkpointing);
+            ThermalResult extended = service.resume(checkpoint, 0.5, ProgressListener.NONE, ThermalCheckpointing.NONE);
+
+            assertEquals(straight.finalProbeTemperature(), resumed.finalProbeTemperature(), 0.0, scheme.name());
+            assertEquals(straight.finalProbeTemperature(), extended.finalProbeTemperature(), 0.0, scheme.name());
+            assertEquals(straight.debyeReachTime(), extended.debyeReachTime(), 0.0, scheme.name());
+            assertTrue(resumed.stepStats().acceptedSteps() < straight.stepStats().acceptedSteps(), scheme.name());
+            assertEquals(0.2, extended.temperatureMap().times().get(0), 1e-9, scheme.name());
+            assertEquals(0.5, store.load("run").orElseThrow().time(), 1e-9, scheme.name());
+        }
+    }
+
+    @Test
+    void adaptiveRunResumesFromCheckpoint() {
+        ThermalResolution resolution = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON, 1.0, 0.05);
+        MemoryStore store = new MemoryStore();
+        ThermalCheckpointing checkpointing = new ThermalCheckpointing("adaptive", store, Duration.ZERO);
+
+        ThermalResult straight = simulateCheckpointed(0.5, resolution, ThermalCheckpointing.NONE);
+        simulateCheckpointed(0.2, resolution, checkpointing);
+        ThermalResult extended = service.resume(
+                store.load("adaptive").orElseThrow(), 0.5, ProgressListener.NONE, ThermalCheckpointing.NONE);
+
+        assertTrue(extended.stepStats().adaptive());
+        double heating = straight.finalProbeTemperature() - 300.0;
+        assertTrue(heating > 1.0, "heating: " + heating);
+        assertEquals(straight.finalProbeTemperature(), extended.finalProbeTemperature(), 0.01 * heating);
+        List<Double> times = extended.temperatureMap().times();
+        assertEquals(0.5, times.get(times.size() - 1), 1e-12);
+    }
+
+    private ThermalResult simulateCheckpointed(double tMax, ThermalResolution resolution,
+                                               ThermalCheckpointing checkpointing) {
+        return service.simulate(
+                steel(), 300.0, tMax, 1e-3, 1e-3, 1e7, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, 50,
+                320.0, 1e-4, true, 0.1, 0.5,
+                ProgressListener.NONE, resolution, checkpointing
+        );
+    }
+
+    private static final class MemoryStore implements ThermalCheckpointStore {
+
+        private final Map<String, ThermalCheckpoint> checkpoints = new HashMap<>();
+
+        @Override
+        public void save(String id, ThermalCheckpoint checkpoint) {
+            checkpoints.put(id, checkpoint);
+        }
+
+        @Override
+        public Optional<ThermalCheckpoint> load(String id) {
+            return Optional.ofNullable(checkpoints.get(id));
+        }
+
+        @Override
+        public boolean delete(String id) {
+            return checkpoints.remove(id) != null;
+        }
+    }
+
+    private ThermalResult simulate(PlasmaConfiguration cfg, double power, ThermalResolution resolution) {
+        return service.simulate(
+                cfg, 300.0, 0.5, 1e-3, 1e-3, power, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, 50,
+                null, 1e-4, false, null, null,
+                ProgressListener.NONE, resolution
+        );
+    }
+
+    private List<ThermalResult> simulateBatch(List<Double> powers, ThermalResolution resolution) {
+        return service.simulateBatch(
+                steel(), 300.0, 2.0, 1e-3, 1e-3, powers, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null,
+                400.0, 1e-5, true, 0.1, 0.5, resolution
+        );
+    }
+
+    private ThermalResult simulateCycling(double dt, double tolerance) {
+        return simulateCycling(dt, tolerance, 0.0, 0.37);
+    }
+
+    private ThermalResult simulateCycling(double dt, double tolerance, double periodicTolerance, double tMax) {
+        return service.simulate(
+                steel(), 300.0, tMax, dt, 1e-3, 1e7, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.ADIABATIC, 300.0, 0.0, 101,
+                null, 1e-5, true, 0.1, 0.5,
+                ProgressListener.NONE,
+                new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON, 1.0, tolerance, periodicTolerance)
+        );
+    }
+
+    /** Циклирование с шагом 1 % экспозиции, автоматическая сетка до 1000 узлов. */
+    private ThermalResult simulateExposure(double exposure, ThermalResolution resolution) {
+        return service.simulate(
+                steel(), 300.0, exposure, 0.01 * exposure, 1e-3, 5e5, 1e-5,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, null,
+                1500.0, null, true, Math.max(exposure / 20, 1e-6), 0.5,
+                ProgressListener.NONE, resolution
+        );
+    }
+
+    private static double surface(ThermalResult result) {
+        TemperatureMap map = result.temperatureMap();
+        return map.get(map.rows() - 1, 0);
+    }
+
+    private ThermalResult simulateShallowSource(Integer nodes, ThermalResolution resolution) {
+        return service.simulate(
+                steel(), 300.0, 0.05, 1e-3, 1e-3, 1e6, 1e-6,
+                ThermalServiceImpl.BoundaryCondition.ADIABATIC, 300.0, 0.0, nodes,
+                null, 1e-6, false, null, null,
+                ProgressListener.NONE, resolution
+        );
+    }
+
+    private ThermalResult simulate(ThermalServiceImpl.BoundaryCondition bc, ThermalResolution resolution) {
+        return service.simulate(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, 1e6, 1e-4,
+                bc, 300.0, 10.0, 50,
+                null, 1e-4, false, null, null,
+                ProgressListener.NONE, resolution
+        );
+    }
+
+    private static PlasmaConfiguration steel() {
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(7850.0);
+        cfg.setHeatCapacity(460.0);
+        cfg.setThermalConductivity(50.0);
+        return cfg;
+    }
+
+    private ThermalResult simulate(List<long[]> ticks) {
+        return service.simulate(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, 1e6, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 300.0, 10.0, 50,
+                null, null, false, null, null,
+                ticks == null
+                        ? ProgressListener.NONE
+                        : (done, total) -> ticks.add(new long[]{done, total})
+        );
+    }
+}
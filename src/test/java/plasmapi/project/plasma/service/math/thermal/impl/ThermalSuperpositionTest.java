@@ -0,0 +1,122 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.model.res.PlasmaConfiguration;
+import plasmapi.project.plasma.service.math.ProgressListener;
+import plasmapi.project.plasma.service.math.thermal.TemperatureMap;
+import plasmapi.project.plasma.service.math.thermal.ThermalCheckpointing;
+import plasmapi.project.plasma.service.math.thermal.ThermalObservation;
+import plasmapi.project.plasma.service.math.thermal.ThermalResolution;
+import plasmapi.project.plasma.service.math.thermal.ThermalResult;
+import plasmapi.project.plasma.service.math.thermal.ThermalScheme;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThermalSuperpositionTest {
+
+    private static final ThermalResolution RESOLUTION = new ThermalResolution(1000, 1_000_000, ThermalScheme.CRANK_NICOLSON);
+
+    @Test
+    void scaledResponseMatchesDirectSolve() {
+        // окружение теплее образца — поле без источника тоже меняется
+        List<Double> powers = List.of(1e6, 3e6, 7e6);
+        ThermalServiceImpl service = new ThermalServiceImpl();
+        List<ThermalResult> scaled = service.simulateBatch(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, powers, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 350.0, 50.0, 51,
+                null, 1e-4, true, 0.1, 0.5, RESOLUTION
+        );
+
+        for (int k = 0; k < powers.size(); k++) {
+            ThermalResult direct = simulate(new ThermalServiceImpl(), powers.get(k), null);
+            ThermalResult fromResponse = scaled.get(k);
+            assertEquals(direct.finalProbeTemperature(), fromResponse.finalProbeTemperature(), 1e-9);
+            TemperatureMap expected = direct.temperatureMap();
+            TemperatureMap actual = fromResponse.temperatureMap();
+            assertEquals(expected.rows(), actual.rows());
+            for (int r = 0; r < expected.rows(); r += 17) {
+                assertEquals(expected.time(r), actual.time(r));
+                for (int c = 0; c < expected.columns(); c++) {
+                    assertEquals(expected.get(r, c), actual.get(r, c), 1e-9);
+                }
+            }
+            assertEquals(expected.max(), actual.max(), 1e-9);
+        }
+
+        // отклик в кэше: отдельный расчёт с другой мощностью — без шагов по времени
+        ThermalResult cached = simulate(service, 5e6, null);
+        assertEquals(simulate(new ThermalServiceImpl(), 5e6, null).finalProbeTemperature(),
+                cached.finalProbeTemperature(), 1e-9);
+        assertSame(scaled.get(0).stepStats(), cached.stepStats());
+    }
+
+    @Test
+    void cachedResponseKeepsOnlyEndsWithoutSnapshots() {
+        ThermalServiceImpl service = new ThermalServiceImpl();
+        ThermalResult full = service.simulateBatch(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, List.of(3e6), 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 350.0, 50.0, 51,
+                null, 1e-4, true, 0.1, 0.5, RESOLUTION
+        ).get(0);
+
+        ThermalResult scalars = service.simulate(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, 3e6, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 350.0, 50.0, 51,
+                null, 1e-4, true, 0.1, 0.5,
+                ProgressListener.NONE, RESOLUTION, ThermalCheckpointing.NONE, ThermalObservation.scalarsOnly()
+        );
+
+        assertSame(full.stepStats(), scalars.stepStats(), "answered from the cached response");
+        TemperatureMap map = full.temperatureMap();
+        assertTrue(map.rows() > 2);
+        assertEquals(2, scalars.temperatureMap().rows());
+        assertEquals(map.time(0), scalars.temperatureMap().time(0));
+        assertEquals(map.time(map.rows() - 1), scalars.temperatureMap().time(1));
+        assertArrayEquals(map.row(map.rows() - 1), scalars.temperatureMap().row(1));
+        assertEquals(full.finalProbeTemperature(), scalars.finalProbeTemperature());
+    }
+
+    @Test
+    void fallsBackWhenDebyeLimitCanBeReached() {
+        ThermalServiceImpl service = new ThermalServiceImpl();
+        List<Double> powers = List.of(1e6, 5e7);
+        List<ThermalResult> batch = service.simulateBatch(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, powers, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 350.0, 50.0, 51,
+                400.0, 1e-4, true, 0.1, 0.5, RESOLUTION
+        );
+
+        ThermalResult clamped = simulate(new ThermalServiceImpl(), 5e7, 400.0);
+        assertTrue(clamped.debyeReachTime() > 0, "Debye limit must be reached");
+        assertEquals(clamped.debyeReachTime(), batch.get(1).debyeReachTime());
+        assertEquals(clamped.debyeFrontDepth(), batch.get(1).debyeFrontDepth());
+        assertEquals(clamped.finalProbeTemperature(), batch.get(1).finalProbeTemperature());
+
+        ThermalResult cold = simulate(new ThermalServiceImpl(), 1e6, 400.0);
+        assertTrue(Double.isNaN(batch.get(0).debyeReachTime()));
+        assertEquals(cold.finalProbeTemperature(), batch.get(0).finalProbeTemperature(), 1e-9);
+        assertEquals(cold.debyeFrontDepth(), batch.get(0).debyeFrontDepth());
+    }
+
+    private static ThermalResult simulate(ThermalServiceImpl service, double power, Double debyeTemperature) {
+        return service.simulate(
+                steel(), 300.0, 0.5, 1e-3, 1e-3, power, 1e-4,
+                ThermalServiceImpl.BoundaryCondition.CONVECTIVE, 350.0, 50.0, 51,
+                debyeTemperature, 1e-4, true, 0.1, 0.5,
+                ProgressListener.NONE, RESOLUTION
+        );
+    }
+
+    private static PlasmaConfiguration steel() {
+        PlasmaConfiguration cfg = new PlasmaConfiguration();
+        cfg.setDensity(7850.0);
+        cfg.setHeatCapacity(460.0);
+        cfg.setThermalConductivity(50.0);
+        return cfg;
+    }
+}
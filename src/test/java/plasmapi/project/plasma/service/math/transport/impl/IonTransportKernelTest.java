@@ -0,0 +1,183 @@
+package plasmapi.project.plasma.service.math.transport.impl;
+
+import org.junit.jupiter.api.Test;
+import plasmapi.project.plasma.dto.mathDto.collision.CollisionResult;
+import plasmapi.project.plasma.model.atom.AtomList;
+import plasmapi.project.plasma.model.res.Ion;
+import plasmapi.project.plasma.service.math.PhysicalConstants;
+import plasmapi.project.plasma.service.math.PhysicsMath;
+import plasmapi.project.plasma.service.math.collision.StoppingTable;
+import plasmapi.project.plasma.service.math.collision.impl.CollisionServiceImpl;
+import plasmapi.project.plasma.service.math.transport.LorentzContext;
+import plasmapi.project.plasma.service.math.transport.Vector3D;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IonTransportKernelTest {
+
+    private static final double EV = PhysicalConstants.EV;
+
+    private final CollisionServiceImpl collisions = new CollisionServiceImpl();
+    private final LorentzForceServiceImpl lorentzForce = new LorentzForceServiceImpl();
+
+    @Test
+    void matchesObjectTransportStepForStep() {
+        Ion ion = argon();
+        AtomList atom = iron();
+        for (LorentzContext lorentz : new LorentzContext[]{
+                LorentzContext.disabled(),
+                LorentzContext.from(1e5, new Vector3D(0.5, 0.0, 0.2))}) {
+            IonTransportKernel kernel = new IonTransportKernel(collisions, lorentzForce);
+            StoppingTable primary = collisions.table(ion.getCharge(), ion.getMass(), atom.getValence(), atom.getMass());
+            StoppingTable recoil = collisions.table(atom.getValence(), atom.getMass(), atom.getValence(), atom.getMass());
+            double density = IonTransportKernel.atomicDensity(atom);
+            SplittableRandom kernelRng = new SplittableRandom(42);
+            SplittableRandom referenceRng = new SplittableRandom(42);
+            for (int particle = 0; particle < 200; particle++) {
+                kernel.trackPrimary(primary, recoil, density, 2000 * EV, lorentz, kernelRng);
+                double[] expected = reference(ion, atom, 2000 * EV, lorentz, referenceRng);
+                assertEquals(expected[0], kernel.depth(), "depth of particle " + particle);
+                assertEquals(expected[1], kernel.lorentzDeflection(), "deflection of particle " + particle);
+            }
+        }
+    }
+
+    @Test
+    void tracksWithoutAllocating() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Ion ion = argon();
+        AtomList atom = iron();
+        LorentzContext lorentz = LorentzContext.from(1e5, new Vector3D(0.5, 0.0, 0.2));
+        IonTransportKernel kernel = new IonTransportKernel(collisions, lorentzForce);
+        SplittableRandom rng = new SplittableRandom(7);
+        StoppingTable primary = collisions.table(ion.getCharge(), ion.getMass(), atom.getValence(), atom.getMass());
+        StoppingTable recoil = collisions.table(atom.getValence(), atom.getMass(), atom.getValence(), atom.getMass());
+        double density = IonTransportKernel.atomicDensity(atom);
+        for (int i = 0; i < 2000; i++) {
+            kernel.trackPrimary(primary, recoil, density, 2000 * EV, lorentz, rng);
+        }
+
+        int particles = 2000;
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < particles; i++) {
+            kernel.trackPrimary(primary, recoil, density, 2000 * EV, lorentz, rng);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated / particles < 16, allocated / particles + " bytes per particle");
+    }
+
+    /** Прежняя трассировка на {@link Vector3D}, {@link CollisionResult} и сущностях отдачи. */
+    private double[] reference(Ion ion, AtomList atom, double E, LorentzContext lorentz, RandomGenerator rng) {
+        Vector3D dir = new Vector3D(0, 0, 1);
+        double depth = 0.0;
+        double deflection = 0.0;
+        double density = IonTransportKernel.atomicDensity(atom);
+        int Z1 = Math.max(1, ion.getCharge());
+        int Z2 = Math.max(1, atom.getValence());
+        double M1 = PhysicsMath.safeIonMassKg(ion.getMass());
+        double M2 = Math.max(atom.getMass(), 1e-30);
+        StoppingTable table = StoppingTable.of(Z1, ion.getMass(), Z2, atom.getMass());
+
+        while (E > EV) {
+            double sigma = table.crossSection(E);
+            double step = Math.min(-1.0 / (density * sigma) * Math.log(rng.nextDouble()), 5e-9);
+            double b = Math.sqrt(sigma / Math.PI) * Math.sqrt(rng.nextDouble());
+            CollisionResult col = collisions.simulate(ion, atom, E / EV, b, 25.0);
+
+            double thetaCM = col.thetaCM();
+            double thetaLab = Math.atan(Math.sin(thetaCM) / Math.max(Math.cos(thetaCM) + M1 / M2, 1e-12));
+            dir = rotate(dir, thetaLab, 2 * Math.PI * rng.nextDouble());
+
+            if (lorentz.active()) {
+                double speed = Math.sqrt(2.0 * E / M1);
+                Vector3D before = dir;
+                Vector3D after = lorentzForce.advanceVelocity(dir.scale(speed), lorentz, Z1, M1, step / speed)
+                        .normalize();
+                deflection += before.angle(after);
+                dir = after;
+            }
+
+            E -= (col.nuclearStopping() + col.electronicStopping()) * density * step;
+            if (E <= 0) break;
+            if (dir.getZ() > 0) {
+                depth += step * dir.getZ();
+            }
+            double T = col.transferredEnergy() * EV;
+            if (T > 25.0 * EV) {
+                Ion recoil = new Ion();
+                recoil.setMass(M2);
+                recoil.setCharge(Z2);
+                cascade(recoil, atom, 0.5 * T, 1, rng);
+            }
+            if (dir.getZ() < 0 && depth <= 0) break;
+        }
+        return new double[]{Math.max(depth, 0.0), deflection};
+    }
+
+    private void cascade(Ion ion, AtomList atom, double E, int level, RandomGenerator rng) {
+        if (E < 5 * EV || level > 10) return;
+        int Z1 = Math.max(1, ion.getCharge());
+        int Z2 = Math.max(1, atom.getValence());
+        double M1 = ion.getMass();
+        double M2 = atom.getMass();
+        double density = IonTransportKernel.atomicDensity(atom);
+        StoppingTable table = StoppingTable.of(Z1, M1, Z2, M2);
+        while (E > EV) {
+            double sigma = table.crossSection(E);
+            double step = Math.min(-1.0 / (density * sigma) * Math.log(rng.nextDouble()), 5e-9);
+            double b = Math.sqrt(sigma / Math.PI) * Math.sqrt(rng.nextDouble());
+            CollisionResult col = collisions.simulate(ion, atom, E / EV, b, 25.0);
+            E -= (col.nuclearStopping() + col.electronicStopping()) * density * step;
+            if (E <= 0) break;
+            double T = col.transferredEnergy() * EV;
+            if (T > 25.0 * EV) {
+                Ion recoil = new Ion();
+                recoil.setMass(M2);
+                recoil.setCharge(Z2);
+                cascade(recoil, atom, 0.5 * T, level + 1, rng);
+            }
+        }
+    }
+
+    private static Vector3D rotate(Vector3D dir, double theta, double phi) {
+        double ux = dir.getX();
+        double uy = dir.getY();
+        double uz = dir.getZ();
+        double sinT = Math.sin(theta);
+        double cosT = Math.cos(theta);
+        double sinP = Math.sin(phi);
+        double cosP = Math.cos(phi);
+        double sqrt = Math.sqrt(Math.max(1 - uz * uz, 0.0));
+        if (sqrt > 1e-10) {
+            return new Vector3D(
+                    ux * cosT + (ux * uz * cosP - uy * sinP) * sinT / sqrt,
+                    uy * cosT + (uy * uz * cosP + ux * sinP) * sinT / sqrt,
+                    uz * cosT - sqrt * cosP * sinT
+            ).normalize();
+        }
+        return new Vector3D(sinT * cosP, sinT * sinP, Math.signum(uz) * cosT).normalize();
+    }
+
+    private static Ion argon() {
+        Ion ion = new Ion();
+        ion.setMass(6.63e-26);
+        ion.setCharge(1);
+        return ion;
+    }
+
+    private static AtomList iron() {
+        AtomList atom = new AtomList();
+        atom.setMass(9.27e-26);
+        atom.setValence(2);
+        atom.setDsteny(7874.0);
+        atom.setMolarMass(0.05585);
+        return atom;
+    }
+}
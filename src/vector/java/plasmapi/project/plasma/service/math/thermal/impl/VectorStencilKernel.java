@@ -0,0 +1,148 @@
+package plasmapi.project.plasma.service.math.thermal.impl;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторное ядро на {@code jdk.incubator.vector} (предпочтительная ширина процессора); собирается
+ * только в профиле {@code vector}.
+ * Ограничение температурой Дебая — маскированный минимум: {@code blend} по маске {@code T > T_D},
+ * как и скалярное {@code if}, оставляет NaN без изменений. Хвост короче вектора — скалярно.
+ * Создаётся только через {@link StencilKernel.Selection}: без модуля класс не загружается.
+ */
+final class VectorStencilKernel implements StencilKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorStencilKernel() {
+        if (SPECIES.length() < 2) {
+            throw new IllegalStateException("No SIMD lanes for double: " + SPECIES);
+        }
+    }
+
+    @Override
+    public void explicitStep(
+            double[] current,
+            double[] next,
+            double[] west,
+            double[] east,
+            double[] source,
+            double sourceScale,
+            double limit,
+            int from,
+            int to
+    ) {
+        DoubleVector ceiling = DoubleVector.broadcast(SPECIES, limit);
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector ti = DoubleVector.fromArray(SPECIES, current, i);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, current, i - 1);
+            DoubleVector right = DoubleVector.fromArray(SPECIES, current, i + 1);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, west, i);
+            DoubleVector e = DoubleVector.fromArray(SPECIES, east, i);
+            DoubleVector q = DoubleVector.fromArray(SPECIES, source, i);
+            DoubleVector val = ti.add(w.mul(left.sub(ti)))
+                    .add(e.mul(right.sub(ti)))
+                    .add(q.mul(sourceScale));
+            VectorMask<Double> over = val.compare(VectorOperators.GT, ceiling);
+            val.blend(ceiling, over).intoArray(next, i);
+        }
+        SCALAR.explicitStep(current, next, west, east, source, sourceScale, limit, i, to);
+    }
+
+    @Override
+    public void implicitRhs(
+            double[] current,
+            double[] rhs,
+            double[] west,
+            double[] east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int from,
+            int to
+    ) {
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector ti = DoubleVector.fromArray(SPECIES, current, i);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, current, i - 1);
+            DoubleVector right = DoubleVector.fromArray(SPECIES, current, i + 1);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, west, i);
+            DoubleVector e = DoubleVector.fromArray(SPECIES, east, i);
+            DoubleVector q = DoubleVector.fromArray(SPECIES, source, i);
+            DoubleVector flux = w.mul(left.sub(ti)).add(e.mul(right.sub(ti)));
+            ti.add(flux.mul(explicitPart))
+                    .add(q.mul(sourceScale))
+                    .intoArray(rhs, i);
+        }
+        SCALAR.implicitRhs(current, rhs, west, east, source, explicitPart, sourceScale, i, to);
+    }
+
+    @Override
+    public void batchRhs(
+            double[] current,
+            double[] rhs,
+            double west,
+            double east,
+            double[] source,
+            double explicitPart,
+            double sourceScale,
+            int stride,
+            int from,
+            int to
+    ) {
+        int upper = from + SPECIES.loopBound(to - from);
+        int j = from;
+        for (; j < upper; j += SPECIES.length()) {
+            DoubleVector tj = DoubleVector.fromArray(SPECIES, current, j);
+            DoubleVector lower = DoubleVector.fromArray(SPECIES, current, j - stride);
+            DoubleVector deeper = DoubleVector.fromArray(SPECIES, current, j + stride);
+            DoubleVector q = DoubleVector.fromArray(SPECIES, source, j);
+            DoubleVector flux = lower.sub(tj).mul(west).add(deeper.sub(tj).mul(east));
+            tj.add(flux.mul(explicitPart))
+                    .add(q.mul(sourceScale))
+                    .intoArray(rhs, j);
+        }
+        SCALAR.batchRhs(current, rhs, west, east, source, explicitPart, sourceScale, stride, j, to);
+    }
+
+    @Override
+    public void radialStage(
+            double[] current,
+            double[] older,
+            double[] next,
+            double[] inward,
+            double[] outward,
+            double mu,
+            double nu,
+            int offset,
+            int from,
+            int to
+    ) {
+        int upper = from + SPECIES.loopBound(to - from);
+        int c = from;
+        for (; c < upper; c += SPECIES.length()) {
+            int at = offset + c;
+            DoubleVector tj = DoubleVector.fromArray(SPECIES, current, at);
+            DoubleVector left = DoubleVector.fromArray(SPECIES, current, at - 1);
+            DoubleVector right = DoubleVector.fromArray(SPECIES, current, at + 1);
+            DoubleVector a = DoubleVector.fromArray(SPECIES, inward, c);
+            DoubleVector b = DoubleVector.fromArray(SPECIES, outward, c);
+            DoubleVector o = DoubleVector.fromArray(SPECIES, older, at);
+            tj.mul(mu).add(o.mul(nu))
+                    .add(a.mul(left.sub(tj)))
+                    .add(b.mul(right.sub(tj)))
+                    .intoArray(next, at);
+        }
+        SCALAR.radialStage(current, older, next, inward, outward, mu, nu, offset, c, to);
+    }
+
+    @Override
+    public String name() {
+        return "vector (" + SPECIES.length() + " x double)";
+    }
+}